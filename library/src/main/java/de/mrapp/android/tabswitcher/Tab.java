@@ -27,13 +27,27 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringRes;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.util.Pair;
 import android.text.TextUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.mrapp.android.tabswitcher.model.IconStore;
+import de.mrapp.android.tabswitcher.model.PersistenceFormat;
 
 import static de.mrapp.android.util.Condition.ensureNotEmpty;
 import static de.mrapp.android.util.Condition.ensureNotNull;
+import static de.mrapp.android.util.Condition.ensureTrue;
 
 /**
  * A tab, which can be added to a {@link TabSwitcher} widget. It has a title, as well as an optional
@@ -125,12 +139,29 @@ public class Tab implements Parcelable {
 
     }
 
+    /**
+     * The id, which is assigned to the next tab, which is created. It is initialized based on the
+     * current time in order to prevent collisions with the ids of tabs, which have been restored
+     * after the process has been killed.
+     */
+    private static final AtomicLong NEXT_ID = new AtomicLong(System.currentTimeMillis() << 10);
+
+    /**
+     * The version of the format, which is used by the method <code>toByteArray</code>.
+     */
+    private static final int FORMAT_VERSION = 3;
+
     /**
      * A set, which contains the callbacks, which have been registered to be notified, when the
      * tab's properties have been changed.
      */
     private final Set<Callback> callbacks = new LinkedHashSet<>();
 
+    /**
+     * The tab's unique id.
+     */
+    private final long id;
+
     /**
      * The tab's title.
      */
@@ -142,7 +173,14 @@ public class Tab implements Parcelable {
     private int iconId;
 
     /**
-     * The tab's icon as a bitmap.
+     * The digest of the tab's icon, which identifies it within the {@link IconStore}, or null, if
+     * no custom icon is set as a bitmap.
+     */
+    private String iconDigest;
+
+    /**
+     * The tab's icon as a bitmap or null, if it has not been retrieved from the {@link IconStore}
+     * yet.
      */
     private Bitmap iconBitmap;
 
@@ -157,7 +195,14 @@ public class Tab implements Parcelable {
     private int closeButtonIconId;
 
     /**
-     * The bitmap of the icon of the tab's close button.
+     * The digest of the icon of the tab's close button, which identifies it within the {@link
+     * IconStore}, or null, if no custom icon is set as a bitmap.
+     */
+    private String closeButtonIconDigest;
+
+    /**
+     * The bitmap of the icon of the tab's close button or null, if it has not been retrieved from
+     * the {@link IconStore} yet.
      */
     private Bitmap closeButtonIconBitmap;
 
@@ -176,6 +221,16 @@ public class Tab implements Parcelable {
      */
     private Bundle parameters;
 
+    /**
+     * The marshalled data, the tab's properties have not been restored from yet.
+     */
+    private volatile byte[] pendingData;
+
+    /**
+     * True, if the tab's icons are referenced within the {@link IconStore}, false otherwise.
+     */
+    private boolean iconsAcquired;
+
     /**
      * Notifies all callbacks, that the tab's title has been changed.
      */
@@ -230,6 +285,118 @@ public class Tab implements Parcelable {
         }
     }
 
+    /**
+     * Ensures, that the ids, which are assigned to tabs, which are created in the future, are
+     * greater than a specific id.
+     *
+     * @param id
+     *         The id, which has been restored, as a {@link Long} value
+     */
+    private static void adaptNextId(final long id) {
+        long nextId;
+
+        do {
+            nextId = NEXT_ID.get();
+        } while (nextId <= id && !NEXT_ID.compareAndSet(nextId, id + 1));
+    }
+
+    /**
+     * Returns the version of the format of specific data, which has been written by the method
+     * <code>toByteArray</code>.
+     *
+     * @param data
+     *         The data, whose format version should be returned, as a {@link Byte} array. The array
+     *         may not be null
+     * @return The version of the format of the given data as an {@link Integer} value or -1, if
+     * the data is too short
+     */
+    private static int getFormatVersion(@NonNull final byte[] data) {
+        return data.length >= 4 ? ByteBuffer.wrap(data).getInt() : -1;
+    }
+
+    /**
+     * Writes the digest of an icon to a specific output.
+     *
+     * @param output
+     *         The output, the digest should be written to, as an instance of the type {@link
+     *         DataOutput}. The output may not be null
+     * @param digest
+     *         The digest, which should be written, as a {@link String} or null, if no icon is set
+     *         as a bitmap
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the digest
+     */
+    private static void writeDigest(@NonNull final DataOutput output,
+                                    @Nullable final String digest) throws IOException {
+        output.writeBoolean(digest != null);
+
+        if (digest != null) {
+            output.writeUTF(digest);
+        }
+    }
+
+    /**
+     * Reads the digest of an icon, which has been written by the method <code>writeDigest</code>,
+     * from a specific input.
+     *
+     * @param input
+     *         The input, the digest should be read from, as an instance of the type {@link
+     *         DataInput}. The input may not be null
+     * @return The digest, which has been read, as a {@link String} or null, if no icon is set as a
+     * bitmap
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the digest
+     */
+    @Nullable
+    private static String readDigest(@NonNull final DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Adds a specific icon to the {@link IconStore} and replaces the reference to a previous icon,
+     * if the tab's icons are referenced within the store.
+     *
+     * @param previousDigest
+     *         The digest of the previous icon as a {@link String} or null, if no previous icon is
+     *         set as a bitmap
+     * @param icon
+     *         The icon, which should be added, as an instance of the class {@link Bitmap} or null,
+     *         if no icon should be added
+     * @return A pair, which contains the digest of the icon, as well as the icon, which is
+     * contained by the store, as an instance of the class {@link Pair}. The pair may not be null
+     */
+    @NonNull
+    private Pair<String, Bitmap> replaceIcon(@Nullable final String previousDigest,
+                                             @Nullable final Bitmap icon) {
+        IconStore iconStore = IconStore.getInstance();
+        Pair<String, Bitmap> pair =
+                icon != null ? iconStore.add(icon) : Pair.create((String) null, (Bitmap) null);
+
+        synchronized (this) {
+            if (iconsAcquired) {
+                iconStore.acquire(pair.first, pair.second);
+                iconStore.release(previousDigest);
+            }
+        }
+
+        return pair;
+    }
+
+    /**
+     * Resolves the digest of an icon, which has been read from a parcel, by retrieving the icon
+     * from the {@link IconStore}.
+     *
+     * @param digest
+     *         The digest of the icon as a {@link String} or null, if no icon is set as a bitmap
+     * @return The icon, which is identified by the given digest, as an instance of the class
+     * {@link Bitmap} or null, if no icon is set as a bitmap or if the icon is not held by the
+     * store anymore
+     */
+    @Nullable
+    private static Bitmap resolveIcon(@Nullable final String digest) {
+        return digest != null ? IconStore.getInstance().get(digest) : null;
+    }
+
     /**
      * Creates a new tab, which can be added to a {@link TabSwitcher} widget.
      *
@@ -238,17 +405,106 @@ public class Tab implements Parcelable {
      *         Parcel}. The parcel may not be null
      */
     private Tab(@NonNull final Parcel source) {
+        this.id = source.readLong();
+        adaptNextId(id);
+        this.pendingData = null;
+        readProperties(source);
+    }
+
+    /**
+     * Creates a new tab, which can be added to a {@link TabSwitcher} widget, from marshalled data.
+     * The tab's properties are not restored, until the tab is hydrated.
+     *
+     * @param id
+     *         The tab's unique id as a {@link Long} value
+     * @param data
+     *         The marshalled data, which has been written by the method <code>toByteArray</code>,
+     *         as a {@link Byte} array. The array may not be null
+     */
+    private Tab(final long id, @NonNull final byte[] data) {
+        this.id = id;
+        adaptNextId(id);
+        this.pendingData = data;
+    }
+
+    /**
+     * Reads the tab's properties, except for its id, from a specific parcel. As only the digests
+     * of the tab's icons are written to parcels, the icons are retrieved from the {@link
+     * IconStore}. If an icon is not held by the store anymore, the tab falls back to the icon,
+     * which is identified by its resource id.
+     *
+     * @param source
+     *         The parcel, the properties should be read from, as an instance of the class {@link
+     *         Parcel}. The parcel may not be null
+     */
+    private void readProperties(@NonNull final Parcel source) {
         this.title = TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source);
         this.iconId = source.readInt();
-        this.iconBitmap = source.readParcelable(getClass().getClassLoader());
+        String digest = source.readString();
+        this.iconBitmap = resolveIcon(digest);
+        this.iconDigest = iconBitmap != null ? digest : null;
         this.closeable = source.readInt() > 0;
         this.closeButtonIconId = source.readInt();
-        this.closeButtonIconBitmap = source.readParcelable(getClass().getClassLoader());
+        digest = source.readString();
+        this.closeButtonIconBitmap = resolveIcon(digest);
+        this.closeButtonIconDigest = closeButtonIconBitmap != null ? digest : null;
         this.backgroundColor = source.readParcelable(getClass().getClassLoader());
         this.titleTextColor = source.readParcelable(getClass().getClassLoader());
         this.parameters = source.readBundle(getClass().getClassLoader());
     }
 
+    /**
+     * Reads the tab's properties, except for its id, from a specific input, which provides data,
+     * which has been written by the method <code>toByteArray</code>.
+     *
+     * @param input
+     *         The input, the properties should be read from, as an instance of the type {@link
+     *         DataInput}. The input may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the properties
+     */
+    private void readProperties(@NonNull final DataInput input) throws IOException {
+        if (input.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version");
+        }
+
+        this.title = PersistenceFormat.readText(input);
+        this.iconId = input.readInt();
+        this.iconDigest = readDigest(input);
+        this.iconBitmap = null;
+        this.closeable = input.readBoolean();
+        this.closeButtonIconId = input.readInt();
+        this.closeButtonIconDigest = readDigest(input);
+        this.closeButtonIconBitmap = null;
+        this.backgroundColor = PersistenceFormat.readColorStateList(input);
+        this.titleTextColor = PersistenceFormat.readColorStateList(input);
+        this.parameters = PersistenceFormat.readBundle(input, getClass().getClassLoader());
+    }
+
+    /**
+     * Creates and returns a tab from marshalled data, which has been written by the method
+     * <code>toByteArray</code>. The tab's properties are not restored, until they are accessed
+     * for the first time, or until the method <code>hydrate</code> is called. This allows to
+     * restore a large number of tabs without having to create all of their bitmaps, colors and
+     * parameters at once.
+     *
+     * @param id
+     *         The tab's unique id as a {@link Long} value. The id must match the one of the tab,
+     *         the marshalled data has been written by
+     * @param data
+     *         The marshalled data as a {@link Byte} array. The array may not be null and it must
+     *         have been written in the format, which is used by the current version of the
+     *         library
+     * @return The tab, which has been created, as an instance of the class {@link Tab}. The tab
+     * may not be null
+     */
+    @NonNull
+    public static Tab createFromMarshalledData(final long id, @NonNull final byte[] data) {
+        ensureNotNull(data, "The data may not be null");
+        ensureTrue(getFormatVersion(data) == FORMAT_VERSION, "Unsupported format version");
+        return new Tab(id, data);
+    }
+
     /**
      * Creates a new tab, which can be added to a {@link TabSwitcher} widget.
      *
@@ -257,11 +513,15 @@ public class Tab implements Parcelable {
      *         neither be null, nor empty
      */
     public Tab(@NonNull final CharSequence title) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.pendingData = null;
         setTitle(title);
         this.closeable = true;
         this.closeButtonIconId = -1;
+        this.closeButtonIconDigest = null;
         this.closeButtonIconBitmap = null;
         this.iconId = -1;
+        this.iconDigest = null;
         this.iconBitmap = null;
         this.backgroundColor = null;
         this.titleTextColor = null;
@@ -282,6 +542,55 @@ public class Tab implements Parcelable {
         this(context.getString(resourceId));
     }
 
+    /**
+     * Returns the tab's unique id. The id is retained, when the tab is written to and restored
+     * from a parcel. It can therefore be used to identify a tab across configuration changes.
+     *
+     * @return The tab's unique id as a {@link Long} value
+     */
+    public final long getId() {
+        return id;
+    }
+
+    /**
+     * Returns, whether the tab's properties have already been restored, or not. This is only
+     * false for tabs, which have been created from marshalled data and have not been accessed
+     * yet.
+     *
+     * @return True, if the tab's properties have already been restored, false otherwise
+     */
+    public final boolean isHydrated() {
+        return pendingData == null;
+    }
+
+    /**
+     * Restores the tab's properties from the marshalled data, the tab has been created from, if
+     * this has not been done yet. This method may be called from any thread.
+     */
+    public final void hydrate() {
+        if (pendingData != null) {
+            synchronized (this) {
+                byte[] data = pendingData;
+
+                if (data != null) {
+                    try {
+                        readProperties(new DataInputStream(new ByteArrayInputStream(data)));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to restore the tab's properties",
+                                e);
+                    }
+
+                    if (iconsAcquired) {
+                        IconStore.getInstance().acquire(iconDigest, null);
+                        IconStore.getInstance().acquire(closeButtonIconDigest, null);
+                    }
+
+                    pendingData = null;
+                }
+            }
+        }
+    }
+
     /**
      * Returns the tab's title.
      *
@@ -290,6 +599,7 @@ public class Tab implements Parcelable {
      */
     @NonNull
     public final CharSequence getTitle() {
+        hydrate();
         return title;
     }
 
@@ -301,6 +611,7 @@ public class Tab implements Parcelable {
      *         title may neither be null, nor empty
      */
     public final void setTitle(@NonNull final CharSequence title) {
+        hydrate();
         ensureNotNull(title, "The title may not be null");
         ensureNotEmpty(title, "The title may not be empty");
         this.title = title;
@@ -332,11 +643,16 @@ public class Tab implements Parcelable {
      */
     @Nullable
     public final Drawable getIcon(@NonNull final Context context) {
+        hydrate();
         ensureNotNull(context, "The context may not be null");
 
         if (iconId != -1) {
             return ContextCompat.getDrawable(context, iconId);
         } else {
+            if (iconBitmap == null && iconDigest != null) {
+                iconBitmap = IconStore.getInstance().get(iconDigest);
+            }
+
             return iconBitmap != null ? new BitmapDrawable(context.getResources(), iconBitmap) :
                     null;
         }
@@ -350,21 +666,28 @@ public class Tab implements Parcelable {
      *         resource id must correspond to a valid drawable resource
      */
     public final void setIcon(@DrawableRes final int resourceId) {
+        hydrate();
+        replaceIcon(iconDigest, null);
         this.iconId = resourceId;
+        this.iconDigest = null;
         this.iconBitmap = null;
         notifyOnIconChanged();
     }
 
     /**
-     * Sets the tab's icon.
+     * Sets the tab's icon. The icon is added to the {@link IconStore}, where it is downscaled, if
+     * necessary, and shared with other tabs, which use an icon with the same content.
      *
      * @param icon
      *         The icon, which should be set, as an instance of the class {@link Bitmap} or null, if
      *         no custom icon should be set
      */
     public final void setIcon(@Nullable final Bitmap icon) {
+        hydrate();
+        Pair<String, Bitmap> pair = replaceIcon(iconDigest, icon);
         this.iconId = -1;
-        this.iconBitmap = icon;
+        this.iconDigest = pair.first;
+        this.iconBitmap = pair.second;
         notifyOnIconChanged();
     }
 
@@ -374,6 +697,7 @@ public class Tab implements Parcelable {
      * @return True, if the tab is closeable, false otherwise
      */
     public final boolean isCloseable() {
+        hydrate();
         return closeable;
     }
 
@@ -384,6 +708,7 @@ public class Tab implements Parcelable {
      *         True, if the tab should be closeable, false otherwise
      */
     public final void setCloseable(final boolean closeable) {
+        hydrate();
         this.closeable = closeable;
         notifyOnCloseableChanged();
     }
@@ -399,11 +724,16 @@ public class Tab implements Parcelable {
      */
     @Nullable
     public final Drawable getCloseButtonIcon(@NonNull final Context context) {
+        hydrate();
         ensureNotNull(context, "The context may not be null");
 
         if (closeButtonIconId != -1) {
             return ContextCompat.getDrawable(context, closeButtonIconId);
         } else {
+            if (closeButtonIconBitmap == null && closeButtonIconDigest != null) {
+                closeButtonIconBitmap = IconStore.getInstance().get(closeButtonIconDigest);
+            }
+
             return closeButtonIconBitmap != null ?
                     new BitmapDrawable(context.getResources(), closeButtonIconBitmap) : null;
         }
@@ -417,21 +747,29 @@ public class Tab implements Parcelable {
      *         resource id must correspond to a valid drawable resource
      */
     public final void setCloseButtonIcon(@DrawableRes final int resourceId) {
+        hydrate();
+        replaceIcon(closeButtonIconDigest, null);
         this.closeButtonIconId = resourceId;
+        this.closeButtonIconDigest = null;
         this.closeButtonIconBitmap = null;
         notifyOnCloseButtonIconChanged();
     }
 
     /**
-     * Sets the icon of the tab's close button.
+     * Sets the icon of the tab's close button. The icon is added to the {@link IconStore}, where it
+     * is downscaled, if necessary, and shared with other tabs, which use an icon with the same
+     * content.
      *
      * @param icon
      *         The icon, which should be set, as an instance of the class {@link Bitmap} or null, if
      *         no custom icon should be set
      */
     public final void setCloseButtonIcon(@Nullable final Bitmap icon) {
+        hydrate();
+        Pair<String, Bitmap> pair = replaceIcon(closeButtonIconDigest, icon);
         this.closeButtonIconId = -1;
-        this.closeButtonIconBitmap = icon;
+        this.closeButtonIconDigest = pair.first;
+        this.closeButtonIconBitmap = pair.second;
         notifyOnCloseButtonIconChanged();
     }
 
@@ -443,6 +781,7 @@ public class Tab implements Parcelable {
      */
     @Nullable
     public final ColorStateList getBackgroundColor() {
+        hydrate();
         return backgroundColor;
     }
 
@@ -465,6 +804,7 @@ public class Tab implements Parcelable {
      *         ColorStateList} or null, if no custom color should be set
      */
     public final void setBackgroundColor(@Nullable final ColorStateList colorStateList) {
+        hydrate();
         this.backgroundColor = colorStateList;
         notifyOnBackgroundColorChanged();
     }
@@ -477,6 +817,7 @@ public class Tab implements Parcelable {
      */
     @Nullable
     public final ColorStateList getTitleTextColor() {
+        hydrate();
         return titleTextColor;
     }
 
@@ -499,6 +840,7 @@ public class Tab implements Parcelable {
      *         ColorStateList} or null, if no custom color should be set
      */
     public final void setTitleTextColor(@Nullable final ColorStateList colorStateList) {
+        hydrate();
         this.titleTextColor = colorStateList;
         notifyOnTitleTextColorChanged();
     }
@@ -512,6 +854,7 @@ public class Tab implements Parcelable {
      */
     @Nullable
     public final Bundle getParameters() {
+        hydrate();
         return parameters;
     }
 
@@ -524,9 +867,89 @@ public class Tab implements Parcelable {
      *         if no parameters should be associated with the tab
      */
     public final void setParameters(@Nullable final Bundle parameters) {
+        hydrate();
         this.parameters = parameters;
     }
 
+    /**
+     * Returns the resource id of the tab's icon.
+     *
+     * @return The resource id of the tab's icon as an {@link Integer} value or -1, if no icon is
+     * set as a drawable resource
+     */
+    @DrawableRes
+    public final int getIconId() {
+        hydrate();
+        return iconId;
+    }
+
+    /**
+     * Returns the resource id of the icon of the tab's close button.
+     *
+     * @return The resource id of the icon of the tab's close button as an {@link Integer} value or
+     * -1, if no icon is set as a drawable resource
+     */
+    @DrawableRes
+    public final int getCloseButtonIconId() {
+        hydrate();
+        return closeButtonIconId;
+    }
+
+    /**
+     * Returns the digest of the tab's icon, which identifies it within the {@link IconStore}.
+     *
+     * @return The digest of the tab's icon as a {@link String} or null, if no custom icon is set
+     * as a bitmap
+     */
+    @Nullable
+    public final String getIconDigest() {
+        hydrate();
+        return iconDigest;
+    }
+
+    /**
+     * Returns the digest of the icon of the tab's close button, which identifies it within the
+     * {@link IconStore}.
+     *
+     * @return The digest of the icon of the tab's close button as a {@link String} or null, if no
+     * custom icon is set as a bitmap
+     */
+    @Nullable
+    public final String getCloseButtonIconDigest() {
+        hydrate();
+        return closeButtonIconDigest;
+    }
+
+    /**
+     * References the tab's icons within the {@link IconStore}, which causes them to be kept in
+     * memory. This method is called, when the tab is added to a {@link TabSwitcher}.
+     */
+    public final synchronized void acquireIcons() {
+        if (!iconsAcquired) {
+            iconsAcquired = true;
+
+            if (pendingData == null) {
+                IconStore.getInstance().acquire(iconDigest, iconBitmap);
+                IconStore.getInstance().acquire(closeButtonIconDigest, closeButtonIconBitmap);
+            }
+        }
+    }
+
+    /**
+     * Releases the references to the tab's icons within the {@link IconStore}. This method is
+     * called, when the tab is removed from a {@link TabSwitcher}.
+     */
+    public final synchronized void releaseIcons() {
+        if (iconsAcquired) {
+            iconsAcquired = false;
+
+            if (pendingData == null) {
+                IconStore.getInstance().release(iconDigest);
+                IconStore.getInstance().release(closeButtonIconDigest);
+            }
+        }
+    }
+
     /**
      * Adds a new callback, which should be notified, when the tab's properties have been changed.
      *
@@ -552,6 +975,39 @@ public class Tab implements Parcelable {
         this.callbacks.remove(callback);
     }
 
+    /**
+     * Returns the tab's properties, except for its id, in a versioned binary format, which does
+     * not depend on the platform's parcel format. The data can be used to create a tab by using
+     * the method <code>createFromMarshalledData</code>. Instead of the tab's icons, only their
+     * digests, which identify them within the {@link IconStore}, are included. This method must be
+     * called on the UI thread.
+     *
+     * @return The tab's properties as a {@link Byte} array. The array may not be null
+     */
+    @NonNull
+    public final byte[] toByteArray() {
+        hydrate();
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        DataOutputStream outputStream = new DataOutputStream(byteStream);
+
+        try {
+            outputStream.writeInt(FORMAT_VERSION);
+            PersistenceFormat.writeText(outputStream, title);
+            outputStream.writeInt(iconId);
+            writeDigest(outputStream, iconDigest);
+            outputStream.writeBoolean(closeable);
+            outputStream.writeInt(closeButtonIconId);
+            writeDigest(outputStream, closeButtonIconDigest);
+            PersistenceFormat.writeColorStateList(outputStream, backgroundColor);
+            PersistenceFormat.writeColorStateList(outputStream, titleTextColor);
+            PersistenceFormat.writeBundle(outputStream, parameters);
+            outputStream.flush();
+            return byteStream.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write the tab's properties", e);
+        }
+    }
+
     @Override
     public final int describeContents() {
         return 0;
@@ -559,12 +1015,14 @@ public class Tab implements Parcelable {
 
     @Override
     public final void writeToParcel(final Parcel parcel, final int flags) {
+        hydrate();
+        parcel.writeLong(id);
         TextUtils.writeToParcel(title, parcel, flags);
         parcel.writeInt(iconId);
-        parcel.writeParcelable(iconBitmap, flags);
+        parcel.writeString(iconDigest);
         parcel.writeInt(closeable ? 1 : 0);
         parcel.writeInt(closeButtonIconId);
-        parcel.writeParcelable(closeButtonIconBitmap, flags);
+        parcel.writeString(closeButtonIconDigest);
         parcel.writeParcelable(backgroundColor, flags);
         parcel.writeParcelable(titleTextColor, flags);
         parcel.writeBundle(parameters);
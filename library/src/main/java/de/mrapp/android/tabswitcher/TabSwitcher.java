@@ -21,6 +21,8 @@ import android.graphics.Bitmap;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.AttrRes;
@@ -46,19 +48,27 @@ import android.view.ViewGroup;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
 import android.widget.FrameLayout;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import de.mrapp.android.tabswitcher.layout.AbstractTabSwitcherLayout;
 import de.mrapp.android.tabswitcher.layout.AbstractTabSwitcherLayout.LayoutListenerWrapper;
 import de.mrapp.android.tabswitcher.layout.TabSwitcherLayout;
 import de.mrapp.android.tabswitcher.layout.phone.PhoneArithmetics;
 import de.mrapp.android.tabswitcher.layout.phone.PhoneTabSwitcherLayout;
+import de.mrapp.android.tabswitcher.model.ChangeSet;
+import de.mrapp.android.tabswitcher.model.IconStore;
 import de.mrapp.android.tabswitcher.model.Model;
+import de.mrapp.android.tabswitcher.model.PendingActionQueue;
+import de.mrapp.android.tabswitcher.model.TabDiff;
 import de.mrapp.android.tabswitcher.model.TabSwitcherModel;
 import de.mrapp.android.tabswitcher.view.TabSwitcherButton;
 import de.mrapp.android.util.DisplayUtil.DeviceType;
@@ -161,10 +171,64 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
 
     }
 
+    /**
+     * The total number of tabs, starting at which diffs, which are needed to replace the tabs of
+     * the tab switcher, are computed in a background thread.
+     */
+    private static final int BACKGROUND_DIFF_THRESHOLD = 500;
+
+    /**
+     * The time in seconds, after which the idle thread, which is used to compute diffs, is
+     * terminated.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 1;
+
+    /**
+     * The executor, which is shared by all tab switchers in order to compute diffs in a
+     * background thread.
+     */
+    private static final ThreadPoolExecutor DIFF_EXECUTOR = createDiffExecutor();
+
+    /**
+     * The handler, which is used to apply diffs, which have been computed in a background thread,
+     * on the UI thread. Unlike posting to the view, it does not depend on the view being attached
+     * to a window.
+     */
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
     /**
      * A queue, which contains all pending actions.
      */
-    private Queue<Runnable> pendingActions;
+    private PendingActionQueue pendingActions;
+
+    /**
+     * True, if pending actions are currently executed, false otherwise.
+     */
+    private boolean executingPendingActions;
+
+    /**
+     * True, if a diff is currently computed in a background thread, false otherwise. While a diff
+     * is computed, no pending actions are executed.
+     */
+    private boolean computingDiff;
+
+    /**
+     * The generation of the diff, which is currently computed in a background thread. It is
+     * incremented, whenever a computation is abandoned, in order to discard its result.
+     */
+    private int diffGeneration;
+
+    /**
+     * An array, which contains the tabs, the diff, which is currently computed in a background
+     * thread, should result in, or null, if no diff is computed.
+     */
+    private Tab[] diffTabs;
+
+    /**
+     * The animation, which should be used to apply the diff, which is currently computed in a
+     * background thread, or null, if no diff is computed.
+     */
+    private Animation diffAnimation;
 
     /**
      * A set, which contains the listeners, which should be notified about the tab switcher's
@@ -188,6 +252,23 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
      */
     private AbstractTabSwitcherLayout layout;
 
+    /**
+     * Creates and returns the executor, which is shared by all tab switchers in order to compute
+     * diffs in a background thread. Its only thread is terminated, when it has been idle for a
+     * while.
+     *
+     * @return The executor, which has been created, as an instance of the class {@link
+     * ThreadPoolExecutor}. The executor may not be null
+     */
+    @NonNull
+    private static ThreadPoolExecutor createDiffExecutor() {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Initializes the view.
      *
@@ -206,10 +287,17 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
     private void initialize(@Nullable final AttributeSet attributeSet,
                             @AttrRes final int defaultStyle,
                             @StyleRes final int defaultStyleResource) {
-        pendingActions = new LinkedList<>();
+        executingPendingActions = false;
+        computingDiff = false;
+        diffGeneration = 0;
+        diffTabs = null;
+        diffAnimation = null;
         listeners = new LinkedHashSet<>();
         model = new TabSwitcherModel(this);
+        pendingActions = new PendingActionQueue(model);
         model.addListener(createModelListener());
+        IconStore.getInstance()
+                .setMaxSize(getResources().getDimensionPixelSize(R.dimen.tab_icon_size));
         getViewTreeObserver().addOnGlobalLayoutListener(
                 new LayoutListenerWrapper(this, createGlobalLayoutListener(false)));
         setPadding(super.getPaddingLeft(), super.getPaddingTop(), super.getPaddingRight(),
@@ -282,6 +370,7 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
                         defaultStyleResource);
 
         try {
+            obtainTabViewsFlattened(typedArray);
             obtainLayoutPolicy(typedArray);
             obtainBackground(typedArray);
             obtainTabIcon(typedArray);
@@ -296,6 +385,19 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
         }
     }
 
+    /**
+     * Obtains, whether the views, which are used to visualize tabs, should be flattened, from a
+     * specific typed array.
+     *
+     * @param typedArray
+     *         The typed array, the property should be obtained from, as an instance of the class
+     *         {@link TypedArray}. The typed array may not be null
+     */
+    private void obtainTabViewsFlattened(@NonNull final TypedArray typedArray) {
+        setTabViewsFlattened(
+                typedArray.getBoolean(R.styleable.TabSwitcher_flattenTabViews, false));
+    }
+
     /**
      * Obtains the layout policy from a specific typed array.
      *
@@ -441,7 +543,9 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
     }
 
     /**
-     * Enqueues a specific action to be executed, when no animation is running.
+     * Enqueues a specific action to be executed, when no animation is running. Unlike the actions,
+     * which add, remove or select tabs or change the visibility of the switcher, such an action is
+     * never merged with other pending actions.
      *
      * @param action
      *         The action, which should be enqueued as an instance of the type {@link Runnable}. The
@@ -454,24 +558,150 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
     }
 
     /**
-     * Executes the next pending action.
+     * Executes the pending actions one after another, until an action starts an animation or a
+     * diff is computed in a background thread. While a batch is running, the actions are executed
+     * regardless of running animations, as their visualization is deferred until the batch is
+     * committed. The actions are executed iteratively. If this method is called again while an
+     * action is executed, the call is ignored, as the loop, which is already running, continues
+     * with the next action afterwards.
      */
     private void executePendingAction() {
-        if (!isAnimationRunning()) {
-            final Runnable action = pendingActions.poll();
+        if (!executingPendingActions) {
+            executingPendingActions = true;
 
-            if (action != null) {
-                new Runnable() {
+            try {
+                Runnable action;
+
+                while ((model.isBatchRunning() || !isAnimationRunning()) && !computingDiff &&
+                        (action = pendingActions.poll()) != null) {
+                    action.run();
+                }
+            } finally {
+                executingPendingActions = false;
+            }
+        }
+    }
 
-                    @Override
-                    public void run() {
-                        action.run();
+    /**
+     * Computes the diff, which is needed to replace the tabs of the tab switcher with specific
+     * tabs, in a background thread and applies it afterwards. While the diff is computed, the
+     * execution of pending actions is suspended. If the tab switcher is detached from its window
+     * in the meantime, the computation is abandoned and enqueued again.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which should be contained by the tab switcher, as
+     *         an array of the type {@link Tab}. The array may not be null
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     */
+    private void computeDiffInBackground(@NonNull final Tab[] tabs,
+                                         @NonNull final Animation animation) {
+        final Tab[] previousTabs = model.getTabs();
+        final int generation = ++diffGeneration;
+        computingDiff = true;
+        diffTabs = tabs;
+        diffAnimation = animation;
+        DIFF_EXECUTOR.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                TabDiff diff = null;
+                RuntimeException exception = null;
+
+                try {
+                    diff = new TabDiff(previousTabs, tabs);
+                } catch (RuntimeException e) {
+                    exception = e;
+                }
+
+                MAIN_HANDLER.post(createApplyDiffRunnable(generation, previousTabs, diff,
+                        exception, animation));
+            }
+
+        });
+    }
+
+    /**
+     * Creates and returns an action, which allows to compute the diff, which is needed to replace
+     * the tabs of the tab switcher with specific tabs, in a background thread.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which should be contained by the tab switcher, as
+     *         an array of the type {@link Tab}. The array may not be null
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     * @return The action, which has been created, as an instance of the type {@link Runnable}. The
+     * action may not be null
+     */
+    @NonNull
+    private Runnable createComputeDiffAction(@NonNull final Tab[] tabs,
+                                             @NonNull final Animation animation) {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                computeDiffInBackground(tabs, animation);
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns a runnable, which allows to apply a diff, which has been computed in a
+     * background thread. If the computation has been abandoned in the meantime, the diff is
+     * discarded. If the tabs of the tab switcher have been modified in the meantime, the diff is
+     * recomputed in a background thread.
+     *
+     * @param generation
+     *         The generation of the computation, the diff results from, as an {@link Integer}
+     *         value
+     * @param previousTabs
+     *         An array, which contains the tabs, the diff has been computed from, as an array of
+     *         the type {@link Tab}. The array may not be null
+     * @param diff
+     *         The diff, which has been computed, as an instance of the class {@link TabDiff} or
+     *         null, if an exception occurred
+     * @param exception
+     *         The exception, which occurred while computing the diff, as an instance of the class
+     *         {@link RuntimeException} or null, if no exception occurred
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     * @return The runnable, which has been created, as an instance of the type {@link Runnable}.
+     * The runnable may not be null
+     */
+    @NonNull
+    private Runnable createApplyDiffRunnable(final int generation,
+                                             @NonNull final Tab[] previousTabs,
+                                             @Nullable final TabDiff diff,
+                                             @Nullable final RuntimeException exception,
+                                             @NonNull final Animation animation) {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                if (computingDiff && generation == diffGeneration) {
+                    computingDiff = false;
+                    diffTabs = null;
+                    diffAnimation = null;
+
+                    try {
+                        if (exception != null) {
+                            throw exception;
+                        } else if (Arrays.equals(previousTabs, model.getTabs())) {
+                            model.applyDiff(diff, animation);
+                        } else {
+                            computeDiffInBackground(diff.getTabs(), animation);
+                        }
+                    } finally {
                         executePendingAction();
                     }
-
-                }.run();
+                }
             }
-        }
+
+        };
     }
 
     /**
@@ -567,6 +797,36 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
                 notifyOnSelectionChanged(-1, null);
             }
 
+            @Override
+            public void onTabsRemoved(@NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                      final int previousSelectedTabIndex,
+                                      final int selectedTabIndex,
+                                      @NonNull final Animation animation) {
+                notifyOnTabsRemoved(indices, tabs, animation);
+
+                if (previousSelectedTabIndex != selectedTabIndex) {
+                    notifyOnSelectionChanged(selectedTabIndex,
+                            selectedTabIndex != -1 ? getTab(selectedTabIndex) : null);
+                }
+            }
+
+            @Override
+            public void onTabMoved(final int previousIndex, final int index,
+                                   @NonNull final Tab tab, final int previousSelectedTabIndex,
+                                   final int selectedTabIndex) {
+                notifyOnTabMoved(previousIndex, index, tab);
+            }
+
+            @Override
+            public void onBatchCommitted(@NonNull final ChangeSet changeSet) {
+                notifyOnBatchCommitted(changeSet);
+
+                if (changeSet.isSelectionChanged()) {
+                    notifyOnSelectionChanged(changeSet.getSelectedTabIndex(),
+                            changeSet.getSelectedTab());
+                }
+            }
+
             @Override
             public void onPaddingChanged(final int left, final int top, final int right,
                                          final int bottom) {
@@ -750,6 +1010,92 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
         }
     }
 
+    /**
+     * Notifies all listeners, that multiple tabs have been removed from the tab switcher at once.
+     * Listeners, which do not implement the interface {@link TabSwitcherChangeListener}, are
+     * notified about each removed tab separately.
+     *
+     * @param indices
+     *         An array, which contains the previous indices of the tabs, which have been removed,
+     *         as an {@link Integer} array. The array may not be null
+     * @param tabs
+     *         An array, which contains the tabs, which have been removed, as an array of the type
+     *         {@link Tab}. The array may not be null
+     * @param animation
+     *         The animation, which has been used to remove the tabs, as an instance of the class
+     *         {@link Animation}. The animation may not be null
+     */
+    private void notifyOnTabsRemoved(@NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                     @NonNull final Animation animation) {
+        for (TabSwitcherListener listener : listeners) {
+            if (listener instanceof TabSwitcherChangeListener) {
+                ((TabSwitcherChangeListener) listener)
+                        .onTabsRemoved(this, indices, tabs, animation);
+            } else {
+                for (int i = tabs.length - 1; i >= 0; i--) {
+                    listener.onTabRemoved(this, indices[i], tabs[i], animation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies all listeners, which implement the interface {@link TabSwitcherChangeListener},
+     * that a tab has been moved to another index.
+     *
+     * @param previousIndex
+     *         The previous index of the tab, which has been moved, as an {@link Integer} value
+     * @param index
+     *         The index, the tab has been moved to, as an {@link Integer} value
+     * @param tab
+     *         The tab, which has been moved, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     */
+    private void notifyOnTabMoved(final int previousIndex, final int index,
+                                  @NonNull final Tab tab) {
+        for (TabSwitcherListener listener : listeners) {
+            if (listener instanceof TabSwitcherChangeListener) {
+                ((TabSwitcherChangeListener) listener).onTabMoved(this, previousIndex, index, tab);
+            }
+        }
+    }
+
+    /**
+     * Notifies all listeners, that a batch has been committed. Listeners, which do not implement
+     * the interface {@link TabSwitcherChangeListener}, are notified about each removed and added
+     * tab separately.
+     *
+     * @param changeSet
+     *         The change set, which describes the coalesced changes, as an instance of the class
+     *         {@link ChangeSet}. The change set may not be null
+     */
+    private void notifyOnBatchCommitted(@NonNull final ChangeSet changeSet) {
+        Tab[] removedTabs = null;
+        Tab[] addedTabs = null;
+
+        for (TabSwitcherListener listener : listeners) {
+            if (listener instanceof TabSwitcherChangeListener) {
+                ((TabSwitcherChangeListener) listener).onBatchCommitted(this, changeSet);
+            } else {
+                if (removedTabs == null) {
+                    removedTabs = changeSet.getRemovedTabs();
+                    addedTabs = changeSet.getAddedTabs();
+                }
+
+                Animation animation = changeSet.getAnimation();
+
+                for (int i = removedTabs.length - 1; i >= 0; i--) {
+                    Tab tab = removedTabs[i];
+                    listener.onTabRemoved(this, changeSet.getPreviousIndex(tab), tab, animation);
+                }
+
+                for (Tab tab : addedTabs) {
+                    listener.onTabAdded(this, changeSet.getIndex(tab), tab, animation);
+                }
+            }
+        }
+    }
+
     /**
      * Creates a new tab switcher, which allows to switch between multiple tabs.
      *
@@ -943,134 +1289,149 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
 
     @Override
     public final void addTab(@NonNull final Tab tab) {
-        enqueuePendingAction(new Runnable() {
-
-            @Override
-            public void run() {
-                model.addTab(tab);
-            }
-
-        });
+        pendingActions.addTabs(new Tab[]{tab}, -1, null);
+        executePendingAction();
     }
 
     @Override
     public final void addTab(@NonNull final Tab tab, final int index) {
-        enqueuePendingAction(new Runnable() {
-
-            @Override
-            public void run() {
-                model.addTab(tab, index);
-            }
-
-        });
+        pendingActions.addTabs(new Tab[]{tab}, index, null);
+        executePendingAction();
     }
 
     @Override
     public final void addTab(@NonNull final Tab tab, final int index,
                              @NonNull final Animation animation) {
-        enqueuePendingAction(new Runnable() {
-
-            @Override
-            public void run() {
-                model.addTab(tab, index, animation);
-            }
-
-        });
+        ensureNotNull(animation, "The animation may not be null");
+        pendingActions.addTabs(new Tab[]{tab}, index, animation);
+        executePendingAction();
     }
 
     @Override
     public final void addAllTabs(@NonNull final Collection<? extends Tab> tabs) {
-        enqueuePendingAction(new Runnable() {
-
-            @Override
-            public void run() {
-                model.addAllTabs(tabs);
-            }
-
-        });
+        ensureNotNull(tabs, "The collection may not be null");
+        pendingActions.addTabs(tabs.toArray(new Tab[tabs.size()]), -1, null);
+        executePendingAction();
     }
 
     @Override
     public final void addAllTabs(@NonNull final Collection<? extends Tab> tabs, final int index) {
-        enqueuePendingAction(new Runnable() {
-
-            @Override
-            public void run() {
-                model.addAllTabs(tabs, index);
-            }
-
-        });
+        ensureNotNull(tabs, "The collection may not be null");
+        pendingActions.addTabs(tabs.toArray(new Tab[tabs.size()]), index, null);
+        executePendingAction();
     }
 
     @Override
     public final void addAllTabs(@NonNull final Collection<? extends Tab> tabs, final int index,
                                  @NonNull final Animation animation) {
-        enqueuePendingAction(new Runnable() {
-
-            @Override
-            public void run() {
-                model.addAllTabs(tabs, index, animation);
-            }
-
-        });
+        ensureNotNull(tabs, "The collection may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        pendingActions.addTabs(tabs.toArray(new Tab[tabs.size()]), index, animation);
+        executePendingAction();
     }
 
     @Override
     public final void addAllTabs(@NonNull final Tab[] tabs) {
-        enqueuePendingAction(new Runnable() {
+        ensureNotNull(tabs, "The array may not be null");
+        pendingActions.addTabs(tabs, -1, null);
+        executePendingAction();
+    }
 
-            @Override
-            public void run() {
-                model.addAllTabs(tabs);
-            }
+    @Override
+    public final void addAllTabs(@NonNull final Tab[] tabs, final int index) {
+        ensureNotNull(tabs, "The array may not be null");
+        pendingActions.addTabs(tabs, index, null);
+        executePendingAction();
+    }
 
-        });
+    @Override
+    public final void addAllTabs(@NonNull final Tab[] tabs, final int index,
+                                 @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The array may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        pendingActions.addTabs(tabs, index, animation);
+        executePendingAction();
     }
 
     @Override
-    public final void addAllTabs(@NonNull final Tab[] tabs, final int index) {
-        enqueuePendingAction(new Runnable() {
+    public final void removeTab(@NonNull final Tab tab) {
+        pendingActions.removeTabs(new Tab[]{tab}, null);
+        executePendingAction();
+    }
 
-            @Override
-            public void run() {
-                model.addAllTabs(tabs, index);
-            }
+    @Override
+    public final void removeTab(@NonNull final Tab tab, @NonNull final Animation animation) {
+        ensureNotNull(animation, "The animation may not be null");
+        pendingActions.removeTabs(new Tab[]{tab}, animation);
+        executePendingAction();
+    }
 
-        });
+    @Override
+    public final void removeAllTabs(@NonNull final Collection<? extends Tab> tabs) {
+        ensureNotNull(tabs, "The collection may not be null");
+        pendingActions.removeTabs(tabs.toArray(new Tab[tabs.size()]), null);
+        executePendingAction();
     }
 
     @Override
-    public final void addAllTabs(@NonNull final Tab[] tabs, final int index,
-                                 @NonNull final Animation animation) {
-        enqueuePendingAction(new Runnable() {
+    public final void removeAllTabs(@NonNull final Collection<? extends Tab> tabs,
+                                    @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The collection may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        pendingActions.removeTabs(tabs.toArray(new Tab[tabs.size()]), animation);
+        executePendingAction();
+    }
 
-            @Override
-            public void run() {
-                model.addAllTabs(tabs, index, animation);
-            }
+    @Override
+    public final void removeAllTabs(@NonNull final Tab[] tabs) {
+        ensureNotNull(tabs, "The array may not be null");
+        pendingActions.removeTabs(tabs, null);
+        executePendingAction();
+    }
 
-        });
+    @Override
+    public final void removeAllTabs(@NonNull final Tab[] tabs,
+                                    @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The array may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        pendingActions.removeTabs(tabs, animation);
+        executePendingAction();
     }
 
     @Override
-    public final void removeTab(@NonNull final Tab tab) {
+    public final void moveTab(@NonNull final Tab tab, final int index) {
         enqueuePendingAction(new Runnable() {
 
             @Override
             public void run() {
-                model.removeTab(tab);
+                model.moveTab(tab, index);
             }
 
         });
     }
 
     @Override
-    public final void removeTab(@NonNull final Tab tab, @NonNull final Animation animation) {
+    public final void setTabs(@NonNull final List<? extends Tab> tabs) {
+        setTabs(tabs, new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void setTabs(@NonNull final List<? extends Tab> tabs,
+                              @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The list may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        final Tab[] array = new Tab[tabs.size()];
+        tabs.toArray(array);
         enqueuePendingAction(new Runnable() {
 
             @Override
             public void run() {
-                model.removeTab(tab, animation);
+                if (model.isBatchRunning() ||
+                        array.length + getCount() < BACKGROUND_DIFF_THRESHOLD) {
+                    model.setTabs(Arrays.asList(array), animation);
+                } else {
+                    computeDiffInBackground(array, animation);
+                }
             }
 
         });
@@ -1101,15 +1462,47 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
     }
 
     @Override
-    public final void selectTab(@NonNull final Tab tab) {
-        enqueuePendingAction(new Runnable() {
+    public final void beginBatch() {
+        model.beginBatch();
+        executePendingAction();
+    }
 
-            @Override
-            public void run() {
-                model.selectTab(tab);
-            }
+    @Override
+    public final void commitBatch() {
+        commitBatch(new SwipeAnimation.Builder().create());
+    }
 
-        });
+    @Override
+    public final void commitBatch(@NonNull final Animation animation) {
+        ensureNotNull(animation, "The animation may not be null");
+        executePendingAction();
+        model.commitBatch(animation);
+        executePendingAction();
+    }
+
+    @Override
+    public final void runInBatch(@NonNull final Runnable runnable) {
+        runInBatch(runnable, new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void runInBatch(@NonNull final Runnable runnable,
+                                 @NonNull final Animation animation) {
+        ensureNotNull(runnable, "The runnable may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        beginBatch();
+
+        try {
+            runnable.run();
+        } finally {
+            commitBatch(animation);
+        }
+    }
+
+    @Override
+    public final void selectTab(@NonNull final Tab tab) {
+        pendingActions.selectTab(tab);
+        executePendingAction();
     }
 
     @Nullable
@@ -1149,6 +1542,12 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
         return model.indexOf(tab);
     }
 
+    @Nullable
+    @Override
+    public final Tab getTabById(final long id) {
+        return model.getTabById(id);
+    }
+
     @Override
     public final boolean isSwitcherShown() {
         return model.isSwitcherShown();
@@ -1156,48 +1555,111 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
 
     @Override
     public final void showSwitcher() {
-        enqueuePendingAction(new Runnable() {
+        pendingActions.showSwitcher();
+        executePendingAction();
+    }
 
-            @Override
-            public void run() {
-                model.showSwitcher();
-            }
+    @Override
+    public final void hideSwitcher() {
+        pendingActions.hideSwitcher();
+        executePendingAction();
+    }
 
-        });
+    @Override
+    public final void toggleSwitcherVisibility() {
+        pendingActions.toggleSwitcherVisibility();
+        executePendingAction();
     }
 
     @Override
-    public final void hideSwitcher() {
-        enqueuePendingAction(new Runnable() {
+    public final void setDecorator(@NonNull final TabSwitcherDecorator decorator) {
+        model.setDecorator(decorator);
+    }
 
-            @Override
-            public void run() {
-                model.hideSwitcher();
-            }
+    @Override
+    public final TabSwitcherDecorator getDecorator() {
+        return model.getDecorator();
+    }
 
-        });
+    @Override
+    public final void setChildStateCacheSize(final int maxSize) {
+        model.setChildStateCacheSize(maxSize);
     }
 
     @Override
-    public final void toggleSwitcherVisibility() {
-        enqueuePendingAction(new Runnable() {
+    public final int getChildStateCacheSize() {
+        return model.getChildStateCacheSize();
+    }
 
-            @Override
-            public void run() {
-                model.toggleSwitcherVisibility();
+    @Override
+    public final void setChildStateSpillDirectory(@Nullable final File directory) {
+        model.setChildStateSpillDirectory(directory);
+    }
+
+    @Nullable
+    @Override
+    public final File getChildStateSpillDirectory() {
+        return model.getChildStateSpillDirectory();
+    }
+
+    @Override
+    public final void setSessionFile(@Nullable final File file) {
+        model.setSessionFile(file);
+    }
+
+    @Nullable
+    @Override
+    public final File getSessionFile() {
+        return model.getSessionFile();
+    }
+
+    @Override
+    public final void setJournalDirectory(@Nullable final File directory) {
+        model.setJournalDirectory(directory);
+    }
+
+    @Nullable
+    @Override
+    public final File getJournalDirectory() {
+        return model.getJournalDirectory();
+    }
+
+    @Override
+    public final void setTabViewsFlattened(final boolean flattened) {
+        if (model.areTabViewsFlattened() != flattened) {
+            model.setTabViewsFlattened(flattened);
+
+            if (layout != null) {
+                layout.detachLayout(false);
+                model.removeListener(layout);
+                initializeLayout(getLayout(), false);
             }
+        }
+    }
 
-        });
+    @Override
+    public final boolean areTabViewsFlattened() {
+        return model.areTabViewsFlattened();
     }
 
     @Override
-    public final void setDecorator(@NonNull final TabSwitcherDecorator decorator) {
-        model.setDecorator(decorator);
+    public final void setPrewarmedTabViewCount(final int count) {
+        model.setPrewarmedTabViewCount(count);
     }
 
     @Override
-    public final TabSwitcherDecorator getDecorator() {
-        return model.getDecorator();
+    public final int getPrewarmedTabViewCount() {
+        return model.getPrewarmedTabViewCount();
+    }
+
+    @Override
+    public final void setTouchEventsCoalesced(final boolean coalesced) {
+        model.setTouchEventsCoalesced(coalesced);
+    }
+
+    @Override
+    public final boolean areTouchEventsCoalesced() {
+        return model.areTouchEventsCoalesced();
     }
 
     @NonNull
@@ -1405,6 +1867,27 @@ public class TabSwitcher extends FrameLayout implements TabSwitcherLayout, Model
         return layout != null ? layout.getToolbarMenu() : null;
     }
 
+    @Override
+    protected final void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        model.openJournal();
+        executePendingAction();
+    }
+
+    @Override
+    protected final void onDetachedFromWindow() {
+        if (computingDiff) {
+            computingDiff = false;
+            diffGeneration++;
+            pendingActions.addFirst(createComputeDiffAction(diffTabs, diffAnimation));
+            diffTabs = null;
+            diffAnimation = null;
+        }
+
+        model.closeJournal();
+        super.onDetachedFromWindow();
+    }
+
     @Override
     public final boolean onTouchEvent(final MotionEvent event) {
         return (layout != null && layout.handleTouchEvent(event)) || super.onTouchEvent(event);
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher;
+
+import android.support.annotation.NonNull;
+
+import de.mrapp.android.tabswitcher.model.ChangeSet;
+
+/**
+ * Defines the interface, a class, which should be notified about a tab switcher's events,
+ * including the events, which describe multiple changes at once, must implement. Listeners, which
+ * only implement the interface {@link TabSwitcherListener}, are notified about such changes by
+ * invoking the methods {@link TabSwitcherListener#onTabAdded(TabSwitcher, int, Tab, Animation)}
+ * and {@link TabSwitcherListener#onTabRemoved(TabSwitcher, int, Tab, Animation)} for each affected
+ * tab instead. They are not notified about tabs, which have been moved.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public interface TabSwitcherChangeListener extends TabSwitcherListener {
+
+    /**
+     * The method, which is invoked, when multiple tabs have been removed from the tab switcher at
+     * once.
+     *
+     * @param tabSwitcher
+     *         The observed tab switcher as an instance of the class {@link TabSwitcher}. The tab
+     *         switcher may not be null
+     * @param indices
+     *         An array, which contains the previous indices of the tabs, which have been removed,
+     *         in ascending order, as an {@link Integer} array. The array may not be null
+     * @param tabs
+     *         An array, which contains the tabs, which have been removed, in the same order as
+     *         their indices, as an array of the type {@link Tab}. The array may not be null
+     * @param animation
+     *         The animation, which has been used to remove the tabs, as an instance of the class
+     *         {@link Animation}. The animation may not be null
+     */
+    void onTabsRemoved(@NonNull TabSwitcher tabSwitcher, @NonNull int[] indices,
+                       @NonNull Tab[] tabs, @NonNull Animation animation);
+
+    /**
+     * The method, which is invoked, when a tab has been moved to another index.
+     *
+     * @param tabSwitcher
+     *         The observed tab switcher as an instance of the class {@link TabSwitcher}. The tab
+     *         switcher may not be null
+     * @param previousIndex
+     *         The previous index of the tab, which has been moved, as an {@link Integer} value
+     * @param index
+     *         The index, the tab has been moved to, as an {@link Integer} value
+     * @param tab
+     *         The tab, which has been moved, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     */
+    void onTabMoved(@NonNull TabSwitcher tabSwitcher, int previousIndex, int index,
+                    @NonNull Tab tab);
+
+    /**
+     * The method, which is invoked, when a batch has been committed. It replaces the notifications
+     * about all tabs, which have been added to or removed from the tab switcher while the batch was
+     * running.
+     *
+     * @param tabSwitcher
+     *         The observed tab switcher as an instance of the class {@link TabSwitcher}. The tab
+     *         switcher may not be null
+     * @param changeSet
+     *         The change set, which describes the coalesced changes, as an instance of the class
+     *         {@link ChangeSet}. The change set may not be null
+     */
+    void onBatchCommitted(@NonNull TabSwitcher tabSwitcher, @NonNull ChangeSet changeSet);
+
+}
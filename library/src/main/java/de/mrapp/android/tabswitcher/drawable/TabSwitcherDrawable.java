@@ -32,7 +32,8 @@ import de.mrapp.android.tabswitcher.Animation;
 import de.mrapp.android.tabswitcher.R;
 import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
-import de.mrapp.android.tabswitcher.TabSwitcherListener;
+import de.mrapp.android.tabswitcher.TabSwitcherChangeListener;
+import de.mrapp.android.tabswitcher.model.ChangeSet;
 import de.mrapp.android.util.ThemeUtil;
 
 import static de.mrapp.android.util.Condition.ensureAtLeast;
@@ -41,12 +42,13 @@ import static de.mrapp.android.util.Condition.ensureNotNull;
 /**
  * A drawable, which allows to display the number of tabs, which are currently contained by a {@link
  * TabSwitcher}. It must be registered at a {@link TabSwitcher} instance in order to keep the
- * displayed label up to date. It therefore implements the interface {@link TabSwitcherListener}.
+ * displayed label up to date. It therefore implements the interface {@link
+ * TabSwitcherChangeListener}.
  *
  * @author Michael Rapp
  * @since 0.1.0
  */
-public class TabSwitcherDrawable extends Drawable implements TabSwitcherListener {
+public class TabSwitcherDrawable extends Drawable implements TabSwitcherChangeListener {
 
     /**
      * The size of the drawable in pixels.
@@ -208,4 +210,23 @@ public class TabSwitcherDrawable extends Drawable implements TabSwitcherListener
         setCount(tabSwitcher.getCount());
     }
 
+    @Override
+    public final void onTabsRemoved(@NonNull final TabSwitcher tabSwitcher,
+                                    @NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                    @NonNull final Animation animation) {
+        setCount(tabSwitcher.getCount());
+    }
+
+    @Override
+    public final void onTabMoved(@NonNull final TabSwitcher tabSwitcher, final int previousIndex,
+                                 final int index, @NonNull final Tab tab) {
+
+    }
+
+    @Override
+    public final void onBatchCommitted(@NonNull final TabSwitcher tabSwitcher,
+                                       @NonNull final ChangeSet changeSet) {
+        setCount(tabSwitcher.getCount());
+    }
+
 }
\ No newline at end of file
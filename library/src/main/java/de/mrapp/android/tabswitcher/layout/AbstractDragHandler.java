@@ -16,6 +16,7 @@ package de.mrapp.android.tabswitcher.layout;
 import android.content.res.Resources;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.ViewConfiguration;
@@ -27,6 +28,7 @@ import de.mrapp.android.tabswitcher.model.TabItem;
 import de.mrapp.android.util.gesture.DragHelper;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
+import static de.mrapp.android.util.Condition.ensureTrue;
 
 /**
  * An abstract base class for all drag handlers, which allow to calculate the position and state of
@@ -111,12 +113,11 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
         /**
          * The method, which is invoked, when a fling has been triggered.
          *
-         * @param distance
-         *         The distance of the fling in pixels as a {@link Float} value
-         * @param duration
-         *         The duration of the fling in milliseconds as a {@link Long} value
+         * @param velocity
+         *         The velocity of the fling in pixels per second as a {@link Float} value. The
+         *         velocity is negative, if the tabs are flung towards the start
          */
-        void onFling(float distance, long duration);
+        void onFling(float velocity);
 
         /**
          * The method, which is invoked, when a fling has been cancelled.
@@ -239,11 +240,88 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
      */
     private float endOvershootThreshold;
 
+    /**
+     * The runnable, which is used to apply the pending drag position once per frame, if touch
+     * events are coalesced.
+     */
+    private final Runnable pendingDragRunnable;
+
+    /**
+     * True, if a drag position is pending to be applied on the next frame, false otherwise.
+     */
+    private boolean dragPending;
+
+    /**
+     * The latest position of the pointer on the dragging axis, which has not been applied yet, in
+     * pixels.
+     */
+    private float pendingDragPosition;
+
+    /**
+     * The latest position of the pointer on the orthogonal axis, which has not been applied yet,
+     * in pixels.
+     */
+    private float pendingOrthogonalPosition;
+
     /**
      * The callback, which is notified about the drag handler's events.
      */
     private CallbackType callback;
 
+    /**
+     * Creates and returns a runnable, which applies the pending drag position, when a frame is
+     * rendered.
+     *
+     * @return The runnable, which has been created, as an instance of the type {@link Runnable}.
+     * The runnable may not be null
+     */
+    @NonNull
+    private Runnable createPendingDragRunnable() {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                if (dragPending) {
+                    dragPending = false;
+                    handleDrag(pendingDragPosition, pendingOrthogonalPosition);
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Stores the position of a motion event, which moves the current drag gesture, in order to
+     * apply it on the next frame. All motion events, which are received until then, are coalesced.
+     * As the positions are absolute, only the latest one must be applied to account for the
+     * distances of all historical samples.
+     *
+     * @param event
+     *         The motion event, whose position should be stored, as an instance of the class
+     *         {@link MotionEvent}. The motion event may not be null
+     */
+    private void postDrag(@NonNull final MotionEvent event) {
+        pendingDragPosition = arithmetics.getPosition(Axis.DRAGGING_AXIS, event);
+        pendingOrthogonalPosition = arithmetics.getPosition(Axis.ORTHOGONAL_AXIS, event);
+
+        if (!dragPending) {
+            dragPending = true;
+            ViewCompat.postOnAnimation(tabSwitcher, pendingDragRunnable);
+        }
+    }
+
+    /**
+     * Applies the pending drag position immediately, if any. This must be done before a drag
+     * gesture is released, in order to take the latest position of the pointer into account.
+     */
+    private void flushPendingDrag() {
+        if (dragPending) {
+            tabSwitcher.removeCallbacks(pendingDragRunnable);
+            dragPending = false;
+            handleDrag(pendingDragPosition, pendingOrthogonalPosition);
+        }
+    }
+
     /**
      * Resets the drag handler to its previous state, when a drag gesture has ended.
      *
@@ -252,6 +330,11 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
      *         {@link Integer} value
      */
     private void resetDragging(final int dragThreshold) {
+        if (this.dragPending) {
+            this.tabSwitcher.removeCallbacks(pendingDragRunnable);
+            this.dragPending = false;
+        }
+
         if (this.velocityTracker != null) {
             this.velocityTracker.recycle();
             this.velocityTracker = null;
@@ -285,6 +368,7 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
         }
 
         velocityTracker.addMovement(event);
+        onDown();
     }
 
     /**
@@ -318,14 +402,8 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
         float flingVelocity = Math.abs(velocityTracker.getYVelocity(pointerId));
 
         if (flingVelocity > minFlingVelocity) {
-            float flingDistance = 0.25f * flingVelocity;
-
-            if (dragState == DragState.DRAG_TO_START) {
-                flingDistance = -1 * flingDistance;
-            }
-
-            long duration = Math.round(Math.abs(flingDistance) / flingVelocity * 1000);
-            notifyOnFling(flingDistance, duration);
+            notifyOnFling(dragState == DragState.DRAG_TO_START ? -1 * flingVelocity :
+                    flingVelocity);
         }
     }
 
@@ -376,14 +454,13 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
     /**
      * Notifies the callback, that a fling has been triggered.
      *
-     * @param distance
-     *         The distance of the fling in pixels as a {@link Float} value
-     * @param duration
-     *         The duration of the fling in milliseconds as a {@link Long} value
+     * @param velocity
+     *         The velocity of the fling in pixels per second as a {@link Float} value. The
+     *         velocity is negative, if the tabs are flung towards the start
      */
-    private void notifyOnFling(final float distance, final long duration) {
+    private void notifyOnFling(final float velocity) {
         if (callback != null) {
-            callback.onFling(distance, duration);
+            callback.onFling(velocity);
         }
     }
 
@@ -509,6 +586,8 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
         this.swipeDragHelper =
                 new DragHelper(resources.getDimensionPixelSize(R.dimen.swipe_threshold));
         this.callback = null;
+        this.pendingDragRunnable = createPendingDragRunnable();
+        this.dragPending = false;
         ViewConfiguration configuration = ViewConfiguration.get(tabSwitcher.getContext());
         this.minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
         this.maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
@@ -566,6 +645,14 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
 
     }
 
+    /**
+     * The method, which is invoked on implementing subclasses, when a drag gesture has been
+     * started.
+     */
+    protected void onDown() {
+
+    }
+
     /**
      * The method, which invoked on implementing subclasses, when the drag handler has been reset.
      */
@@ -622,9 +709,15 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
                         }
 
                         velocityTracker.addMovement(event);
-                        handleDrag(arithmetics.getPosition(Axis.DRAGGING_AXIS, event),
-                                arithmetics.getPosition(Axis.ORTHOGONAL_AXIS, event));
+
+                        if (tabSwitcher.areTouchEventsCoalesced()) {
+                            postDrag(event);
+                        } else {
+                            handleDrag(arithmetics.getPosition(Axis.DRAGGING_AXIS, event),
+                                    arithmetics.getPosition(Axis.ORTHOGONAL_AXIS, event));
+                        }
                     } else {
+                        flushPendingDrag();
                         handleRelease(null, dragThreshold);
                         handleDown(event);
                     }
@@ -632,6 +725,7 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
                     return true;
                 case MotionEvent.ACTION_UP:
                     if (!tabSwitcher.isAnimationRunning() && event.getPointerId(0) == pointerId) {
+                        flushPendingDrag();
                         handleRelease(event, dragThreshold);
                     }
 
@@ -763,6 +857,31 @@ public abstract class AbstractDragHandler<CallbackType extends AbstractDragHandl
         resetDragging(dragThreshold);
     }
 
+    /**
+     * Handles, when a fling caused the tabs to overshoot. Subsequent calls of the method {@link
+     * #handleDrag(float, float)} with positions beyond the given position are handled as an
+     * overshoot, until the method {@link #handleRelease(MotionEvent, int)} is called.
+     *
+     * @param overshoot
+     *         The overshoot as a value of the enum {@link DragState}. The overshoot must either be
+     *         {@link DragState#OVERSHOOT_START} or {@link DragState#OVERSHOOT_END}
+     * @param position
+     *         The position on the dragging axis, the overshoot starts at, in pixels as a {@link
+     *         Float} value
+     */
+    public final void handleFlingOvershoot(@NonNull final DragState overshoot,
+                                           final float position) {
+        ensureTrue(overshoot == DragState.OVERSHOOT_START || overshoot == DragState.OVERSHOOT_END,
+                "Invalid overshoot");
+        dragState = overshoot;
+
+        if (overshoot == DragState.OVERSHOOT_START) {
+            startOvershootThreshold = position;
+        } else {
+            endOvershootThreshold = position;
+        }
+    }
+
     /**
      * Resets the drag handler to its initial state.
      *
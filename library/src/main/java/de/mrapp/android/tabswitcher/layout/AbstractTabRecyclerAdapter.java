@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.tabswitcher.model.TabItem;
+import de.mrapp.android.util.view.AbstractViewRecycler;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An abstract base class for all view recycler adapters, which allow to inflate the views, which
+ * are used to visualize the tabs of a {@link TabSwitcher}. It allows to retain the tab items of
+ * tabs, whose views have been detached, e.g. because they are drawn by other means, in order to
+ * keep their tags until their views are inflated again.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public abstract class AbstractTabRecyclerAdapter
+        extends AbstractViewRecycler.Adapter<TabItem, Integer> {
+
+    /**
+     * A map, which contains the tab items, which correspond to tabs, whose views have been
+     * detached, mapped to the corresponding tabs.
+     */
+    private final Map<Tab, TabItem> detachedTabItems;
+
+    /**
+     * Creates a new view recycler adapter, which allows to inflate the views, which are used to
+     * visualize the tabs of a {@link TabSwitcher}.
+     */
+    public AbstractTabRecyclerAdapter() {
+        this.detachedTabItems = new HashMap<>();
+    }
+
+    /**
+     * Retains the tab item, which corresponds to a specific tab, whose view is detached. A copy of
+     * the tab item, which shares its tag, is retained until it is released.
+     *
+     * @param tabItem
+     *         The tab item, which should be retained, as an instance of the class {@link TabItem}.
+     *         The tab item may not be null
+     */
+    protected final void retainDetachedTabItem(@NonNull final TabItem tabItem) {
+        ensureNotNull(tabItem, "The tab item may not be null");
+        TabItem detachedTabItem = new TabItem(tabItem.getIndex(), tabItem.getTab());
+        detachedTabItem.setTag(tabItem.getTag());
+        detachedTabItems.put(tabItem.getTab(), detachedTabItem);
+    }
+
+    /**
+     * Returns the tab item, which corresponds to a specific tab, whose view has been detached.
+     *
+     * @param tab
+     *         The tab, whose tab item should be returned, as an instance of the class {@link Tab}.
+     *         The tab may not be null
+     * @return The tab item, which corresponds to the given tab, as an instance of the class {@link
+     * TabItem} or null, if the view of the tab has not been detached
+     */
+    @Nullable
+    public final TabItem getDetachedTabItem(@NonNull final Tab tab) {
+        return detachedTabItems.get(tab);
+    }
+
+    /**
+     * Returns the tab items, which correspond to the tabs, whose views have been detached.
+     *
+     * @return A collection, which contains the tab items, which correspond to the tabs, whose
+     * views have been detached, as an instance of the type {@link Collection}. The collection may
+     * not be null
+     */
+    @NonNull
+    public final Collection<TabItem> getDetachedTabItems() {
+        return detachedTabItems.values();
+    }
+
+    /**
+     * Discards the tab item, which corresponds to a specific tab, whose view has been detached.
+     *
+     * @param tab
+     *         The tab, whose tab item should be discarded, as an instance of the class {@link Tab}.
+     *         The tab may not be null
+     */
+    public final void releaseDetachedTabItem(@NonNull final Tab tab) {
+        detachedTabItems.remove(tab);
+    }
+
+    /**
+     * Discards the tab items, which correspond to the tabs, whose views have been detached.
+     */
+    public final void clearDetachedTabItems() {
+        detachedTabItems.clear();
+    }
+
+}
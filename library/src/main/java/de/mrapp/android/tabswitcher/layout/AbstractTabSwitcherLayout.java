@@ -23,20 +23,22 @@ import android.support.annotation.MenuRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.util.Pair;
+import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.Toolbar;
 import android.support.v7.widget.Toolbar.OnMenuItemClickListener;
 import android.view.Menu;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnClickListener;
+import android.view.View.OnLayoutChangeListener;
 import android.view.ViewTreeObserver.OnGlobalLayoutListener;
-import android.view.animation.Animation;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.Transformation;
+import android.view.ViewConfiguration;
+import android.widget.OverScroller;
 
 import de.mrapp.android.tabswitcher.R;
 import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.TabSwitcherDecorator;
+import de.mrapp.android.tabswitcher.layout.AbstractDragHandler.DragState;
 import de.mrapp.android.tabswitcher.model.Model;
 import de.mrapp.android.tabswitcher.model.TabItem;
 import de.mrapp.android.tabswitcher.model.TabSwitcherModel;
@@ -186,33 +188,16 @@ public abstract class AbstractTabSwitcherLayout
     }
 
     /**
-     * An animation, which allows to fling the tabs.
+     * The factor, the friction of the scroller, which is used to fling the tabs, is multiplied by,
+     * once the tabs overshoot.
      */
-    private class FlingAnimation extends android.view.animation.Animation {
+    private static final float OVERSHOOT_FRICTION_FACTOR = 8f;
 
-        /**
-         * The distance, the tabs should be moved.
-         */
-        private final float distance;
-
-        /**
-         * Creates a new fling animation.
-         *
-         * @param distance
-         *         The distance, the tabs should be moved, in pixels as a {@link Float} value
-         */
-        FlingAnimation(final float distance) {
-            this.distance = distance;
-        }
-
-        @Override
-        protected void applyTransformation(final float interpolatedTime, final Transformation t) {
-            if (flingAnimation != null) {
-                dragHandler.handleDrag(distance * interpolatedTime, 0);
-            }
-        }
-
-    }
+    /**
+     * The budget in milliseconds, which may be used per frame by work, which is split into slices
+     * by the scheduler of the layout.
+     */
+    private static final long FRAME_BUDGET = 4;
 
     /**
      * The tab switcher, the layout belongs to.
@@ -250,15 +235,122 @@ public abstract class AbstractTabSwitcherLayout
     private int runningAnimations;
 
     /**
-     * The animation, which is used to fling the tabs.
+     * The scroller, which is used to fling the tabs.
+     */
+    private final OverScroller flingScroller;
+
+    /**
+     * The runnable, which advances the positions of the tabs once per frame, while they are
+     * flung.
+     */
+    private final Runnable flingRunnable;
+
+    /**
+     * The drag state, which corresponds to the direction of the current fling, or null, if no
+     * fling is running.
+     */
+    private DragState flingDragState;
+
+    /**
+     * The overshoot, which has been caused by the current fling, or null, if the tabs are not
+     * overshooting.
      */
-    private android.view.animation.Animation flingAnimation;
+    private DragState flingOvershoot;
+
+    /**
+     * The position of the current fling on the dragging axis, which has been applied most
+     * recently, in pixels.
+     */
+    private int flingPosition;
 
     /**
      * The drag handler, which is used by the layout.
      */
     private AbstractDragHandler<?> dragHandler;
 
+    /**
+     * The listener, which invalidates the snapshot of the arithmetics, whenever the tab switcher
+     * has been laid out.
+     */
+    private final OnLayoutChangeListener layoutChangeListener;
+
+    /**
+     * The scheduler, which is used to split extensive work into slices, which do not exceed the
+     * budget of a frame.
+     */
+    private final FrameBudgetScheduler scheduler;
+
+    /**
+     * The timeline, which is used to animate the views, which are used to visualize tabs.
+     */
+    private final AnimationTimeline animationTimeline;
+
+    /**
+     * Creates and returns a listener, which invalidates the snapshot of the arithmetics, whenever
+     * the tab switcher has been laid out. This ensures, that changes of the tab switcher's size or
+     * of the size of its toolbars are taken into account.
+     *
+     * @return The listener, which has been created, as an instance of the type {@link
+     * OnLayoutChangeListener}. The listener may not be null
+     */
+    @NonNull
+    private OnLayoutChangeListener createLayoutChangeListener() {
+        return new OnLayoutChangeListener() {
+
+            @Override
+            public void onLayoutChange(final View v, final int left, final int top,
+                                       final int right, final int bottom, final int oldLeft,
+                                       final int oldTop, final int oldRight,
+                                       final int oldBottom) {
+                arithmetics.invalidate();
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns a callback, which allows to execute the next pending action, once all
+     * tasks of the scheduler have been finished and no animations are running.
+     *
+     * @return The callback, which has been created, as an instance of the type {@link
+     * FrameBudgetScheduler.Callback}. The callback may not be null
+     */
+    @NonNull
+    private FrameBudgetScheduler.Callback createSchedulerCallback() {
+        return new FrameBudgetScheduler.Callback() {
+
+            @Override
+            public void onIdle() {
+                if (!isAnimationRunning()) {
+                    notifyOnAnimationsEnded();
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns a callback, which allows to execute the next pending action, once all
+     * transitions of the animation timeline have been finished and no other animations are
+     * running.
+     *
+     * @return The callback, which has been created, as an instance of the type {@link
+     * AnimationTimeline.Callback}. The callback may not be null
+     */
+    @NonNull
+    private AnimationTimeline.Callback createTimelineCallback() {
+        return new AnimationTimeline.Callback() {
+
+            @Override
+            public void onFinished() {
+                if (!isAnimationRunning()) {
+                    notifyOnAnimationsEnded();
+                }
+            }
+
+        };
+    }
+
     /**
      * Adapts the visibility of the toolbars, which are shown, when the tab switcher is shown.
      */
@@ -312,34 +404,83 @@ public abstract class AbstractTabSwitcherLayout
     }
 
     /**
-     * Creates and returns an animation listener, which allows to handle, when a fling animation
-     * ended.
+     * Creates and returns a runnable, which advances the positions of the tabs once per frame,
+     * while they are flung. Until the tabs overshoot, the distance, which has been covered by the
+     * fling since the previous frame, is directly applied to the tabs. Once they overshoot, the
+     * remaining velocity is handed off to a shorter fling, which is handled as an overshoot by the
+     * drag handler.
      *
-     * @return The listener, which has been created, as an instance of the class {@link
-     * Animation.AnimationListener}. The listener may not be null
+     * @return The runnable, which has been created, as an instance of the type {@link Runnable}.
+     * The runnable may not be null
      */
     @NonNull
-    private Animation.AnimationListener createFlingAnimationListener() {
-        return new Animation.AnimationListener() {
-
-            @Override
-            public void onAnimationStart(final android.view.animation.Animation animation) {
-
-            }
+    private Runnable createFlingRunnable() {
+        return new Runnable() {
 
             @Override
-            public void onAnimationEnd(final android.view.animation.Animation animation) {
-                dragHandler.handleRelease(null, dragThreshold);
-                flingAnimation = null;
-                notifyOnAnimationsEnded();
+            public void run() {
+                if (flingDragState != null) {
+                    boolean running = flingScroller.computeScrollOffset();
+                    int position = flingScroller.getCurrY();
+
+                    if (flingOvershoot != null) {
+                        dragHandler.handleDrag(position, 0);
+                    } else if (position != flingPosition) {
+                        DragState overshoot = onDrag(flingDragState, position - flingPosition);
+
+                        if (overshoot != null) {
+                            startFlingOvershoot(overshoot, position);
+                            running = true;
+                        }
+                    }
+
+                    flingPosition = position;
+
+                    if (running) {
+                        ViewCompat.postOnAnimation(tabSwitcher, this);
+                    } else {
+                        endFling();
+                        notifyOnAnimationsEnded();
+                    }
+                }
             }
 
-            @Override
-            public void onAnimationRepeat(final android.view.animation.Animation animation) {
+        };
+    }
 
-            }
+    /**
+     * Hands off the remaining velocity of the current fling to a shorter fling, which is handled as
+     * an overshoot by the drag handler.
+     *
+     * @param overshoot
+     *         The overshoot, which has been caused by the fling, as a value of the enum {@link
+     *         DragState}. The overshoot must either be {@link DragState#OVERSHOOT_START} or {@link
+     *         DragState#OVERSHOOT_END}
+     * @param position
+     *         The position of the fling on the dragging axis, the overshoot starts at, in pixels
+     *         as an {@link Integer} value
+     */
+    private void startFlingOvershoot(@NonNull final DragState overshoot, final int position) {
+        float velocity = flingScroller.getCurrVelocity();
+        flingOvershoot = overshoot;
+        flingScroller.forceFinished(true);
+        flingScroller
+                .setFriction(ViewConfiguration.getScrollFriction() * OVERSHOOT_FRICTION_FACTOR);
+        flingScroller.fling(0, position, 0, Math.round(
+                overshoot == DragState.OVERSHOOT_START ? -1 * velocity : velocity), 0, 0,
+                Integer.MIN_VALUE, Integer.MAX_VALUE);
+        dragHandler.handleFlingOvershoot(overshoot, position);
+    }
 
-        };
+    /**
+     * Ends the current fling. If the fling caused the tabs to overshoot, the overshoot is
+     * reverted.
+     */
+    private void endFling() {
+        flingDragState = null;
+        flingOvershoot = null;
+        flingScroller.forceFinished(true);
+        dragHandler.handleRelease(null, dragThreshold);
     }
 
     /**
@@ -405,6 +546,32 @@ public abstract class AbstractTabSwitcherLayout
         return logger;
     }
 
+    /**
+     * Returns the scheduler, which allows to split extensive work into slices, which do not exceed
+     * the budget of a frame. As long as tasks of the scheduler remain, animations are considered
+     * to be running.
+     *
+     * @return The scheduler, which allows to split extensive work into slices, as an instance of
+     * the class {@link FrameBudgetScheduler}. The scheduler may not be null
+     */
+    @NonNull
+    protected final FrameBudgetScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Returns the timeline, which allows to animate the views, which are used to visualize tabs.
+     * As long as transitions of the timeline are not finished, animations are considered to be
+     * running.
+     *
+     * @return The timeline, which allows to animate the views, which are used to visualize tabs,
+     * as an instance of the class {@link AnimationTimeline}. The timeline may not be null
+     */
+    @NonNull
+    protected final AnimationTimeline getAnimationTimeline() {
+        return animationTimeline;
+    }
+
     /**
      * Returns the context, which is used by the layout.
      *
@@ -443,8 +610,16 @@ public abstract class AbstractTabSwitcherLayout
         this.logger = new Logger(model.getLogLevel());
         this.callback = null;
         this.runningAnimations = 0;
-        this.flingAnimation = null;
+        this.flingScroller = new OverScroller(tabSwitcher.getContext());
+        this.flingRunnable = createFlingRunnable();
+        this.flingDragState = null;
+        this.flingOvershoot = null;
         this.dragHandler = null;
+        this.layoutChangeListener = createLayoutChangeListener();
+        this.scheduler = new FrameBudgetScheduler(tabSwitcher, FRAME_BUDGET);
+        this.scheduler.setCallback(createSchedulerCallback());
+        this.animationTimeline = new AnimationTimeline();
+        this.animationTimeline.setCallback(createTimelineCallback());
     }
 
     /**
@@ -486,6 +661,9 @@ public abstract class AbstractTabSwitcherLayout
      *         True, if only the tabs should be inflated, false otherwise
      */
     public final void inflateLayout(final boolean tabsOnly) {
+        arithmetics.invalidate();
+        tabSwitcher.removeOnLayoutChangeListener(layoutChangeListener);
+        tabSwitcher.addOnLayoutChangeListener(layoutChangeListener);
         dragHandler = onInflateLayout(tabsOnly);
 
         if (!tabsOnly) {
@@ -506,6 +684,8 @@ public abstract class AbstractTabSwitcherLayout
      */
     @Nullable
     public final Pair<Integer, Float> detachLayout(final boolean tabsOnly) {
+        tabSwitcher.removeOnLayoutChangeListener(layoutChangeListener);
+        scheduler.flush();
         return onDetachLayout(tabsOnly);
     }
 
@@ -522,7 +702,8 @@ public abstract class AbstractTabSwitcherLayout
 
     @Override
     public final boolean isAnimationRunning() {
-        return runningAnimations > 0 || flingAnimation != null;
+        return runningAnimations > 0 || flingDragState != null || !scheduler.isIdle() ||
+                animationTimeline.isRunning();
     }
 
     @Nullable
@@ -568,27 +749,26 @@ public abstract class AbstractTabSwitcherLayout
     }
 
     @Override
-    public final void onFling(final float distance, final long duration) {
+    public final void onFling(final float velocity) {
         if (dragHandler != null) {
-            flingAnimation = new FlingAnimation(distance);
-            flingAnimation.setFillAfter(true);
-            flingAnimation.setAnimationListener(createFlingAnimationListener());
-            flingAnimation.setDuration(duration);
-            flingAnimation.setInterpolator(new DecelerateInterpolator());
-            getTabSwitcher().startAnimation(flingAnimation);
+            flingDragState = velocity < 0 ? DragState.DRAG_TO_START : DragState.DRAG_TO_END;
+            flingOvershoot = null;
+            flingPosition = 0;
+            flingScroller.setFriction(ViewConfiguration.getScrollFriction());
+            flingScroller.fling(0, 0, 0, Math.round(velocity), 0, 0, Integer.MIN_VALUE,
+                    Integer.MAX_VALUE);
+            ViewCompat.postOnAnimation(tabSwitcher, flingRunnable);
             logger.logVerbose(getClass(),
-                    "Started fling animation using a distance of " + distance +
-                            " pixels and a duration of " + duration + " milliseconds");
+                    "Started fling using a velocity of " + velocity + " pixels per second");
         }
     }
 
     @Override
     public final void onCancelFling() {
-        if (flingAnimation != null) {
-            flingAnimation.cancel();
-            flingAnimation = null;
-            dragHandler.handleRelease(null, dragThreshold);
-            logger.logVerbose(getClass(), "Canceled fling animation");
+        if (flingDragState != null) {
+            tabSwitcher.removeCallbacks(flingRunnable);
+            endFling();
+            logger.logVerbose(getClass(), "Canceled fling");
         }
     }
 
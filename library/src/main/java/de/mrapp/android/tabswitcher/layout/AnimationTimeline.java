@@ -0,0 +1,718 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout;
+
+import android.animation.Animator;
+import android.animation.Animator.AnimatorListener;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A timeline, which allows to animate the properties of the views, which are used to visualize the
+ * tabs of a {@link TabSwitcher}. Unlike when using a separate {@link
+ * android.view.ViewPropertyAnimator} per view, all running transitions are advanced by a single
+ * animator, which is invoked once per frame. The progress of the transitions is derived from the
+ * progress of this animator, which is why the animator duration scale of the device is respected.
+ * Similar to a {@link android.view.ViewPropertyAnimator}, starting a transition, which animates a
+ * property of a view, which is already animated by another transition, takes over the property
+ * from the other transition. Instead of tracking each transition separately, a callback can be
+ * used to be notified once all transitions, which have been started, are finished.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class AnimationTimeline implements ValueAnimator.AnimatorUpdateListener {
+
+    /**
+     * Defines the interface, a class, which should be notified, when all transitions of the
+     * timeline have been finished, must implement.
+     */
+    public interface Callback {
+
+        /**
+         * The method, which is invoked, when all transitions of the timeline have been finished.
+         */
+        void onFinished();
+
+    }
+
+    /**
+     * A transition, which animates one or several properties of a single view. Transitions are
+     * configured in the same manner as a {@link android.view.ViewPropertyAnimator}.
+     */
+    public final class Transition {
+
+        /**
+         * The view, whose properties are animated.
+         */
+        private final View view;
+
+        /**
+         * An array, which contains the start values of the animated properties. They are captured,
+         * when the transition is started.
+         */
+        private final float[] startValues;
+
+        /**
+         * An array, which contains the end values of the animated properties.
+         */
+        private final float[] endValues;
+
+        /**
+         * A bit vector, which specifies the properties, which are animated.
+         */
+        private int properties;
+
+        /**
+         * The duration of the transition in milliseconds.
+         */
+        private long duration;
+
+        /**
+         * The delay of the transition in milliseconds.
+         */
+        private long startDelay;
+
+        /**
+         * The interpolator, which is used by the transition.
+         */
+        private Interpolator interpolator;
+
+        /**
+         * The listener, which is notified about the progress of the transition.
+         */
+        private AnimatorListener listener;
+
+        /**
+         * The play time of the timeline's animator, the transition has been started at, in
+         * milliseconds or -1, if the transition has not been advanced by the animator yet.
+         */
+        private long startTime;
+
+        /**
+         * True, if the listener has already been notified, that the transition has been started,
+         * false otherwise.
+         */
+        private boolean started;
+
+        /**
+         * Sets the end value of a specific property. The start value is captured, when the
+         * transition is started.
+         *
+         * @param property
+         *         The property as an {@link Integer} value
+         * @param endValue
+         *         The end value of the property as a {@link Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        private Transition animateProperty(final int property, final float endValue) {
+            endValues[property] = endValue;
+            properties |= 1 << property;
+            return this;
+        }
+
+        /**
+         * Captures the current values of all animated properties of the view as their start
+         * values.
+         */
+        private void captureStartValues() {
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                if ((properties & (1 << i)) != 0) {
+                    switch (i) {
+                        case X:
+                            startValues[i] = view.getX();
+                            break;
+                        case Y:
+                            startValues[i] = view.getY();
+                            break;
+                        case SCALE_X:
+                            startValues[i] = view.getScaleX();
+                            break;
+                        case SCALE_Y:
+                            startValues[i] = view.getScaleY();
+                            break;
+                        case ROTATION_X:
+                            startValues[i] = view.getRotationX();
+                            break;
+                        case ROTATION_Y:
+                            startValues[i] = view.getRotationY();
+                            break;
+                        default:
+                            startValues[i] = view.getAlpha();
+                            break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Applies the values of all animated properties, which correspond to a specific fraction.
+         *
+         * @param fraction
+         *         The fraction as a {@link Float} value between 0 and 1
+         */
+        private void apply(final float fraction) {
+            float interpolatedFraction = interpolator.getInterpolation(fraction);
+
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                if ((properties & (1 << i)) != 0) {
+                    float value =
+                            startValues[i] + (endValues[i] - startValues[i]) * interpolatedFraction;
+
+                    switch (i) {
+                        case X:
+                            view.setX(value);
+                            break;
+                        case Y:
+                            view.setY(value);
+                            break;
+                        case SCALE_X:
+                            view.setScaleX(value);
+                            break;
+                        case SCALE_Y:
+                            view.setScaleY(value);
+                            break;
+                        case ROTATION_X:
+                            view.setRotationX(value);
+                            break;
+                        case ROTATION_Y:
+                            view.setRotationY(value);
+                            break;
+                        default:
+                            view.setAlpha(value);
+                            break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Creates a new transition, which animates one or several properties of a single view.
+         *
+         * @param view
+         *         The view, whose properties should be animated, as an instance of the class
+         *         {@link View}. The view may not be null
+         */
+        private Transition(@NonNull final View view) {
+            ensureNotNull(view, "The view may not be null");
+            this.view = view;
+            this.startValues = new float[PROPERTY_COUNT];
+            this.endValues = new float[PROPERTY_COUNT];
+            this.properties = 0;
+            this.duration = DEFAULT_DURATION;
+            this.startDelay = 0;
+            this.interpolator = defaultInterpolator;
+            this.listener = null;
+            this.startTime = -1;
+            this.started = false;
+        }
+
+        /**
+         * Sets the duration of the transition.
+         *
+         * @param duration
+         *         The duration, which should be set, in milliseconds as a {@link Long} value. The
+         *         duration must be at least 0
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition setDuration(final long duration) {
+            ensureAtLeast(duration, 0, "The duration must be at least 0");
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Sets the delay of the transition.
+         *
+         * @param startDelay
+         *         The delay, which should be set, in milliseconds as a {@link Long} value. The
+         *         delay must be at least 0
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition setStartDelay(final long startDelay) {
+            ensureAtLeast(startDelay, 0, "The start delay must be at least 0");
+            this.startDelay = startDelay;
+            return this;
+        }
+
+        /**
+         * Sets the interpolator, which should be used by the transition.
+         *
+         * @param interpolator
+         *         The interpolator, which should be set, as an instance of the type {@link
+         *         Interpolator}. The interpolator may not be null
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition setInterpolator(@NonNull final Interpolator interpolator) {
+            ensureNotNull(interpolator, "The interpolator may not be null");
+            this.interpolator = interpolator;
+            return this;
+        }
+
+        /**
+         * Sets the listener, which should be notified about the progress of the transition. The
+         * animator, which is passed to the listener's methods, is the animator, which is shared by
+         * all transitions of the timeline.
+         *
+         * @param listener
+         *         The listener, which should be set, as an instance of the type {@link
+         *         AnimatorListener} or null, if no listener should be notified
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition setListener(@Nullable final AnimatorListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Animates the position of the view on the x-axis.
+         *
+         * @param value
+         *         The position, which should be set by the transition, in pixels as a {@link
+         *         Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition x(final float value) {
+            return animateProperty(X, value);
+        }
+
+        /**
+         * Animates the position of the view on the y-axis.
+         *
+         * @param value
+         *         The position, which should be set by the transition, in pixels as a {@link
+         *         Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition y(final float value) {
+            return animateProperty(Y, value);
+        }
+
+        /**
+         * Animates the scale of the view on the x-axis.
+         *
+         * @param value
+         *         The scale, which should be set by the transition, as a {@link Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition scaleX(final float value) {
+            return animateProperty(SCALE_X, value);
+        }
+
+        /**
+         * Animates the scale of the view on the y-axis.
+         *
+         * @param value
+         *         The scale, which should be set by the transition, as a {@link Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition scaleY(final float value) {
+            return animateProperty(SCALE_Y, value);
+        }
+
+        /**
+         * Animates the rotation of the view around the x-axis.
+         *
+         * @param value
+         *         The rotation, which should be set by the transition, in degrees as a {@link
+         *         Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition rotationX(final float value) {
+            return animateProperty(ROTATION_X, value);
+        }
+
+        /**
+         * Animates the rotation of the view around the y-axis.
+         *
+         * @param value
+         *         The rotation, which should be set by the transition, in degrees as a {@link
+         *         Float} value
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition rotationY(final float value) {
+            return animateProperty(ROTATION_Y, value);
+        }
+
+        /**
+         * Animates the opacity of the view.
+         *
+         * @param value
+         *         The opacity, which should be set by the transition, as a {@link Float} value
+         *         between 0 and 1
+         * @return The transition, this method has been called upon, as an instance of the class
+         * {@link Transition}. The transition may not be null
+         */
+        @NonNull
+        public Transition alpha(final float value) {
+            return animateProperty(ALPHA, value);
+        }
+
+        /**
+         * Starts the transition.
+         */
+        public void start() {
+            AnimationTimeline.this.start(this);
+        }
+
+    }
+
+    /**
+     * The index of the property, which corresponds to the position on the x-axis.
+     */
+    private static final int X = 0;
+
+    /**
+     * The index of the property, which corresponds to the position on the y-axis.
+     */
+    private static final int Y = 1;
+
+    /**
+     * The index of the property, which corresponds to the scale on the x-axis.
+     */
+    private static final int SCALE_X = 2;
+
+    /**
+     * The index of the property, which corresponds to the scale on the y-axis.
+     */
+    private static final int SCALE_Y = 3;
+
+    /**
+     * The index of the property, which corresponds to the rotation around the x-axis.
+     */
+    private static final int ROTATION_X = 4;
+
+    /**
+     * The index of the property, which corresponds to the rotation around the y-axis.
+     */
+    private static final int ROTATION_Y = 5;
+
+    /**
+     * The index of the property, which corresponds to the opacity.
+     */
+    private static final int ALPHA = 6;
+
+    /**
+     * The number of properties, which can be animated.
+     */
+    private static final int PROPERTY_COUNT = 7;
+
+    /**
+     * The default duration of transitions in milliseconds.
+     */
+    private static final long DEFAULT_DURATION = 300;
+
+    /**
+     * The duration of a single repetition of the animator, which advances the transitions, in
+     * milliseconds.
+     */
+    private static final long ANIMATOR_DURATION = 10000;
+
+    /**
+     * The animator, which advances all running transitions once per frame.
+     */
+    private final ValueAnimator animator;
+
+    /**
+     * The interpolator, which is used by transitions, if no other interpolator is set.
+     */
+    private final Interpolator defaultInterpolator;
+
+    /**
+     * A list, which contains all transitions, which have been started, but not finished yet.
+     */
+    private final List<Transition> transitions;
+
+    /**
+     * A list, which contains the transitions, whose listeners must be notified about having been
+     * started, after the current frame has been processed.
+     */
+    private final List<Transition> startedTransitions;
+
+    /**
+     * A list, which contains the transitions, whose listeners must be notified about having been
+     * ended, after the current frame has been processed.
+     */
+    private final List<Transition> endedTransitions;
+
+    /**
+     * The callback, which is notified, when all transitions have been finished.
+     */
+    private Callback callback;
+
+    /**
+     * True, if the animator is currently being started, false otherwise.
+     */
+    private boolean starting;
+
+    /**
+     * The number of repetitions of the animator, which have been finished since it has been
+     * started.
+     */
+    private int repetitions;
+
+    /**
+     * Returns the play time of the animator, which is derived from its progress. Unlike the
+     * actual time, which has elapsed since the animator has been started, the play time is
+     * scaled according to the animator duration scale of the device.
+     *
+     * @return The play time of the animator in milliseconds as a {@link Long} value
+     */
+    private long getPlayTime() {
+        return repetitions * ANIMATOR_DURATION +
+                (long) (animator.getAnimatedFraction() * ANIMATOR_DURATION);
+    }
+
+    /**
+     * Creates and returns a listener, which allows to count the repetitions of the animator.
+     *
+     * @return The listener, which has been created, as an instance of the type {@link
+     * AnimatorListener}. The listener may not be null
+     */
+    @NonNull
+    private AnimatorListener createRepetitionListener() {
+        return new AnimatorListenerAdapter() {
+
+            @Override
+            public void onAnimationRepeat(final Animator animation) {
+                super.onAnimationRepeat(animation);
+                repetitions++;
+            }
+
+        };
+    }
+
+    /**
+     * Notifies the callback, that all transitions have been finished.
+     */
+    private void notifyOnFinished() {
+        if (callback != null) {
+            callback.onFinished();
+        }
+    }
+
+    /**
+     * Starts a specific transition. Properties, which are animated by the transition, are removed
+     * from all other transitions, which animate the same view. Transitions, which do not animate
+     * any properties afterwards, are canceled. Similar to a {@link ValueAnimator}, the listeners of
+     * canceled transitions are notified about the transitions having been canceled and ended
+     * afterwards, preceded by a notification about having been started, if necessary. The start
+     * values of the transition's properties are captured afterwards.
+     *
+     * @param transition
+     *         The transition, which should be started, as an instance of the class {@link
+     *         Transition}. The transition may not be null
+     */
+    private void start(@NonNull final Transition transition) {
+        List<Transition> canceledTransitions = null;
+        Iterator<Transition> iterator = transitions.iterator();
+
+        while (iterator.hasNext()) {
+            Transition runningTransition = iterator.next();
+
+            if (runningTransition.view == transition.view) {
+                runningTransition.properties &= ~transition.properties;
+
+                if (runningTransition.properties == 0) {
+                    iterator.remove();
+
+                    if (canceledTransitions == null) {
+                        canceledTransitions = new ArrayList<>();
+                    }
+
+                    canceledTransitions.add(runningTransition);
+                }
+            }
+        }
+
+        if (canceledTransitions != null) {
+            for (Transition canceledTransition : canceledTransitions) {
+                AnimatorListener listener = canceledTransition.listener;
+
+                if (listener != null) {
+                    if (!canceledTransition.started) {
+                        listener.onAnimationStart(animator);
+                    }
+
+                    listener.onAnimationCancel(animator);
+                    listener.onAnimationEnd(animator);
+                }
+            }
+        }
+
+        transition.captureStartValues();
+        transitions.add(transition);
+
+        if (!animator.isStarted()) {
+            repetitions = 0;
+            starting = true;
+            animator.start();
+            starting = false;
+        }
+    }
+
+    /**
+     * Creates a new timeline, which allows to animate the properties of the views, which are used
+     * to visualize the tabs of a {@link TabSwitcher}.
+     */
+    public AnimationTimeline() {
+        this.animator = ValueAnimator.ofFloat(0, 1);
+        this.animator.setDuration(ANIMATOR_DURATION);
+        this.animator.setInterpolator(new LinearInterpolator());
+        this.animator.setRepeatCount(ValueAnimator.INFINITE);
+        this.animator.addUpdateListener(this);
+        this.animator.addListener(createRepetitionListener());
+        this.defaultInterpolator = new AccelerateDecelerateInterpolator();
+        this.transitions = new ArrayList<>();
+        this.startedTransitions = new ArrayList<>();
+        this.endedTransitions = new ArrayList<>();
+        this.callback = null;
+        this.starting = false;
+        this.repetitions = 0;
+    }
+
+    /**
+     * Sets the callback, which should be notified, when all transitions have been finished.
+     *
+     * @param callback
+     *         The callback, which should be set, as an instance of the type {@link Callback} or
+     *         null, if no callback should be notified
+     */
+    public final void setCallback(@Nullable final Callback callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * Returns, whether any transitions, which have been started, are not finished yet, or not.
+     * This includes transitions, whose start delay has not elapsed yet.
+     *
+     * @return True, if any transitions are not finished yet, false otherwise
+     */
+    public final boolean isRunning() {
+        return !transitions.isEmpty();
+    }
+
+    /**
+     * Creates and returns a new transition, which allows to animate the properties of a specific
+     * view. The transition must be started by calling its <code>start</code>-method.
+     *
+     * @param view
+     *         The view, whose properties should be animated, as an instance of the class {@link
+     *         View}. The view may not be null
+     * @return The transition, which has been created, as an instance of the class {@link
+     * Transition}. The transition may not be null
+     */
+    @NonNull
+    public final Transition animate(@NonNull final View view) {
+        return new Transition(view);
+    }
+
+    @Override
+    public final void onAnimationUpdate(final ValueAnimator animation) {
+        if (!starting) {
+            long playTime = getPlayTime();
+            Iterator<Transition> iterator = transitions.iterator();
+
+            while (iterator.hasNext()) {
+                Transition transition = iterator.next();
+
+                if (transition.startTime == -1) {
+                    transition.startTime = playTime;
+                }
+
+                long elapsedTime = playTime - transition.startTime - transition.startDelay;
+
+                if (elapsedTime >= 0) {
+                    if (!transition.started) {
+                        startedTransitions.add(transition);
+                    }
+
+                    float fraction = transition.duration > 0 ?
+                            Math.min(1, elapsedTime / (float) transition.duration) : 1;
+                    transition.apply(fraction);
+
+                    if (fraction >= 1) {
+                        iterator.remove();
+                        endedTransitions.add(transition);
+                    }
+                }
+            }
+
+            if (transitions.isEmpty()) {
+                animator.cancel();
+            }
+
+            for (Transition transition : startedTransitions) {
+                if (transition.properties != 0) {
+                    transition.started = true;
+
+                    if (transition.listener != null) {
+                        transition.listener.onAnimationStart(animator);
+                    }
+                }
+            }
+
+            for (Transition transition : endedTransitions) {
+                if (transition.listener != null) {
+                    transition.listener.onAnimationEnd(animator);
+                }
+            }
+
+            boolean finished = !endedTransitions.isEmpty() && transitions.isEmpty();
+            startedTransitions.clear();
+            endedTransitions.clear();
+
+            if (finished) {
+                notifyOnFinished();
+            }
+        }
+    }
+
+}
@@ -17,10 +17,10 @@ package de.mrapp.android.tabswitcher.layout;
 import android.support.annotation.NonNull;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewPropertyAnimator;
 
 import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.layout.AbstractDragHandler.DragState;
+import de.mrapp.android.tabswitcher.layout.AnimationTimeline.Transition;
 
 /**
  * Defines the interface, a class, which provides methods, which allow to calculate the position,
@@ -100,9 +100,9 @@ public interface Arithmetics {
      *
      * @param axis
      *         The axis as a value of the enum {@link Axis}. The axis may not be null
-     * @param animator
-     *         The animator, which should be used to animate the position, as an instance of the
-     *         class {@link ViewPropertyAnimator}. The animator may not be null
+     * @param transition
+     *         The transition, which should be used to animate the position, as an instance of the
+     *         class {@link Transition}. The transition may not be null
      * @param view
      *         The view, whose position should be animated, as an instance of the class {@link
      *         View}. The view may not be null
@@ -111,7 +111,7 @@ public interface Arithmetics {
      * @param includePadding
      *         True, if the view's padding should be taken into account, false otherwise
      */
-    void animatePosition(@NonNull Axis axis, @NonNull ViewPropertyAnimator animator,
+    void animatePosition(@NonNull Axis axis, @NonNull Transition transition,
                          @NonNull View view, float position, boolean includePadding);
 
     /**
@@ -160,13 +160,13 @@ public interface Arithmetics {
      *
      * @param axis
      *         The axis as a value of the enum {@link Axis}. The axis may not be null
-     * @param animator
-     *         The animator, which should be used to animate the scale, as an instance of the class
-     *         {@link ViewPropertyAnimator}. The animator may not be null
+     * @param transition
+     *         The transition, which should be used to animate the scale, as an instance of the
+     *         class {@link Transition}. The transition may not be null
      * @param scale
      *         The scale, which should be set by the animation, as a {@link Float} value
      */
-    void animateScale(@NonNull Axis axis, @NonNull ViewPropertyAnimator animator, float scale);
+    void animateScale(@NonNull Axis axis, @NonNull Transition transition, float scale);
 
     /**
      * Returns the size of a view on a specific axis.
@@ -263,12 +263,20 @@ public interface Arithmetics {
      *
      * @param axis
      *         The axis as a value of the enum {@link Axis}. The axis may not be null
-     * @param animator
-     *         The animator, should be used to animate the rotation, as an instance of the class
-     *         {@link ViewPropertyAnimator}. The animator may not be null
+     * @param transition
+     *         The transition, which should be used to animate the rotation, as an instance of the
+     *         class {@link Transition}. The transition may not be null
      * @param angle
      *         The rotation, which should be set by the animation, as a {@link Float} value
      */
-    void animateRotation(@NonNull Axis axis, @NonNull ViewPropertyAnimator animator, float angle);
+    void animateRotation(@NonNull Axis axis, @NonNull Transition transition, float angle);
+
+    /**
+     * Invalidates the snapshot of the properties of the tab switcher, such as its layout, padding
+     * and the size of its toolbars, which are used by the arithmetics. The snapshot is recomputed
+     * the next time it is needed. This method must be called, whenever one of these properties
+     * has changed.
+     */
+    void invalidate();
 
 }
\ No newline at end of file
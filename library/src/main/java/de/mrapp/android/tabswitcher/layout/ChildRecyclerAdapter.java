@@ -17,11 +17,14 @@ import android.content.Context;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+
 import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.TabSwitcherDecorator;
@@ -47,6 +50,13 @@ public class ChildRecyclerAdapter extends AbstractViewRecycler.Adapter<Tab, Void
     private static final String SAVED_INSTANCE_STATES_EXTRA =
             ChildRecyclerAdapter.class.getName() + "::SavedInstanceStates";
 
+    /**
+     * The name of the extra, which is used to store the ids of the tabs, the saved instance states
+     * of previously removed child views correspond to, within a bundle.
+     */
+    private static final String SAVED_INSTANCE_STATE_IDS_EXTRA =
+            ChildRecyclerAdapter.class.getName() + "::SavedInstanceStateIds";
+
     /**
      * The tab switcher, which contains the tabs, the child views, which are inflated by the
      * adapter, correspond to.
@@ -59,9 +69,10 @@ public class ChildRecyclerAdapter extends AbstractViewRecycler.Adapter<Tab, Void
     private final TabSwitcherDecorator decorator;
 
     /**
-     * A sparse array, which manages the saved instance states of previously removed child views.
+     * The store, which manages the saved instance states of previously removed child views by
+     * using the ids of the corresponding tabs as keys.
      */
-    private SparseArray<Bundle> savedInstanceStates;
+    private ChildStateStore savedInstanceStates;
 
     /**
      * Creates a new view recycler adapter, which allows to inflate the views, which are used to
@@ -75,14 +86,93 @@ public class ChildRecyclerAdapter extends AbstractViewRecycler.Adapter<Tab, Void
      * @param decorator
      *         The decorator, which should be used to inflate the child views, as an instance of the
      *         class {@link TabSwitcherDecorator}. The decorator may not be null
+     * @param maxSavedInstanceStatesSize
+     *         The maximum total size of the saved instance states, which are kept in memory, in
+     *         bytes as an {@link Integer} value. The maximum size must be at least 1
+     * @param spillDirectory
+     *         The directory, saved instance states, which exceed the maximum size, should be
+     *         written to, as an instance of the class {@link File} or null, if they should be
+     *         discarded
      */
     public ChildRecyclerAdapter(@NonNull final TabSwitcher tabSwitcher,
-                                @NonNull final TabSwitcherDecorator decorator) {
+                                @NonNull final TabSwitcherDecorator decorator,
+                                final int maxSavedInstanceStatesSize,
+                                @Nullable final File spillDirectory) {
         ensureNotNull(tabSwitcher, "The tab switcher may not be null");
         ensureNotNull(decorator, "The decorator may not be null");
         this.tabSwitcher = tabSwitcher;
         this.decorator = decorator;
-        this.savedInstanceStates = new SparseArray<>();
+        this.savedInstanceStates = new ChildStateStore(maxSavedInstanceStatesSize, spillDirectory,
+                tabSwitcher.getContext().getClassLoader());
+    }
+
+    /**
+     * Changes the maximum total size of the saved instance states, which are kept in memory, and
+     * the directory, saved instance states, which exceed the maximum size, are written to. The
+     * saved instance states, including the ones, which have been written to files, are copied to
+     * the new store, before the files of the previous store are deleted.
+     *
+     * @param maxSavedInstanceStatesSize
+     *         The maximum total size of the saved instance states, which are kept in memory, in
+     *         bytes as an {@link Integer} value. The maximum size must be at least 1
+     * @param spillDirectory
+     *         The directory, saved instance states, which exceed the maximum size, should be
+     *         written to, as an instance of the class {@link File} or null, if they should be
+     *         discarded
+     */
+    public final void setSavedInstanceStatesStore(final int maxSavedInstanceStatesSize,
+                                                  @Nullable final File spillDirectory) {
+        ChildStateStore store = new ChildStateStore(maxSavedInstanceStatesSize, spillDirectory,
+                tabSwitcher.getContext().getClassLoader());
+
+        for (Map.Entry<Long, Bundle> entry : savedInstanceStates.snapshotAll().entrySet()) {
+            store.put(entry.getKey(), entry.getValue());
+        }
+
+        savedInstanceStates.clearSpilledStates();
+        savedInstanceStates = store;
+    }
+
+    /**
+     * Removes the saved instance state of the child view of a specific tab. This method should be
+     * called, when the tab has been removed from the tab switcher.
+     *
+     * @param tab
+     *         The tab, whose saved instance state should be removed, as an instance of the class
+     *         {@link Tab}. The tab may not be null
+     */
+    public final void removeSavedInstanceState(@NonNull final Tab tab) {
+        ensureNotNull(tab, "The tab may not be null");
+        savedInstanceStates.remove(tab.getId());
+    }
+
+    /**
+     * Returns the saved instance states of the child views of tabs, including the ones, which have
+     * been written to files.
+     *
+     * @return A map, which contains the saved instance states, mapped to the ids of the
+     * corresponding tabs, as an instance of the type {@link Map}. The map may not be null
+     */
+    @NonNull
+    public final Map<Long, Bundle> getSavedInstanceStates() {
+        return savedInstanceStates.snapshotAll();
+    }
+
+    /**
+     * Adds specific saved instance states of the child views of tabs, e.g. after they have been
+     * restored from a file.
+     *
+     * @param states
+     *         A map, which contains the saved instance states, which should be added, mapped to
+     *         the ids of the corresponding tabs, as an instance of the type {@link Map}. The map
+     *         may not be null
+     */
+    public final void putSavedInstanceStates(@NonNull final Map<Long, Bundle> states) {
+        ensureNotNull(states, "The map may not be null");
+
+        for (Map.Entry<Long, Bundle> entry : states.entrySet()) {
+            savedInstanceStates.put(entry.getKey(), entry.getValue());
+        }
     }
 
     @NonNull
@@ -99,15 +189,20 @@ public class ChildRecyclerAdapter extends AbstractViewRecycler.Adapter<Tab, Void
                                  @NonNull final Tab item, final boolean inflated,
                                  @NonNull final Void... params) {
         int index = tabSwitcher.indexOf(item);
-        Bundle savedInstanceState = savedInstanceStates.get(item.hashCode());
+        Bundle savedInstanceState = savedInstanceStates.get(item.getId());
         decorator.applyDecorator(context, tabSwitcher, view, item, index, savedInstanceState);
     }
 
     @Override
     public final void onRemoveView(@NonNull final View view, @NonNull final Tab item) {
         int index = tabSwitcher.indexOf(item);
-        Bundle outState = decorator.saveInstanceState(view, item, index);
-        savedInstanceStates.put(item.hashCode(), outState);
+
+        if (index != -1) {
+            Bundle outState = decorator.saveInstanceState(view, item, index);
+            savedInstanceStates.put(item.getId(), outState);
+        } else {
+            savedInstanceStates.remove(item.getId());
+        }
     }
 
     @Override
@@ -123,14 +218,32 @@ public class ChildRecyclerAdapter extends AbstractViewRecycler.Adapter<Tab, Void
 
     @Override
     public final void saveInstanceState(@NonNull final Bundle outState) {
-        outState.putSparseParcelableArray(SAVED_INSTANCE_STATES_EXTRA, savedInstanceStates);
+        Map<Long, Bundle> snapshot = savedInstanceStates.snapshotAll();
+        long[] ids = new long[snapshot.size()];
+        ArrayList<Bundle> states = new ArrayList<>(snapshot.size());
+        int i = 0;
+
+        for (Map.Entry<Long, Bundle> entry : snapshot.entrySet()) {
+            ids[i++] = entry.getKey();
+            states.add(entry.getValue());
+        }
+
+        outState.putLongArray(SAVED_INSTANCE_STATE_IDS_EXTRA, ids);
+        outState.putParcelableArrayList(SAVED_INSTANCE_STATES_EXTRA, states);
     }
 
     @Override
     public final void restoreInstanceState(@Nullable final Bundle savedInstanceState) {
         if (savedInstanceState != null) {
-            savedInstanceStates =
-                    savedInstanceState.getSparseParcelableArray(SAVED_INSTANCE_STATES_EXTRA);
+            long[] ids = savedInstanceState.getLongArray(SAVED_INSTANCE_STATE_IDS_EXTRA);
+            ArrayList<Bundle> states =
+                    savedInstanceState.getParcelableArrayList(SAVED_INSTANCE_STATES_EXTRA);
+
+            if (ids != null && states != null) {
+                for (int i = 0; i < ids.length; i++) {
+                    savedInstanceStates.put(ids[i], states.get(i));
+                }
+            }
         }
     }
 
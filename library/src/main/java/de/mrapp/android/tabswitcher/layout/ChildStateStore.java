@@ -0,0 +1,634 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout;
+
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+import android.util.SparseArray;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A store, which allows to manage the saved instance states of the child views of the tabs of a
+ * {@link TabSwitcher}. The states are kept in memory as long as their total size does not exceed a
+ * specific budget. If the budget is exceeded, the least recently used states are evicted. If a
+ * spill directory is set, evicted states are written to files, otherwise they are discarded. Files
+ * are written and deleted by a background thread, which is shared by all stores. Files, which have
+ * been left behind by a previous process, are deleted, when a spill directory is used for the
+ * first time. As multiple stores may use the same spill directory, the names of the files are
+ * prefixed with a number, which is unique for each store. The size of the states is estimated,
+ * rather than measured by writing them to a parcel.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class ChildStateStore {
+
+    /**
+     * The suffix of the files, which are used to store evicted states.
+     */
+    private static final String FILE_SUFFIX = ".state";
+
+    /**
+     * The estimated size in bytes of a value, whose size cannot be determined without writing it
+     * to a parcel.
+     */
+    private static final int DEFAULT_VALUE_SIZE = 64;
+
+    /**
+     * The estimated overhead in bytes, which is caused by each entry of a bundle or sparse array.
+     */
+    private static final int ENTRY_OVERHEAD = 8;
+
+    /**
+     * The time in seconds, after which the idle thread, which is used to write and delete files,
+     * is terminated.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 1;
+
+    /**
+     * The executor, which is shared by all stores in order to write and delete files in a
+     * background thread. As it uses a single thread, files are always written and deleted in the
+     * order, the corresponding tasks have been submitted.
+     */
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    /**
+     * A set, which contains the paths of the spill directories, which have already been cleared
+     * by the current process.
+     */
+    private static final Set<String> CLEARED_DIRECTORIES = new HashSet<>();
+
+    /**
+     * The number of stores, which have been created by the current process. It is used to
+     * prevent stores, which use the same spill directory, from overwriting each other's files.
+     */
+    private static final AtomicInteger STORE_COUNT = new AtomicInteger();
+
+    /**
+     * The cache, which contains the states, which are kept in memory.
+     */
+    private final LruCache<Long, Bundle> cache;
+
+    /**
+     * A map, which contains the data of the evicted states, which are about to be written to
+     * files, mapped to the ids of the corresponding tabs. It is accessed by the background thread
+     * once a file has been written.
+     */
+    private final ConcurrentMap<Long, byte[]> pendingWrites;
+
+    /**
+     * A set, which contains the ids of the tabs, whose states have been written to files.
+     */
+    private final Set<Long> spilledIds;
+
+    /**
+     * The class loader, which is used to restore states from files.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The directory, evicted states are written to.
+     */
+    private final File spillDirectory;
+
+    /**
+     * The prefix of the names of the files, which are used by the store.
+     */
+    private final String filePrefix;
+
+    /**
+     * Creates and returns the executor, which is shared by all stores in order to write and delete
+     * files in a background thread. Its only thread is terminated, when it has been idle for a
+     * while.
+     *
+     * @return The executor, which has been created, as an instance of the class {@link
+     * ThreadPoolExecutor}. The executor may not be null
+     */
+    @NonNull
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Estimates the size of a specific value in bytes, when written to a parcel. Bundles, sparse
+     * arrays, collections, arrays, strings and primitive values are traversed or measured, all
+     * other values are assumed to have a default size.
+     *
+     * @param value
+     *         The value, whose size should be estimated, as an instance of the class {@link Object}
+     *         or null
+     * @return The estimated size of the given value in bytes as an {@link Integer} value
+     */
+    private static int estimateSize(@Nullable final Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean ||
+                value instanceof Character) {
+            return ENTRY_OVERHEAD;
+        } else if (value instanceof CharSequence) {
+            return ENTRY_OVERHEAD + ((CharSequence) value).length() * 2;
+        } else if (value instanceof Bundle) {
+            Bundle bundle = (Bundle) value;
+            int size = ENTRY_OVERHEAD;
+
+            for (String key : bundle.keySet()) {
+                size += ENTRY_OVERHEAD + estimateSize(key) + estimateSize(bundle.get(key));
+            }
+
+            return size;
+        } else if (value instanceof SparseArray) {
+            SparseArray<?> sparseArray = (SparseArray<?>) value;
+            int size = ENTRY_OVERHEAD;
+
+            for (int i = 0; i < sparseArray.size(); i++) {
+                size += ENTRY_OVERHEAD + estimateSize(sparseArray.valueAt(i));
+            }
+
+            return size;
+        } else if (value instanceof Collection) {
+            int size = ENTRY_OVERHEAD;
+
+            for (Object item : (Collection<?>) value) {
+                size += estimateSize(item);
+            }
+
+            return size;
+        } else if (value instanceof Object[]) {
+            int size = ENTRY_OVERHEAD;
+
+            for (Object item : (Object[]) value) {
+                size += estimateSize(item);
+            }
+
+            return size;
+        } else if (value instanceof byte[] || value instanceof boolean[]) {
+            return ENTRY_OVERHEAD + Array.getLength(value);
+        } else if (value instanceof char[] || value instanceof int[] || value instanceof float[]) {
+            return ENTRY_OVERHEAD + Array.getLength(value) * 4;
+        } else if (value instanceof long[] || value instanceof double[]) {
+            return ENTRY_OVERHEAD + Array.getLength(value) * 8;
+        } else if (value instanceof Bitmap) {
+            return ENTRY_OVERHEAD + ((Bitmap) value).getByteCount();
+        }
+
+        return DEFAULT_VALUE_SIZE;
+    }
+
+    /**
+     * Deletes a specific file in the background thread.
+     *
+     * @param file
+     *         The file, which should be deleted, as an instance of the class {@link File}. The
+     *         file may not be null
+     */
+    private static void deleteInBackground(@NonNull final File file) {
+        EXECUTOR.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+
+        });
+    }
+
+    /**
+     * Deletes all files, which have been used to store evicted states, from a specific directory
+     * in the background thread, unless the directory has already been cleared by the current
+     * process.
+     *
+     * @param directory
+     *         The directory, which should be cleared, as an instance of the class {@link File}.
+     *         The directory may not be null
+     */
+    private static void clearDirectory(@NonNull final File directory) {
+        synchronized (CLEARED_DIRECTORIES) {
+            if (!CLEARED_DIRECTORIES.add(directory.getAbsolutePath())) {
+                return;
+            }
+        }
+
+        EXECUTOR.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                File[] files = directory.listFiles();
+
+                if (files != null) {
+                    for (File file : files) {
+                        if (file.getName().endsWith(FILE_SUFFIX)) {
+                            //noinspection ResultOfMethodCallIgnored
+                            file.delete();
+                        }
+                    }
+                }
+            }
+
+        });
+    }
+
+    /**
+     * Closes a specific stream, ignoring any errors.
+     *
+     * @param stream
+     *         The stream, which should be closed, as an instance of the type {@link Closeable} or
+     *         null, if no stream has been opened
+     */
+    private static void close(@Nullable final Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // No need to handle
+            }
+        }
+    }
+
+    /**
+     * Returns the file, which is used to store the evicted state of the tab with a specific id.
+     *
+     * @param id
+     *         The id of the tab as a {@link Long} value
+     * @return The file, which is used to store the evicted state of the tab with the given id, as
+     * an instance of the class {@link File} or null, if no spill directory is set
+     */
+    @Nullable
+    private File getFile(final long id) {
+        return spillDirectory != null ?
+                new File(spillDirectory, filePrefix + id + FILE_SUFFIX) : null;
+    }
+
+    /**
+     * Writes a specific state, which has been evicted from memory, to a file, if a spill directory
+     * is set. The state is written to a parcel immediately, but the file is written in the
+     * background thread. If an error occurs, the state is discarded.
+     *
+     * @param id
+     *         The id of the tab, the state corresponds to, as a {@link Long} value
+     * @param state
+     *         The state, which should be written, as an instance of the class {@link Bundle}. The
+     *         state may not be null
+     */
+    private void spill(final long id, @NonNull final Bundle state) {
+        final File file = getFile(id);
+
+        if (file != null) {
+            Parcel parcel = Parcel.obtain();
+            final byte[] data;
+
+            try {
+                parcel.writeBundle(state);
+                data = parcel.marshall();
+            } catch (RuntimeException e) {
+                return;
+            } finally {
+                parcel.recycle();
+            }
+
+            pendingWrites.put(id, data);
+            spilledIds.add(id);
+            EXECUTOR.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    FileOutputStream outputStream = null;
+
+                    try {
+                        outputStream = new FileOutputStream(file);
+                        outputStream.write(data);
+                    } catch (IOException e) {
+                        //noinspection ResultOfMethodCallIgnored
+                        file.delete();
+                    } finally {
+                        close(outputStream);
+                        pendingWrites.remove(id, data);
+                    }
+                }
+
+            });
+        }
+    }
+
+    /**
+     * Reads the data of the state of the tab with a specific id from a file.
+     *
+     * @param file
+     *         The file, which should be read, as an instance of the class {@link File}. The file
+     *         may not be null
+     * @return An array, which contains the data, which has been read, as a {@link Byte} array or
+     * null, if an error occurred
+     */
+    @Nullable
+    private byte[] read(@NonNull final File file) {
+        FileInputStream inputStream = null;
+
+        try {
+            byte[] data = new byte[(int) file.length()];
+            inputStream = new FileInputStream(file);
+            int offset = 0;
+            int read;
+
+            while (offset < data.length &&
+                    (read = inputStream.read(data, offset, data.length - offset)) != -1) {
+                offset += read;
+            }
+
+            return offset == data.length ? data : null;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            close(inputStream);
+        }
+    }
+
+    /**
+     * Reads the data of the state of the tab with a specific id, which has been evicted from
+     * memory, without deleting the corresponding file. If the file has not been written yet, the
+     * data, which is about to be written, is returned.
+     *
+     * @param id
+     *         The id of the tab, whose state should be read, as a {@link Long} value
+     * @param file
+     *         The file, the state has been written to, as an instance of the class {@link File}.
+     *         The file may not be null
+     * @return An array, which contains the data, which has been read, as a {@link Byte} array or
+     * null, if an error occurred
+     */
+    @Nullable
+    private byte[] readSpilled(final long id, @NonNull final File file) {
+        byte[] data = pendingWrites.get(id);
+        return data != null ? data : read(file);
+    }
+
+    /**
+     * Restores a state from specific data, which has been written to a parcel.
+     *
+     * @param data
+     *         The data, the state should be restored from, as a {@link Byte} array or null, if
+     *         the data could not be read
+     * @return The state, which has been restored, as an instance of the class {@link Bundle} or
+     * null, if an error occurred
+     */
+    @Nullable
+    private Bundle unmarshall(@Nullable final byte[] data) {
+        if (data != null) {
+            Parcel parcel = Parcel.obtain();
+
+            try {
+                parcel.unmarshall(data, 0, data.length);
+                parcel.setDataPosition(0);
+                return parcel.readBundle(classLoader);
+            } catch (RuntimeException e) {
+                return null;
+            } finally {
+                parcel.recycle();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Restores the state of the tab with a specific id, which has been evicted from memory. If the
+     * corresponding file has not been written yet, the state is restored from the data, which is
+     * about to be written. The file is deleted in the background thread afterwards.
+     *
+     * @param id
+     *         The id of the tab, whose state should be restored, as a {@link Long} value
+     * @return The state, which has been restored, as an instance of the class {@link Bundle} or
+     * null, if the state has not been evicted or if an error occurred
+     */
+    @Nullable
+    private Bundle restore(final long id) {
+        File file = getFile(id);
+
+        if (file != null && spilledIds.remove(id)) {
+            byte[] data = readSpilled(id, file);
+            pendingWrites.remove(id);
+            deleteInBackground(file);
+            return unmarshall(data);
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a new store, which allows to manage the saved instance states of the child views of
+     * the tabs of a {@link TabSwitcher}.
+     *
+     * @param maxSize
+     *         The maximum total size of the states, which are kept in memory, in bytes as an
+     *         {@link Integer} value. The maximum size must be at least 1
+     * @param spillDirectory
+     *         The directory, evicted states should be written to, as an instance of the class
+     *         {@link File} or null, if evicted states should be discarded
+     * @param classLoader
+     *         The class loader, which should be used to restore states from files, as an instance
+     *         of the class {@link ClassLoader}. The class loader may not be null
+     */
+    public ChildStateStore(final int maxSize, @Nullable final File spillDirectory,
+                           @NonNull final ClassLoader classLoader) {
+        ensureAtLeast(maxSize, 1, "The maximum size must be at least 1");
+        ensureNotNull(classLoader, "The class loader may not be null");
+        this.classLoader = classLoader;
+        this.spillDirectory = spillDirectory;
+        this.filePrefix = STORE_COUNT.getAndIncrement() + "_";
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.spilledIds = new HashSet<>();
+        this.cache = new LruCache<Long, Bundle>(maxSize) {
+
+            @Override
+            protected int sizeOf(final Long key, final Bundle value) {
+                return estimateSize(value);
+            }
+
+            @Override
+            protected void entryRemoved(final boolean evicted, final Long key,
+                                        final Bundle oldValue, final Bundle newValue) {
+                if (evicted) {
+                    spill(key, oldValue);
+                }
+            }
+
+        };
+
+        if (spillDirectory != null) {
+            clearDirectory(spillDirectory);
+        }
+    }
+
+    /**
+     * Returns the state of the tab with a specific id. If the state has been written to a file, it
+     * is read and kept in memory again.
+     *
+     * @param id
+     *         The id of the tab, whose state should be returned, as a {@link Long} value
+     * @return The state of the tab with the given id as an instance of the class {@link Bundle} or
+     * null, if no state is available
+     */
+    @Nullable
+    public final Bundle get(final long id) {
+        Bundle state = cache.get(id);
+
+        if (state == null) {
+            state = restore(id);
+
+            if (state != null) {
+                cache.put(id, state);
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * Stores the state of the tab with a specific id.
+     *
+     * @param id
+     *         The id of the tab, whose state should be stored, as a {@link Long} value
+     * @param state
+     *         The state, which should be stored, as an instance of the class {@link Bundle} or
+     *         null, if the previously stored state should be removed
+     */
+    public final void put(final long id, @Nullable final Bundle state) {
+        if (state != null) {
+            cache.put(id, state);
+        } else {
+            remove(id);
+        }
+    }
+
+    /**
+     * Removes the state of the tab with a specific id, regardless of whether it is kept in memory
+     * or has been written to a file.
+     *
+     * @param id
+     *         The id of the tab, whose state should be removed, as a {@link Long} value
+     */
+    public final void remove(final long id) {
+        cache.remove(id);
+        File file = getFile(id);
+
+        if (file != null && spilledIds.remove(id)) {
+            pendingWrites.remove(id);
+            deleteInBackground(file);
+        }
+    }
+
+    /**
+     * Removes all states, which have been written to files. The files are deleted in the
+     * background thread. This method should be called, when the store is not used anymore.
+     */
+    public final void clearSpilledStates() {
+        for (long id : spilledIds) {
+            File file = getFile(id);
+
+            if (file != null) {
+                pendingWrites.remove(id);
+                deleteInBackground(file);
+            }
+        }
+
+        spilledIds.clear();
+    }
+
+    /**
+     * Returns a snapshot of the states, which are currently kept in memory.
+     *
+     * @return A map, which contains the states, which are currently kept in memory, as an instance
+     * of the type {@link Map}. The map may not be null
+     */
+    @NonNull
+    public final Map<Long, Bundle> snapshot() {
+        return cache.snapshot();
+    }
+
+    /**
+     * Returns a snapshot of all states, including the ones, which have been written to files. The
+     * states, which have been written to files, are read, but neither kept in memory again, nor
+     * are the files deleted. This method should be used, when the states should be copied or
+     * persisted.
+     *
+     * @return A map, which contains all states, as an instance of the type {@link Map}. The map
+     * may not be null
+     */
+    @NonNull
+    public final Map<Long, Bundle> snapshotAll() {
+        Map<Long, Bundle> snapshot = new HashMap<>(cache.snapshot());
+
+        for (long id : spilledIds) {
+            File file = getFile(id);
+
+            if (file != null && !snapshot.containsKey(id)) {
+                Bundle state = unmarshall(readSpilled(id, file));
+
+                if (state != null) {
+                    snapshot.put(id, state);
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns the total size of the states, which are currently kept in memory.
+     *
+     * @return The total size of the states, which are currently kept in memory, in bytes as an
+     * {@link Integer} value
+     */
+    public final int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the maximum total size of the states, which are kept in memory.
+     *
+     * @return The maximum total size of the states, which are kept in memory, in bytes as an
+     * {@link Integer} value
+     */
+    public final int maxSize() {
+        return cache.maxSize();
+    }
+
+}
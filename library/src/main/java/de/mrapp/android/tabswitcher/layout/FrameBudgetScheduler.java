@@ -0,0 +1,266 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+
+import java.util.LinkedList;
+
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A cooperative scheduler, which allows to split the work, which must be done by the layout of a
+ * {@link TabSwitcher}, into slices, which do not exceed a specific budget per frame. Tasks are
+ * executed step by step. Once the budget of the current frame is exhausted, the remaining steps
+ * are postponed to the next animation frame. Tasks are executed in the order they have been
+ * scheduled. Callers should therefore schedule tasks, which affect the tabs, which are currently
+ * visible, first.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class FrameBudgetScheduler {
+
+    /**
+     * Defines the interface, a task, which can be executed by the scheduler, must implement.
+     */
+    public interface Task {
+
+        /**
+         * The method, which is invoked in order to execute the next step of the task. A single
+         * step should be short enough to not exceed the budget of a frame by itself.
+         *
+         * @return True, if the task has been finished, false, if further steps must be executed
+         */
+        boolean executeStep();
+
+    }
+
+    /**
+     * Defines the interface, a class, which should be notified, when all tasks of the scheduler
+     * have been finished, must implement.
+     */
+    public interface Callback {
+
+        /**
+         * The method, which is invoked, when all tasks of the scheduler have been finished after
+         * some of their steps have been postponed to subsequent frames.
+         */
+        void onIdle();
+
+    }
+
+    /**
+     * The view, which is used to post the slices to the next animation frame.
+     */
+    private final View view;
+
+    /**
+     * The budget, which may be used per frame, in nanoseconds.
+     */
+    private final long frameBudget;
+
+    /**
+     * The runnable, which executes a slice once per frame.
+     */
+    private final Runnable sliceRunnable;
+
+    /**
+     * A queue, which contains the tasks, which have been scheduled.
+     */
+    private final LinkedList<Task> tasks;
+
+    /**
+     * The callback, which is notified, when all tasks have been finished.
+     */
+    private Callback callback;
+
+    /**
+     * The point in time in nanoseconds, when the budget of the current slice is exhausted.
+     */
+    private long deadline;
+
+    /**
+     * True, if a slice has been posted to the next animation frame, false otherwise.
+     */
+    private boolean posted;
+
+    /**
+     * True, if a slice is currently executed, false otherwise.
+     */
+    private boolean executing;
+
+    /**
+     * Creates and returns a runnable, which executes a slice once per frame.
+     *
+     * @return The runnable, which has been created, as an instance of the type {@link Runnable}.
+     * The runnable may not be null
+     */
+    @NonNull
+    private Runnable createSliceRunnable() {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                posted = false;
+                executeSlice();
+
+                if (isIdle()) {
+                    notifyOnIdle();
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Executes the steps of the enqueued tasks until the budget of the current frame is exhausted.
+     * The remaining steps are posted to the next animation frame. If the budget of the current
+     * slice has not been exhausted yet, it is shared with the slices, which are executed
+     * subsequently.
+     */
+    private void executeSlice() {
+        if (!executing) {
+            executing = true;
+
+            try {
+                long currentTime = System.nanoTime();
+
+                if (currentTime >= deadline) {
+                    deadline = currentTime + frameBudget;
+                }
+
+                while (!tasks.isEmpty()) {
+                    if (tasks.peek().executeStep()) {
+                        tasks.poll();
+                    }
+
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+            } finally {
+                executing = false;
+            }
+
+            if (!isIdle() && !posted) {
+                posted = true;
+                ViewCompat.postOnAnimation(view, sliceRunnable);
+            }
+        }
+    }
+
+    /**
+     * Notifies the callback, that all tasks, which have been postponed to subsequent frames, have
+     * been finished.
+     */
+    private void notifyOnIdle() {
+        if (callback != null) {
+            callback.onIdle();
+        }
+    }
+
+    /**
+     * Creates a new cooperative scheduler, which allows to split work into slices, which do not
+     * exceed a specific budget per frame.
+     *
+     * @param view
+     *         The view, which should be used to post the slices to the next animation frame, as an
+     *         instance of the class {@link View}. The view may not be null
+     * @param frameBudget
+     *         The budget, which may be used per frame, in milliseconds as a {@link Long} value. The
+     *         budget must be at least 1
+     */
+    public FrameBudgetScheduler(@NonNull final View view, final long frameBudget) {
+        ensureNotNull(view, "The view may not be null");
+        ensureAtLeast(frameBudget, 1, "The frame budget must be at least 1");
+        this.view = view;
+        this.frameBudget = frameBudget * 1000000L;
+        this.sliceRunnable = createSliceRunnable();
+        this.tasks = new LinkedList<>();
+        this.callback = null;
+        this.deadline = System.nanoTime();
+        this.posted = false;
+        this.executing = false;
+    }
+
+    /**
+     * Sets the callback, which should be notified, when all tasks have been finished.
+     *
+     * @param callback
+     *         The callback, which should be set, as an instance of the type {@link Callback} or
+     *         null, if no callback should be notified
+     */
+    public final void setCallback(@Nullable final Callback callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * Schedules a specific task. The first slice is executed
+     * immediately, unless the method is invoked by a task, which is currently executed, or a slice
+     * has already been posted to the next animation frame.
+     *
+     * @param task
+     *         The task, which should be scheduled, as an instance of the type {@link Task}. The
+     *         task may not be null
+     */
+    public final void schedule(@NonNull final Task task) {
+        ensureNotNull(task, "The task may not be null");
+        tasks.add(task);
+
+        if (!posted) {
+            executeSlice();
+        }
+    }
+
+    /**
+     * Executes all remaining tasks at once, regardless of the budget. This method must be called
+     * before the state, the tasks rely on, is discarded.
+     */
+    public final void flush() {
+        if (!executing && !isIdle()) {
+            view.removeCallbacks(sliceRunnable);
+            posted = false;
+            executing = true;
+
+            try {
+                while (!tasks.isEmpty()) {
+                    if (tasks.peek().executeStep()) {
+                        tasks.poll();
+                    }
+                }
+            } finally {
+                executing = false;
+            }
+
+            notifyOnIdle();
+        }
+    }
+
+    /**
+     * Returns, whether all tasks have been finished, or not.
+     *
+     * @return True, if all tasks have been finished, false otherwise
+     */
+    public final boolean isIdle() {
+        return tasks.isEmpty();
+    }
+
+}
@@ -20,13 +20,13 @@ import android.view.Gravity;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.ViewPropertyAnimator;
 import android.widget.FrameLayout;
 
 import de.mrapp.android.tabswitcher.Layout;
 import de.mrapp.android.tabswitcher.R;
 import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.layout.AbstractDragHandler.DragState;
+import de.mrapp.android.tabswitcher.layout.AnimationTimeline.Transition;
 import de.mrapp.android.tabswitcher.layout.Arithmetics;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
@@ -71,6 +71,93 @@ public class PhoneArithmetics implements Arithmetics {
      */
     private final float endOvershootPivot;
 
+    /**
+     * True, if the snapshot of the properties of the tab switcher, which are used by the
+     * arithmetics, is up to date, false otherwise.
+     */
+    private boolean snapshotValid;
+
+    /**
+     * True, if the tab switcher uses the landscape layout, false otherwise. This value is part of
+     * the snapshot.
+     */
+    private boolean landscape;
+
+    /**
+     * The height of the tab switcher's toolbar, minus the inset of tabs, in pixels. This value is
+     * part of the snapshot.
+     */
+    private int toolbarSize;
+
+    /**
+     * The left padding of the tab switcher in pixels. This value is part of the snapshot.
+     */
+    private int paddingLeft;
+
+    /**
+     * The top padding of the tab switcher in pixels. This value is part of the snapshot.
+     */
+    private int paddingTop;
+
+    /**
+     * The right padding of the tab switcher in pixels. This value is part of the snapshot.
+     */
+    private int paddingRight;
+
+    /**
+     * The bottom padding of the tab switcher in pixels. This value is part of the snapshot.
+     */
+    private int paddingBottom;
+
+    /**
+     * Updates the snapshot of the properties of the tab switcher, which are used by the
+     * arithmetics, if it has been invalidated.
+     */
+    private void updateSnapshot() {
+        if (!snapshotValid) {
+            Toolbar[] toolbars = tabSwitcher.getToolbars();
+            landscape = tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE;
+            toolbarSize = toolbars != null ? toolbars[0].getHeight() - tabInset : 0;
+            paddingLeft = tabSwitcher.getPaddingLeft();
+            paddingTop = tabSwitcher.getPaddingTop();
+            paddingRight = tabSwitcher.getPaddingRight();
+            paddingBottom = tabSwitcher.getPaddingBottom();
+            snapshotValid = true;
+        }
+    }
+
+    /**
+     * Returns, whether the tab switcher uses the landscape layout, or not.
+     *
+     * @return True, if the tab switcher uses the landscape layout, false otherwise
+     */
+    private boolean isLandscape() {
+        updateSnapshot();
+        return landscape;
+    }
+
+    /**
+     * Returns the offset of tabs on the dragging axis, which is caused by the tab switcher's
+     * toolbar.
+     *
+     * @return The offset in pixels as an {@link Integer} value
+     */
+    private int getToolbarOffset() {
+        updateSnapshot();
+        return tabSwitcher.areToolbarsShown() && tabSwitcher.isSwitcherShown() ? toolbarSize : 0;
+    }
+
+    /**
+     * Returns the offset of tabs on the orthogonal axis, which is caused by the stacks, when using
+     * the landscape layout.
+     *
+     * @return The offset in pixels as a {@link Float} value
+     */
+    private float getStackOffset() {
+        return isLandscape() && tabSwitcher.isSwitcherShown() ?
+                stackedTabCount * stackedTabSpacing / 2f : 0;
+    }
+
     /**
      * Modifies a specific axis depending on the orientation of the tab switcher.
      *
@@ -85,7 +172,7 @@ public class PhoneArithmetics implements Arithmetics {
             return Axis.DRAGGING_AXIS;
         } else if (axis == Axis.X_AXIS) {
             return Axis.ORTHOGONAL_AXIS;
-        } else if (tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE) {
+        } else if (isLandscape()) {
             return axis == Axis.DRAGGING_AXIS ? Axis.ORTHOGONAL_AXIS : Axis.DRAGGING_AXIS;
         } else {
             return axis;
@@ -104,9 +191,9 @@ public class PhoneArithmetics implements Arithmetics {
      */
     private float getDefaultPivot(@NonNull final Axis axis, @NonNull final View view) {
         if (axis == Axis.DRAGGING_AXIS || axis == Axis.Y_AXIS) {
-            return tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ? getSize(axis, view) / 2f : 0;
+            return isLandscape() ? getSize(axis, view) / 2f : 0;
         } else {
-            return tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ? 0 : getSize(axis, view) / 2f;
+            return isLandscape() ? 0 : getSize(axis, view) / 2f;
         }
     }
 
@@ -180,6 +267,12 @@ public class PhoneArithmetics implements Arithmetics {
         this.stackedTabCount = resources.getInteger(R.integer.stacked_tab_count);
         this.stackedTabSpacing = resources.getDimensionPixelSize(R.dimen.stacked_tab_spacing);
         this.endOvershootPivot = resources.getDimensionPixelSize(R.dimen.end_overshoot_pivot);
+        this.snapshotValid = false;
+    }
+
+    @Override
+    public final void invalidate() {
+        snapshotValid = false;
     }
 
     @Override
@@ -198,20 +291,15 @@ public class PhoneArithmetics implements Arithmetics {
     public final float getPosition(@NonNull final Axis axis, @NonNull final View view) {
         ensureNotNull(axis, "The axis may not be null");
         ensureNotNull(view, "The view may not be null");
+        updateSnapshot();
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
-            Toolbar[] toolbars = tabSwitcher.getToolbars();
-            return view.getY() - (tabSwitcher.areToolbarsShown() && tabSwitcher.isSwitcherShown() &&
-                    toolbars != null ? toolbars[0].getHeight() - tabInset : 0) -
-                    getPadding(axis, Gravity.START, tabSwitcher);
+            return view.getY() - getToolbarOffset() - paddingTop;
         } else {
             FrameLayout.LayoutParams layoutParams =
                     (FrameLayout.LayoutParams) view.getLayoutParams();
-            return view.getX() - layoutParams.leftMargin - tabSwitcher.getPaddingLeft() / 2f +
-                    tabSwitcher.getPaddingRight() / 2f +
-                    (tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE &&
-                            tabSwitcher.isSwitcherShown() ?
-                            stackedTabCount * stackedTabSpacing / 2f : 0);
+            return view.getX() - layoutParams.leftMargin - paddingLeft / 2f + paddingRight / 2f +
+                    getStackOffset();
         }
     }
 
@@ -220,45 +308,35 @@ public class PhoneArithmetics implements Arithmetics {
                                   final float position) {
         ensureNotNull(axis, "The axis may not be null");
         ensureNotNull(view, "The view may not be null");
+        updateSnapshot();
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
-            Toolbar[] toolbars = tabSwitcher.getToolbars();
-            view.setY((tabSwitcher.areToolbarsShown() && tabSwitcher.isSwitcherShown() &&
-                    toolbars != null ? toolbars[0].getHeight() - tabInset : 0) +
-                    getPadding(axis, Gravity.START, tabSwitcher) + position);
+            view.setY(getToolbarOffset() + paddingTop + position);
         } else {
             FrameLayout.LayoutParams layoutParams =
                     (FrameLayout.LayoutParams) view.getLayoutParams();
-            view.setX(position + layoutParams.leftMargin + tabSwitcher.getPaddingLeft() / 2f -
-                    tabSwitcher.getPaddingRight() / 2f -
-                    (tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE &&
-                            tabSwitcher.isSwitcherShown() ?
-                            stackedTabCount * stackedTabSpacing / 2f : 0));
+            view.setX(position + layoutParams.leftMargin + paddingLeft / 2f - paddingRight / 2f -
+                    getStackOffset());
         }
     }
 
     @Override
     public final void animatePosition(@NonNull final Axis axis,
-                                      @NonNull final ViewPropertyAnimator animator,
+                                      @NonNull final Transition transition,
                                       @NonNull final View view, final float position,
                                       final boolean includePadding) {
         ensureNotNull(axis, "The axis may not be null");
-        ensureNotNull(animator, "The animator may not be null");
+        ensureNotNull(transition, "The transition may not be null");
         ensureNotNull(view, "The view may not be null");
+        updateSnapshot();
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
-            Toolbar[] toolbars = tabSwitcher.getToolbars();
-            animator.y((tabSwitcher.areToolbarsShown() && tabSwitcher.isSwitcherShown() &&
-                    toolbars != null ? toolbars[0].getHeight() - tabInset : 0) +
-                    (includePadding ? getPadding(axis, Gravity.START, tabSwitcher) : 0) + position);
+            transition.y(getToolbarOffset() + (includePadding ? paddingTop : 0) + position);
         } else {
             FrameLayout.LayoutParams layoutParams =
                     (FrameLayout.LayoutParams) view.getLayoutParams();
-            animator.x(position + layoutParams.leftMargin + (includePadding ?
-                    tabSwitcher.getPaddingLeft() / 2f - tabSwitcher.getPaddingRight() / 2f : 0) -
-                    (tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE &&
-                            tabSwitcher.isSwitcherShown() ?
-                            stackedTabCount * stackedTabSpacing / 2f : 0));
+            transition.x(position + layoutParams.leftMargin +
+                    (includePadding ? paddingLeft / 2f - paddingRight / 2f : 0) - getStackOffset());
         }
     }
 
@@ -269,7 +347,15 @@ public class PhoneArithmetics implements Arithmetics {
         ensureTrue(gravity == Gravity.START || gravity == Gravity.END, "Invalid gravity");
         ensureNotNull(view, "The view may not be null");
 
-        if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
+        if (view == tabSwitcher) {
+            updateSnapshot();
+
+            if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
+                return gravity == Gravity.START ? paddingTop : paddingBottom;
+            } else {
+                return gravity == Gravity.START ? paddingLeft : paddingRight;
+            }
+        } else if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
             return gravity == Gravity.START ? view.getPaddingTop() : view.getPaddingBottom();
         } else {
             return gravity == Gravity.START ? view.getPaddingLeft() : view.getPaddingRight();
@@ -279,12 +365,12 @@ public class PhoneArithmetics implements Arithmetics {
     @Override
     public final float getScale(@NonNull final View view, final boolean includePadding) {
         ensureNotNull(view, "The view may not be null");
+        updateSnapshot();
         FrameLayout.LayoutParams layoutParams = (FrameLayout.LayoutParams) view.getLayoutParams();
         float width = view.getWidth();
         float targetWidth = width + layoutParams.leftMargin + layoutParams.rightMargin -
-                (includePadding ? tabSwitcher.getPaddingLeft() + tabSwitcher.getPaddingRight() :
-                        0) - (tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ?
-                stackedTabCount * stackedTabSpacing : 0);
+                (includePadding ? paddingLeft + paddingRight : 0) -
+                (isLandscape() ? stackedTabCount * stackedTabSpacing : 0);
         return targetWidth / width;
     }
 
@@ -303,15 +389,15 @@ public class PhoneArithmetics implements Arithmetics {
 
     @Override
     public final void animateScale(@NonNull final Axis axis,
-                                   @NonNull final ViewPropertyAnimator animator,
+                                   @NonNull final Transition transition,
                                    final float scale) {
         ensureNotNull(axis, "The axis may not be null");
-        ensureNotNull(animator, "The animator may not be null");
+        ensureNotNull(transition, "The transition may not be null");
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
-            animator.scaleY(scale);
+            transition.scaleY(scale);
         } else {
-            animator.scaleX(scale);
+            transition.scaleX(scale);
         }
     }
 
@@ -341,14 +427,10 @@ public class PhoneArithmetics implements Arithmetics {
                 (FrameLayout.LayoutParams) tabContainer.getLayoutParams();
         int padding = !includePadding ? (getPadding(axis, Gravity.START, tabSwitcher) +
                 getPadding(axis, Gravity.END, tabSwitcher)) : 0;
-        Toolbar[] toolbars = tabSwitcher.getToolbars();
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
-            int toolbarSize =
-                    !includePadding && tabSwitcher.areToolbarsShown() && toolbars != null ?
-                            toolbars[0].getHeight() - tabInset : 0;
             return tabContainer.getHeight() - layoutParams.topMargin - layoutParams.bottomMargin -
-                    padding - toolbarSize;
+                    padding - (!includePadding && tabSwitcher.areToolbarsShown() ? toolbarSize : 0);
         } else {
             return tabContainer.getWidth() - layoutParams.leftMargin - layoutParams.rightMargin -
                     padding;
@@ -413,26 +495,26 @@ public class PhoneArithmetics implements Arithmetics {
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
             view.setRotationY(
-                    tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ? -1 * angle : angle);
+                    isLandscape() ? -1 * angle : angle);
         } else {
             view.setRotationX(
-                    tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ? -1 * angle : angle);
+                    isLandscape() ? -1 * angle : angle);
         }
     }
 
     @Override
     public final void animateRotation(@NonNull final Axis axis,
-                                      @NonNull final ViewPropertyAnimator animator,
+                                      @NonNull final Transition transition,
                                       final float angle) {
         ensureNotNull(axis, "The axis may not be null");
-        ensureNotNull(animator, "The animator may not be null");
+        ensureNotNull(transition, "The transition may not be null");
 
         if (getOrientationInvariantAxis(axis) == Axis.DRAGGING_AXIS) {
-            animator.rotationY(
-                    tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ? -1 * angle : angle);
+            transition.rotationY(
+                    isLandscape() ? -1 * angle : angle);
         } else {
-            animator.rotationX(
-                    tabSwitcher.getLayout() == Layout.PHONE_LANDSCAPE ? -1 * angle : angle);
+            transition.rotationX(
+                    isLandscape() ? -1 * angle : angle);
         }
     }
 
@@ -16,19 +16,14 @@ package de.mrapp.android.tabswitcher.layout.phone;
 import android.content.res.Resources;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.support.v7.widget.Toolbar;
-import android.view.Gravity;
 import android.view.View;
 
-import de.mrapp.android.tabswitcher.Layout;
 import de.mrapp.android.tabswitcher.R;
+import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
-import de.mrapp.android.tabswitcher.iterator.AbstractTabItemIterator;
-import de.mrapp.android.tabswitcher.iterator.TabItemIterator;
 import de.mrapp.android.tabswitcher.layout.AbstractDragHandler;
 import de.mrapp.android.tabswitcher.layout.Arithmetics;
 import de.mrapp.android.tabswitcher.layout.Arithmetics.Axis;
-import de.mrapp.android.tabswitcher.model.State;
 import de.mrapp.android.tabswitcher.model.TabItem;
 import de.mrapp.android.util.gesture.DragHelper;
 import de.mrapp.android.util.view.AttachedViewRecycler;
@@ -84,6 +79,11 @@ public class PhoneDragHandler extends AbstractDragHandler<PhoneDragHandler.Callb
      */
     private final AttachedViewRecycler<TabItem, ?> viewRecycler;
 
+    /**
+     * The index, which is used to determine the tab, which is focused at a specific position.
+     */
+    private final PhoneTabExtents tabExtents;
+
     /**
      * The drag helper, which is used to recognize drag gestures when overshooting.
      */
@@ -109,11 +109,6 @@ public class PhoneDragHandler extends AbstractDragHandler<PhoneDragHandler.Callb
      */
     private final int stackedTabCount;
 
-    /**
-     * The inset of tabs in pixels.
-     */
-    private final int tabInset;
-
     /**
      * Notifies the callback, that tabs are overshooting at the start.
      *
@@ -166,16 +161,22 @@ public class PhoneDragHandler extends AbstractDragHandler<PhoneDragHandler.Callb
      *         The view recycler, which allows to inflate the views, which are used to visualize the
      *         tabs, whose positions and states should be calculated by the tab switcher, as an
      *         instance of the class AttachedViewRecycler. The view recycler may not be null
+     * @param tabExtents
+     *         The index, which should be used to determine the tab, which is focused at a specific
+     *         position, as an instance of the class {@link PhoneTabExtents}. The index may not be
+     *         null
      */
     public PhoneDragHandler(@NonNull final TabSwitcher tabSwitcher,
                             @NonNull final Arithmetics arithmetics,
-                            @NonNull final AttachedViewRecycler<TabItem, ?> viewRecycler) {
+                            @NonNull final AttachedViewRecycler<TabItem, ?> viewRecycler,
+                            @NonNull final PhoneTabExtents tabExtents) {
         super(tabSwitcher, arithmetics, true);
         ensureNotNull(viewRecycler, "The view recycler may not be null");
+        ensureNotNull(tabExtents, "The tab extents may not be null");
         this.viewRecycler = viewRecycler;
+        this.tabExtents = tabExtents;
         this.overshootDragHelper = new DragHelper(0);
         Resources resources = tabSwitcher.getResources();
-        this.tabInset = resources.getDimensionPixelSize(R.dimen.tab_inset);
         this.stackedTabCount = resources.getInteger(R.integer.stacked_tab_count);
         this.maxOvershootDistance = resources.getDimensionPixelSize(R.dimen.max_overshoot_distance);
         this.maxStartOvershootAngle = resources.getInteger(R.integer.max_start_overshoot_angle);
@@ -185,32 +186,24 @@ public class PhoneDragHandler extends AbstractDragHandler<PhoneDragHandler.Callb
     @Override
     @Nullable
     protected final TabItem getFocusedTab(final float position) {
-        AbstractTabItemIterator iterator =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).create();
-        TabItem tabItem;
-
-        while ((tabItem = iterator.next()) != null) {
-            if (tabItem.getTag().getState() == State.FLOATING ||
-                    tabItem.getTag().getState() == State.STACKED_START_ATOP) {
-                View view = tabItem.getView();
-                Toolbar[] toolbars = getTabSwitcher().getToolbars();
-                float toolbarHeight = getTabSwitcher().getLayout() != Layout.PHONE_LANDSCAPE &&
-                        getTabSwitcher().areToolbarsShown() && toolbars != null ?
-                        toolbars[0].getHeight() - tabInset : 0;
-                float viewPosition =
-                        getArithmetics().getPosition(Axis.DRAGGING_AXIS, view) + toolbarHeight +
-                                getArithmetics().getPadding(Axis.DRAGGING_AXIS, Gravity.START,
-                                        getTabSwitcher());
-
-                if (viewPosition <= position) {
-                    return tabItem;
-                }
+        Tab tab = tabExtents.getFocusedTab(position);
+
+        if (tab != null) {
+            int index = getTabSwitcher().indexOf(tab);
+
+            if (index != -1) {
+                return TabItem.create(viewRecycler, index, tab);
             }
         }
 
         return null;
     }
 
+    @Override
+    protected final void onDown() {
+        tabExtents.invalidate();
+    }
+
     @Override
     protected final float onOvershootStart(final float dragPosition,
                                            final float overshootThreshold) {
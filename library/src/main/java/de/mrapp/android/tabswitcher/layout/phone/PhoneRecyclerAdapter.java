@@ -17,15 +17,19 @@ import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.PorterDuff;
+import android.graphics.ColorFilter;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Looper;
+import android.os.MessageQueue.IdleHandler;
 import android.support.annotation.MenuRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.support.v4.content.ContextCompat;
 import android.support.v4.util.Pair;
+import android.support.v4.view.AsyncLayoutInflater;
+import android.support.v4.view.AsyncLayoutInflater.OnInflateFinishedListener;
 import android.support.v7.widget.Toolbar.OnMenuItemClickListener;
+import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -44,16 +48,20 @@ import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.TabSwitcherDecorator;
 import de.mrapp.android.tabswitcher.iterator.AbstractTabItemIterator;
 import de.mrapp.android.tabswitcher.iterator.TabItemIterator;
+import de.mrapp.android.tabswitcher.layout.AbstractTabRecyclerAdapter;
+import de.mrapp.android.tabswitcher.model.ChangeSet;
 import de.mrapp.android.tabswitcher.model.Model;
 import de.mrapp.android.tabswitcher.model.TabItem;
 import de.mrapp.android.tabswitcher.model.TabSwitcherModel;
 import de.mrapp.android.util.ViewUtil;
 import de.mrapp.android.util.logging.LogLevel;
 import de.mrapp.android.util.multithreading.AbstractDataBinder;
-import de.mrapp.android.util.view.AbstractViewRecycler;
 import de.mrapp.android.util.view.AttachedViewRecycler;
 import de.mrapp.android.util.view.ViewRecycler;
 
+import java.util.LinkedList;
+import java.util.Queue;
+
 import static de.mrapp.android.util.Condition.ensureNotNull;
 
 /**
@@ -63,9 +71,9 @@ import static de.mrapp.android.util.Condition.ensureNotNull;
  * @author Michael Rapp
  * @since 0.1.0
  */
-public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem, Integer>
+public class PhoneRecyclerAdapter extends AbstractTabRecyclerAdapter
         implements Tab.Callback, Model.Listener,
-        AbstractDataBinder.Listener<Bitmap, Tab, ImageView, TabItem> {
+        AbstractDataBinder.Listener<Bitmap, Long, View, TabItem> {
 
     /**
      * The tab switcher, the tabs belong to.
@@ -85,7 +93,7 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     /**
      * The data binder, which allows to render previews of tabs.
      */
-    private final AbstractDataBinder<Bitmap, Tab, ImageView, TabItem> dataBinder;
+    private final AbstractDataBinder<Bitmap, Long, View, TabItem> dataBinder;
 
     /**
      * The inset of tabs in pixels.
@@ -103,14 +111,33 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     private final int tabTitleContainerHeight;
 
     /**
-     * The default background color of tabs.
+     * The cache, which stores the resources, which are used to visualize tabs, once they have been
+     * resolved.
+     */
+    private final PhoneResourceCache resourceCache;
+
+    /**
+     * A queue, which contains the views, which have been created in advance in order to visualize
+     * tabs.
+     */
+    private final Queue<View> prewarmedViews;
+
+    /**
+     * The inflater, which is used to inflate views on a background thread, or null, if no views
+     * have been inflated on a background thread yet.
+     */
+    private AsyncLayoutInflater asyncLayoutInflater;
+
+    /**
+     * The idle handler, which creates views in advance, or null, if no views are currently created
+     * in advance.
      */
-    private final int tabBackgroundColor;
+    private IdleHandler prewarmIdleHandler;
 
     /**
-     * The default text color of a tab's title.
+     * The number of views, which are currently inflated on a background thread.
      */
-    private final int tabTitleTextColor;
+    private int pendingInflations;
 
     /**
      * The view recycler, the adapter is bound to.
@@ -143,9 +170,14 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
             childViewRecycler.getAdapter().onShowView(model.getContext(), view, tab, false);
         }
 
-        viewHolder.previewImageView.setVisibility(View.GONE);
-        viewHolder.previewImageView.setImageBitmap(null);
-        viewHolder.borderView.setVisibility(View.GONE);
+        if (viewHolder.tabView != null) {
+            viewHolder.tabView.setPreview(null);
+            viewHolder.tabView.setBorderShown(false);
+        } else {
+            viewHolder.previewImageView.setVisibility(View.GONE);
+            viewHolder.previewImageView.setImageBitmap(null);
+            viewHolder.borderView.setVisibility(View.GONE);
+        }
     }
 
     /**
@@ -158,14 +190,27 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     private void renderChildView(@NonNull final TabItem tabItem) {
         Tab tab = tabItem.getTab();
         PhoneTabViewHolder viewHolder = tabItem.getViewHolder();
-        viewHolder.borderView.setVisibility(View.VISIBLE);
+        View previewView;
+
+        if (viewHolder.tabView != null) {
+            viewHolder.tabView.setBorderShown(true);
+            previewView = viewHolder.tabView;
+        } else {
+            viewHolder.borderView.setVisibility(View.VISIBLE);
+            previewView = viewHolder.previewImageView;
+        }
+
+        if (viewHolder.previewParams == null || viewHolder.previewParams[0].getTab() != tab) {
+            viewHolder.previewKey = tab.getId();
+            viewHolder.previewParams = new TabItem[]{tabItem};
+        }
 
         if (viewHolder.child != null) {
             childViewRecycler.getAdapter().onRemoveView(viewHolder.child, tab);
-            dataBinder.load(tab, viewHolder.previewImageView, false, tabItem);
+            dataBinder.load(viewHolder.previewKey, previewView, false, viewHolder.previewParams);
             removeChildView(viewHolder, tab);
         } else {
-            dataBinder.load(tab, viewHolder.previewImageView, tabItem);
+            dataBinder.load(viewHolder.previewKey, previewView, viewHolder.previewParams);
         }
     }
 
@@ -181,7 +226,9 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
      */
     private void removeChildView(@NonNull final PhoneTabViewHolder viewHolder,
                                  @NonNull final Tab tab) {
-        if (viewHolder.childContainer.getChildCount() > 2) {
+        int decorationCount = viewHolder.tabView != null ? 0 : 2;
+
+        if (viewHolder.childContainer.getChildCount() > decorationCount) {
             viewHolder.childContainer.removeViewAt(0);
         }
 
@@ -207,7 +254,17 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
      *         tab may not be null
      */
     private void adaptTitle(@NonNull final PhoneTabViewHolder viewHolder, @NonNull final Tab tab) {
-        viewHolder.titleTextView.setText(tab.getTitle());
+        CharSequence title = tab.getTitle();
+
+        if (!TextUtils.equals(viewHolder.appliedTitle, title)) {
+            if (viewHolder.tabView != null) {
+                viewHolder.tabView.setTitle(title);
+            } else {
+                viewHolder.titleTextView.setText(title);
+            }
+
+            viewHolder.appliedTitle = title;
+        }
     }
 
     /**
@@ -221,10 +278,27 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
      *         tab may not be null
      */
     private void adaptIcon(@NonNull final PhoneTabViewHolder viewHolder, @NonNull final Tab tab) {
-        Drawable icon = tab.getIcon(model.getContext());
-        viewHolder.titleTextView
-                .setCompoundDrawablesWithIntrinsicBounds(icon != null ? icon : model.getTabIcon(),
-                        null, null, null);
+        int iconId = tab.getIconId();
+        String iconDigest = tab.getIconDigest();
+        int defaultIconGeneration = iconId == -1 && iconDigest == null ?
+                resourceCache.getDefaultIconGeneration() : -1;
+
+        if (viewHolder.appliedIconId != iconId ||
+                !TextUtils.equals(viewHolder.appliedIconDigest, iconDigest) ||
+                viewHolder.appliedDefaultIconGeneration != defaultIconGeneration) {
+            Drawable icon = resourceCache.getIcon(tab);
+
+            if (viewHolder.tabView != null) {
+                viewHolder.tabView.setIcon(icon);
+            } else {
+                viewHolder.titleTextView
+                        .setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
+            }
+
+            viewHolder.appliedIconId = iconId;
+            viewHolder.appliedIconDigest = iconDigest;
+            viewHolder.appliedDefaultIconGeneration = defaultIconGeneration;
+        }
     }
 
     /**
@@ -239,10 +313,15 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
      */
     private void adaptCloseButton(@NonNull final PhoneTabViewHolder viewHolder,
                                   @NonNull final Tab tab) {
-        viewHolder.closeButton.setVisibility(tab.isCloseable() ? View.VISIBLE : View.GONE);
-        viewHolder.closeButton.setOnClickListener(
-                tab.isCloseable() ? createCloseButtonClickListener(viewHolder.closeButton, tab) :
-                        null);
+        if (viewHolder.tabView != null) {
+            viewHolder.tabView.setCloseButtonShown(tab.isCloseable());
+        } else {
+            int visibility = tab.isCloseable() ? View.VISIBLE : View.GONE;
+
+            if (viewHolder.closeButton.getVisibility() != visibility) {
+                viewHolder.closeButton.setVisibility(visibility);
+            }
+        }
     }
 
     /**
@@ -257,41 +336,50 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
      */
     private void adaptCloseButtonIcon(@NonNull final PhoneTabViewHolder viewHolder,
                                       @NonNull final Tab tab) {
-        Drawable icon = tab.getCloseButtonIcon(model.getContext());
-
-        if (icon == null) {
-            icon = model.getTabCloseButtonIcon();
-        }
+        int iconId = tab.getCloseButtonIconId();
+        String iconDigest = tab.getCloseButtonIconDigest();
+        int defaultIconGeneration = iconId == -1 && iconDigest == null ?
+                resourceCache.getDefaultCloseButtonIconGeneration() : -1;
+
+        if (viewHolder.appliedCloseButtonIconId != iconId ||
+                !TextUtils.equals(viewHolder.appliedCloseButtonIconDigest, iconDigest) ||
+                viewHolder.appliedDefaultCloseButtonIconGeneration != defaultIconGeneration) {
+            Drawable icon = resourceCache.getCloseButtonIcon(tab);
+
+            if (viewHolder.tabView != null) {
+                viewHolder.tabView.setCloseButtonIcon(icon);
+            } else {
+                viewHolder.closeButton.setImageDrawable(icon);
+            }
 
-        if (icon != null) {
-            viewHolder.closeButton.setImageDrawable(icon);
-        } else {
-            viewHolder.closeButton.setImageResource(R.drawable.ic_close_tab_18dp);
+            viewHolder.appliedCloseButtonIconId = iconId;
+            viewHolder.appliedCloseButtonIconDigest = iconDigest;
+            viewHolder.appliedDefaultCloseButtonIconGeneration = defaultIconGeneration;
         }
     }
 
     /**
-     * Creates and returns a listener, which allows to close a specific tab, when its close button
-     * is clicked.
+     * Creates and returns a listener, which allows to close the tab, which is currently visualized
+     * by a specific view holder, when its close button is clicked. The listener is created only
+     * once per view and is reused whenever the view is bound to a different tab.
      *
-     * @param closeButton
-     *         The tab's close button as an instance of the class {@link ImageButton}. The button
-     *         may not be null
-     * @param tab
-     *         The tab, which should be closed, as an instance of the class {@link Tab}. The tab may
-     *         not be null
+     * @param viewHolder
+     *         The view holder, which stores references to the tab's views, as an instance of the
+     *         class {@link PhoneTabViewHolder}. The view holder may not be null
      * @return The listener, which has been created, as an instance of the class {@link
      * OnClickListener}. The listener may not be null
      */
     @NonNull
-    private OnClickListener createCloseButtonClickListener(@NonNull final ImageButton closeButton,
-                                                           @NonNull final Tab tab) {
+    private OnClickListener createCloseButtonClickListener(
+            @NonNull final PhoneTabViewHolder viewHolder) {
         return new OnClickListener() {
 
             @Override
             public void onClick(final View v) {
-                if (notifyOnCloseTab(tab)) {
-                    closeButton.setOnClickListener(null);
+                Tab tab = viewHolder.tab;
+
+                if (tab != null && tab.isCloseable() && notifyOnCloseTab(tab)) {
+                    viewHolder.tab = null;
                     tabSwitcher.removeTab(tab);
                 }
             }
@@ -333,22 +421,20 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     private void adaptBackgroundColor(@NonNull final View view,
                                       @NonNull final PhoneTabViewHolder viewHolder,
                                       @NonNull final Tab tab) {
-        ColorStateList colorStateList =
-                tab.getBackgroundColor() != null ? tab.getBackgroundColor() :
-                        model.getTabBackgroundColor();
-        int color = tabBackgroundColor;
+        ColorFilter colorFilter = getColorFilter(tab);
+
+        if (viewHolder.appliedColorFilter != colorFilter) {
+            if (viewHolder.tabView != null) {
+                viewHolder.tabView.setTabColorFilter(colorFilter);
+            } else {
+                Drawable background = view.getBackground();
+                background.setColorFilter(colorFilter);
+                Drawable border = viewHolder.borderView.getBackground();
+                border.setColorFilter(colorFilter);
+            }
 
-        if (colorStateList != null) {
-            int[] stateSet =
-                    model.getSelectedTab() == tab ? new int[]{android.R.attr.state_selected} :
-                            new int[]{};
-            color = colorStateList.getColorForState(stateSet, colorStateList.getDefaultColor());
+            viewHolder.appliedColorFilter = colorFilter;
         }
-
-        Drawable background = view.getBackground();
-        background.setColorFilter(color, PorterDuff.Mode.MULTIPLY);
-        Drawable border = viewHolder.borderView.getBackground();
-        border.setColorFilter(color, PorterDuff.Mode.MULTIPLY);
     }
 
     /**
@@ -363,13 +449,16 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
      */
     private void adaptTitleTextColor(@NonNull final PhoneTabViewHolder viewHolder,
                                      @NonNull final Tab tab) {
-        ColorStateList colorStateList = tab.getTitleTextColor() != null ? tab.getTitleTextColor() :
-                model.getTabTitleTextColor();
+        ColorStateList colorStateList = resourceCache.getTitleTextColor(tab);
 
-        if (colorStateList != null) {
-            viewHolder.titleTextView.setTextColor(colorStateList);
-        } else {
-            viewHolder.titleTextView.setTextColor(tabTitleTextColor);
+        if (viewHolder.appliedTitleTextColor != colorStateList) {
+            if (viewHolder.tabView != null) {
+                viewHolder.tabView.setTitleTextColor(colorStateList);
+            } else {
+                viewHolder.titleTextView.setTextColor(colorStateList);
+            }
+
+            viewHolder.appliedTitleTextColor = colorStateList;
         }
     }
 
@@ -386,8 +475,19 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     private void adaptSelectionState(@NonNull final PhoneTabViewHolder viewHolder,
                                      @NonNull final Tab tab) {
         boolean selected = model.getSelectedTab() == tab;
-        viewHolder.titleTextView.setSelected(selected);
-        viewHolder.closeButton.setSelected(selected);
+
+        if (viewHolder.tabView != null) {
+            viewHolder.tabView.setTitleSelected(selected);
+            return;
+        }
+
+        if (viewHolder.titleTextView.isSelected() != selected) {
+            viewHolder.titleTextView.setSelected(selected);
+        }
+
+        if (viewHolder.closeButton.isSelected() != selected) {
+            viewHolder.closeButton.setSelected(selected);
+        }
     }
 
     /**
@@ -423,11 +523,161 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
                     model.getPaddingRight(), model.getPaddingBottom());
         }
 
-        LayoutParams previewLayoutParams =
-                (LayoutParams) viewHolder.previewImageView.getLayoutParams();
-        previewLayoutParams
-                .setMargins(model.getPaddingLeft(), model.getPaddingTop(), model.getPaddingRight(),
-                        model.getPaddingBottom());
+        if (viewHolder.tabView != null) {
+            viewHolder.tabView
+                    .setPreviewPadding(model.getPaddingLeft(), model.getPaddingTop(),
+                            model.getPaddingRight(), model.getPaddingBottom());
+        } else {
+            LayoutParams previewLayoutParams =
+                    (LayoutParams) viewHolder.previewImageView.getLayoutParams();
+            previewLayoutParams
+                    .setMargins(model.getPaddingLeft(), model.getPaddingTop(),
+                            model.getPaddingRight(), model.getPaddingBottom());
+        }
+    }
+
+    /**
+     * Adapts the layout params of the view, which is used to visualize a tab. The layout params,
+     * which are stored by the view holder, are reused and only modified, if necessary.
+     *
+     * @param view
+     *         The view, which is used to visualize the tab, as an instance of the class {@link
+     *         View}. The view may not be null
+     * @param viewHolder
+     *         The view holder, which stores references to the tab's views, as an instance of the
+     *         class {@link PhoneTabViewHolder}. The view holder may not be null
+     * @param bottomMargin
+     *         The bottom margin, which should be applied, in pixels as an {@link Integer} value or
+     *         -1, if the default margin should be used
+     */
+    private void adaptLayoutParams(@NonNull final View view,
+                                   @NonNull final PhoneTabViewHolder viewHolder,
+                                   final int bottomMargin) {
+        LayoutParams layoutParams = viewHolder.layoutParams;
+        int borderMargin = -(tabInset + tabBorderWidth);
+        int topMargin = -(tabInset + tabTitleContainerHeight);
+        int resolvedBottomMargin = bottomMargin != -1 ? bottomMargin : borderMargin;
+
+        if (view.getLayoutParams() != layoutParams) {
+            layoutParams.setMargins(borderMargin, topMargin, borderMargin, resolvedBottomMargin);
+            view.setLayoutParams(layoutParams);
+        } else if (layoutParams.leftMargin != borderMargin ||
+                layoutParams.topMargin != topMargin || layoutParams.rightMargin != borderMargin ||
+                layoutParams.bottomMargin != resolvedBottomMargin) {
+            layoutParams.setMargins(borderMargin, topMargin, borderMargin, resolvedBottomMargin);
+            view.requestLayout();
+        }
+    }
+
+    /**
+     * Creates a view, which can be used to visualize tabs, including its view holder.
+     *
+     * @param inflatedView
+     *         The view, which has been inflated from the layout resource <code>phone_tab</code>,
+     *         as an instance of the class {@link View} or null, if the views, which are used to
+     *         visualize tabs, are flattened
+     * @return The view, which has been created, as an instance of the class {@link View}. The view
+     * may not be null
+     */
+    @NonNull
+    private View createView(@Nullable final View inflatedView) {
+        PhoneTabViewHolder viewHolder = new PhoneTabViewHolder();
+        View view;
+
+        if (inflatedView == null) {
+            PhoneTabView tabView = new PhoneTabView(model.getContext());
+            view = tabView;
+            ViewUtil.setBackground(view, resourceCache.newBackground());
+            viewHolder.tabView = tabView;
+            viewHolder.childContainer = tabView;
+            tabView.setBorder(resourceCache.newBorder());
+            tabView.setOnCloseButtonClickListener(createCloseButtonClickListener(viewHolder));
+        } else {
+            view = inflatedView;
+            ViewUtil.setBackground(view, resourceCache.newBackground());
+            viewHolder.titleContainer = (ViewGroup) view.findViewById(R.id.tab_title_container);
+            viewHolder.titleTextView = (TextView) view.findViewById(R.id.tab_title_text_view);
+            viewHolder.closeButton = (ImageButton) view.findViewById(R.id.close_tab_button);
+            viewHolder.childContainer = (ViewGroup) view.findViewById(R.id.child_container);
+            viewHolder.previewImageView =
+                    (ImageView) view.findViewById(R.id.preview_image_view);
+            viewHolder.borderView = view.findViewById(R.id.border_view);
+            ViewUtil.setBackground(viewHolder.borderView, resourceCache.newBorder());
+            viewHolder.closeButton
+                    .setOnClickListener(createCloseButtonClickListener(viewHolder));
+        }
+
+        int padding = tabInset + tabBorderWidth;
+        view.setPadding(padding, tabInset, padding, padding);
+        viewHolder.layoutParams =
+                new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+        view.setTag(R.id.tag_view_holder, viewHolder);
+        return view;
+    }
+
+    /**
+     * Creates and returns an idle handler, which creates the views, which are used to visualize
+     * tabs, in advance, while the main thread is idle. Views, which are inflated from a layout
+     * resource, are inflated on a background thread one after another.
+     *
+     * @return The idle handler, which has been created, as an instance of the type {@link
+     * IdleHandler}. The idle handler may not be null
+     */
+    @NonNull
+    private IdleHandler createPrewarmIdleHandler() {
+        return new IdleHandler() {
+
+            @Override
+            public boolean queueIdle() {
+                int count = model.getPrewarmedTabViewCount();
+
+                if (model.areTabViewsFlattened()) {
+                    while (prewarmedViews.size() < count) {
+                        prewarmedViews.add(createView(null));
+                    }
+                } else if (prewarmedViews.size() + pendingInflations < count) {
+                    if (pendingInflations == 0) {
+                        if (asyncLayoutInflater == null) {
+                            asyncLayoutInflater = new AsyncLayoutInflater(model.getContext());
+                        }
+
+                        pendingInflations++;
+                        asyncLayoutInflater
+                                .inflate(R.layout.phone_tab, tabSwitcher.getTabContainer(),
+                                        createInflateFinishedListener());
+                    }
+
+                    return true;
+                }
+
+                prewarmIdleHandler = null;
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns a listener, which adds a view, which has been inflated on a background
+     * thread, to the views, which have been created in advance.
+     *
+     * @return The listener, which has been created, as an instance of the type {@link
+     * OnInflateFinishedListener}. The listener may not be null
+     */
+    @NonNull
+    private OnInflateFinishedListener createInflateFinishedListener() {
+        return new OnInflateFinishedListener() {
+
+            @Override
+            public void onInflateFinished(@NonNull final View view, final int resourceId,
+                                          @Nullable final ViewGroup parent) {
+                if (pendingInflations > 0) {
+                    pendingInflations--;
+                    prewarmedViews.add(createView(view));
+                }
+            }
+
+        };
     }
 
     /**
@@ -485,10 +735,11 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
         this.tabBorderWidth = resources.getDimensionPixelSize(R.dimen.tab_border_width);
         this.tabTitleContainerHeight =
                 resources.getDimensionPixelSize(R.dimen.tab_title_container_height);
-        this.tabBackgroundColor =
-                ContextCompat.getColor(tabSwitcher.getContext(), R.color.tab_background_color);
-        this.tabTitleTextColor =
-                ContextCompat.getColor(tabSwitcher.getContext(), R.color.tab_title_text_color);
+        this.resourceCache = new PhoneResourceCache(model);
+        this.prewarmedViews = new LinkedList<>();
+        this.asyncLayoutInflater = null;
+        this.prewarmIdleHandler = null;
+        this.pendingInflations = 0;
         this.viewRecycler = null;
         adaptLogLevel();
     }
@@ -506,6 +757,49 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
         this.viewRecycler = viewRecycler;
     }
 
+    /**
+     * Returns the cache, which stores the resources, which are used to visualize tabs.
+     *
+     * @return The cache, which stores the resources, which are used to visualize tabs, as an
+     * instance of the class {@link PhoneResourceCache}. The cache may not be null
+     */
+    @NonNull
+    public final PhoneResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
+    /**
+     * Returns the color filter, which is used to tint the background of a specific tab.
+     *
+     * @param tab
+     *         The tab, whose color filter should be returned, as an instance of the class {@link
+     *         Tab}. The tab may not be null
+     * @return The color filter, which is used to tint the background of the given tab, as an
+     * instance of the class {@link ColorFilter}. The color filter may not be null
+     */
+    @NonNull
+    public final ColorFilter getColorFilter(@NonNull final Tab tab) {
+        int color = resourceCache.getBackgroundColor(tab, model.getSelectedTab() == tab);
+        return resourceCache.getColorFilter(color);
+    }
+
+    /**
+     * Detaches the view, which is used to visualize a specific tab, which is part of one of the
+     * stacks, by removing it from the view recycler. The tab item, including its tag, is retained
+     * until the view is inflated again.
+     *
+     * @param tabItem
+     *         The tab item, which corresponds to the tab, whose view should be detached, as an
+     *         instance of the class {@link TabItem}. The tab item may not be null
+     */
+    public final void detachView(@NonNull final TabItem tabItem) {
+        retainDetachedTabItem(tabItem);
+
+        if (tabItem.isInflated()) {
+            viewRecycler.remove(tabItem);
+        }
+    }
+
     /**
      * Removes all previously rendered previews from the cache.
      */
@@ -513,30 +807,60 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
         dataBinder.clearCache();
     }
 
+    /**
+     * Starts to create the views, which are used to visualize tabs, in advance, while the main
+     * thread is idle. The number of views, which are created, is specified by the model. This
+     * method must be called on the main thread.
+     */
+    public final void prewarmViews() {
+        if (prewarmIdleHandler == null &&
+                prewarmedViews.size() + pendingInflations < model.getPrewarmedTabViewCount()) {
+            prewarmIdleHandler = createPrewarmIdleHandler();
+            Looper.myQueue().addIdleHandler(prewarmIdleHandler);
+        }
+    }
+
+    /**
+     * Stops to create views in advance and discards all views, which have been created in advance
+     * and are not used yet.
+     */
+    public final void clearPrewarmedViews() {
+        if (prewarmIdleHandler != null) {
+            Looper.myQueue().removeIdleHandler(prewarmIdleHandler);
+            prewarmIdleHandler = null;
+        }
+
+        pendingInflations = 0;
+        prewarmedViews.clear();
+    }
+
+    /**
+     * Removes the adapter as a callback from all tabs, which are contained by the tab switcher.
+     * The adapter remains registered as a callback of a tab, once its view has been bound, until
+     * the tab is removed. This method must therefore be called, when the adapter is not used
+     * anymore.
+     */
+    public final void removeAllCallbacks() {
+        for (Tab tab : model) {
+            tab.removeCallback(this);
+        }
+    }
+
     @NonNull
     @Override
     public final View onInflateView(@NonNull final LayoutInflater inflater,
                                     @Nullable final ViewGroup parent,
                                     @NonNull final TabItem tabItem, final int viewType,
                                     @NonNull final Integer... params) {
-        PhoneTabViewHolder viewHolder = new PhoneTabViewHolder();
-        View view = inflater.inflate(R.layout.phone_tab, tabSwitcher.getTabContainer(), false);
-        Drawable backgroundDrawable =
-                ContextCompat.getDrawable(model.getContext(), R.drawable.phone_tab_background);
-        ViewUtil.setBackground(view, backgroundDrawable);
-        int padding = tabInset + tabBorderWidth;
-        view.setPadding(padding, tabInset, padding, padding);
-        viewHolder.titleContainer = (ViewGroup) view.findViewById(R.id.tab_title_container);
-        viewHolder.titleTextView = (TextView) view.findViewById(R.id.tab_title_text_view);
-        viewHolder.closeButton = (ImageButton) view.findViewById(R.id.close_tab_button);
-        viewHolder.childContainer = (ViewGroup) view.findViewById(R.id.child_container);
-        viewHolder.previewImageView = (ImageView) view.findViewById(R.id.preview_image_view);
+        View view = prewarmedViews.poll();
+
+        if (view == null) {
+            view = createView(model.areTabViewsFlattened() ? null :
+                    inflater.inflate(R.layout.phone_tab, tabSwitcher.getTabContainer(), false));
+        }
+
+        PhoneTabViewHolder viewHolder = (PhoneTabViewHolder) view.getTag(R.id.tag_view_holder);
         adaptPadding(viewHolder);
-        viewHolder.borderView = view.findViewById(R.id.border_view);
-        Drawable borderDrawable =
-                ContextCompat.getDrawable(model.getContext(), R.drawable.phone_tab_border);
-        ViewUtil.setBackground(viewHolder.borderView, borderDrawable);
-        view.setTag(R.id.tag_view_holder, viewHolder);
         tabItem.setView(view);
         tabItem.setViewHolder(viewHolder);
         view.setTag(R.id.tag_properties, tabItem.getTag());
@@ -555,16 +879,11 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
             view.setTag(R.id.tag_properties, tabItem.getTag());
         }
 
-        LayoutParams layoutParams =
-                new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
-        int borderMargin = -(tabInset + tabBorderWidth);
-        int bottomMargin = params.length > 0 && params[0] != -1 ? params[0] : borderMargin;
-        layoutParams.leftMargin = borderMargin;
-        layoutParams.topMargin = -(tabInset + tabTitleContainerHeight);
-        layoutParams.rightMargin = borderMargin;
-        layoutParams.bottomMargin = bottomMargin;
-        view.setLayoutParams(layoutParams);
+        adaptLayoutParams(view, viewHolder, params.length > 0 ? params[0] : -1);
         Tab tab = tabItem.getTab();
+        detachedTabItems.remove(tab);
+        viewHolder.tab = tab;
+        viewHolder.index = tabItem.getIndex();
         tab.addCallback(this);
         adaptTitle(viewHolder, tab);
         adaptIcon(viewHolder, tab);
@@ -587,22 +906,25 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     public final void onRemoveView(@NonNull final View view, @NonNull final TabItem tabItem) {
         PhoneTabViewHolder viewHolder = (PhoneTabViewHolder) view.getTag(R.id.tag_view_holder);
         Tab tab = tabItem.getTab();
-        tab.removeCallback(this);
+        viewHolder.tab = null;
         removeChildView(viewHolder, tab);
 
-        if (!dataBinder.isCached(tab)) {
+        Bitmap bitmap = null;
+
+        if (viewHolder.tabView != null) {
+            bitmap = viewHolder.tabView.getPreview();
+            viewHolder.tabView.setPreview(null);
+        } else {
             Drawable drawable = viewHolder.previewImageView.getDrawable();
             viewHolder.previewImageView.setImageBitmap(null);
 
             if (drawable instanceof BitmapDrawable) {
-                Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
-
-                if (bitmap != null && !bitmap.isRecycled()) {
-                    bitmap.recycle();
-                }
+                bitmap = ((BitmapDrawable) drawable).getBitmap();
             }
-        } else {
-            viewHolder.previewImageView.setImageBitmap(null);
+        }
+
+        if (!dataBinder.isCached(tab.getId()) && bitmap != null && !bitmap.isRecycled()) {
+            bitmap.recycle();
         }
 
         view.setTag(R.id.tag_properties, null);
@@ -712,6 +1034,9 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     public final void onTabRemoved(final int index, @NonNull final Tab tab,
                                    final int previousSelectedTabIndex, final int selectedTabIndex,
                                    @NonNull final Animation animation) {
+        tab.removeCallback(this);
+        resourceCache.trimIcons();
+
         if (previousSelectedTabIndex != selectedTabIndex) {
             adaptAllSelectionStates();
         }
@@ -720,7 +1045,41 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
     @Override
     public final void onAllTabsRemoved(@NonNull final Tab[] tabs,
                                        @NonNull final Animation animation) {
+        for (Tab tab : tabs) {
+            tab.removeCallback(this);
+        }
+
+        resourceCache.trimIcons();
+    }
+
+    @Override
+    public final void onTabsRemoved(@NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                    final int previousSelectedTabIndex,
+                                    final int selectedTabIndex,
+                                    @NonNull final Animation animation) {
+        for (Tab tab : tabs) {
+            tab.removeCallback(this);
+        }
+
+        resourceCache.trimIcons();
 
+        if (previousSelectedTabIndex != selectedTabIndex) {
+            adaptAllSelectionStates();
+        }
+    }
+
+    @Override
+    public final void onTabMoved(final int previousIndex, final int index,
+                                 @NonNull final Tab tab, final int previousSelectedTabIndex,
+                                 final int selectedTabIndex) {
+
+    }
+
+    @Override
+    public final void onBatchCommitted(@NonNull final ChangeSet changeSet) {
+        if (changeSet.isSelectionChanged()) {
+            adaptAllSelectionStates();
+        }
     }
 
     @Override
@@ -738,6 +1097,7 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
 
     @Override
     public final void onTabIconChanged(@Nullable final Drawable icon) {
+        resourceCache.invalidateDefaultIcon();
         TabItemIterator iterator = new TabItemIterator.Builder(model, viewRecycler).create();
         TabItem tabItem;
 
@@ -750,6 +1110,7 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
 
     @Override
     public final void onTabBackgroundColorChanged(@Nullable final ColorStateList colorStateList) {
+        resourceCache.invalidateBackgroundColor();
         TabItemIterator iterator = new TabItemIterator.Builder(model, viewRecycler).create();
         TabItem tabItem;
 
@@ -774,6 +1135,7 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
 
     @Override
     public final void onTabCloseButtonIconChanged(@Nullable final Drawable icon) {
+        resourceCache.invalidateDefaultCloseButtonIcon();
         TabItemIterator iterator = new TabItemIterator.Builder(model, viewRecycler).create();
         TabItem tabItem;
 
@@ -808,12 +1170,13 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
 
     @Override
     public final boolean onLoadData(
-            @NonNull final AbstractDataBinder<Bitmap, Tab, ImageView, TabItem> dataBinder,
-            @NonNull final Tab key, @NonNull final TabItem... params) {
+            @NonNull final AbstractDataBinder<Bitmap, Long, View, TabItem> dataBinder,
+            @NonNull final Long key, @NonNull final TabItem... params) {
         boolean result = true;
+        Tab tab = params[0].getTab();
 
         for (TabPreviewListener listener : model.getTabPreviewListeners()) {
-            result &= listener.onLoadTabPreview(tabSwitcher, key);
+            result &= listener.onLoadTabPreview(tabSwitcher, tab);
         }
 
         return result;
@@ -821,15 +1184,15 @@ public class PhoneRecyclerAdapter extends AbstractViewRecycler.Adapter<TabItem,
 
     @Override
     public final void onFinished(
-            @NonNull final AbstractDataBinder<Bitmap, Tab, ImageView, TabItem> dataBinder,
-            @NonNull final Tab key, @Nullable final Bitmap data, @NonNull final ImageView view,
+            @NonNull final AbstractDataBinder<Bitmap, Long, View, TabItem> dataBinder,
+            @NonNull final Long key, @Nullable final Bitmap data, @NonNull final View view,
             @NonNull final TabItem... params) {
 
     }
 
     @Override
     public final void onCanceled(
-            @NonNull final AbstractDataBinder<Bitmap, Tab, ImageView, TabItem> dataBinder) {
+            @NonNull final AbstractDataBinder<Bitmap, Long, View, TabItem> dataBinder) {
 
     }
 
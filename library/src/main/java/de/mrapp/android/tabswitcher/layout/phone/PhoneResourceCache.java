@@ -0,0 +1,542 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout.phone;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.ColorFilter;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.Drawable.ConstantState;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+import android.util.SparseArray;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.mrapp.android.tabswitcher.R;
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.tabswitcher.model.IconStore;
+import de.mrapp.android.tabswitcher.model.TabSwitcherModel;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A cache, which stores the resources, which are used to visualize the tabs of a {@link
+ * TabSwitcher}, when using the smartphone layout, once they have been resolved. Drawables are
+ * stored as instances of the class {@link ConstantState}, which allows to create new drawables
+ * without loading them from the resources again. Icons are cached by their resource ids, or by
+ * their digests within the {@link IconStore}, which is why changing the icon of a single tab does
+ * not require to invalidate the cache.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class PhoneResourceCache {
+
+    /**
+     * The state set, which is used to resolve the colors of selected tabs.
+     */
+    private static final int[] SELECTED_STATE_SET = new int[]{android.R.attr.state_selected};
+
+    /**
+     * The state set, which is used to resolve the colors of unselected tabs.
+     */
+    private static final int[] UNSELECTED_STATE_SET = new int[]{};
+
+    /**
+     * The model, which belongs to the tab switcher, whose resources are cached.
+     */
+    private final TabSwitcherModel model;
+
+    /**
+     * The context, which is used to load resources.
+     */
+    private final Context context;
+
+    /**
+     * The constant state of the background of tabs.
+     */
+    private final ConstantState backgroundState;
+
+    /**
+     * The constant state of the border, which is shown around the preview of tabs.
+     */
+    private final ConstantState borderState;
+
+    /**
+     * The default background color of tabs.
+     */
+    private final int defaultBackgroundColor;
+
+    /**
+     * The default text color of a tab's title.
+     */
+    private final ColorStateList defaultTitleTextColor;
+
+    /**
+     * A sparse array, which contains the constant states of icons, which have been loaded from
+     * drawable resources, mapped to the resource ids.
+     */
+    private final SparseArray<ConstantState> resourceIcons;
+
+    /**
+     * A map, which contains the constant states of icons, which have been retrieved from the
+     * {@link IconStore}, mapped to their digests.
+     */
+    private final Map<String, ConstantState> bitmapIcons;
+
+    /**
+     * A sparse array, which contains the color filters, which are used to tint the backgrounds of
+     * tabs, mapped to the colors.
+     */
+    private final SparseArray<ColorFilter> colorFilters;
+
+    /**
+     * The constant state of the tab switcher's default icon of tabs or null, if the tab switcher
+     * does not specify a default icon or if the icon has not been resolved yet.
+     */
+    private ConstantState defaultIconState;
+
+    /**
+     * True, if the tab switcher's default icon of tabs has been resolved, false otherwise.
+     */
+    private boolean defaultIconResolved;
+
+    /**
+     * The generation of the tab switcher's default icon of tabs. It is increased, whenever the
+     * icon is changed.
+     */
+    private int defaultIconGeneration;
+
+    /**
+     * The constant state of the default icon of tabs' close buttons or null, if the icon has not
+     * been resolved yet.
+     */
+    private ConstantState defaultCloseButtonIconState;
+
+    /**
+     * True, if the default icon of tabs' close buttons has been resolved, false otherwise.
+     */
+    private boolean defaultCloseButtonIconResolved;
+
+    /**
+     * The generation of the default icon of tabs' close buttons. It is increased, whenever the
+     * icon is changed.
+     */
+    private int defaultCloseButtonIconGeneration;
+
+    /**
+     * The background color of unselected tabs, which do not specify a background color, or null,
+     * if the color has not been resolved yet.
+     */
+    private Integer backgroundColor;
+
+    /**
+     * The background color of selected tabs, which do not specify a background color, or null, if
+     * the color has not been resolved yet.
+     */
+    private Integer selectedBackgroundColor;
+
+    /**
+     * Loads the constant state of a specific drawable resource.
+     *
+     * @param resourceId
+     *         The resource id of the drawable, whose constant state should be loaded, as an {@link
+     *         Integer} value. The resource id must correspond to a valid drawable resource
+     * @return The constant state, which has been loaded, as an instance of the class {@link
+     * ConstantState} or null, if the drawable does not provide a constant state
+     */
+    @Nullable
+    private ConstantState loadConstantState(@DrawableRes final int resourceId) {
+        Drawable drawable = ContextCompat.getDrawable(context, resourceId);
+        return drawable != null ? drawable.getConstantState() : null;
+    }
+
+    /**
+     * Creates and returns a new drawable from a specific constant state.
+     *
+     * @param constantState
+     *         The constant state, the drawable should be created from, as an instance of the class
+     *         {@link ConstantState} or null
+     * @param resourceId
+     *         The resource id of the drawable, which should be loaded, if the given constant state
+     *         is null, as an {@link Integer} value. The resource id must correspond to a valid
+     *         drawable resource
+     * @return The drawable, which has been created, as an instance of the class {@link Drawable}
+     */
+    private Drawable newDrawable(@Nullable final ConstantState constantState,
+                                 @DrawableRes final int resourceId) {
+        if (constantState != null) {
+            return constantState.newDrawable(context.getResources());
+        }
+
+        return ContextCompat.getDrawable(context, resourceId);
+    }
+
+    /**
+     * Returns the icon, which corresponds to a specific drawable resource.
+     *
+     * @param resourceId
+     *         The resource id of the icon, which should be returned, as an {@link Integer} value.
+     *         The resource id must correspond to a valid drawable resource
+     * @return The icon, which corresponds to the given resource id, as an instance of the class
+     * {@link Drawable}
+     */
+    private Drawable getResourceIcon(@DrawableRes final int resourceId) {
+        ConstantState constantState = resourceIcons.get(resourceId);
+
+        if (constantState == null) {
+            constantState = loadConstantState(resourceId);
+
+            if (constantState != null) {
+                resourceIcons.put(resourceId, constantState);
+            }
+        }
+
+        return newDrawable(constantState, resourceId);
+    }
+
+    /**
+     * Returns the icon, which corresponds to a specific digest within the {@link IconStore}.
+     *
+     * @param digest
+     *         The digest of the icon, which should be returned, as a {@link String}. The digest
+     *         may not be null
+     * @return The icon, which corresponds to the given digest, as an instance of the class {@link
+     * Drawable} or null, if the icon is not available
+     */
+    @Nullable
+    private Drawable getBitmapIcon(@NonNull final String digest) {
+        ConstantState constantState = bitmapIcons.get(digest);
+
+        if (constantState == null) {
+            Bitmap bitmap = IconStore.getInstance().get(digest);
+
+            if (bitmap == null) {
+                return null;
+            }
+
+            constantState = new BitmapDrawable(context.getResources(), bitmap).getConstantState();
+            bitmapIcons.put(digest, constantState);
+        }
+
+        return constantState.newDrawable(context.getResources());
+    }
+
+    /**
+     * Returns the icon, which corresponds to a specific resource id or digest.
+     *
+     * @param resourceId
+     *         The resource id of the icon as an {@link Integer} value or -1, if the icon is not
+     *         specified as a drawable resource
+     * @param digest
+     *         The digest of the icon within the {@link IconStore} as a {@link String} or null, if
+     *         the icon is not specified as a bitmap
+     * @return The icon, which corresponds to the given resource id or digest, as an instance of
+     * the class {@link Drawable} or null, if no icon is specified
+     */
+    @Nullable
+    private Drawable getIcon(@DrawableRes final int resourceId, @Nullable final String digest) {
+        if (resourceId != -1) {
+            return getResourceIcon(resourceId);
+        } else if (digest != null) {
+            return getBitmapIcon(digest);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the tab switcher's default icon of tabs. The icon is only retrieved from the model
+     * once and is created from its constant state afterwards.
+     *
+     * @return The default icon as an instance of the class {@link Drawable} or null, if the tab
+     * switcher does not specify a default icon
+     */
+    @Nullable
+    private Drawable getDefaultIcon() {
+        if (!defaultIconResolved) {
+            Drawable icon = model.getTabIcon();
+
+            if (icon == null || icon.getConstantState() == null) {
+                return icon;
+            }
+
+            defaultIconState = icon.getConstantState();
+            defaultIconResolved = true;
+        }
+
+        return defaultIconState.newDrawable(context.getResources());
+    }
+
+    /**
+     * Returns the default icon of tabs' close buttons. The icon is only retrieved from the model
+     * once and is created from its constant state afterwards.
+     *
+     * @return The default icon as an instance of the class {@link Drawable}. The icon may not be
+     * null
+     */
+    @NonNull
+    private Drawable getDefaultCloseButtonIcon() {
+        if (!defaultCloseButtonIconResolved) {
+            Drawable icon = model.getTabCloseButtonIcon();
+
+            if (icon == null) {
+                return getResourceIcon(R.drawable.ic_close_tab_18dp);
+            } else if (icon.getConstantState() == null) {
+                return icon;
+            }
+
+            defaultCloseButtonIconState = icon.getConstantState();
+            defaultCloseButtonIconResolved = true;
+        }
+
+        return defaultCloseButtonIconState.newDrawable(context.getResources());
+    }
+
+    /**
+     * Resolves the background colors of tabs, which do not specify a background color.
+     */
+    private void resolveBackgroundColors() {
+        ColorStateList colorStateList = model.getTabBackgroundColor();
+
+        if (colorStateList != null) {
+            backgroundColor = colorStateList
+                    .getColorForState(UNSELECTED_STATE_SET, colorStateList.getDefaultColor());
+            selectedBackgroundColor = colorStateList
+                    .getColorForState(SELECTED_STATE_SET, colorStateList.getDefaultColor());
+        } else {
+            backgroundColor = defaultBackgroundColor;
+            selectedBackgroundColor = defaultBackgroundColor;
+        }
+    }
+
+    /**
+     * Creates a new cache, which stores the resources, which are used to visualize the tabs of a
+     * {@link TabSwitcher}.
+     *
+     * @param model
+     *         The model, which belongs to the tab switcher, as an instance of the class {@link
+     *         TabSwitcherModel}. The model may not be null
+     */
+    public PhoneResourceCache(@NonNull final TabSwitcherModel model) {
+        ensureNotNull(model, "The model may not be null");
+        this.model = model;
+        this.context = model.getContext();
+        this.backgroundState = loadConstantState(R.drawable.phone_tab_background);
+        this.borderState = loadConstantState(R.drawable.phone_tab_border);
+        this.defaultBackgroundColor = ContextCompat.getColor(context, R.color.tab_background_color);
+        this.defaultTitleTextColor = ColorStateList
+                .valueOf(ContextCompat.getColor(context, R.color.tab_title_text_color));
+        this.resourceIcons = new SparseArray<>();
+        this.bitmapIcons = new HashMap<>();
+        this.colorFilters = new SparseArray<>();
+        this.defaultIconState = null;
+        this.defaultIconResolved = false;
+        this.defaultIconGeneration = 0;
+        this.defaultCloseButtonIconState = null;
+        this.defaultCloseButtonIconResolved = false;
+        this.defaultCloseButtonIconGeneration = 0;
+        this.backgroundColor = null;
+        this.selectedBackgroundColor = null;
+    }
+
+    /**
+     * Creates and returns a new background of a tab.
+     *
+     * @return The background, which has been created, as an instance of the class {@link
+     * Drawable}
+     */
+    public final Drawable newBackground() {
+        return newDrawable(backgroundState, R.drawable.phone_tab_background);
+    }
+
+    /**
+     * Creates and returns a new border, which is shown around the preview of a tab.
+     *
+     * @return The border, which has been created, as an instance of the class {@link Drawable}
+     */
+    public final Drawable newBorder() {
+        return newDrawable(borderState, R.drawable.phone_tab_border);
+    }
+
+    /**
+     * Returns the icon of a specific tab.
+     *
+     * @param tab
+     *         The tab, whose icon should be returned, as an instance of the class {@link Tab}. The
+     *         tab may not be null
+     * @return The icon of the given tab as an instance of the class {@link Drawable} or null, if
+     * neither the tab, nor the tab switcher specify an icon
+     */
+    @Nullable
+    public final Drawable getIcon(@NonNull final Tab tab) {
+        Drawable icon = getIcon(tab.getIconId(), tab.getIconDigest());
+        return icon != null ? icon : getDefaultIcon();
+    }
+
+    /**
+     * Returns the icon of a specific tab's close button.
+     *
+     * @param tab
+     *         The tab, whose close button icon should be returned, as an instance of the class
+     *         {@link Tab}. The tab may not be null
+     * @return The icon of the given tab's close button as an instance of the class {@link
+     * Drawable}. The icon may not be null
+     */
+    @NonNull
+    public final Drawable getCloseButtonIcon(@NonNull final Tab tab) {
+        Drawable icon = getIcon(tab.getCloseButtonIconId(), tab.getCloseButtonIconDigest());
+
+        return icon != null ? icon : getDefaultCloseButtonIcon();
+    }
+
+    /**
+     * Returns the background color of a specific tab.
+     *
+     * @param tab
+     *         The tab, whose background color should be returned, as an instance of the class
+     *         {@link Tab}. The tab may not be null
+     * @param selected
+     *         True, if the tab is currently selected, false otherwise
+     * @return The background color of the given tab as an {@link Integer} value
+     */
+    @ColorInt
+    public final int getBackgroundColor(@NonNull final Tab tab, final boolean selected) {
+        ColorStateList colorStateList = tab.getBackgroundColor();
+
+        if (colorStateList != null) {
+            return colorStateList
+                    .getColorForState(selected ? SELECTED_STATE_SET : UNSELECTED_STATE_SET,
+                            colorStateList.getDefaultColor());
+        }
+
+        if (backgroundColor == null) {
+            resolveBackgroundColors();
+        }
+
+        return selected ? selectedBackgroundColor : backgroundColor;
+    }
+
+    /**
+     * Returns the color filter, which allows to tint the background of a tab using a specific
+     * color.
+     *
+     * @param color
+     *         The color, the color filter should correspond to, as an {@link Integer} value
+     * @return The color filter, which corresponds to the given color, as an instance of the class
+     * {@link ColorFilter}. The color filter may not be null
+     */
+    @NonNull
+    public final ColorFilter getColorFilter(@ColorInt final int color) {
+        ColorFilter colorFilter = colorFilters.get(color);
+
+        if (colorFilter == null) {
+            colorFilter = new PorterDuffColorFilter(color, PorterDuff.Mode.MULTIPLY);
+            colorFilters.put(color, colorFilter);
+        }
+
+        return colorFilter;
+    }
+
+    /**
+     * Returns the text color of a specific tab's title.
+     *
+     * @param tab
+     *         The tab, whose title text color should be returned, as an instance of the class
+     *         {@link Tab}. The tab may not be null
+     * @return The text color of the given tab's title as an instance of the class {@link
+     * ColorStateList}. The color state list may not be null
+     */
+    @NonNull
+    public final ColorStateList getTitleTextColor(@NonNull final Tab tab) {
+        ColorStateList colorStateList = tab.getTitleTextColor();
+
+        if (colorStateList == null) {
+            colorStateList = model.getTabTitleTextColor();
+        }
+
+        return colorStateList != null ? colorStateList : defaultTitleTextColor;
+    }
+
+    /**
+     * Returns the generation of the tab switcher's default icon of tabs. As the model creates a
+     * new drawable, whenever the default icon is retrieved, the generation allows to determine,
+     * whether the default icon has been changed since it has been applied to a view, or not.
+     *
+     * @return The generation of the default icon as an {@link Integer} value
+     */
+    public final int getDefaultIconGeneration() {
+        return defaultIconGeneration;
+    }
+
+    /**
+     * Returns the generation of the default icon of tabs' close buttons. As the model creates a
+     * new drawable, whenever the default icon is retrieved, the generation allows to determine,
+     * whether the default icon has been changed since it has been applied to a view, or not.
+     *
+     * @return The generation of the default icon as an {@link Integer} value
+     */
+    public final int getDefaultCloseButtonIconGeneration() {
+        return defaultCloseButtonIconGeneration;
+    }
+
+    /**
+     * Invalidates the tab switcher's default icon of tabs. This method must be called, when the
+     * icon has been changed.
+     */
+    public final void invalidateDefaultIcon() {
+        defaultIconState = null;
+        defaultIconResolved = false;
+        defaultIconGeneration++;
+    }
+
+    /**
+     * Invalidates the default icon of tabs' close buttons. This method must be called, when the
+     * icon has been changed.
+     */
+    public final void invalidateDefaultCloseButtonIcon() {
+        defaultCloseButtonIconState = null;
+        defaultCloseButtonIconResolved = false;
+        defaultCloseButtonIconGeneration++;
+    }
+
+    /**
+     * Invalidates the background colors of tabs, which do not specify a background color. This
+     * method must be called, when the background color of the tab switcher's tabs has been
+     * changed.
+     */
+    public final void invalidateBackgroundColor() {
+        backgroundColor = null;
+        selectedBackgroundColor = null;
+    }
+
+    /**
+     * Removes all icons, which have been retrieved from the {@link IconStore}, from the cache.
+     * This allows the icon store to release the icons of tabs, which have been removed.
+     */
+    public final void trimIcons() {
+        bitmapIcons.clear();
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout.phone;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.mrapp.android.tabswitcher.R;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.tabswitcher.model.State;
+import de.mrapp.android.tabswitcher.model.TabItem;
+import de.mrapp.android.tabswitcher.model.Tag;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A view, which is used to draw the tabs of a {@link TabSwitcher}, which are part of one of the
+ * stacks, when using the smartphone layout. Instead of drawing the whole view hierarchies of the
+ * stacked tabs, only their tinted backgrounds are drawn, which is sufficient as only their edges
+ * are visible. The views of the tabs, which are drawn this way, are detached by the view recycler.
+ * The backgrounds are drawn at the positions, which are stored by the tags of the tabs, using the
+ * transformation of a tab, whose view is still attached.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class PhoneStackedTabsView extends View {
+
+    /**
+     * The view group, which contains the views of the tabs, which are attached.
+     */
+    private final ViewGroup tabContainer;
+
+    /**
+     * The adapter, which provides the tab items, which correspond to the tabs, whose views have
+     * been detached.
+     */
+    private final PhoneRecyclerAdapter adapter;
+
+    /**
+     * The drawable, which is used to draw the backgrounds of the tabs.
+     */
+    private final Drawable background;
+
+    /**
+     * The state of the tabs, which are drawn by the view.
+     */
+    private final State state;
+
+    /**
+     * True, if the tabs are dragged horizontally, false, if they are dragged vertically.
+     */
+    private final boolean horizontal;
+
+    /**
+     * A list, which contains the tab items, which are drawn by the view, sorted by their indices in
+     * descending order. It is reused by subsequent calls of the method {@link #onDraw(Canvas)}.
+     */
+    private final List<TabItem> tabItems;
+
+    /**
+     * Returns the view of a tab, which is still attached and whose transformation can therefore be
+     * used to draw the tabs, whose views have been detached.
+     *
+     * @return The view, which has been found, as an instance of the class {@link View} or null, if
+     * no suitable view is attached
+     */
+    @Nullable
+    private View getReferenceView() {
+        for (int i = 0; i < tabContainer.getChildCount(); i++) {
+            View view = tabContainer.getChildAt(i);
+            Tag tag = (Tag) view.getTag(R.id.tag_properties);
+
+            if (tag != null && !tag.isClosing() && (tag.getState() == State.FLOATING ||
+                    tag.getState() == State.STACKED_START_ATOP)) {
+                return view;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds the tab items, which correspond to the tabs, which should be drawn by the view, to the
+     * list {@link #tabItems}, sorted by their indices in descending order.
+     */
+    private void collectTabItems() {
+        tabItems.clear();
+
+        for (TabItem tabItem : adapter.getDetachedTabItems()) {
+            if (tabItem.getTag().getState() == state) {
+                int position = tabItems.size();
+
+                while (position > 0 && tabItems.get(position - 1).getIndex() < tabItem.getIndex()) {
+                    position--;
+                }
+
+                tabItems.add(position, tabItem);
+            }
+        }
+    }
+
+    /**
+     * Creates a new view, which is used to draw the tabs of a {@link TabSwitcher}, which are part
+     * of one of the stacks.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     * @param tabContainer
+     *         The view group, which contains the views of the tabs, as an instance of the class
+     *         {@link ViewGroup}. The view group must have the same size and position as the view
+     *         and may not be null
+     * @param adapter
+     *         The adapter, which provides the tab items, which correspond to the tabs, whose views
+     *         have been detached, as an instance of the class {@link PhoneRecyclerAdapter}. The
+     *         adapter may not be null
+     * @param background
+     *         The drawable, which should be used to draw the backgrounds of the tabs, as an
+     *         instance of the class {@link Drawable}. The drawable may not be null
+     * @param state
+     *         The state of the tabs, which should be drawn by the view, as a value of the enum
+     *         {@link State}. The state must either be <code>STACKED_START</code> or
+     *         <code>STACKED_END</code>
+     * @param horizontal
+     *         True, if the tabs are dragged horizontally, false, if they are dragged vertically
+     */
+    public PhoneStackedTabsView(@NonNull final Context context,
+                                @NonNull final ViewGroup tabContainer,
+                                @NonNull final PhoneRecyclerAdapter adapter,
+                                @NonNull final Drawable background, @NonNull final State state,
+                                final boolean horizontal) {
+        super(context);
+        ensureNotNull(tabContainer, "The tab container may not be null");
+        ensureNotNull(adapter, "The adapter may not be null");
+        ensureNotNull(background, "The background may not be null");
+        ensureNotNull(state, "The state may not be null");
+        this.tabContainer = tabContainer;
+        this.adapter = adapter;
+        this.background = background;
+        this.state = state;
+        this.horizontal = horizontal;
+        this.tabItems = new ArrayList<>();
+    }
+
+    @Override
+    protected final void onDraw(final Canvas canvas) {
+        super.onDraw(canvas);
+        collectTabItems();
+
+        if (!tabItems.isEmpty()) {
+            View referenceView = getReferenceView();
+
+            if (referenceView != null) {
+                Tag referenceTag = (Tag) referenceView.getTag(R.id.tag_properties);
+
+                for (TabItem tabItem : tabItems) {
+                    float offset = tabItem.getTag().getPosition() - referenceTag.getPosition();
+                    int saveCount = canvas.save();
+                    canvas.translate(horizontal ? offset : 0, horizontal ? 0 : offset);
+                    canvas.translate(referenceView.getLeft(), referenceView.getTop());
+                    canvas.concat(referenceView.getMatrix());
+                    background.setColorFilter(adapter.getColorFilter(tabItem.getTab()));
+                    background.setBounds(0, 0, referenceView.getWidth(),
+                            referenceView.getHeight());
+                    background.draw(canvas);
+                    canvas.restoreToCount(saveCount);
+                }
+            }
+
+            tabItems.clear();
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout.phone;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.Toolbar;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+
+import de.mrapp.android.tabswitcher.Layout;
+import de.mrapp.android.tabswitcher.R;
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.tabswitcher.layout.Arithmetics;
+import de.mrapp.android.tabswitcher.layout.Arithmetics.Axis;
+import de.mrapp.android.tabswitcher.model.State;
+import de.mrapp.android.tabswitcher.model.Tag;
+
+import java.util.Arrays;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An index, which contains the positions of the tabs of a {@link TabSwitcher}, which can be
+ * clicked or swiped, when using the smartphone layout. The positions are sorted in descending
+ * order, which allows to determine the tab, which is focused at a specific position, by using a
+ * binary search. Only the views, which are currently attached to the tab container, are taken into
+ * account, as all tabs, which can be focused, are visible. The index is rebuilt lazily, once it has
+ * been invalidated.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class PhoneTabExtents {
+
+    /**
+     * The tab switcher, whose tabs are contained by the index.
+     */
+    private final TabSwitcher tabSwitcher;
+
+    /**
+     * The arithmetics, which are used to calculate the positions of tabs.
+     */
+    private final Arithmetics arithmetics;
+
+    /**
+     * The view group, which contains the views, which are used to visualize the tabs.
+     */
+    private final ViewGroup tabContainer;
+
+    /**
+     * The inset of tabs in pixels.
+     */
+    private final int tabInset;
+
+    /**
+     * An array, which contains the positions of the tabs, which are contained by the index, in
+     * descending order.
+     */
+    private float[] positions;
+
+    /**
+     * An array, which contains the tabs, which correspond to the positions in the array {@link
+     * #positions}.
+     */
+    private Tab[] tabs;
+
+    /**
+     * The number of tabs, which are contained by the index.
+     */
+    private int size;
+
+    /**
+     * The offset, which must be added to the positions of tabs in order to obtain their positions
+     * on the screen, in pixels.
+     */
+    private float offset;
+
+    /**
+     * True, if the index must be rebuilt before it is used, false otherwise.
+     */
+    private boolean invalid;
+
+    /**
+     * Returns the offset, which must be added to the positions of tabs in order to obtain their
+     * positions on the screen, depending on the current toolbar and padding.
+     *
+     * @return The offset in pixels as a {@link Float} value
+     */
+    private float calculateOffset() {
+        Toolbar[] toolbars = tabSwitcher.getToolbars();
+        float toolbarHeight = tabSwitcher.getLayout() != Layout.PHONE_LANDSCAPE &&
+                tabSwitcher.areToolbarsShown() && toolbars != null ?
+                toolbars[0].getHeight() - tabInset : 0;
+        return toolbarHeight +
+                arithmetics.getPadding(Axis.DRAGGING_AXIS, Gravity.START, tabSwitcher);
+    }
+
+    /**
+     * Adds a specific tab to the index, retaining the descending order of the positions.
+     *
+     * @param tab
+     *         The tab, which should be added, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     * @param position
+     *         The position of the tab in pixels as a {@link Float} value
+     */
+    private void insert(@NonNull final Tab tab, final float position) {
+        if (size == positions.length) {
+            float[] newPositions = new float[size * 2];
+            Tab[] newTabs = new Tab[size * 2];
+            System.arraycopy(positions, 0, newPositions, 0, size);
+            System.arraycopy(tabs, 0, newTabs, 0, size);
+            positions = newPositions;
+            tabs = newTabs;
+        }
+
+        int i = size;
+
+        while (i > 0 && positions[i - 1] < position) {
+            positions[i] = positions[i - 1];
+            tabs[i] = tabs[i - 1];
+            i--;
+        }
+
+        positions[i] = position;
+        tabs[i] = tab;
+        size++;
+    }
+
+    /**
+     * Rebuilds the index from the views, which are currently attached to the tab container.
+     */
+    private void rebuild() {
+        size = 0;
+        offset = calculateOffset();
+
+        for (int i = 0; i < tabContainer.getChildCount(); i++) {
+            View view = tabContainer.getChildAt(i);
+            PhoneTabViewHolder viewHolder =
+                    (PhoneTabViewHolder) view.getTag(R.id.tag_view_holder);
+            Tag tag = (Tag) view.getTag(R.id.tag_properties);
+
+            if (viewHolder != null && viewHolder.tab != null && tag != null &&
+                    (tag.getState() == State.FLOATING ||
+                            tag.getState() == State.STACKED_START_ATOP)) {
+                insert(viewHolder.tab, tag.getPosition());
+            }
+        }
+
+        Arrays.fill(tabs, size, tabs.length, null);
+        invalid = false;
+    }
+
+    /**
+     * Creates a new index, which contains the positions of the tabs of a {@link TabSwitcher}, which
+     * can be clicked or swiped.
+     *
+     * @param tabSwitcher
+     *         The tab switcher, whose tabs should be contained by the index, as an instance of the
+     *         class {@link TabSwitcher}. The tab switcher may not be null
+     * @param arithmetics
+     *         The arithmetics, which should be used to calculate the positions of tabs, as an
+     *         instance of the type {@link Arithmetics}. The arithmetics may not be null
+     * @param tabContainer
+     *         The view group, which contains the views, which are used to visualize the tabs, as an
+     *         instance of the class {@link ViewGroup}. The view group may not be null
+     */
+    public PhoneTabExtents(@NonNull final TabSwitcher tabSwitcher,
+                           @NonNull final Arithmetics arithmetics,
+                           @NonNull final ViewGroup tabContainer) {
+        ensureNotNull(tabSwitcher, "The tab switcher may not be null");
+        ensureNotNull(arithmetics, "The arithmetics may not be null");
+        ensureNotNull(tabContainer, "The tab container may not be null");
+        this.tabSwitcher = tabSwitcher;
+        this.arithmetics = arithmetics;
+        this.tabContainer = tabContainer;
+        this.tabInset = tabSwitcher.getResources().getDimensionPixelSize(R.dimen.tab_inset);
+        this.positions = new float[16];
+        this.tabs = new Tab[16];
+        this.size = 0;
+        this.offset = 0;
+        this.invalid = true;
+    }
+
+    /**
+     * Invalidates the index. This method must be called, whenever the positions or states of tabs
+     * have been changed or when the toolbars or padding of the tab switcher have been changed.
+     */
+    public final void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Returns the tab, which is focused when clicking/dragging at a specific position. This is the
+     * tab with the greatest position, which is not greater than the given position.
+     *
+     * @param position
+     *         The position on the dragging axis in pixels as a {@link Float} value
+     * @return The tab, which is focused, as an instance of the class {@link Tab} or null, if no tab
+     * is focused
+     */
+    @Nullable
+    public final Tab getFocusedTab(final float position) {
+        if (invalid) {
+            rebuild();
+        }
+
+        float relativePosition = position - offset;
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (positions[mid] <= relativePosition) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+
+        return low < size ? tabs[low] : null;
+    }
+
+}
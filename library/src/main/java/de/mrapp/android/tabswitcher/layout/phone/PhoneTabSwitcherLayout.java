@@ -20,6 +20,7 @@ import android.animation.ValueAnimator;
 import android.content.res.ColorStateList;
 import android.content.res.Resources;
 import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.util.Pair;
@@ -38,7 +39,11 @@ import android.view.animation.DecelerateInterpolator;
 import android.view.animation.Interpolator;
 import android.widget.FrameLayout;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import de.mrapp.android.tabswitcher.Animation;
 import de.mrapp.android.tabswitcher.Layout;
@@ -51,12 +56,14 @@ import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.TabSwitcherDecorator;
 import de.mrapp.android.tabswitcher.iterator.AbstractTabItemIterator;
-import de.mrapp.android.tabswitcher.iterator.ArrayTabItemIterator;
 import de.mrapp.android.tabswitcher.iterator.TabItemIterator;
 import de.mrapp.android.tabswitcher.layout.AbstractDragHandler;
 import de.mrapp.android.tabswitcher.layout.AbstractDragHandler.DragState;
 import de.mrapp.android.tabswitcher.layout.AbstractTabSwitcherLayout;
+import de.mrapp.android.tabswitcher.layout.AnimationTimeline.Transition;
+import de.mrapp.android.tabswitcher.layout.FrameBudgetScheduler;
 import de.mrapp.android.tabswitcher.layout.Arithmetics.Axis;
+import de.mrapp.android.tabswitcher.model.ChangeSet;
 import de.mrapp.android.tabswitcher.model.State;
 import de.mrapp.android.tabswitcher.model.TabItem;
 import de.mrapp.android.tabswitcher.model.TabSwitcherModel;
@@ -176,6 +183,59 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     }
 
+    /**
+     * An iterator, which allows to iterate the tab items, which correspond to the tabs of a {@link
+     * TabSwitcher}, while tabs are added. Instead of creating new tab items for the added tabs, the
+     * given tab items are returned. This allows to calculate the positions and states of the added
+     * tabs, before their views have been inflated.
+     */
+    private class AddedTabItemIterator extends AbstractTabItemIterator {
+
+        /**
+         * An array, which contains the tab items, which correspond to the added tabs.
+         */
+        private final TabItem[] addedTabItems;
+
+        /**
+         * Creates a new iterator, which allows to iterate the tab items, which correspond to the
+         * tabs of a {@link TabSwitcher}, while tabs are added.
+         *
+         * @param addedTabItems
+         *         An array, which contains the tab items, which correspond to the added tabs, as
+         *         an array of the type {@link TabItem}. The array may not be null and must contain
+         *         the tab items of consecutive tabs
+         * @param reverse
+         *         True, if the tabs should be iterated in reverse order, false otherwise
+         * @param start
+         *         The index of the first tab, which should be iterated, as an {@link Integer} value
+         *         or -1, if all tabs should be iterated
+         */
+        private AddedTabItemIterator(@NonNull final TabItem[] addedTabItems,
+                                     final boolean reverse, final int start) {
+            ensureNotNull(addedTabItems, "The array may not be null");
+            this.addedTabItems = addedTabItems;
+            initialize(reverse, start);
+        }
+
+        @Override
+        public final int getCount() {
+            return getModel().getCount();
+        }
+
+        @NonNull
+        @Override
+        public final TabItem getItem(final int index) {
+            int offset = index - addedTabItems[0].getIndex();
+
+            if (offset >= 0 && offset < addedTabItems.length) {
+                return addedTabItems[offset];
+            }
+
+            return TabItem.create(getModel(), viewRecycler, index);
+        }
+
+    }
+
     /**
      * A layout listener, which encapsulates another listener, which is notified, when the listener
      * has been invoked a specific number of times.
@@ -340,11 +400,22 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
      */
     private final float maxEndOvershootAngle;
 
+    /**
+     * A list, which is reused to contain the tab items, which correspond to the tabs, whose views
+     * are currently attached to the tab container, sorted by their indices.
+     */
+    private final List<TabItem> attachedTabItems;
+
     /**
      * The drag handler, which is used by the layout.
      */
     private PhoneDragHandler dragHandler;
 
+    /**
+     * The index, which is used to determine the tab, which is focused at a specific position.
+     */
+    private PhoneTabExtents tabExtents;
+
     /**
      * The view recycler, which allows to recycler the child views of tabs.
      */
@@ -365,6 +436,16 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
      */
     private ViewGroup tabContainer;
 
+    /**
+     * The view, which draws the tabs, which are stacked at the start, while they are dragged.
+     */
+    private PhoneStackedTabsView startStackView;
+
+    /**
+     * The view, which draws the tabs, which are stacked at the end, while they are dragged.
+     */
+    private PhoneStackedTabsView endStackView;
+
     /**
      * The toolbar, which is shown, when the tab switcher is shown.
      */
@@ -441,7 +522,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 tabItem.getTag().setState(pair.second);
             }
 
-            inflateOrRemoveView(tabItem);
+            inflateOrDetachView(tabItem);
         }
     }
 
@@ -514,7 +595,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 tabItem.getTag().setState(pair.second);
             }
 
-            inflateOrRemoveView(tabItem);
+            inflateOrDetachView(tabItem);
         }
 
         if (firstVisibleIndex > 0) {
@@ -532,7 +613,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                                     predecessorPosition, tabItem);
                     predecessor.getTag().setPosition(pair.first);
                     predecessor.getTag().setState(pair.second);
-                    inflateOrRemoveView(predecessor);
+                    inflateOrDetachView(predecessor);
 
                     if (predecessor.getTag().getState() == State.FLOATING) {
                         firstVisibleIndex = predecessor.getIndex();
@@ -551,7 +632,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                                     newPosition, (TabItem) null);
                     tabItem.getTag().setPosition(pair.first);
                     tabItem.getTag().setState(pair.second);
-                    inflateOrRemoveView(tabItem);
+                    inflateOrDetachView(tabItem);
 
                     if (tabItem.getTag().getState() == State.FLOATING) {
                         firstVisibleIndex = tabItem.getIndex();
@@ -1026,7 +1107,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                             new LayoutListenerWrapper(view,
                                     createShowSwitcherLayoutListener(tabItem)));
                 } else {
-                    animateShowSwitcher(tabItem, createUpdateViewAnimationListener(tabItem));
+                    animateShowSwitcher(tabItem, createShowSwitcherAnimationListener(tabItem));
                 }
             }
         }
@@ -1168,6 +1249,79 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         return tabItems;
     }
 
+    /**
+     * Calculates the positions and states of tabs, which have been added to the tab switcher, and
+     * relocates their neighbors accordingly. The added tabs do not need to be inflated, as the
+     * added tab items are used, whenever the positions and states of added tabs are referenced.
+     * Only the tab items, which correspond to the tabs, which are visible after they have been
+     * added, are returned. The remaining tabs are placed in the stacks or hidden and their views
+     * must never be inflated.
+     *
+     * @param addedTabItems
+     *         An array, which contains the tab items, which correspond to the tabs, which have been
+     *         added, as an array of the type {@link TabItem}. The array may not be null
+     * @return A list, which contains the tab items, which correspond to the tabs, which should be
+     * swiped in, as an instance of the type {@link List}. The list may not be null
+     */
+    @NonNull
+    private List<TabItem> calculateAddedTabItems(@NonNull final TabItem[] addedTabItems) {
+        int count = getModel().getCount();
+        List<TabItem> result = new ArrayList<>();
+
+        if (count - addedTabItems.length == 0) {
+            TabItem[] tabItems = calculateInitialTabItems(-1, -1);
+            AbstractTabItemIterator iterator = new InitialTabItemIterator(tabItems, false, 0);
+            TabItem tabItem;
+
+            while ((tabItem = iterator.next()) != null) {
+                if (tabItem.isVisible()) {
+                    result.add(tabItem);
+                }
+            }
+        } else {
+            float previousAttachedPosition =
+                    calculateAttachedPosition(count - addedTabItems.length);
+            float attachedPosition = calculateAttachedPosition(count);
+            TabItem firstAddedTabItem = addedTabItems[0];
+            int index = firstAddedTabItem.getIndex();
+            boolean isReferencingPredecessor = index > 0;
+            int referenceIndex = isReferencingPredecessor ? index - 1 :
+                    (index + addedTabItems.length - 1 < count - 1 ?
+                            index + addedTabItems.length : -1);
+            TabItem referenceTabItem = referenceIndex != -1 ?
+                    TabItem.create(getTabSwitcher(), viewRecycler, referenceIndex) : null;
+            State state = referenceTabItem != null ? referenceTabItem.getTag().getState() : null;
+            TabItem[] tabItems;
+
+            if (state == null || state == State.STACKED_START) {
+                tabItems = relocateWhenAddingStackedTabs(true, addedTabItems);
+            } else if (state == State.STACKED_END) {
+                tabItems = relocateWhenAddingStackedTabs(false, addedTabItems);
+            } else if (state == State.FLOATING ||
+                    (state == State.STACKED_START_ATOP && (index > 0 || count <= 2))) {
+                tabItems = relocateWhenAddingFloatingTabs(addedTabItems, referenceTabItem,
+                        isReferencingPredecessor, attachedPosition,
+                        attachedPosition != previousAttachedPosition);
+            } else {
+                tabItems = relocateWhenAddingHiddenTabs(addedTabItems, referenceTabItem);
+            }
+
+            Tag previousTag = null;
+
+            for (TabItem tabItem : tabItems) {
+                Tag tag = tabItem.getTag();
+
+                if (previousTag == null || tag.getPosition() != previousTag.getPosition()) {
+                    result.add(tabItem);
+                }
+
+                previousTag = tag;
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Adds all tabs, which are contained by an array, to the tab switcher.
      *
@@ -1187,15 +1341,22 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 SwipeAnimation swipeAnimation =
                         animation instanceof SwipeAnimation ? (SwipeAnimation) animation :
                                 new SwipeAnimation.Builder().create();
-                TabItem[] tabItems = new TabItem[tabs.length];
-                OnGlobalLayoutListener compoundListener = new CompoundLayoutListener(tabs.length,
-                        createSwipeLayoutListener(tabItems, swipeAnimation));
+                TabItem[] addedTabItems = new TabItem[tabs.length];
 
                 for (int i = 0; i < tabs.length; i++) {
-                    Tab tab = tabs[i];
-                    TabItem tabItem = new TabItem(index + i, tab);
-                    tabItems[i] = tabItem;
-                    inflateView(tabItem, compoundListener);
+                    addedTabItems[i] = new TabItem(index + i, tabs[i]);
+                }
+
+                List<TabItem> tabItems = calculateAddedTabItems(addedTabItems);
+
+                if (!tabItems.isEmpty()) {
+                    OnGlobalLayoutListener compoundListener =
+                            new CompoundLayoutListener(tabItems.size(),
+                                    createSwipeLayoutListener(tabItems, swipeAnimation));
+
+                    for (TabItem tabItem : tabItems) {
+                        inflateView(tabItem, compoundListener);
+                    }
                 }
             } else if (!getModel().isSwitcherShown()) {
                 toolbar.setAlpha(0);
@@ -1269,10 +1430,10 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         }
 
         animateBottomMargin(view, tabViewBottomMargin, duration, 0);
-        ViewPropertyAnimator animation = view.animate();
+        Transition animation = getAnimationTimeline().animate(view);
         animation.setDuration(duration);
         animation.setInterpolator(interpolator);
-        animation.setListener(new AnimationListenerWrapper(listener));
+        animation.setListener(listener);
         getArithmetics().animateScale(Axis.DRAGGING_AXIS, animation, scale);
         getArithmetics().animateScale(Axis.ORTHOGONAL_AXIS, animation, scale);
         getArithmetics().animatePosition(Axis.DRAGGING_AXIS, animation, view,
@@ -1342,10 +1503,10 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                                      @Nullable final AnimatorListener listener) {
         View view = tabItem.getView();
         animateBottomMargin(view, -(tabInset + tabBorderWidth), duration, delay);
-        ViewPropertyAnimator animation = view.animate();
+        Transition animation = getAnimationTimeline().animate(view);
         animation.setDuration(duration);
         animation.setInterpolator(interpolator);
-        animation.setListener(new AnimationListenerWrapper(listener));
+        animation.setListener(listener);
         getArithmetics().animateScale(Axis.DRAGGING_AXIS, animation, 1);
         getArithmetics().animateScale(Axis.ORTHOGONAL_AXIS, animation, 1);
         FrameLayout.LayoutParams layoutParams = (FrameLayout.LayoutParams) view.getLayoutParams();
@@ -1404,11 +1565,11 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         float distance = Math.abs(targetPosition - currentPosition);
         long animationDuration = swipeAnimation.getDuration() != -1 ? swipeAnimation.getDuration() :
                 Math.round(swipeAnimationDuration * (distance / swipePosition));
-        ViewPropertyAnimator animation = view.animate();
+        Transition animation = getAnimationTimeline().animate(view);
         animation.setInterpolator(
                 swipeAnimation.getInterpolator() != null ? swipeAnimation.getInterpolator() :
                         new AccelerateDecelerateInterpolator());
-        animation.setListener(new AnimationListenerWrapper(listener));
+        animation.setListener(listener);
         animation.setDuration(animationDuration);
         getArithmetics()
                 .animatePosition(Axis.ORTHOGONAL_AXIS, animation, view, targetPosition, true);
@@ -1421,6 +1582,45 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         animation.start();
     }
 
+    /**
+     * Animates the position, size and alpha of a specific tab item, which has been added, in order
+     * to swipe it in orthogonally.
+     *
+     * @param tabItem
+     *         The tab item, which should be animated, as an instance of the class {@link TabItem}.
+     *         The tab item may not be null
+     * @param swipeAnimation
+     *         The animation, which should be used, as an instance of the class {@link
+     *         SwipeAnimation}. The animation may not be null
+     */
+    private void animateSwipeIn(@NonNull final TabItem tabItem,
+                                @NonNull final SwipeAnimation swipeAnimation) {
+        Tag tag = tabItem.getTag();
+        createBottomMarginLayoutListener(tabItem).onGlobalLayout();
+        View view = tabItem.getView();
+        view.setTag(R.id.tag_properties, tag);
+        view.setAlpha(swipedTabAlpha);
+        float swipePosition = calculateSwipePosition();
+        float scale = getArithmetics().getScale(view, true);
+        getArithmetics().setPivot(Axis.DRAGGING_AXIS, view,
+                getArithmetics().getPivot(Axis.DRAGGING_AXIS, view, DragState.NONE));
+        getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
+                getArithmetics().getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.NONE));
+        getArithmetics().setPosition(Axis.DRAGGING_AXIS, view, tag.getPosition());
+        getArithmetics().setPosition(Axis.ORTHOGONAL_AXIS, view,
+                swipeAnimation.getDirection() == SwipeDirection.LEFT ? -1 * swipePosition :
+                        swipePosition);
+        getArithmetics().setScale(Axis.DRAGGING_AXIS, view, scale);
+        getArithmetics().setScale(Axis.ORTHOGONAL_AXIS, view, scale);
+        getArithmetics().setPivot(Axis.DRAGGING_AXIS, view,
+                getArithmetics().getPivot(Axis.DRAGGING_AXIS, view, DragState.SWIPE));
+        getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
+                getArithmetics().getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.SWIPE));
+        getArithmetics().setScale(Axis.DRAGGING_AXIS, view, swipedTabScale * scale);
+        getArithmetics().setScale(Axis.ORTHOGONAL_AXIS, view, swipedTabScale * scale);
+        animateSwipe(tabItem, false, 0, swipeAnimation, createSwipeAnimationListener(tabItem));
+    }
+
     /**
      * Animates the removal of a specific tab item.
      *
@@ -1469,8 +1669,8 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         }
 
         View view = tabItem.getView();
-        ViewPropertyAnimator animation = view.animate();
-        animation.setListener(new AnimationListenerWrapper(listener));
+        Transition animation = getAnimationTimeline().animate(view);
+        animation.setListener(listener);
         animation.setInterpolator(new AccelerateDecelerateInterpolator());
         animation.setDuration(relocateAnimationDuration);
         getArithmetics().animatePosition(Axis.DRAGGING_AXIS, animation, view, position, true);
@@ -1517,18 +1717,18 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
             @Override
             public void onAnimationUpdate(final ValueAnimator animation) {
-                TabItemIterator iterator =
-                        new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).create();
-                TabItem tabItem;
+                List<TabItem> tabItems = getAttachedTabItems();
+                View firstView = null;
+
+                for (int i = 0; i < tabItems.size(); i++) {
+                    TabItem tabItem = tabItems.get(i);
+                    View view = tabItem.getView();
 
-                while ((tabItem = iterator.next()) != null) {
                     if (tabItem.getIndex() == 0) {
-                        View view = tabItem.getView();
+                        firstView = view;
                         getArithmetics().setPosition(Axis.DRAGGING_AXIS, view,
                                 startPosition + (float) animation.getAnimatedValue());
-                    } else if (tabItem.isInflated()) {
-                        View firstView = iterator.first().getView();
-                        View view = tabItem.getView();
+                    } else if (firstView != null) {
                         view.setVisibility(
                                 getArithmetics().getPosition(Axis.DRAGGING_AXIS, firstView) <=
                                         getArithmetics().getPosition(Axis.DRAGGING_AXIS, view) ?
@@ -1565,29 +1765,24 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
      */
     private boolean animateTilt(@NonNull final Interpolator interpolator, final float maxAngle,
                                 @Nullable final AnimatorListener listener) {
-        TabItemIterator iterator =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).reverse(true).create();
-        TabItem tabItem;
+        List<TabItem> tabItems = getAttachedTabItems();
         boolean result = false;
 
-        while ((tabItem = iterator.next()) != null) {
-            if (tabItem.isInflated()) {
-                View view = tabItem.getView();
-
-                if (getArithmetics().getRotation(Axis.ORTHOGONAL_AXIS, view) != 0) {
-                    ViewPropertyAnimator animation = view.animate();
-                    animation.setListener(new AnimationListenerWrapper(
-                            createRevertOvershootAnimationListener(view,
-                                    !result ? listener : null)));
-                    animation.setDuration(Math.round(revertOvershootAnimationDuration *
-                            (Math.abs(getArithmetics().getRotation(Axis.ORTHOGONAL_AXIS, view)) /
-                                    maxAngle)));
-                    animation.setInterpolator(interpolator);
-                    getArithmetics().animateRotation(Axis.ORTHOGONAL_AXIS, animation, 0);
-                    animation.setStartDelay(0);
-                    animation.start();
-                    result = true;
-                }
+        for (int i = tabItems.size() - 1; i >= 0; i--) {
+            View view = tabItems.get(i).getView();
+
+            if (getArithmetics().getRotation(Axis.ORTHOGONAL_AXIS, view) != 0) {
+                Transition animation = getAnimationTimeline().animate(view);
+                animation.setListener(
+                        createRevertOvershootAnimationListener(view, !result ? listener : null));
+                animation.setDuration(Math.round(revertOvershootAnimationDuration *
+                        (Math.abs(getArithmetics().getRotation(Axis.ORTHOGONAL_AXIS, view)) /
+                                maxAngle)));
+                animation.setInterpolator(interpolator);
+                getArithmetics().animateRotation(Axis.ORTHOGONAL_AXIS, animation, 0);
+                animation.setStartDelay(0);
+                animation.start();
+                result = true;
             }
         }
 
@@ -1610,11 +1805,11 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         recyclerAdapter.clearCachedPreviews();
         dragHandler.setCallback(null);
         View view = tabItem.getView();
-        ViewPropertyAnimator animation = view.animate();
+        Transition animation = getAnimationTimeline().animate(view);
         animation.setInterpolator(
                 revealAnimation.getInterpolator() != null ? revealAnimation.getInterpolator() :
                         new AccelerateDecelerateInterpolator());
-        animation.setListener(new AnimationListenerWrapper(createHideSwitcherAnimationListener()));
+        animation.setListener(createHideSwitcherAnimationListener());
         animation.setStartDelay(0);
         animation.setDuration(revealAnimation.getDuration() != -1 ? revealAnimation.getDuration() :
                 revealAnimationDuration);
@@ -1645,8 +1840,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     private void animatePeek(@NonNull final TabItem tabItem, final long duration,
                              @NonNull final Interpolator interpolator, final float peekPosition,
                              @NonNull final PeekAnimation peekAnimation) {
-        PhoneTabViewHolder viewHolder = tabItem.getViewHolder();
-        viewHolder.closeButton.setVisibility(View.GONE);
+        hideCloseButton(tabItem.getViewHolder());
         View view = tabItem.getView();
         float x = peekAnimation.getX();
         float y = peekAnimation.getY() + tabTitleContainerHeight;
@@ -1658,10 +1852,9 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         view.setY(layoutParams.topMargin);
         getArithmetics().setScale(Axis.DRAGGING_AXIS, view, 0);
         getArithmetics().setScale(Axis.ORTHOGONAL_AXIS, view, 0);
-        ViewPropertyAnimator animation = view.animate();
+        Transition animation = getAnimationTimeline().animate(view);
         animation.setInterpolator(interpolator);
-        animation.setListener(
-                new AnimationListenerWrapper(createPeekAnimationListener(tabItem, peekAnimation)));
+        animation.setListener(createPeekAnimationListener(tabItem, peekAnimation));
         animation.setStartDelay(0);
         animation.setDuration(duration);
         getArithmetics().animateScale(Axis.DRAGGING_AXIS, animation, 1);
@@ -1672,12 +1865,26 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         TabItem selectedTabItem = TabItem.create(getModel(), viewRecycler, selectedTabIndex);
         viewRecycler.inflate(selectedTabItem);
         selectedTabItem.getTag().setPosition(0);
-        PhoneTabViewHolder selectedTabViewHolder = selectedTabItem.getViewHolder();
-        selectedTabViewHolder.closeButton.setVisibility(View.GONE);
+        hideCloseButton(selectedTabItem.getViewHolder());
         animateShowSwitcher(selectedTabItem, duration, interpolator,
                 createZoomOutAnimationListener(selectedTabItem, peekAnimation));
     }
 
+    /**
+     * Hides the close button of a tab.
+     *
+     * @param viewHolder
+     *         The view holder, which stores references to the tab's views, as an instance of the
+     *         class {@link PhoneTabViewHolder}. The view holder may not be null
+     */
+    private void hideCloseButton(@NonNull final PhoneTabViewHolder viewHolder) {
+        if (viewHolder.tabView != null) {
+            viewHolder.tabView.setCloseButtonShown(false);
+        } else {
+            viewHolder.closeButton.setVisibility(View.GONE);
+        }
+    }
+
     /**
      * Creates and returns a layout listener, which allows to animate the position and size of a tab
      * in order to show the tab switcher, once its view has been inflated.
@@ -1695,7 +1902,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
             @Override
             public void onGlobalLayout() {
-                animateShowSwitcher(tabItem, createUpdateViewAnimationListener(tabItem));
+                animateShowSwitcher(tabItem, createShowSwitcherAnimationListener(tabItem));
             }
 
         };
@@ -1895,13 +2102,129 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         };
     }
 
+    /**
+     * Creates and returns a task, which allows to start the swipe animations of several tabs, which
+     * have been added, one after another.
+     *
+     * @param tabItems
+     *         A list, which contains the tab items, which correspond to the tabs, which should be
+     *         swiped in, as an instance of the type {@link List}. The list may not be null
+     * @param swipeAnimation
+     *         The swipe animation, which should be started, as an instance of the class {@link
+     *         SwipeAnimation}. The swipe animation may not be null
+     * @return The task, which has been created, as an instance of the type {@link
+     * FrameBudgetScheduler.Task}. The task may not be null
+     */
+    @NonNull
+    private FrameBudgetScheduler.Task createSwipeInTask(@NonNull final List<TabItem> tabItems,
+                                                       @NonNull final SwipeAnimation swipeAnimation) {
+        return new FrameBudgetScheduler.Task() {
+
+            private int index = 0;
+
+            @Override
+            public boolean executeStep() {
+                if (index < tabItems.size()) {
+                    animateSwipeIn(tabItems.get(index++), swipeAnimation);
+                }
+
+                return index >= tabItems.size();
+            }
+
+        };
+    }
+
+    /**
+     * Calculates the delays of the animations, which are used to swipe out the tabs, which
+     * correspond to specific tab items, when all tabs have been removed at once. Starting at the
+     * last tab, the delay is increased for each floating tab, as well as for each predecessor of a
+     * floating tab. As floating tabs are always inflated, the delays can be calculated by only
+     * taking the tabs, whose views are attached, into account.
+     *
+     * @param tabItems
+     *         A list, which contains the tab items, which correspond to the tabs, whose views are
+     *         attached, sorted by their indices, as an instance of the type {@link List}. The list
+     *         may not be null
+     * @return An array, which contains the delays of the given tab items in milliseconds, as a
+     * {@link Long} array. The array may not be null
+     */
+    @NonNull
+    private long[] calculateClearAnimationDelays(@NonNull final List<TabItem> tabItems) {
+        long[] delays = new long[tabItems.size()];
+        long startDelay = 0;
+        TabItem successor = null;
+
+        for (int i = tabItems.size() - 1; i >= 0; i--) {
+            TabItem tabItem = tabItems.get(i);
+            boolean successorFloating =
+                    successor != null && successor.getTag().getState() == State.FLOATING;
+
+            if (successorFloating && successor.getIndex() - 1 > tabItem.getIndex()) {
+                startDelay += clearAnimationDelay;
+            }
+
+            if (tabItem.getTag().getState() == State.FLOATING ||
+                    (successorFloating && successor.getIndex() - 1 == tabItem.getIndex())) {
+                startDelay += clearAnimationDelay;
+            }
+
+            delays[i] = startDelay;
+            successor = tabItem;
+        }
+
+        return delays;
+    }
+
+    /**
+     * Creates and returns a task, which allows to swipe out all tabs, whose views are attached,
+     * when all tabs have been removed at once. The tabs are swiped out one after another, starting
+     * at the last one. The delays of the animations are reduced by the time, which has passed since
+     * the task has been created, in order to retain the intended stagger, even if the task is split
+     * into several slices.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which have been removed, as an array of the type
+     *         {@link Tab}. The array may not be null
+     * @param swipeAnimation
+     *         The swipe animation, which should be started, as an instance of the class {@link
+     *         SwipeAnimation}. The swipe animation may not be null
+     * @return The task, which has been created, as an instance of the type {@link
+     * FrameBudgetScheduler.Task}. The task may not be null
+     */
+    @NonNull
+    private FrameBudgetScheduler.Task createClearTask(@NonNull final Tab[] tabs,
+                                                      @NonNull final SwipeAnimation swipeAnimation) {
+        final List<TabItem> tabItems = new ArrayList<>(getAttachedTabItems(tabs));
+        final long[] delays = calculateClearAnimationDelays(tabItems);
+        return new FrameBudgetScheduler.Task() {
+
+            private final long startTime = SystemClock.uptimeMillis();
+
+            private int index = tabItems.size() - 1;
+
+            @Override
+            public boolean executeStep() {
+                if (index >= 0) {
+                    long elapsedTime = SystemClock.uptimeMillis() - startTime;
+                    animateSwipe(tabItems.get(index), true,
+                            Math.max(0, delays[index] - elapsedTime), swipeAnimation,
+                            index == 0 ? createClearAnimationListener() : null);
+                    index--;
+                }
+
+                return index < 0;
+            }
+
+        };
+    }
+
     /**
      * Creates and returns a layout listener, which allows to start a swipe animations to add
      * several tabs, once their views have been inflated.
      *
-     * @param addedTabItems
-     *         An array, which contains the tab items, which correspond to the tabs, which should be
-     *         added, as an array of the type {@link TabItem}. The array may not be null
+     * @param tabItems
+     *         A list, which contains the tab items, which correspond to the tabs, which should be
+     *         swiped in, as an instance of the type {@link List}. The list may not be null
      * @param swipeAnimation
      *         The swipe animation, which should be started, as an instance of the class {@link
      *         SwipeAnimation}. The swipe animation may not be null
@@ -1909,83 +2232,39 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
      * OnGlobalLayoutListener}. The listener may not be null
      */
     @NonNull
-    private OnGlobalLayoutListener createSwipeLayoutListener(@NonNull final TabItem[] addedTabItems,
+    private OnGlobalLayoutListener createSwipeLayoutListener(@NonNull final List<TabItem> tabItems,
                                                              @NonNull final SwipeAnimation swipeAnimation) {
         return new OnGlobalLayoutListener() {
 
             @Override
             public void onGlobalLayout() {
-                int count = getModel().getCount();
-                float previousAttachedPosition =
-                        calculateAttachedPosition(count - addedTabItems.length);
-                float attachedPosition = calculateAttachedPosition(count);
-                TabItem[] tabItems;
+                getScheduler().schedule(createSwipeInTask(tabItems, swipeAnimation));
+            }
 
-                if (count - addedTabItems.length == 0) {
-                    tabItems = calculateInitialTabItems(-1, -1);
-                } else {
-                    TabItem firstAddedTabItem = addedTabItems[0];
-                    int index = firstAddedTabItem.getIndex();
-                    boolean isReferencingPredecessor = index > 0;
-                    int referenceIndex = isReferencingPredecessor ? index - 1 :
-                            (index + addedTabItems.length - 1 < count - 1 ?
-                                    index + addedTabItems.length : -1);
-                    TabItem referenceTabItem = referenceIndex != -1 ?
-                            TabItem.create(getTabSwitcher(), viewRecycler, referenceIndex) : null;
-                    State state =
-                            referenceTabItem != null ? referenceTabItem.getTag().getState() : null;
-
-                    if (state == null || state == State.STACKED_START) {
-                        tabItems = relocateWhenAddingStackedTabs(true, addedTabItems);
-                    } else if (state == State.STACKED_END) {
-                        tabItems = relocateWhenAddingStackedTabs(false, addedTabItems);
-                    } else if (state == State.FLOATING ||
-                            (state == State.STACKED_START_ATOP && (index > 0 || count <= 2))) {
-                        tabItems = relocateWhenAddingFloatingTabs(addedTabItems, referenceTabItem,
-                                isReferencingPredecessor, attachedPosition,
-                                attachedPosition != previousAttachedPosition);
-                    } else {
-                        tabItems = relocateWhenAddingHiddenTabs(addedTabItems, referenceTabItem);
-                    }
-                }
+        };
+    }
 
-                Tag previousTag = null;
-
-                for (TabItem tabItem : tabItems) {
-                    Tag tag = tabItem.getTag();
-
-                    if (previousTag == null || tag.getPosition() != previousTag.getPosition()) {
-                        createBottomMarginLayoutListener(tabItem).onGlobalLayout();
-                        View view = tabItem.getView();
-                        view.setTag(R.id.tag_properties, tag);
-                        view.setAlpha(swipedTabAlpha);
-                        float swipePosition = calculateSwipePosition();
-                        float scale = getArithmetics().getScale(view, true);
-                        getArithmetics().setPivot(Axis.DRAGGING_AXIS, view, getArithmetics()
-                                .getPivot(Axis.DRAGGING_AXIS, view, DragState.NONE));
-                        getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view, getArithmetics()
-                                .getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.NONE));
-                        getArithmetics().setPosition(Axis.DRAGGING_AXIS, view, tag.getPosition());
-                        getArithmetics().setPosition(Axis.ORTHOGONAL_AXIS, view,
-                                swipeAnimation.getDirection() == SwipeDirection.LEFT ?
-                                        -1 * swipePosition : swipePosition);
-                        getArithmetics().setScale(Axis.DRAGGING_AXIS, view, scale);
-                        getArithmetics().setScale(Axis.ORTHOGONAL_AXIS, view, scale);
-                        getArithmetics().setPivot(Axis.DRAGGING_AXIS, view, getArithmetics()
-                                .getPivot(Axis.DRAGGING_AXIS, view, DragState.SWIPE));
-                        getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view, getArithmetics()
-                                .getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.SWIPE));
-                        getArithmetics().setScale(Axis.DRAGGING_AXIS, view, swipedTabScale * scale);
-                        getArithmetics()
-                                .setScale(Axis.ORTHOGONAL_AXIS, view, swipedTabScale * scale);
-                        animateSwipe(tabItem, false, 0, swipeAnimation,
-                                createSwipeAnimationListener(tabItem));
-                    } else {
-                        viewRecycler.remove(tabItem);
-                    }
+    /**
+     * Creates and returns a layout listener, which allows to start a swipe animation to add a tab,
+     * once its view has been inflated.
+     *
+     * @param tabItem
+     *         The tab item, which corresponds to the tab, which has been added, as an instance of
+     *         the class {@link TabItem}. The tab item may not be null
+     * @param swipeAnimation
+     *         The swipe animation, which should be started, as an instance of the class {@link
+     *         SwipeAnimation}. The swipe animation may not be null
+     * @return The listener, which has been created, as an instance of the type {@link
+     * OnGlobalLayoutListener}. The listener may not be null
+     */
+    @NonNull
+    private OnGlobalLayoutListener createSwipeInLayoutListener(@NonNull final TabItem tabItem,
+                                                               @NonNull final SwipeAnimation swipeAnimation) {
+        return new OnGlobalLayoutListener() {
 
-                    previousTag = tag;
-                }
+            @Override
+            public void onGlobalLayout() {
+                animateSwipeIn(tabItem, swipeAnimation);
             }
 
         };
@@ -2077,6 +2356,50 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         };
     }
 
+    /**
+     * Creates and returns an animation listener, which allows to inflate or detach the view, which
+     * is used to visualize a specific tab, when an animation, which is used to show the tab
+     * switcher, has been finished. The views of tabs, which are part of one of the stacks, are
+     * detached, as they are drawn by the views {@link #startStackView} and {@link #endStackView}
+     * instead. If the animation has been canceled, e.g. because the tab switcher is hidden again,
+     * the views are never detached, as they may be used by another animation.
+     *
+     * @param tabItem
+     *         The tab item, which corresponds to the tab, whose view should be inflated or
+     *         detached, as an instance of the class {@link TabItem}. The tab item may not be null
+     * @return The animation listener, which has been created, as an instance of the type {@link
+     * AnimatorListener}. The listener may not be null
+     */
+    @NonNull
+    private AnimatorListener createShowSwitcherAnimationListener(@NonNull final TabItem tabItem) {
+        return new AnimatorListenerAdapter() {
+
+            /**
+             * True, if the animation has been canceled, false otherwise.
+             */
+            private boolean canceled;
+
+            @Override
+            public void onAnimationCancel(final Animator animation) {
+                super.onAnimationCancel(animation);
+                canceled = true;
+            }
+
+            @Override
+            public void onAnimationEnd(final Animator animation) {
+                super.onAnimationEnd(animation);
+
+                if (canceled) {
+                    inflateOrRemoveView(tabItem);
+                } else {
+                    inflateOrDetachView(tabItem);
+                    invalidateStackViews();
+                }
+            }
+
+        };
+    }
+
     /**
      * Creates and returns an animation listener, which allows to inflate or remove the views, which
      * are used to visualize tabs, when an animation, which is used to hide the tab switcher,
@@ -2216,6 +2539,30 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         };
     }
 
+    /**
+     * Creates and returns an animation listener, which allows to remove the view, which is used to
+     * visualize a tab, when the animation, which has been used to swipe it, has been ended.
+     *
+     * @param removedTabItem
+     *         The tab item, which corresponds to the tab, which has been removed, as an instance of
+     *         the class {@link TabItem}. The tab item may not be null
+     * @return The listener, which has been created, as an instance of the type {@link
+     * AnimatorListener}. The listener may not be null
+     */
+    @NonNull
+    private AnimatorListener createRemoveViewAnimationListener(
+            @NonNull final TabItem removedTabItem) {
+        return new AnimatorListenerAdapter() {
+
+            @Override
+            public void onAnimationEnd(final Animator animation) {
+                super.onAnimationEnd(animation);
+                viewRecycler.remove(removedTabItem);
+            }
+
+        };
+    }
+
     /**
      * Creates and returns an animation listener, which allows to update or remove the view, which
      * is used to visualize a tab, when the animation, which has been used to relocate it, has been
@@ -2341,12 +2688,11 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 getArithmetics().setPivot(Axis.DRAGGING_AXIS, view, tabTitleContainerHeight);
                 getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
                         getArithmetics().getSize(Axis.ORTHOGONAL_AXIS, view) / 2f);
-                ViewPropertyAnimator animator = view.animate();
+                Transition animator = getAnimationTimeline().animate(view);
                 animator.setDuration(duration);
                 animator.setStartDelay(duration);
                 animator.setInterpolator(interpolator);
-                animator.setListener(
-                        new AnimationListenerWrapper(createRevertPeekAnimationListener(tabItem)));
+                animator.setListener(createRevertPeekAnimationListener(tabItem));
                 animator.alpha(0);
                 getArithmetics().animatePosition(Axis.DRAGGING_AXIS, animator, view,
                         getArithmetics().getPosition(Axis.DRAGGING_AXIS, view) * 1.5f, false);
@@ -2523,6 +2869,77 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         }
     }
 
+    /**
+     * Returns, whether the tab, which corresponds to a specific tag, is part of one of the stacks
+     * and can therefore be drawn by the views {@link #startStackView} and {@link #endStackView}
+     * instead of its own view.
+     *
+     * @param tag
+     *         The tag of the tab as an instance of the class {@link Tag}. The tag may not be null
+     * @return True, if the tab can be drawn by the views, which draw the stacks, false otherwise
+     */
+    private boolean isDrawnByStackView(@NonNull final Tag tag) {
+        return !tag.isClosing() &&
+                (tag.getState() == State.STACKED_START || tag.getState() == State.STACKED_END);
+    }
+
+    /**
+     * Inflates, detaches or removes the view, which is used to visualize a specific tab, depending
+     * on the tab's state, while the tabs are dragged or once they have been laid out. Unlike the
+     * method {@link #inflateOrRemoveView(TabItem)}, the views of tabs, which are part of one of
+     * the stacks, are detached by the view recycler, as they are drawn by the views {@link
+     * #startStackView} and {@link #endStackView} instead. They are only inflated again, once the
+     * tabs become floating, or before the views are modified by any other means.
+     *
+     * @param tabItem
+     *         The tab item, which corresponds to the tab, whose view should be inflated, detached
+     *         or removed, as an instance of the class {@link TabItem}. The tab item may not be null
+     */
+    private void inflateOrDetachView(@NonNull final TabItem tabItem) {
+        if (isDrawnByStackView(tabItem.getTag())) {
+            recyclerAdapter.detachView(tabItem);
+        } else {
+            recyclerAdapter.releaseDetachedTabItem(tabItem.getTab());
+            inflateOrRemoveView(tabItem);
+        }
+    }
+
+    /**
+     * Inflates the views of all tabs, which are currently drawn by the views {@link
+     * #startStackView} and {@link #endStackView}, again. This method must be called before the
+     * views of tabs are modified by any other means than dragging.
+     */
+    private void promoteStackedTabs() {
+        Collection<TabItem> detachedTabItems = recyclerAdapter.getDetachedTabItems();
+
+        if (!detachedTabItems.isEmpty()) {
+            List<TabItem> tabItems = new ArrayList<>(detachedTabItems);
+            recyclerAdapter.clearDetachedTabItems();
+
+            for (TabItem detachedTabItem : tabItems) {
+                Tab tab = detachedTabItem.getTab();
+                int index = getModel().indexOf(tab);
+
+                if (index != -1) {
+                    TabItem tabItem = new TabItem(index, tab);
+                    tabItem.setTag(detachedTabItem.getTag());
+                    inflateAndUpdateView(tabItem, null);
+                }
+            }
+
+            invalidateStackViews();
+        }
+    }
+
+    /**
+     * Invalidates the views {@link #startStackView} and {@link #endStackView}, which draw the
+     * tabs, which are part of one of the stacks.
+     */
+    private void invalidateStackViews() {
+        startStackView.invalidate();
+        endStackView.invalidate();
+    }
+
     /**
      * Inflates and updates the view, which is used to visualize a specific tab.
      *
@@ -2592,7 +3009,66 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     }
 
     /**
-     * Updates the view, which is used to visualize a specific tab.
+     * Returns, whether the transformation of the view, which is used to visualize a specific tab,
+     * is still the same as when the properties of the tab have been applied to the view most
+     * recently, or not. If the view has been modified in the meantime, e.g. by an animation,
+     * the properties must be applied again.
+     *
+     * @param view
+     *         The view, which should be checked, as an instance of the class {@link View}. The view
+     *         may not be null
+     * @param viewHolder
+     *         The view holder, which belongs to the view, as an instance of the class {@link
+     *         PhoneTabViewHolder}. The view holder may not be null
+     * @return True, if the transformation of the view is unchanged, false otherwise
+     */
+    private boolean isTransformationApplied(@NonNull final View view,
+                                            @NonNull final PhoneTabViewHolder viewHolder) {
+        float[] transformation = viewHolder.appliedTransformation;
+        return transformation != null && transformation[0] == view.getTranslationX() &&
+                transformation[1] == view.getTranslationY() &&
+                transformation[2] == view.getPivotX() && transformation[3] == view.getPivotY() &&
+                transformation[4] == view.getRotationX() &&
+                transformation[5] == view.getRotationY() &&
+                transformation[6] == view.getScaleX() && transformation[7] == view.getScaleY() &&
+                transformation[8] == view.getWidth() && transformation[9] == view.getHeight();
+    }
+
+    /**
+     * Stores the current transformation of the view, which is used to visualize a specific tab,
+     * after the properties of the tab have been applied to the view.
+     *
+     * @param view
+     *         The view, whose transformation should be stored, as an instance of the class {@link
+     *         View}. The view may not be null
+     * @param viewHolder
+     *         The view holder, which belongs to the view, as an instance of the class {@link
+     *         PhoneTabViewHolder}. The view holder may not be null
+     */
+    private void storeAppliedTransformation(@NonNull final View view,
+                                            @NonNull final PhoneTabViewHolder viewHolder) {
+        if (viewHolder.appliedTransformation == null) {
+            viewHolder.appliedTransformation = new float[10];
+        }
+
+        float[] transformation = viewHolder.appliedTransformation;
+        transformation[0] = view.getTranslationX();
+        transformation[1] = view.getTranslationY();
+        transformation[2] = view.getPivotX();
+        transformation[3] = view.getPivotY();
+        transformation[4] = view.getRotationX();
+        transformation[5] = view.getRotationY();
+        transformation[6] = view.getScaleX();
+        transformation[7] = view.getScaleY();
+        transformation[8] = view.getWidth();
+        transformation[9] = view.getHeight();
+    }
+
+    /**
+     * Updates the view, which is used to visualize a specific tab. Only the properties, which have
+     * changed since the view has been updated most recently, are written to the view. The pivot,
+     * orthogonal position and rotation are only applied again, if the view has been transformed
+     * by other means in the meantime, e.g. by an animation.
      *
      * @param tabItem
      *         The tab item, which corresponds to the tab, whose view should be updated, as an
@@ -2601,15 +3077,31 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     private void updateView(@NonNull final TabItem tabItem) {
         float position = tabItem.getTag().getPosition();
         View view = tabItem.getView();
-        view.setAlpha(1f);
-        view.setVisibility(View.VISIBLE);
-        getArithmetics().setPivot(Axis.DRAGGING_AXIS, view,
-                getArithmetics().getPivot(Axis.DRAGGING_AXIS, view, DragState.NONE));
-        getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
-                getArithmetics().getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.NONE));
-        getArithmetics().setPosition(Axis.DRAGGING_AXIS, view, position);
-        getArithmetics().setPosition(Axis.ORTHOGONAL_AXIS, view, 0);
-        getArithmetics().setRotation(Axis.ORTHOGONAL_AXIS, view, 0);
+        PhoneTabViewHolder viewHolder = tabItem.getViewHolder();
+
+        if (view.getAlpha() != 1f) {
+            view.setAlpha(1f);
+        }
+
+        if (view.getVisibility() != View.VISIBLE) {
+            view.setVisibility(View.VISIBLE);
+        }
+
+        if (!isTransformationApplied(view, viewHolder)) {
+            getArithmetics().setPivot(Axis.DRAGGING_AXIS, view,
+                    getArithmetics().getPivot(Axis.DRAGGING_AXIS, view, DragState.NONE));
+            getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
+                    getArithmetics().getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.NONE));
+            getArithmetics().setPosition(Axis.DRAGGING_AXIS, view, position);
+            getArithmetics().setPosition(Axis.ORTHOGONAL_AXIS, view, 0);
+            getArithmetics().setRotation(Axis.ORTHOGONAL_AXIS, view, 0);
+            storeAppliedTransformation(view, viewHolder);
+        } else if (getArithmetics().getPosition(Axis.DRAGGING_AXIS, view) != position) {
+            getArithmetics().setPosition(Axis.DRAGGING_AXIS, view, position);
+            storeAppliedTransformation(view, viewHolder);
+        }
+
+        tabExtents.invalidate();
     }
 
     /**
@@ -2856,15 +3348,12 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         TabItem currentReferenceTabItem = referenceTabItem;
         int referenceIndex = referenceTabItem.getIndex();
 
-        AbstractTabItemIterator.AbstractBuilder builder =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler);
-
         for (TabItem addedTabItem : addedTabItems) {
             int iterationReferenceIndex = referenceIndex;
             float iterationReferencePosition = referencePosition;
             TabItem iterationReferenceTabItem = currentReferenceTabItem;
             AbstractTabItemIterator iterator =
-                    builder.start(addedTabItem.getIndex()).reverse(true).create();
+                    new AddedTabItemIterator(addedTabItems, true, addedTabItem.getIndex());
             TabItem tabItem;
 
             while ((tabItem = iterator.next()) != null) {
@@ -2948,8 +3437,8 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         }
 
         if (attachedPositionChanged && count > 3) {
-            AbstractTabItemIterator iterator =
-                    builder.start(lastAddedTabItem.getIndex() + 1).reverse(false).create();
+            AbstractTabItemIterator iterator = new AddedTabItemIterator(addedTabItems, false,
+                    lastAddedTabItem.getIndex() + 1);
             TabItem tabItem;
             float previousPosition = initialReferencePosition;
             Tag previousTag = lastAddedTabItem.getTag();
@@ -3006,10 +3495,8 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         int count = getTabSwitcher().getCount();
         TabItem firstAddedTabItem = addedTabItems[0];
         TabItem lastAddedTabItem = addedTabItems[addedTabItems.length - 1];
-        AbstractTabItemIterator iterator =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler)
-                        .start(start ? lastAddedTabItem.getIndex() : firstAddedTabItem.getIndex())
-                        .reverse(start).create();
+        AbstractTabItemIterator iterator = new AddedTabItemIterator(addedTabItems, start,
+                start ? lastAddedTabItem.getIndex() : firstAddedTabItem.getIndex());
         TabItem tabItem;
 
         while ((tabItem = iterator.next()) != null &&
@@ -3068,14 +3555,16 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     private TabItem[] relocateWhenAddingHiddenTabs(@NonNull final TabItem[] addedTabItems,
                                                    @NonNull final TabItem referenceTabItem) {
         boolean stackedAtStart = isStackedAtStart(referenceTabItem.getIndex());
+        AbstractTabItemIterator iterator = new AddedTabItemIterator(addedTabItems, false,
+                addedTabItems[0].getIndex());
+        TabItem tabItem;
 
-        for (TabItem tabItem : addedTabItems) {
+        while ((tabItem = iterator.next()) != null &&
+                tabItem.getIndex() <= addedTabItems[addedTabItems.length - 1].getIndex()) {
             Pair<Float, State> pair;
 
             if (stackedAtStart) {
-                TabItem predecessor = tabItem.getIndex() > 0 ?
-                        TabItem.create(getTabSwitcher(), viewRecycler, tabItem.getIndex() - 1) :
-                        null;
+                TabItem predecessor = iterator.previous();
                 pair = calculatePositionAndStateWhenStackedAtStart(getModel().getCount(),
                         tabItem.getIndex(), predecessor);
             } else {
@@ -3090,6 +3579,138 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         return addedTabItems;
     }
 
+    /**
+     * Visualizes the changes, which are described by a specific change set, at once. If the
+     * change set's animation is not a {@link SwipeAnimation}, the tabs, which have been added or
+     * removed while the tab switcher is shown, are swiped by using the default swipe animation.
+     *
+     * @param changeSet
+     *         The change set, which should be visualized, as an instance of the class {@link
+     *         ChangeSet}. The change set may not be null
+     */
+    private void applyChangeSet(@NonNull final ChangeSet changeSet) {
+        if (!changeSet.wasSwitcherShown()) {
+            adaptSelectedTabWhenApplyingChangeSet(changeSet);
+        } else if (!getModel().isSwitcherShown()) {
+            removeViewsWhenApplyingChangeSet(changeSet);
+        } else {
+            Animation animation = changeSet.getAnimation();
+            SwipeAnimation swipeAnimation =
+                    animation instanceof SwipeAnimation ? (SwipeAnimation) animation :
+                            new SwipeAnimation.Builder().create();
+            relocateWhenApplyingChangeSet(changeSet, swipeAnimation);
+        }
+    }
+
+    /**
+     * Relocates all tabs, when the changes of a change set are applied, while the tab switcher is
+     * shown. The tabs, which have been removed, are swiped out, the tabs, which have been added,
+     * are swiped in and all remaining tabs are moved to their new positions at once.
+     *
+     * @param changeSet
+     *         The change set, which describes the changes, as an instance of the class {@link
+     *         ChangeSet}. The change set may not be null
+     * @param swipeAnimation
+     *         The animation, which should be used to swipe the added and removed tabs, as an
+     *         instance of the class {@link SwipeAnimation}. The animation may not be null
+     */
+    private void relocateWhenApplyingChangeSet(@NonNull final ChangeSet changeSet,
+                                               @NonNull final SwipeAnimation swipeAnimation) {
+        int referenceIndex = -1;
+        float referencePosition = -1;
+
+        if (firstVisibleIndex != -1 && firstVisibleIndex < changeSet.getPreviousTabs().length) {
+            Tab referenceTab = changeSet.getPreviousTabs()[firstVisibleIndex];
+            int index = changeSet.getIndex(referenceTab);
+
+            if (index != -1) {
+                Tag tag = TabItem.create(viewRecycler, index, referenceTab).getTag();
+
+                if (tag.getState() != State.HIDDEN) {
+                    referenceIndex = index;
+                    referencePosition = tag.getPosition();
+                }
+            }
+        }
+
+        Tab[] removedTabs = changeSet.getRemovedTabs();
+        long startDelay = 0;
+
+        for (int i = removedTabs.length - 1; i >= 0; i--) {
+            Tab tab = removedTabs[i];
+            TabItem removedTabItem =
+                    TabItem.create(viewRecycler, changeSet.getPreviousIndex(tab), tab);
+
+            if (removedTabItem.isInflated()) {
+                View view = removedTabItem.getView();
+                removedTabItem.getTag().setClosing(true);
+                getArithmetics().setPivot(Axis.DRAGGING_AXIS, view,
+                        getArithmetics().getPivot(Axis.DRAGGING_AXIS, view, DragState.SWIPE));
+                getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
+                        getArithmetics().getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.SWIPE));
+                animateSwipe(removedTabItem, true, startDelay, swipeAnimation,
+                        createRemoveViewAnimationListener(removedTabItem));
+                startDelay += clearAnimationDelay;
+            }
+        }
+
+        TabItem[] tabItems = calculateInitialTabItems(referenceIndex, referencePosition);
+        AbstractTabItemIterator iterator = new InitialTabItemIterator(tabItems, false, 0);
+        TabItem tabItem;
+
+        while ((tabItem = iterator.next()) != null) {
+            boolean added = changeSet.getPreviousIndex(tabItem.getTab()) == -1;
+
+            if (added && tabItem.isVisible()) {
+                inflateView(tabItem, createSwipeInLayoutListener(tabItem, swipeAnimation));
+            } else if (!added && (tabItem.isInflated() || tabItem.isVisible())) {
+                relocate(tabItem, tabItem.getTag().getPosition(), null, 0);
+            }
+        }
+    }
+
+    /**
+     * Removes the views of all tabs, which have been removed according to a specific change set,
+     * without using an animation.
+     *
+     * @param changeSet
+     *         The change set, which describes the changes, as an instance of the class {@link
+     *         ChangeSet}. The change set may not be null
+     */
+    private void removeViewsWhenApplyingChangeSet(@NonNull final ChangeSet changeSet) {
+        for (Tab tab : changeSet.getRemovedTabs()) {
+            viewRecycler.remove(TabItem.create(viewRecycler, changeSet.getPreviousIndex(tab), tab));
+        }
+    }
+
+    /**
+     * Adapts the view of the currently selected tab, when the changes of a change set are applied,
+     * while the tab switcher is hidden.
+     *
+     * @param changeSet
+     *         The change set, which describes the changes, as an instance of the class {@link
+     *         ChangeSet}. The change set may not be null
+     */
+    private void adaptSelectedTabWhenApplyingChangeSet(@NonNull final ChangeSet changeSet) {
+        Tab previousSelectedTab = changeSet.getPreviousSelectedTab();
+        Tab selectedTab = getModel().getSelectedTab();
+
+        if (previousSelectedTab != selectedTab) {
+            if (previousSelectedTab != null) {
+                viewRecycler.remove(TabItem.create(viewRecycler,
+                        changeSet.getPreviousSelectedTabIndex(), previousSelectedTab));
+            }
+
+            if (selectedTab != null) {
+                TabItem tabItem = TabItem.create(getTabSwitcher(), viewRecycler,
+                        getModel().getSelectedTabIndex());
+                inflateView(tabItem, createAddSelectedTabLayoutListener(tabItem));
+            }
+        }
+
+        toolbar.setAlpha(getModel().isEmpty() && getModel().areToolbarsShown() ? 1 : 0);
+    }
+
     /**
      * Relocates a specific tab. If its view is now yet inflated, it is inflated first.
      *
@@ -3155,6 +3776,115 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         getArithmetics().setPosition(Axis.ORTHOGONAL_AXIS, view, dragDistance);
     }
 
+    /**
+     * Binds the view, which is used to visualize a specific tab, to the tab's current index after
+     * the tab has been moved. Instead of recycling the view, it is moved to the position within
+     * its parent, which corresponds to the new index. The indices of the other tabs are taken from
+     * the hints, which are stored by their view holders, and only looked up in the model, if a
+     * hint is outdated.
+     *
+     * @param tabItem
+     *         The tab item, which corresponds to the tab, which has been moved, as an instance of
+     *         the class {@link TabItem}. The tab item must be inflated
+     */
+    private void rebindView(@NonNull final TabItem tabItem) {
+        View view = tabItem.getView();
+        int index = tabItem.getIndex();
+        int position = 0;
+        tabItem.getViewHolder().index = index;
+
+        for (int i = 0; i < tabContainer.getChildCount(); i++) {
+            View child = tabContainer.getChildAt(i);
+
+            if (child != view) {
+                PhoneTabViewHolder viewHolder =
+                        (PhoneTabViewHolder) child.getTag(R.id.tag_view_holder);
+
+                if (viewHolder != null && viewHolder.tab != null) {
+                    int childIndex = viewHolder.index;
+
+                    if (childIndex < 0 || childIndex >= getModel().getCount() ||
+                            getModel().getTab(childIndex) != viewHolder.tab) {
+                        childIndex = getModel().indexOf(viewHolder.tab);
+                        viewHolder.index = childIndex;
+                    }
+
+                    if (childIndex > index) {
+                        position++;
+                    }
+                }
+            }
+        }
+
+        if (tabContainer.indexOfChild(view) != position) {
+            tabContainer.removeView(view);
+            tabContainer.addView(view, position);
+        }
+    }
+
+    /**
+     * Returns the tab items, which correspond to the tabs, whose views are currently attached to
+     * the tab container, sorted by their indices. Only these tabs can be affected by overshooting,
+     * which allows to handle overshoots without iterating all tabs. The indices of the tabs are
+     * looked up using the hints, which are stored by the tabs' view holders.
+     *
+     * @return A list, which contains the tab items, as an instance of the type {@link List}. The
+     * list may not be null. It is reused by subsequent calls of this method
+     */
+    @NonNull
+    private List<TabItem> getAttachedTabItems() {
+        return getAttachedTabItems(null);
+    }
+
+    /**
+     * Returns the tab items, which correspond to the tabs, whose views are currently attached to
+     * the tab container, sorted by their indices. The indices are either looked up in the model or
+     * in a specific array, e.g. if the tabs have already been removed from the model.
+     *
+     * @param tabs
+     *         The array, the indices of the tabs should be looked up in, as an array of the type
+     *         {@link Tab} or null, if the indices should be looked up in the model
+     * @return A list, which contains the tab items, as an instance of the type {@link List}. The
+     * list may not be null. It is reused by subsequent calls of this method
+     */
+    @NonNull
+    private List<TabItem> getAttachedTabItems(@Nullable final Tab[] tabs) {
+        attachedTabItems.clear();
+
+        for (int i = 0; i < tabContainer.getChildCount(); i++) {
+            View view = tabContainer.getChildAt(i);
+            PhoneTabViewHolder viewHolder =
+                    (PhoneTabViewHolder) view.getTag(R.id.tag_view_holder);
+            Tab tab = viewHolder != null ? viewHolder.tab : null;
+
+            if (tab != null) {
+                int index = viewHolder.index;
+
+                if (tabs != null) {
+                    if (index < 0 || index >= tabs.length || tabs[index] != tab) {
+                        index = Arrays.asList(tabs).indexOf(tab);
+                    }
+                } else if (index < 0 || index >= getModel().getCount() ||
+                        getModel().getTab(index) != tab) {
+                    index = getModel().indexOf(tab);
+                    viewHolder.index = index;
+                }
+
+                if (index != -1) {
+                    int position = attachedTabItems.size();
+
+                    while (position > 0 && attachedTabItems.get(position - 1).getIndex() > index) {
+                        position--;
+                    }
+
+                    attachedTabItems.add(position, TabItem.create(viewRecycler, index, tab));
+                }
+            }
+        }
+
+        return attachedTabItems;
+    }
+
     /**
      * Moves the first tab to overlap the other tabs, when overshooting at the start.
      *
@@ -3162,21 +3892,21 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
      *         The position of the first tab in pixels as a {@link Float} value
      */
     private void startOvershoot(final float position) {
-        TabItemIterator iterator =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).create();
-        TabItem tabItem;
+        List<TabItem> tabItems = getAttachedTabItems();
+        View firstView = null;
+
+        for (int i = 0; i < tabItems.size(); i++) {
+            TabItem tabItem = tabItems.get(i);
+            View view = tabItem.getView();
 
-        while ((tabItem = iterator.next()) != null) {
             if (tabItem.getIndex() == 0) {
-                View view = tabItem.getView();
+                firstView = view;
                 getArithmetics().setPivot(Axis.DRAGGING_AXIS, view,
                         getArithmetics().getPivot(Axis.DRAGGING_AXIS, view, DragState.NONE));
                 getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view,
                         getArithmetics().getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.NONE));
                 getArithmetics().setPosition(Axis.DRAGGING_AXIS, view, position);
-            } else if (tabItem.isInflated()) {
-                View firstView = iterator.first().getView();
-                View view = tabItem.getView();
+            } else if (firstView != null) {
                 view.setVisibility(getArithmetics().getPosition(Axis.DRAGGING_AXIS, firstView) <=
                         getArithmetics().getPosition(Axis.DRAGGING_AXIS, view) ? View.INVISIBLE :
                         View.VISIBLE);
@@ -3191,11 +3921,10 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
      *         The angle, the tabs should be rotated by, in degrees as a {@link Float} value
      */
     private void tiltOnStartOvershoot(final float angle) {
-        TabItemIterator iterator =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).create();
-        TabItem tabItem;
+        List<TabItem> tabItems = getAttachedTabItems();
 
-        while ((tabItem = iterator.next()) != null) {
+        for (int i = 0; i < tabItems.size(); i++) {
+            TabItem tabItem = tabItems.get(i);
             View view = tabItem.getView();
 
             if (tabItem.getIndex() == 0) {
@@ -3205,8 +3934,8 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view, getArithmetics()
                         .getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.OVERSHOOT_START));
                 getArithmetics().setRotation(Axis.ORTHOGONAL_AXIS, view, angle);
-            } else if (tabItem.isInflated()) {
-                tabItem.getView().setVisibility(View.INVISIBLE);
+            } else {
+                view.setVisibility(View.INVISIBLE);
             }
         }
     }
@@ -3220,36 +3949,33 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     private void tiltOnEndOvershoot(final float angle) {
         float minCameraDistance = maxCameraDistance / 2f;
         int firstVisibleIndex = -1;
-        TabItemIterator iterator =
-                new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).create();
-        TabItem tabItem;
+        int lastIndex = getModel().getCount() - 1;
+        List<TabItem> tabItems = getAttachedTabItems();
 
-        while ((tabItem = iterator.next()) != null) {
-            if (tabItem.isInflated()) {
-                View view = tabItem.getView();
+        for (int i = 0; i < tabItems.size(); i++) {
+            TabItem tabItem = tabItems.get(i);
+            View view = tabItem.getView();
 
-                if (!iterator.hasNext()) {
-                    view.setCameraDistance(maxCameraDistance);
-                } else if (firstVisibleIndex == -1) {
-                    view.setCameraDistance(minCameraDistance);
+            if (tabItem.getIndex() == lastIndex) {
+                view.setCameraDistance(maxCameraDistance);
+            } else if (firstVisibleIndex == -1) {
+                view.setCameraDistance(minCameraDistance);
 
-                    if (tabItem.getTag().getState() == State.FLOATING) {
-                        firstVisibleIndex = tabItem.getIndex();
-                    }
-                } else {
-                    int diff = tabItem.getIndex() - firstVisibleIndex;
-                    float ratio =
-                            (float) diff / (float) (getModel().getCount() - firstVisibleIndex);
-                    view.setCameraDistance(
-                            minCameraDistance + (maxCameraDistance - minCameraDistance) * ratio);
+                if (tabItem.getTag().getState() == State.FLOATING) {
+                    firstVisibleIndex = tabItem.getIndex();
                 }
-
-                getArithmetics().setPivot(Axis.DRAGGING_AXIS, view, getArithmetics()
-                        .getPivot(Axis.DRAGGING_AXIS, view, DragState.OVERSHOOT_END));
-                getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view, getArithmetics()
-                        .getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.OVERSHOOT_END));
-                getArithmetics().setRotation(Axis.ORTHOGONAL_AXIS, view, angle);
+            } else {
+                int diff = tabItem.getIndex() - firstVisibleIndex;
+                float ratio = (float) diff / (float) (getModel().getCount() - firstVisibleIndex);
+                view.setCameraDistance(
+                        minCameraDistance + (maxCameraDistance - minCameraDistance) * ratio);
             }
+
+            getArithmetics().setPivot(Axis.DRAGGING_AXIS, view, getArithmetics()
+                    .getPivot(Axis.DRAGGING_AXIS, view, DragState.OVERSHOOT_END));
+            getArithmetics().setPivot(Axis.ORTHOGONAL_AXIS, view, getArithmetics()
+                    .getPivot(Axis.ORTHOGONAL_AXIS, view, DragState.OVERSHOOT_END));
+            getArithmetics().setRotation(Axis.ORTHOGONAL_AXIS, view, angle);
         }
     }
 
@@ -3333,6 +4059,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         peekAnimationDuration = resources.getInteger(R.integer.peek_animation_duration);
         maxStartOvershootAngle = resources.getInteger(R.integer.max_start_overshoot_angle);
         maxEndOvershootAngle = resources.getInteger(R.integer.max_end_overshoot_angle);
+        attachedTabItems = new ArrayList<>();
         tabViewBottomMargin = -1;
         toolbarAnimation = null;
     }
@@ -3360,7 +4087,21 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 Collections.reverseOrder(new TabItem.Comparator(getTabSwitcher())));
         viewRecycler.setAdapter(recyclerAdapter);
         recyclerAdapter.setViewRecycler(viewRecycler);
-        dragHandler = new PhoneDragHandler(getTabSwitcher(), getArithmetics(), viewRecycler);
+        int index = getTabSwitcher().indexOfChild(tabContainer);
+        boolean horizontal = getTabSwitcher().getLayout() == Layout.PHONE_LANDSCAPE;
+        startStackView = new PhoneStackedTabsView(getContext(), tabContainer, recyclerAdapter,
+                recyclerAdapter.getResourceCache().newBackground(), State.STACKED_START,
+                horizontal);
+        getTabSwitcher().addView(startStackView, index, new FrameLayout.LayoutParams(
+                FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.MATCH_PARENT));
+        endStackView = new PhoneStackedTabsView(getContext(), tabContainer, recyclerAdapter,
+                recyclerAdapter.getResourceCache().newBackground(), State.STACKED_END,
+                horizontal);
+        getTabSwitcher().addView(endStackView, index + 2, new FrameLayout.LayoutParams(
+                FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.MATCH_PARENT));
+        tabExtents = new PhoneTabExtents(getTabSwitcher(), getArithmetics(), tabContainer);
+        dragHandler = new PhoneDragHandler(getTabSwitcher(), getArithmetics(), viewRecycler,
+                tabExtents);
         adaptLogLevel();
         adaptDecorator();
         adaptToolbarMargin();
@@ -3382,16 +4123,21 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
             }
         }
 
+        recyclerAdapter.clearDetachedTabItems();
         childViewRecycler.removeAll();
         childViewRecycler.clearCache();
         viewRecycler.removeAll();
         viewRecycler.clearCache();
         recyclerAdapter.clearCachedPreviews();
+        recyclerAdapter.removeAllCallbacks();
+        recyclerAdapter.clearPrewarmedViews();
 
         if (!tabsOnly) {
             getModel().removeListener(recyclerAdapter);
             getTabSwitcher().removeView(toolbar);
+            getTabSwitcher().removeView(startStackView);
             getTabSwitcher().removeView(tabContainer);
+            getTabSwitcher().removeView(endStackView);
         }
 
         return result;
@@ -3428,12 +4174,14 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     @Override
     public final void onSwitcherShown() {
         getLogger().logInfo(getClass(), "Showed tab switcher");
+        promoteStackedTabs();
         animateShowSwitcher();
     }
 
     @Override
     public final void onSwitcherHidden() {
         getLogger().logInfo(getClass(), "Hid tab switcher");
+        promoteStackedTabs();
         animateHideSwitcher();
     }
 
@@ -3442,6 +4190,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                                          @Nullable final Tab selectedTab,
                                          final boolean switcherHidden) {
         getLogger().logInfo(getClass(), "Selected tab at index " + index);
+        promoteStackedTabs();
 
         if (switcherHidden) {
             animateHideSwitcher();
@@ -3458,6 +4207,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                                  @NonNull final Animation animation) {
         getLogger().logInfo(getClass(),
                 "Added tab at index " + index + " using a " + animation.getClass().getSimpleName());
+        promoteStackedTabs();
 
         if (animation instanceof PeekAnimation && !getModel().isEmpty()) {
             ensureTrue(switcherVisibilityChanged, animation.getClass().getSimpleName() +
@@ -3483,6 +4233,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
         getLogger().logInfo(getClass(),
                 "Added " + tabs.length + " tabs at index " + index + " using a " +
                         animation.getClass().getSimpleName());
+        promoteStackedTabs();
         addAllTabs(index, tabs, animation);
     }
 
@@ -3494,6 +4245,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 animation.getClass().getSimpleName() + " not supported for removing tabs");
         getLogger().logInfo(getClass(), "Removed tab at index " + index + " using a " +
                 animation.getClass().getSimpleName());
+        promoteStackedTabs();
         TabItem removedTabItem = TabItem.create(viewRecycler, index, tab);
 
         if (!getModel().isSwitcherShown()) {
@@ -3535,6 +4287,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
                 animation.getClass().getSimpleName() + " not supported for removing tabs ");
         getLogger().logInfo(getClass(),
                 "Removed all tabs using a " + animation.getClass().getSimpleName());
+        promoteStackedTabs();
 
         if (!getModel().isSwitcherShown()) {
             viewRecycler.removeAll();
@@ -3543,30 +4296,105 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
             SwipeAnimation swipeAnimation =
                     animation instanceof SwipeAnimation ? (SwipeAnimation) animation :
                             new SwipeAnimation.Builder().create();
-            AbstractTabItemIterator iterator =
-                    new ArrayTabItemIterator.Builder(viewRecycler, tabs).reverse(true).create();
-            TabItem tabItem;
-            int startDelay = 0;
+            getScheduler().schedule(createClearTask(tabs, swipeAnimation));
+        }
+    }
 
-            while ((tabItem = iterator.next()) != null) {
-                TabItem previous = iterator.previous();
+    @Override
+    public final void onTabsRemoved(@NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                    final int previousSelectedTabIndex,
+                                    final int selectedTabIndex,
+                                    @NonNull final Animation animation) {
+        ensureTrue(animation instanceof SwipeAnimation,
+                animation.getClass().getSimpleName() + " not supported for removing tabs");
+        getLogger().logInfo(getClass(),
+                "Removed " + tabs.length + " tabs using a " + animation.getClass().getSimpleName());
+        promoteStackedTabs();
+        Tab[] currentTabs = new Tab[getModel().getCount()];
+        Tab[] previousTabs = new Tab[currentTabs.length + tabs.length];
+        int removedIndex = 0;
+        int currentIndex = 0;
+
+        for (int i = 0; i < previousTabs.length; i++) {
+            if (removedIndex < indices.length && indices[removedIndex] == i) {
+                previousTabs[i] = tabs[removedIndex++];
+            } else {
+                Tab tab = getModel().getTab(currentIndex);
+                currentTabs[currentIndex++] = tab;
+                previousTabs[i] = tab;
+            }
+        }
 
-                if (tabItem.getTag().getState() == State.FLOATING ||
-                        (previous != null && previous.getTag().getState() == State.FLOATING)) {
-                    startDelay += clearAnimationDelay;
-                }
+        boolean switcherShown = getModel().isSwitcherShown();
+        applyChangeSet(new ChangeSet(previousTabs, previousSelectedTabIndex, switcherShown,
+                currentTabs, selectedTabIndex, animation));
+    }
+
+    @Override
+    public final void onTabMoved(final int previousIndex, final int index,
+                                 @NonNull final Tab tab, final int previousSelectedTabIndex,
+                                 final int selectedTabIndex) {
+        getLogger().logInfo(getClass(),
+                "Moved tab from index " + previousIndex + " to index " + index);
+        promoteStackedTabs();
+
+        if (getModel().isSwitcherShown()) {
+            int start = Math.min(previousIndex, index);
+            int end = Math.max(previousIndex, index);
+            Tag[] previousTags = new Tag[end - start + 1];
+
+            for (int i = start; i <= end; i++) {
+                Tab previousTab = i == previousIndex ? tab :
+                        getModel().getTab(previousIndex < index ? i - 1 : i + 1);
+                previousTags[i - start] =
+                        TabItem.create(viewRecycler, i, previousTab).getTag().clone();
+            }
+
+            TabItem[] tabItems = new TabItem[previousTags.length];
+
+            for (int i = start; i <= end; i++) {
+                TabItem tabItem = TabItem.create(getTabSwitcher(), viewRecycler, i);
+                tabItems[i - start] = tabItem;
 
                 if (tabItem.isInflated()) {
-                    animateSwipe(tabItem, true, startDelay, swipeAnimation,
-                            !iterator.hasNext() ? createClearAnimationListener() : null);
+                    tabItem.getViewHolder().index = i;
+                }
+            }
+
+            TabItem movedTabItem = tabItems[index - start];
+
+            if (movedTabItem.isInflated()) {
+                rebindView(movedTabItem);
+            }
+
+            for (int i = 0; i < tabItems.length; i++) {
+                TabItem tabItem = tabItems[i];
+                Tag tag = tabItem.getTag();
+                tag.setPosition(previousTags[i].getPosition());
+                tag.setState(previousTags[i].getState());
+
+                if (tabItem.isInflated() || tabItem.isVisible()) {
+                    relocate(tabItem, tag.getPosition(), null, 0);
                 }
             }
         }
     }
 
+    @Override
+    public final void onBatchCommitted(@NonNull final ChangeSet changeSet) {
+        Animation animation = changeSet.getAnimation();
+        getLogger().logInfo(getClass(),
+                "Committed batch with " + changeSet.getRemovedTabs().length + " removed and " +
+                        changeSet.getAddedTabs().length + " added tabs using a " +
+                        animation.getClass().getSimpleName());
+        promoteStackedTabs();
+        applyChangeSet(changeSet);
+    }
+
     @Override
     public final void onPaddingChanged(final int left, final int top, final int right,
                                        final int bottom) {
+        getArithmetics().invalidate();
         adaptToolbarMargin();
     }
 
@@ -3577,7 +4405,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     @Override
     public final void onTabBackgroundColorChanged(@Nullable final ColorStateList colorStateList) {
-
+        invalidateStackViews();
     }
 
     @Override
@@ -3592,6 +4420,8 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     @Override
     public final void onGlobalLayout() {
+        promoteStackedTabs();
+
         if (getModel().isSwitcherShown()) {
             TabItem[] tabItems = calculateInitialTabItems(getModel().getFirstVisibleTabIndex(),
                     getModel().getFirstVisibleTabPosition());
@@ -3599,17 +4429,22 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
             TabItem tabItem;
 
             while ((tabItem = iterator.next()) != null) {
-                if (tabItem.isVisible()) {
+                if (isDrawnByStackView(tabItem.getTag())) {
+                    recyclerAdapter.detachView(tabItem);
+                } else if (tabItem.isVisible()) {
                     inflateAndUpdateView(tabItem, createBottomMarginLayoutListener(tabItem));
                 }
             }
 
+            invalidateStackViews();
             toolbar.setAlpha(getModel().areToolbarsShown() ? 1 : 0);
         } else if (getModel().getSelectedTab() != null) {
             TabItem tabItem = TabItem.create(getTabSwitcher(), viewRecycler,
                     getModel().getSelectedTabIndex());
             viewRecycler.inflate(tabItem);
         }
+
+        recyclerAdapter.prewarmViews();
     }
 
     @Nullable
@@ -3623,6 +4458,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
             }
         }
 
+        invalidateStackViews();
         DragState overshoot = isOvershootingAtEnd(
                 new TabItemIterator.Builder(getTabSwitcher(), viewRecycler).create()) ?
                 DragState.OVERSHOOT_END :
@@ -3641,17 +4477,20 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     @Override
     public final void onRevertStartOvershoot() {
+        promoteStackedTabs();
         animateRevertStartOvershoot();
         getLogger().logVerbose(getClass(), "Reverting overshoot at the start");
     }
 
     @Override
     public final void onRevertEndOvershoot() {
+        promoteStackedTabs();
         animateRevertEndOvershoot();
         getLogger().logVerbose(getClass(), "Reverting overshoot at the end");
     }
 
     public final void onStartOvershoot(final float position) {
+        promoteStackedTabs();
         startOvershoot(position);
         getLogger().logVerbose(getClass(),
                 "Overshooting at the start using a position of " + position + " pixels");
@@ -3659,6 +4498,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     @Override
     public final void onTiltOnStartOvershoot(final float angle) {
+        promoteStackedTabs();
         tiltOnStartOvershoot(angle);
         getLogger().logVerbose(getClass(),
                 "Tilting on start overshoot using an angle of " + angle + " degrees");
@@ -3666,6 +4506,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     @Override
     public final void onTiltOnEndOvershoot(final float angle) {
+        promoteStackedTabs();
         tiltOnEndOvershoot(angle);
         getLogger().logVerbose(getClass(),
                 "Tilting on end overshoot using an angle of " + angle + " degrees");
@@ -3673,6 +4514,7 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
 
     @Override
     public final void onSwipe(@NonNull final TabItem tabItem, final float distance) {
+        promoteStackedTabs();
         swipe(tabItem, distance);
         getLogger().logVerbose(getClass(),
                 "Swiping tab at index " + tabItem.getIndex() + ". Current swipe distance is " +
@@ -3682,6 +4524,8 @@ public class PhoneTabSwitcherLayout extends AbstractTabSwitcherLayout
     @Override
     public final void onSwipeEnded(@NonNull final TabItem tabItem, final boolean remove,
                                    final float velocity) {
+        promoteStackedTabs();
+
         if (remove) {
             View view = tabItem.getView();
             SwipeDirection direction =
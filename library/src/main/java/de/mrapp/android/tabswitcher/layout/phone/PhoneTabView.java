@@ -0,0 +1,888 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.layout.phone;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.graphics.drawable.DrawableCompat;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.Button;
+import android.widget.FrameLayout;
+
+import java.util.List;
+
+import de.mrapp.android.tabswitcher.R;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.util.ThemeUtil;
+
+/**
+ * A view, which is used to visualize a tab of a {@link TabSwitcher}, when using the smartphone
+ * layout, as an alternative to the view hierarchy, which is inflated from the layout resource
+ * <code>phone_tab</code>. The tab's title, icon and close button, as well as its preview and the
+ * border around it, are drawn by the view itself instead of being represented by separate views.
+ * The only child of the view is the child view of the tab, if it is currently shown. The close
+ * button is exposed to accessibility services as a virtual view.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class PhoneTabView extends FrameLayout {
+
+    /**
+     * An accessibility helper, which exposes the close button, which is drawn by the view, as a
+     * virtual view, which can be focused and clicked by accessibility services.
+     */
+    private class CloseButtonAccessibilityHelper extends ExploreByTouchHelper {
+
+        /**
+         * Creates a new accessibility helper, which exposes the close button as a virtual view.
+         */
+        CloseButtonAccessibilityHelper() {
+            super(PhoneTabView.this);
+        }
+
+        @Override
+        protected int getVirtualViewAt(final float x, final float y) {
+            return closeButtonShown && closeButtonBounds.contains((int) x, (int) y) ?
+                    CLOSE_BUTTON_VIRTUAL_VIEW_ID : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(final List<Integer> virtualViewIds) {
+            if (closeButtonShown) {
+                virtualViewIds.add(CLOSE_BUTTON_VIRTUAL_VIEW_ID);
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(
+                final int virtualViewId, @NonNull final AccessibilityNodeInfoCompat node) {
+            node.setClassName(Button.class.getName());
+            node.setContentDescription(getCloseButtonContentDescription());
+            node.setBoundsInParent(closeButtonBounds);
+            node.setClickable(true);
+            node.setFocusable(true);
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(final int virtualViewId, final int action,
+                                                        @Nullable final Bundle arguments) {
+            if (virtualViewId == CLOSE_BUTTON_VIRTUAL_VIEW_ID &&
+                    action == AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                return performCloseButtonClick();
+            }
+
+            return false;
+        }
+
+    }
+
+    /**
+     * The id of the virtual view, which represents the close button.
+     */
+    private static final int CLOSE_BUTTON_VIRTUAL_VIEW_ID = 0;
+
+    /**
+     * The attributes, which are obtained from the style of a tab's title.
+     */
+    private static final int[] TITLE_ATTRIBUTES =
+            new int[]{android.R.attr.textSize, android.R.attr.textColor};
+
+    /**
+     * The state set, which is used to draw the title and close button of selected tabs.
+     */
+    private static final int[] SELECTED_STATE_SET = new int[]{android.R.attr.state_selected};
+
+    /**
+     * The state set, which is used to draw the close button of selected tabs, while it is
+     * pressed.
+     */
+    private static final int[] SELECTED_PRESSED_STATE_SET =
+            new int[]{android.R.attr.state_selected, android.R.attr.state_pressed};
+
+    /**
+     * The state set, which is used to draw the close button of unselected tabs, while it is
+     * pressed.
+     */
+    private static final int[] PRESSED_STATE_SET = new int[]{android.R.attr.state_pressed};
+
+    /**
+     * The state set, which is used to draw the title and close button of unselected tabs.
+     */
+    private static final int[] DEFAULT_STATE_SET = new int[]{};
+
+    /**
+     * The height of the area, which contains the title and close button, in pixels.
+     */
+    private final int titleContainerHeight;
+
+    /**
+     * The horizontal padding of the title in pixels.
+     */
+    private final int titlePadding;
+
+    /**
+     * The padding between the icon and the title in pixels.
+     */
+    private final int titleDrawablePadding;
+
+    /**
+     * The paint, which is used to draw the title.
+     */
+    private final TextPaint titlePaint;
+
+    /**
+     * The bounds of the close button.
+     */
+    private final Rect closeButtonBounds;
+
+    /**
+     * The bounds of the area, which contains the child view or preview.
+     */
+    private final Rect contentBounds;
+
+    /**
+     * The padding of the preview in pixels.
+     */
+    private final Rect previewPadding;
+
+    /**
+     * The background of the area, which contains the child view or preview.
+     */
+    private final Drawable contentBackground;
+
+    /**
+     * The background of the close button.
+     */
+    private final Drawable closeButtonBackground;
+
+    /**
+     * The helper, which exposes the close button to accessibility services.
+     */
+    private final CloseButtonAccessibilityHelper accessibilityHelper;
+
+    /**
+     * The default text color of the title.
+     */
+    private ColorStateList defaultTitleTextColor;
+
+    /**
+     * The title.
+     */
+    private CharSequence title;
+
+    /**
+     * The layout, which is used to draw the title, or null, if it must be created.
+     */
+    private StaticLayout titleLayout;
+
+    /**
+     * The width, the layout, which is used to draw the title, has been created for.
+     */
+    private int titleLayoutWidth;
+
+    /**
+     * The text color of the title.
+     */
+    private ColorStateList titleTextColor;
+
+    /**
+     * The icon, which is shown next to the title.
+     */
+    private Drawable icon;
+
+    /**
+     * The icon of the close button.
+     */
+    private Drawable closeButtonIcon;
+
+    /**
+     * True, if the close button is shown, false otherwise.
+     */
+    private boolean closeButtonShown;
+
+    /**
+     * True, if the close button is currently pressed, false otherwise.
+     */
+    private boolean closeButtonPressed;
+
+    /**
+     * True, if the title and close button are drawn using the selected state, false otherwise.
+     */
+    private boolean titleSelected;
+
+    /**
+     * The listener, which is notified, when the close button is clicked.
+     */
+    private OnClickListener closeButtonListener;
+
+    /**
+     * The border, which is drawn around the preview.
+     */
+    private Drawable border;
+
+    /**
+     * True, if the border is shown, false otherwise.
+     */
+    private boolean borderShown;
+
+    /**
+     * The preview, which is shown instead of the child view.
+     */
+    private Bitmap preview;
+
+    /**
+     * Obtains the text size and default text color of the title from the style of a tab's title.
+     */
+    private void obtainTitleStyle() {
+        TypedArray typedArray =
+                getContext().obtainStyledAttributes(R.style.Tab_Title, TITLE_ATTRIBUTES);
+
+        try {
+            titlePaint.setTextSize(typedArray.getDimension(0, titlePaint.getTextSize()));
+            defaultTitleTextColor = typedArray.getColorStateList(1);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    /**
+     * Returns the state set, which should be used to draw the title and close button.
+     *
+     * @param pressed
+     *         True, if the pressed state should be included, false otherwise
+     * @return The state set as an {@link Integer} array. The array may not be null
+     */
+    @NonNull
+    private int[] getTitleStateSet(final boolean pressed) {
+        if (titleSelected) {
+            return pressed ? SELECTED_PRESSED_STATE_SET : SELECTED_STATE_SET;
+        }
+
+        return pressed ? PRESSED_STATE_SET : DEFAULT_STATE_SET;
+    }
+
+    /**
+     * Adapts the state of the drawables, which are used to draw the title and close button.
+     */
+    private void adaptDrawableStates() {
+        int[] stateSet = getTitleStateSet(false);
+
+        if (icon != null && icon.isStateful()) {
+            icon.setState(stateSet);
+        }
+
+        if (closeButtonIcon != null && closeButtonIcon.isStateful()) {
+            closeButtonIcon.setState(getTitleStateSet(closeButtonPressed));
+        }
+
+        if (closeButtonBackground != null && closeButtonBackground.isStateful()) {
+            closeButtonBackground.setState(getTitleStateSet(closeButtonPressed));
+        }
+    }
+
+    /**
+     * Replaces a drawable, which is drawn by the view.
+     *
+     * @param previousDrawable
+     *         The drawable, which should be replaced, as an instance of the class {@link Drawable}
+     *         or null
+     * @param drawable
+     *         The drawable, which should be used instead, as an instance of the class {@link
+     *         Drawable} or null
+     */
+    private void replaceDrawable(@Nullable final Drawable previousDrawable,
+                                 @Nullable final Drawable drawable) {
+        if (previousDrawable != null) {
+            previousDrawable.setCallback(null);
+        }
+
+        if (drawable != null) {
+            drawable.setCallback(this);
+        }
+    }
+
+    /**
+     * Updates the bounds of the close button and the area, which contains the child view or
+     * preview, depending on the view's size.
+     */
+    private void updateBounds() {
+        int left = getPaddingLeft();
+        int top = getPaddingTop();
+        int right = getWidth() - getPaddingRight();
+        int bottom = getHeight() - getPaddingBottom();
+        closeButtonBounds
+                .set(right - titleContainerHeight, top, right, top + titleContainerHeight);
+        contentBounds.set(left, top + titleContainerHeight, right, Math.max(bottom,
+                top + titleContainerHeight));
+
+        if (contentBackground != null) {
+            contentBackground.setBounds(contentBounds);
+        }
+
+        if (border != null) {
+            border.setBounds(contentBounds);
+        }
+
+        if (closeButtonBackground != null) {
+            closeButtonBackground.setBounds(closeButtonBounds);
+        }
+    }
+
+    /**
+     * Returns the layout, which should be used to draw the title. If necessary, the layout is
+     * created.
+     *
+     * @param width
+     *         The width, which is available for the title, in pixels as an {@link Integer} value
+     * @return The layout, which should be used to draw the title, as an instance of the class
+     * {@link StaticLayout} or null, if no title is set
+     */
+    @Nullable
+    private StaticLayout getTitleLayout(final int width) {
+        if (TextUtils.isEmpty(title) || width <= 0) {
+            return null;
+        }
+
+        if (titleLayout == null || titleLayoutWidth != width) {
+            CharSequence text = TextUtils.ellipsize(title, titlePaint, width,
+                    TextUtils.TruncateAt.END);
+            titleLayout =
+                    new StaticLayout(text, titlePaint, width, Layout.Alignment.ALIGN_NORMAL, 1, 0,
+                            false);
+            titleLayoutWidth = width;
+        }
+
+        return titleLayout;
+    }
+
+    /**
+     * Draws the area, which contains the title and close button.
+     *
+     * @param canvas
+     *         The canvas, which should be used to draw, as an instance of the class {@link
+     *         Canvas}. The canvas may not be null
+     */
+    private void drawTitle(@NonNull final Canvas canvas) {
+        int top = getPaddingTop();
+        int centerY = top + titleContainerHeight / 2;
+        int left = getPaddingLeft() + titlePadding;
+        int right = (closeButtonShown ? closeButtonBounds.left :
+                getWidth() - getPaddingRight() - titlePadding);
+
+        if (icon != null) {
+            int iconWidth = icon.getIntrinsicWidth();
+            int iconHeight = icon.getIntrinsicHeight();
+            int iconTop = centerY - iconHeight / 2;
+            icon.setBounds(left, iconTop, left + iconWidth, iconTop + iconHeight);
+            icon.draw(canvas);
+            left += iconWidth + titleDrawablePadding;
+        }
+
+        StaticLayout layout = getTitleLayout(right - left);
+
+        if (layout != null) {
+            ColorStateList textColor =
+                    titleTextColor != null ? titleTextColor : defaultTitleTextColor;
+
+            if (textColor != null) {
+                titlePaint.setColor(textColor.getColorForState(getTitleStateSet(false),
+                        textColor.getDefaultColor()));
+            }
+
+            int saveCount = canvas.save();
+            canvas.translate(left, centerY - layout.getHeight() / 2);
+            layout.draw(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+
+        if (closeButtonShown) {
+            if (closeButtonBackground != null) {
+                closeButtonBackground.draw(canvas);
+            }
+
+            if (closeButtonIcon != null) {
+                int iconWidth = closeButtonIcon.getIntrinsicWidth();
+                int iconHeight = closeButtonIcon.getIntrinsicHeight();
+                int iconLeft = closeButtonBounds.centerX() - iconWidth / 2;
+                int iconTop = closeButtonBounds.centerY() - iconHeight / 2;
+                closeButtonIcon
+                        .setBounds(iconLeft, iconTop, iconLeft + iconWidth, iconTop + iconHeight);
+                closeButtonIcon.draw(canvas);
+            }
+        }
+    }
+
+    /**
+     * Draws the area, which contains the child view or preview.
+     *
+     * @param canvas
+     *         The canvas, which should be used to draw, as an instance of the class {@link
+     *         Canvas}. The canvas may not be null
+     */
+    private void drawContent(@NonNull final Canvas canvas) {
+        if (contentBackground != null) {
+            contentBackground.draw(canvas);
+        }
+
+        if (preview != null && !preview.isRecycled()) {
+            int saveCount = canvas.save();
+            canvas.clipRect(contentBounds);
+            canvas.drawBitmap(preview, contentBounds.left + previewPadding.left,
+                    contentBounds.top + previewPadding.top, null);
+            canvas.restoreToCount(saveCount);
+        }
+
+        if (borderShown && border != null) {
+            border.draw(canvas);
+        }
+    }
+
+    /**
+     * Sets, whether the close button is currently pressed, or not.
+     *
+     * @param pressed
+     *         True, if the close button is pressed, false otherwise
+     * @param x
+     *         The position of the touch event on the x-axis in pixels as a {@link Float} value
+     * @param y
+     *         The position of the touch event on the y-axis in pixels as a {@link Float} value
+     */
+    private void setCloseButtonPressed(final boolean pressed, final float x, final float y) {
+        if (closeButtonPressed != pressed) {
+            closeButtonPressed = pressed;
+
+            if (pressed && closeButtonBackground != null) {
+                DrawableCompat.setHotspot(closeButtonBackground, x, y);
+            }
+
+            adaptDrawableStates();
+            invalidate(closeButtonBounds);
+        }
+    }
+
+    /**
+     * Returns the content description of the close button.
+     *
+     * @return The content description of the close button as a {@link String}. The content
+     * description may neither be null, nor empty
+     */
+    @NonNull
+    private String getCloseButtonContentDescription() {
+        return TextUtils.isEmpty(title) ?
+                getContext().getString(R.string.close_tab_button_content_description) :
+                getContext().getString(R.string.close_tab_button_content_description_with_title,
+                        title);
+    }
+
+    /**
+     * Notifies the listener, which has been registered to be notified, when the close button is
+     * clicked, if the close button is shown.
+     *
+     * @return True, if the listener has been notified, false otherwise
+     */
+    private boolean performCloseButtonClick() {
+        if (closeButtonShown && closeButtonListener != null) {
+            playSoundEffect(SoundEffectConstants.CLICK);
+            accessibilityHelper.sendEventForVirtualView(CLOSE_BUTTON_VIRTUAL_VIEW_ID,
+                    AccessibilityEvent.TYPE_VIEW_CLICKED);
+            closeButtonListener.onClick(this);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates a new view, which is used to visualize a tab of a {@link TabSwitcher}.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     */
+    public PhoneTabView(@NonNull final Context context) {
+        super(context);
+        Resources resources = getResources();
+        this.titleContainerHeight =
+                resources.getDimensionPixelSize(R.dimen.tab_title_container_height);
+        this.titlePadding = resources.getDimensionPixelSize(R.dimen.tab_title_padding);
+        this.titleDrawablePadding =
+                resources.getDimensionPixelSize(R.dimen.tab_title_drawable_padding);
+        this.titlePaint = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
+        this.titlePaint.density = resources.getDisplayMetrics().density;
+        this.closeButtonBounds = new Rect();
+        this.contentBounds = new Rect();
+        this.previewPadding = new Rect();
+        this.contentBackground = ThemeUtil.getDrawable(context, android.R.attr.windowBackground);
+        this.closeButtonBackground =
+                ThemeUtil.getDrawable(context, R.attr.selectableItemBackgroundBorderless);
+        this.closeButtonShown = true;
+        replaceDrawable(null, closeButtonBackground);
+        obtainTitleStyle();
+        setWillNotDraw(false);
+        this.accessibilityHelper = new CloseButtonAccessibilityHelper();
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+        setFocusable(true);
+    }
+
+    /**
+     * Sets the title.
+     *
+     * @param title
+     *         The title, which should be set, as an instance of the type {@link CharSequence} or
+     *         null, if no title should be shown
+     */
+    public final void setTitle(@Nullable final CharSequence title) {
+        if (!TextUtils.equals(this.title, title)) {
+            this.title = title;
+            this.titleLayout = null;
+            accessibilityHelper.invalidateVirtualView(CLOSE_BUTTON_VIRTUAL_VIEW_ID);
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the text color of the title.
+     *
+     * @param colorStateList
+     *         The text color, which should be set, as an instance of the class {@link
+     *         ColorStateList} or null, if the default color should be used
+     */
+    public final void setTitleTextColor(@Nullable final ColorStateList colorStateList) {
+        if (this.titleTextColor != colorStateList) {
+            this.titleTextColor = colorStateList;
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets, whether the title and close button should be drawn using the selected state, or not.
+     * Unlike the method {@link View#setSelected(boolean)}, the selection state is not propagated
+     * to the child view.
+     *
+     * @param selected
+     *         True, if the selected state should be used, false otherwise
+     */
+    public final void setTitleSelected(final boolean selected) {
+        if (this.titleSelected != selected) {
+            this.titleSelected = selected;
+            adaptDrawableStates();
+            invalidate();
+        }
+    }
+
+    /**
+     * Returns, whether the title and close button are drawn using the selected state, or not.
+     *
+     * @return True, if the selected state is used, false otherwise
+     */
+    public final boolean isTitleSelected() {
+        return titleSelected;
+    }
+
+    /**
+     * Sets the icon, which is shown next to the title.
+     *
+     * @param icon
+     *         The icon, which should be set, as an instance of the class {@link Drawable} or null,
+     *         if no icon should be shown
+     */
+    public final void setIcon(@Nullable final Drawable icon) {
+        if (this.icon != icon) {
+            replaceDrawable(this.icon, icon);
+            this.icon = icon;
+            adaptDrawableStates();
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the icon of the close button.
+     *
+     * @param icon
+     *         The icon, which should be set, as an instance of the class {@link Drawable} or null,
+     *         if no icon should be shown
+     */
+    public final void setCloseButtonIcon(@Nullable final Drawable icon) {
+        if (this.closeButtonIcon != icon) {
+            replaceDrawable(this.closeButtonIcon, icon);
+            this.closeButtonIcon = icon;
+            adaptDrawableStates();
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets, whether the close button should be shown, or not.
+     *
+     * @param shown
+     *         True, if the close button should be shown, false otherwise
+     */
+    public final void setCloseButtonShown(final boolean shown) {
+        if (this.closeButtonShown != shown) {
+            this.closeButtonShown = shown;
+            this.closeButtonPressed = false;
+            accessibilityHelper.invalidateRoot();
+            invalidate();
+        }
+    }
+
+    /**
+     * Returns, whether the close button is shown, or not.
+     *
+     * @return True, if the close button is shown, false otherwise
+     */
+    public final boolean isCloseButtonShown() {
+        return closeButtonShown;
+    }
+
+    /**
+     * Sets the listener, which should be notified, when the close button is clicked.
+     *
+     * @param listener
+     *         The listener, which should be set, as an instance of the type {@link
+     *         OnClickListener} or null, if no listener should be notified
+     */
+    public final void setOnCloseButtonClickListener(@Nullable final OnClickListener listener) {
+        this.closeButtonListener = listener;
+    }
+
+    /**
+     * Sets the border, which is drawn around the preview.
+     *
+     * @param border
+     *         The border, which should be set, as an instance of the class {@link Drawable} or
+     *         null, if no border should be drawn
+     */
+    public final void setBorder(@Nullable final Drawable border) {
+        replaceDrawable(this.border, border);
+        this.border = border;
+        updateBounds();
+        invalidate();
+    }
+
+    /**
+     * Sets, whether the border around the preview should be shown, or not.
+     *
+     * @param shown
+     *         True, if the border should be shown, false otherwise
+     */
+    public final void setBorderShown(final boolean shown) {
+        if (this.borderShown != shown) {
+            this.borderShown = shown;
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the color filter, which should be applied to the background and border.
+     *
+     * @param colorFilter
+     *         The color filter, which should be applied, as an instance of the class {@link
+     *         ColorFilter} or null, if no color filter should be applied
+     */
+    public final void setTabColorFilter(@Nullable final ColorFilter colorFilter) {
+        Drawable background = getBackground();
+
+        if (background != null) {
+            background.setColorFilter(colorFilter);
+        }
+
+        if (border != null) {
+            border.setColorFilter(colorFilter);
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Sets the preview, which should be shown instead of the child view.
+     *
+     * @param preview
+     *         The preview, which should be set, as an instance of the class {@link Bitmap} or
+     *         null, if no preview should be shown
+     */
+    public final void setPreview(@Nullable final Bitmap preview) {
+        if (this.preview != preview) {
+            this.preview = preview;
+            invalidate();
+        }
+    }
+
+    /**
+     * Returns the preview, which is shown instead of the child view.
+     *
+     * @return The preview as an instance of the class {@link Bitmap} or null, if no preview is
+     * shown
+     */
+    @Nullable
+    public final Bitmap getPreview() {
+        return preview;
+    }
+
+    /**
+     * Sets the padding of the preview.
+     *
+     * @param left
+     *         The left padding, which should be set, in pixels as an {@link Integer} value
+     * @param top
+     *         The top padding, which should be set, in pixels as an {@link Integer} value
+     * @param right
+     *         The right padding, which should be set, in pixels as an {@link Integer} value
+     * @param bottom
+     *         The bottom padding, which should be set, in pixels as an {@link Integer} value
+     */
+    public final void setPreviewPadding(final int left, final int top, final int right,
+                                        final int bottom) {
+        previewPadding.set(left, top, right, bottom);
+        invalidate();
+    }
+
+    @Override
+    protected final void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
+        int height = getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+        int childWidthMeasureSpec = MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY);
+        int childHeightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+
+            if (child.getVisibility() != View.GONE) {
+                measureChildWithMargins(child, childWidthMeasureSpec, 0, childHeightMeasureSpec,
+                        titleContainerHeight);
+            }
+        }
+    }
+
+    @Override
+    protected final void onLayout(final boolean changed, final int left, final int top,
+                                  final int right, final int bottom) {
+        updateBounds();
+        accessibilityHelper.invalidateVirtualView(CLOSE_BUTTON_VIRTUAL_VIEW_ID);
+
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+
+            if (child.getVisibility() != View.GONE) {
+                LayoutParams layoutParams = (LayoutParams) child.getLayoutParams();
+                int childLeft = contentBounds.left + layoutParams.leftMargin;
+                int childTop = contentBounds.top + layoutParams.topMargin;
+                child.layout(childLeft, childTop, childLeft + child.getMeasuredWidth(),
+                        childTop + child.getMeasuredHeight());
+            }
+        }
+    }
+
+    @Override
+    protected final void onDraw(final Canvas canvas) {
+        super.onDraw(canvas);
+        drawContent(canvas);
+        drawTitle(canvas);
+    }
+
+    @Override
+    public final boolean onTouchEvent(final MotionEvent event) {
+        float x = event.getX();
+        float y = event.getY();
+        boolean inside = closeButtonShown && closeButtonBounds.contains((int) x, (int) y);
+
+        switch (event.getAction()) {
+            case MotionEvent.ACTION_DOWN:
+                if (inside) {
+                    setCloseButtonPressed(true, x, y);
+                    return true;
+                }
+
+                break;
+            case MotionEvent.ACTION_MOVE:
+                if (closeButtonPressed) {
+                    if (!inside) {
+                        setCloseButtonPressed(false, x, y);
+                    }
+
+                    return true;
+                }
+
+                break;
+            case MotionEvent.ACTION_UP:
+                if (closeButtonPressed) {
+                    setCloseButtonPressed(false, x, y);
+
+                    if (inside) {
+                        performCloseButtonClick();
+                    }
+
+                    return true;
+                }
+
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                setCloseButtonPressed(false, x, y);
+                break;
+            default:
+                break;
+        }
+
+        return super.onTouchEvent(event);
+    }
+
+    @Override
+    protected final boolean dispatchHoverEvent(final MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public final boolean dispatchKeyEvent(final KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected final void onFocusChanged(final boolean gainFocus, final int direction,
+                                        @Nullable final Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override
+    protected final boolean verifyDrawable(@NonNull final Drawable drawable) {
+        return drawable == icon || drawable == closeButtonIcon ||
+                drawable == closeButtonBackground || drawable == border ||
+                super.verifyDrawable(drawable);
+    }
+
+}
@@ -13,12 +13,17 @@
  */
 package de.mrapp.android.tabswitcher.layout.phone;
 
+import android.content.res.ColorStateList;
+import android.graphics.ColorFilter;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.FrameLayout;
 import android.widget.ImageView;
 
+import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
 import de.mrapp.android.tabswitcher.layout.AbstractTabViewHolder;
+import de.mrapp.android.tabswitcher.model.TabItem;
 
 /**
  * A view holder, which allows to store references to the views, a tab of a {@link TabSwitcher}
@@ -29,6 +34,13 @@ import de.mrapp.android.tabswitcher.layout.AbstractTabViewHolder;
  */
 public class PhoneTabViewHolder extends AbstractTabViewHolder {
 
+    /**
+     * The view, which draws the tab, if the views, which are used to visualize tabs, are
+     * flattened, or null otherwise. If not null, it also acts as the container of the tab's child
+     * view, and the views, which are drawn by it, are null.
+     */
+    public PhoneTabView tabView;
+
     /**
      * The view group, which contains the title and close button of a tab.
      */
@@ -54,4 +66,90 @@ public class PhoneTabViewHolder extends AbstractTabViewHolder {
      */
     public View borderView;
 
+    /**
+     * The layout params of the view, which is used to visualize a tab. They are reused whenever
+     * the view is bound to a tab.
+     */
+    public FrameLayout.LayoutParams layoutParams;
+
+    /**
+     * The tab, which is currently visualized, or null, if the view is not bound to a tab.
+     */
+    public Tab tab;
+
+    /**
+     * The title, which has most recently been applied to the title text view.
+     */
+    public CharSequence appliedTitle;
+
+    /**
+     * The resource id of the icon, which has most recently been applied to the title text view.
+     */
+    public int appliedIconId;
+
+    /**
+     * The digest of the icon, which has most recently been applied to the title text view.
+     */
+    public String appliedIconDigest;
+
+    /**
+     * The generation of the tab switcher's default icon, which has most recently been applied to
+     * the title text view, or -1, if the tab's own icon has been applied.
+     */
+    public int appliedDefaultIconGeneration;
+
+    /**
+     * The resource id of the icon, which has most recently been applied to the close button.
+     */
+    public int appliedCloseButtonIconId;
+
+    /**
+     * The digest of the icon, which has most recently been applied to the close button.
+     */
+    public String appliedCloseButtonIconDigest;
+
+    /**
+     * The generation of the tab switcher's default close button icon, which has most recently been
+     * applied to the close button, or -1, if the tab's own icon has been applied.
+     */
+    public int appliedDefaultCloseButtonIconGeneration;
+
+    /**
+     * The color filter, which has most recently been applied to the background and border.
+     */
+    public ColorFilter appliedColorFilter;
+
+    /**
+     * The text color, which has most recently been applied to the title text view.
+     */
+    public ColorStateList appliedTitleTextColor;
+
+    /**
+     * The translation, pivot, rotation and scale on both axes, as well as the width and height,
+     * of the view, which have been present, when the layout has most recently applied the
+     * properties of the tab to the view, or null, if the properties have not been applied yet.
+     */
+    public float[] appliedTransformation;
+
+    /**
+     * The boxed id of the tab, whose preview has most recently been loaded, or null, if no preview
+     * has been loaded yet. It is reused as the key of the data binder in order to avoid boxing the
+     * id, whenever the preview of the same tab is loaded again.
+     */
+    public Long previewKey;
+
+    /**
+     * The parameters, which have been passed to the data binder, when the preview of the tab has
+     * most recently been loaded, or null, if no preview has been loaded yet. They are reused in
+     * order to avoid allocating a new array, whenever the preview of the same tab is loaded again.
+     */
+    public TabItem[] previewParams;
+
+    /**
+     * The index of the tab, which is visualized by the view, at the time the view has most
+     * recently been bound or the index has been looked up. As the index changes, when tabs are
+     * added or removed, it must be verified before being used.
+     */
+    public int index;
+
 }
\ No newline at end of file
@@ -33,12 +33,14 @@ import static de.mrapp.android.util.Condition.ensureNotNull;
 
 /**
  * A data binder, which allows to asynchronously render preview images of tabs and display them
- * afterwards.
+ * afterwards. The preview images are cached by using the ids of the corresponding tabs as keys.
+ * They are either displayed by an {@link ImageView}, or by a {@link PhoneTabView}, if the views,
+ * which are used to visualize tabs, are flattened.
  *
  * @author Michael Rapp
  * @since 0.1.0
  */
-public class PreviewDataBinder extends AbstractDataBinder<Bitmap, Tab, ImageView, TabItem> {
+public class PreviewDataBinder extends AbstractDataBinder<Bitmap, Long, View, TabItem> {
 
     /**
      * The parent view of the tab switcher, the tabs belong to.
@@ -63,7 +65,7 @@ public class PreviewDataBinder extends AbstractDataBinder<Bitmap, Tab, ImageView
      */
     public PreviewDataBinder(@NonNull final ViewGroup parent,
                              @NonNull final ViewRecycler<Tab, Void> childViewRecycler) {
-        super(parent.getContext(), new LruCache<Tab, Bitmap>(7));
+        super(parent.getContext(), new LruCache<Long, Bitmap>(7));
         ensureNotNull(parent, "The parent may not be null");
         ensureNotNull(childViewRecycler, "The child view recycler may not be null");
         this.parent = parent;
@@ -71,7 +73,7 @@ public class PreviewDataBinder extends AbstractDataBinder<Bitmap, Tab, ImageView
     }
 
     @Override
-    protected final void onPreExecute(@NonNull final ImageView view,
+    protected final void onPreExecute(@NonNull final View view,
                                       @NonNull final TabItem... params) {
         TabItem tabItem = params[0];
         PhoneTabViewHolder viewHolder = tabItem.getViewHolder();
@@ -90,7 +92,7 @@ public class PreviewDataBinder extends AbstractDataBinder<Bitmap, Tab, ImageView
 
     @Nullable
     @Override
-    protected final Bitmap doInBackground(@NonNull final Tab key,
+    protected final Bitmap doInBackground(@NonNull final Long key,
                                           @NonNull final TabItem... params) {
         TabItem tabItem = params[0];
         PhoneTabViewHolder viewHolder = tabItem.getViewHolder();
@@ -108,10 +110,16 @@ public class PreviewDataBinder extends AbstractDataBinder<Bitmap, Tab, ImageView
     }
 
     @Override
-    protected final void onPostExecute(@NonNull final ImageView view, @Nullable final Bitmap data,
+    protected final void onPostExecute(@NonNull final View view, @Nullable final Bitmap data,
                                        @NonNull final TabItem... params) {
-        view.setImageBitmap(data);
-        view.setVisibility(data != null ? View.VISIBLE : View.GONE);
+        if (view instanceof PhoneTabView) {
+            ((PhoneTabView) view).setPreview(data);
+        } else {
+            ImageView imageView = (ImageView) view;
+            imageView.setImageBitmap(data);
+            imageView.setVisibility(data != null ? View.VISIBLE : View.GONE);
+        }
+
         TabItem tabItem = params[0];
         childViewRecycler.remove(tabItem.getTab());
     }
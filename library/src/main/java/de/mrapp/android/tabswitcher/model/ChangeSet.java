@@ -0,0 +1,335 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.mrapp.android.tabswitcher.Animation;
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A change set, which describes the coalesced changes, which have been applied to the tabs of a
+ * {@link TabSwitcher} while a batch was running.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class ChangeSet {
+
+    /**
+     * An array, which contains the tabs, which were contained by the tab switcher, when the batch
+     * has been started.
+     */
+    private final Tab[] previousTabs;
+
+    /**
+     * An array, which contains the tabs, which are contained by the tab switcher, when the batch
+     * has been committed.
+     */
+    private final Tab[] tabs;
+
+    /**
+     * The index of the tab, which was selected, when the batch has been started.
+     */
+    private final int previousSelectedTabIndex;
+
+    /**
+     * The index of the tab, which is selected, when the batch has been committed.
+     */
+    private final int selectedTabIndex;
+
+    /**
+     * True, if the tab switcher was shown, when the batch has been started, false otherwise.
+     */
+    private final boolean switcherShown;
+
+    /**
+     * The animation, which should be used to visualize the changes.
+     */
+    private final Animation animation;
+
+    /**
+     * A map, which contains the previous indices of all tabs, which have been contained by the tab
+     * switcher, when the batch has been started.
+     */
+    private final Map<Tab, Integer> previousIndices;
+
+    /**
+     * A map, which contains the indices of all tabs, which are contained by the tab switcher, when
+     * the batch has been committed.
+     */
+    private final Map<Tab, Integer> indices;
+
+    /**
+     * Creates and returns a map, which maps the tabs, which are contained by a specific array, to
+     * their indices.
+     *
+     * @param tabs
+     *         The array, which contains the tabs, as an array of the type {@link Tab}. The array
+     *         may not be null
+     * @return The map, which has been created, as an instance of the type {@link Map}. The map may
+     * not be null
+     */
+    @NonNull
+    private static Map<Tab, Integer> createIndexMap(@NonNull final Tab[] tabs) {
+        Map<Tab, Integer> map = new HashMap<>(tabs.length);
+
+        for (int i = 0; i < tabs.length; i++) {
+            map.put(tabs[i], i);
+        }
+
+        return map;
+    }
+
+    /**
+     * Creates a new change set, which describes the coalesced changes, which have been applied to
+     * the tabs of a {@link TabSwitcher} while a batch was running.
+     *
+     * @param previousTabs
+     *         An array, which contains the tabs, which were contained by the tab switcher, when the
+     *         batch has been started, as an array of the type {@link Tab}. The array may not be
+     *         null
+     * @param previousSelectedTabIndex
+     *         The index of the tab, which was selected, when the batch has been started, as an
+     *         {@link Integer} value or -1, if no tab was selected
+     * @param switcherShown
+     *         True, if the tab switcher was shown, when the batch has been started, false
+     *         otherwise
+     * @param tabs
+     *         An array, which contains the tabs, which are contained by the tab switcher, when the
+     *         batch has been committed, as an array of the type {@link Tab}. The array may not be
+     *         null
+     * @param selectedTabIndex
+     *         The index of the tab, which is selected, when the batch has been committed, as an
+     *         {@link Integer} value or -1, if no tab is selected
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     */
+    public ChangeSet(@NonNull final Tab[] previousTabs, final int previousSelectedTabIndex,
+                     final boolean switcherShown, @NonNull final Tab[] tabs,
+                     final int selectedTabIndex, @NonNull final Animation animation) {
+        ensureNotNull(previousTabs, "The array may not be null");
+        ensureNotNull(tabs, "The array may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        this.previousTabs = previousTabs;
+        this.previousSelectedTabIndex = previousSelectedTabIndex;
+        this.switcherShown = switcherShown;
+        this.tabs = tabs;
+        this.selectedTabIndex = selectedTabIndex;
+        this.animation = animation;
+        this.previousIndices = createIndexMap(previousTabs);
+        this.indices = createIndexMap(tabs);
+    }
+
+    /**
+     * Returns the tabs, which were contained by the tab switcher, when the batch has been started.
+     *
+     * @return An array, which contains the tabs, which were contained by the tab switcher, when the
+     * batch has been started, as an array of the type {@link Tab}. The array may not be null
+     */
+    @NonNull
+    public final Tab[] getPreviousTabs() {
+        return previousTabs;
+    }
+
+    /**
+     * Returns the tabs, which are contained by the tab switcher, when the batch has been
+     * committed.
+     *
+     * @return An array, which contains the tabs, which are contained by the tab switcher, when the
+     * batch has been committed, as an array of the type {@link Tab}. The array may not be null
+     */
+    @NonNull
+    public final Tab[] getTabs() {
+        return tabs;
+    }
+
+    /**
+     * Returns the tabs, which have been removed while the batch was running.
+     *
+     * @return An array, which contains the tabs, which have been removed, ordered by their previous
+     * indices, as an array of the type {@link Tab} or an empty array, if no tabs have been removed
+     */
+    @NonNull
+    public final Tab[] getRemovedTabs() {
+        List<Tab> result = new ArrayList<>();
+
+        for (Tab tab : previousTabs) {
+            if (!indices.containsKey(tab)) {
+                result.add(tab);
+            }
+        }
+
+        return result.toArray(new Tab[result.size()]);
+    }
+
+    /**
+     * Returns the tabs, which have been added while the batch was running.
+     *
+     * @return An array, which contains the tabs, which have been added, ordered by their indices,
+     * as an array of the type {@link Tab} or an empty array, if no tabs have been added
+     */
+    @NonNull
+    public final Tab[] getAddedTabs() {
+        List<Tab> result = new ArrayList<>();
+
+        for (Tab tab : tabs) {
+            if (!previousIndices.containsKey(tab)) {
+                result.add(tab);
+            }
+        }
+
+        return result.toArray(new Tab[result.size()]);
+    }
+
+    /**
+     * Returns the index of a specific tab, when the batch has been started.
+     *
+     * @param tab
+     *         The tab, whose previous index should be returned, as an instance of the class {@link
+     *         Tab}. The tab may not be null
+     * @return The previous index of the given tab as an {@link Integer} value or -1, if the tab
+     * has been added while the batch was running
+     */
+    public final int getPreviousIndex(@NonNull final Tab tab) {
+        ensureNotNull(tab, "The tab may not be null");
+        Integer index = previousIndices.get(tab);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the index of a specific tab, when the batch has been committed.
+     *
+     * @param tab
+     *         The tab, whose index should be returned, as an instance of the class {@link Tab}. The
+     *         tab may not be null
+     * @return The index of the given tab as an {@link Integer} value or -1, if the tab has been
+     * removed while the batch was running
+     */
+    public final int getIndex(@NonNull final Tab tab) {
+        ensureNotNull(tab, "The tab may not be null");
+        Integer index = indices.get(tab);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the index of the tab, which was selected, when the batch has been started.
+     *
+     * @return The index of the tab, which was selected, when the batch has been started, as an
+     * {@link Integer} value or -1, if no tab was selected
+     */
+    public final int getPreviousSelectedTabIndex() {
+        return previousSelectedTabIndex;
+    }
+
+    /**
+     * Returns the tab, which was selected, when the batch has been started.
+     *
+     * @return The tab, which was selected, when the batch has been started, as an instance of the
+     * class {@link Tab} or null, if no tab was selected
+     */
+    @Nullable
+    public final Tab getPreviousSelectedTab() {
+        return previousSelectedTabIndex != -1 ? previousTabs[previousSelectedTabIndex] : null;
+    }
+
+    /**
+     * Returns the index of the tab, which is selected, when the batch has been committed.
+     *
+     * @return The index of the tab, which is selected, when the batch has been committed, as an
+     * {@link Integer} value or -1, if no tab is selected
+     */
+    public final int getSelectedTabIndex() {
+        return selectedTabIndex;
+    }
+
+    /**
+     * Returns the tab, which is selected, when the batch has been committed.
+     *
+     * @return The tab, which is selected, when the batch has been committed, as an instance of the
+     * class {@link Tab} or null, if no tab is selected
+     */
+    @Nullable
+    public final Tab getSelectedTab() {
+        return selectedTabIndex != -1 ? tabs[selectedTabIndex] : null;
+    }
+
+    /**
+     * Returns, whether the tab switcher was shown, when the batch has been started, or not.
+     *
+     * @return True, if the tab switcher was shown, when the batch has been started, false
+     * otherwise
+     */
+    public final boolean wasSwitcherShown() {
+        return switcherShown;
+    }
+
+    /**
+     * Returns the animation, which should be used to visualize the changes.
+     *
+     * @return The animation, which should be used to visualize the changes, as an instance of the
+     * class {@link Animation}. The animation may not be null
+     */
+    @NonNull
+    public final Animation getAnimation() {
+        return animation;
+    }
+
+    /**
+     * Returns, whether the selection has been changed while the batch was running, or not.
+     *
+     * @return True, if the selection has been changed, false otherwise
+     */
+    public final boolean isSelectionChanged() {
+        return getPreviousSelectedTab() != getSelectedTab();
+    }
+
+    /**
+     * Returns, whether the change set does not contain any changes, i.e. if the tabs and the
+     * selection are the same as when the batch has been started.
+     *
+     * @return True, if the change set does not contain any changes, false otherwise
+     */
+    public final boolean isEmpty() {
+        if (previousTabs.length != tabs.length || isSelectionChanged()) {
+            return false;
+        }
+
+        for (int i = 0; i < tabs.length; i++) {
+            if (previousTabs[i] != tabs[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public final String toString() {
+        return "ChangeSet [previousCount = " + previousTabs.length + ", count = " + tabs.length +
+                ", previousSelectedTabIndex = " + previousSelectedTabIndex +
+                ", selectedTabIndex = " + selectedTabIndex + "]";
+    }
+
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.Pair;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import de.mrapp.android.tabswitcher.Tab;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotEmpty;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A store, which allows to share the icons of {@link Tab}s. Icons are downscaled to a maximum size
+ * and deduplicated by a SHA-1 digest of their content, which identifies them. As the digest only
+ * depends on an icon's content, it is the same in every process and can be persisted along with
+ * the tabs. The icons, which are referenced by tabs, which are contained by a tab switcher, are
+ * counted and kept in memory. All other icons are only weakly referenced.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class IconStore {
+
+    /**
+     * An entry of the store.
+     */
+    private static class Entry {
+
+        /**
+         * A weak reference to the icon.
+         */
+        private WeakReference<Bitmap> reference;
+
+        /**
+         * The icon, if it is referenced by at least one tab, null otherwise.
+         */
+        private Bitmap icon;
+
+        /**
+         * The number of tabs, which reference the icon.
+         */
+        private int references;
+
+        /**
+         * Creates a new entry of the store.
+         *
+         * @param icon
+         *         The icon as an instance of the class {@link Bitmap} or null, if the icon is not
+         *         available yet
+         */
+        Entry(@Nullable final Bitmap icon) {
+            this.reference = new WeakReference<>(icon);
+            this.icon = null;
+            this.references = 0;
+        }
+
+        /**
+         * Returns the icon.
+         *
+         * @return The icon as an instance of the class {@link Bitmap} or null, if the icon is not
+         * available
+         */
+        @Nullable
+        Bitmap getIcon() {
+            return icon != null ? icon : reference.get();
+        }
+
+        /**
+         * Sets the icon, if it is not available.
+         *
+         * @param icon
+         *         The icon, which should be set, as an instance of the class {@link Bitmap}. The
+         *         icon may not be null
+         */
+        void setIconIfAbsent(@NonNull final Bitmap icon) {
+            if (getIcon() == null) {
+                this.reference = new WeakReference<>(icon);
+
+                if (references > 0) {
+                    this.icon = icon;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The quality, which is used to compress icons.
+     */
+    private static final int COMPRESSION_QUALITY = 100;
+
+    /**
+     * The singleton instance of the store.
+     */
+    private static final IconStore INSTANCE = new IconStore();
+
+    /**
+     * A map, which contains the entries of the store, mapped to the digests of their icons.
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * The maximum width and height of icons in pixels.
+     */
+    private int maxSize;
+
+    /**
+     * Downscales a specific icon, if its width or height exceeds the maximum size.
+     *
+     * @param icon
+     *         The icon, which should be downscaled, as an instance of the class {@link Bitmap}.
+     *         The icon may not be null
+     * @return The downscaled icon or the given icon, if it does not exceed the maximum size, as an
+     * instance of the class {@link Bitmap}. The icon may not be null
+     */
+    @NonNull
+    private Bitmap downscale(@NonNull final Bitmap icon) {
+        int width = icon.getWidth();
+        int height = icon.getHeight();
+
+        if (width > maxSize || height > maxSize) {
+            float scale = (float) maxSize / Math.max(width, height);
+            return Bitmap.createScaledBitmap(icon, Math.max(1, Math.round(width * scale)),
+                    Math.max(1, Math.round(height * scale)), true);
+        }
+
+        return icon;
+    }
+
+    /**
+     * Returns a copy of a specific icon, which is stored in software, if the icon is stored in
+     * graphics memory only. The pixels of such an icon cannot be accessed.
+     *
+     * @param icon
+     *         The icon, which should be copied, as an instance of the class {@link Bitmap}. The
+     *         icon may not be null
+     * @return The copy of the given icon or the given icon, if it is not stored in graphics memory
+     * only, as an instance of the class {@link Bitmap}. The icon may not be null
+     */
+    @NonNull
+    private static Bitmap toSoftwareBitmap(@NonNull final Bitmap icon) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O &&
+                icon.getConfig() == Bitmap.Config.HARDWARE) {
+            return icon.copy(Bitmap.Config.ARGB_8888, false);
+        }
+
+        return icon;
+    }
+
+    /**
+     * Calculates the digest of a specific icon's content.
+     *
+     * @param icon
+     *         The icon, whose digest should be calculated, as an instance of the class {@link
+     *         Bitmap}. The icon may not be null and it must not be stored in graphics memory only
+     * @return The digest of the given icon as a hexadecimal {@link String}. The digest may neither
+     * be null, nor empty
+     */
+    @NonNull
+    private static String digest(@NonNull final Bitmap icon) {
+        ByteBuffer pixels = ByteBuffer.allocate(icon.getRowBytes() * icon.getHeight());
+        icon.copyPixelsToBuffer(pixels);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(ByteBuffer.allocate(8).putInt(icon.getWidth()).putInt(icon.getHeight())
+                    .array());
+            digest.update(pixels.array());
+            StringBuilder builder = new StringBuilder();
+
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to calculate digest", e);
+        }
+    }
+
+    /**
+     * Creates a new store, which allows to share the icons of tabs.
+     */
+    private IconStore() {
+        this.entries = new HashMap<>();
+        this.maxSize = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the singleton instance of the store.
+     *
+     * @return The singleton instance of the store as an instance of the class {@link IconStore}.
+     * The instance may not be null
+     */
+    @NonNull
+    public static IconStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Compresses a specific icon in a lossless format.
+     *
+     * @param icon
+     *         The icon, which should be compressed, as an instance of the class {@link Bitmap}.
+     *         The icon may not be null
+     * @return The compressed icon as a {@link Byte} array. The array may not be null
+     */
+    @NonNull
+    public static byte[] compress(@NonNull final Bitmap icon) {
+        ensureNotNull(icon, "The icon may not be null");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        icon.compress(Bitmap.CompressFormat.PNG, COMPRESSION_QUALITY, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decompresses a specific icon, which has been compressed by the method
+     * <code>compress</code>.
+     *
+     * @param data
+     *         The compressed icon as a {@link Byte} array. The array may not be null
+     * @return The decompressed icon as an instance of the class {@link Bitmap} or null, if the
+     * icon could not be decompressed
+     */
+    @Nullable
+    public static Bitmap decompress(@NonNull final byte[] data) {
+        ensureNotNull(data, "The data may not be null");
+        return BitmapFactory.decodeByteArray(data, 0, data.length);
+    }
+
+    /**
+     * Sets the maximum width and height of icons. Icons, which are added subsequently, are
+     * downscaled, if they exceed this size.
+     *
+     * @param maxSize
+     *         The maximum size, which should be set, in pixels as an {@link Integer} value. The
+     *         maximum size must be at least 1
+     */
+    public final synchronized void setMaxSize(final int maxSize) {
+        ensureAtLeast(maxSize, 1, "The maximum size must be at least 1");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the maximum width and height of icons.
+     *
+     * @return The maximum width and height of icons in pixels as an {@link Integer} value
+     */
+    public final synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Adds a specific icon to the store. The icon is downscaled, if necessary, and copied, if it
+     * is stored in graphics memory only. If an icon with the same content is already contained by
+     * the store, it is reused.
+     *
+     * @param icon
+     *         The icon, which should be added, as an instance of the class {@link Bitmap}. The icon
+     *         may not be null
+     * @return A pair, which contains the digest of the icon, as well as the icon, which is
+     * contained by the store, as an instance of the class {@link Pair}. The pair may not be null
+     */
+    @NonNull
+    public final synchronized Pair<String, Bitmap> add(@NonNull final Bitmap icon) {
+        ensureNotNull(icon, "The icon may not be null");
+        Bitmap scaledIcon = toSoftwareBitmap(downscale(icon));
+        String digest = digest(scaledIcon);
+        Entry entry = entries.get(digest);
+
+        if (entry == null) {
+            trim();
+            entries.put(digest, new Entry(scaledIcon));
+            return Pair.create(digest, scaledIcon);
+        }
+
+        entry.setIconIfAbsent(scaledIcon);
+        return Pair.create(digest, entry.getIcon());
+    }
+
+    /**
+     * Adds a specific icon with a specific digest to the store, e.g. after it has been restored.
+     * If the store already contains an icon with the given digest, it is retained.
+     *
+     * @param digest
+     *         The digest of the icon as a {@link String}. The digest may neither be null, nor
+     *         empty
+     * @param icon
+     *         The icon, which should be added, as an instance of the class {@link Bitmap}. The icon
+     *         may not be null
+     */
+    public final synchronized void put(@NonNull final String digest, @NonNull final Bitmap icon) {
+        ensureNotNull(digest, "The digest may not be null");
+        ensureNotEmpty(digest, "The digest may not be empty");
+        ensureNotNull(icon, "The icon may not be null");
+        Entry entry = entries.get(digest);
+
+        if (entry == null) {
+            entries.put(digest, new Entry(icon));
+        } else {
+            entry.setIconIfAbsent(icon);
+        }
+    }
+
+    /**
+     * Returns the icon with a specific digest.
+     *
+     * @param digest
+     *         The digest of the icon, which should be returned, as a {@link String} or null, if no
+     *         icon is set
+     * @return The icon with the given digest as an instance of the class {@link Bitmap} or null,
+     * if the store does not contain such an icon
+     */
+    @Nullable
+    public final synchronized Bitmap get(@Nullable final String digest) {
+        Entry entry = digest != null ? entries.get(digest) : null;
+        return entry != null ? entry.getIcon() : null;
+    }
+
+    /**
+     * Increments the number of references to the icon with a specific digest. As long as an icon
+     * is referenced, it is kept in memory.
+     *
+     * @param digest
+     *         The digest of the icon as a {@link String} or null, if no icon is set
+     * @param icon
+     *         The icon as an instance of the class {@link Bitmap} or null, if the icon is not
+     *         available yet
+     */
+    public final synchronized void acquire(@Nullable final String digest,
+                                           @Nullable final Bitmap icon) {
+        if (digest != null) {
+            Entry entry = entries.get(digest);
+
+            if (entry == null) {
+                entry = new Entry(icon);
+                entries.put(digest, entry);
+            } else if (icon != null) {
+                entry.setIconIfAbsent(icon);
+            }
+
+            entry.references++;
+            entry.icon = entry.getIcon();
+        }
+    }
+
+    /**
+     * Decrements the number of references to the icon with a specific digest. If the icon is not
+     * referenced anymore, it is only weakly referenced by the store.
+     *
+     * @param digest
+     *         The digest of the icon as a {@link String} or null, if no icon is set
+     */
+    public final synchronized void release(@Nullable final String digest) {
+        Entry entry = digest != null ? entries.get(digest) : null;
+
+        if (entry != null && entry.references > 0) {
+            entry.references--;
+
+            if (entry.references == 0) {
+                entry.icon = null;
+
+                if (entry.reference.get() == null) {
+                    entries.remove(digest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the icons of specific tabs, which are set as bitmaps.
+     *
+     * @param tabs
+     *         The tabs, whose icons should be returned, as an instance of the type {@link
+     *         Iterable}. The tabs may not be null
+     * @return A map, which contains the icons of the given tabs, mapped to their digests, as an
+     * instance of the type {@link Map}. The map may not be null
+     */
+    @NonNull
+    public final Map<String, Bitmap> getIcons(@NonNull final Iterable<Tab> tabs) {
+        ensureNotNull(tabs, "The tabs may not be null");
+        Map<String, Bitmap> icons = new HashMap<>();
+
+        for (Tab tab : tabs) {
+            String[] digests = new String[]{tab.getIconDigest(), tab.getCloseButtonIconDigest()};
+
+            for (String digest : digests) {
+                if (digest != null && !icons.containsKey(digest)) {
+                    Bitmap icon = get(digest);
+
+                    if (icon != null) {
+                        icons.put(digest, icon);
+                    }
+                }
+            }
+        }
+
+        return icons;
+    }
+
+    /**
+     * Removes all entries, whose icons are neither referenced, nor available anymore.
+     */
+    public final synchronized void trim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+
+            if (entry.references == 0 && entry.getIcon() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+}
@@ -26,7 +26,9 @@ import android.support.annotation.StringRes;
 import android.support.v7.widget.Toolbar.OnMenuItemClickListener;
 import android.view.View.OnClickListener;
 
+import java.io.File;
 import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import de.mrapp.android.tabswitcher.Animation;
@@ -179,6 +181,60 @@ public interface Model extends Iterable<Tab> {
          */
         void onAllTabsRemoved(@NonNull Tab[] tabs, @NonNull Animation animation);
 
+        /**
+         * The method, which is invoked, when multiple tabs have been removed from the model at
+         * once.
+         *
+         * @param indices
+         *         An array, which contains the previous indices of the tabs, which have been
+         *         removed, in ascending order, as an {@link Integer} array. The array may not be
+         *         null
+         * @param tabs
+         *         An array, which contains the tabs, which have been removed, in the same order as
+         *         their indices, as an array of the type {@link Tab}. The array may not be null
+         * @param previousSelectedTabIndex
+         *         The index of the previously selected tab as an {@link Integer} value or -1, if no
+         *         tab was selected
+         * @param selectedTabIndex
+         *         The index of the currently selected tab as an {@link Integer} value or -1, if the
+         *         tab switcher does not contain any tabs
+         * @param animation
+         *         The animation, which has been used to remove the tabs, as an instance of the
+         *         class {@link Animation}. The animation may not be null
+         */
+        void onTabsRemoved(@NonNull int[] indices, @NonNull Tab[] tabs,
+                           int previousSelectedTabIndex, int selectedTabIndex,
+                           @NonNull Animation animation);
+
+        /**
+         * The method, which is invoked, when a tab has been moved to another index.
+         *
+         * @param previousIndex
+         *         The previous index of the tab, which has been moved, as an {@link Integer} value
+         * @param index
+         *         The index, the tab has been moved to, as an {@link Integer} value
+         * @param tab
+         *         The tab, which has been moved, as an instance of the class {@link Tab}. The tab
+         *         may not be null
+         * @param previousSelectedTabIndex
+         *         The previous index of the selected tab as an {@link Integer} value
+         * @param selectedTabIndex
+         *         The current index of the selected tab as an {@link Integer} value
+         */
+        void onTabMoved(int previousIndex, int index, @NonNull Tab tab,
+                        int previousSelectedTabIndex, int selectedTabIndex);
+
+        /**
+         * The method, which is invoked, when a batch has been committed. It replaces the
+         * notifications about all tabs, which have been added or removed, as well as about
+         * selection changes, which occurred while the batch was running.
+         *
+         * @param changeSet
+         *         The change set, which describes the coalesced changes, as an instance of the
+         *         class {@link ChangeSet}. The change set may not be null
+         */
+        void onBatchCommitted(@NonNull ChangeSet changeSet);
+
         /**
          * The method, which is invoked, when the padding has been changed.
          *
@@ -309,6 +365,150 @@ public interface Model extends Iterable<Tab> {
      */
     TabSwitcherDecorator getDecorator();
 
+    /**
+     * Sets the maximum total size of the saved instance states of the child views of tabs, which
+     * are kept in memory. If the size is exceeded, the least recently used states are evicted.
+     *
+     * @param maxSize
+     *         The maximum size, which should be set, in bytes as an {@link Integer} value. The
+     *         maximum size must be at least 1
+     */
+    void setChildStateCacheSize(int maxSize);
+
+    /**
+     * Returns the maximum total size of the saved instance states of the child views of tabs,
+     * which are kept in memory.
+     *
+     * @return The maximum total size of the saved instance states of the child views of tabs, which
+     * are kept in memory, in bytes as an {@link Integer} value
+     */
+    int getChildStateCacheSize();
+
+    /**
+     * Sets the directory, saved instance states of the child views of tabs, which are evicted from
+     * memory, should be written to.
+     *
+     * @param directory
+     *         The directory, which should be set, as an instance of the class {@link File} or null,
+     *         if evicted states should be discarded
+     */
+    void setChildStateSpillDirectory(@Nullable File directory);
+
+    /**
+     * Returns the directory, saved instance states of the child views of tabs, which are evicted
+     * from memory, are written to.
+     *
+     * @return The directory, saved instance states of the child views of tabs, which are evicted
+     * from memory, are written to, as an instance of the class {@link File} or null, if evicted
+     * states are discarded
+     */
+    @Nullable
+    File getChildStateSpillDirectory();
+
+    /**
+     * Sets the file, the tabs and the saved instance states of the child views of tabs should be
+     * written to, when the state of the tab switcher is saved. If a file is set, the session is
+     * written asynchronously in a compact binary format and the saved state only refers to the file
+     * by its path and a version. Otherwise, the session is stored within the saved state.
+     *
+     * @param file
+     *         The file, which should be set, as an instance of the class {@link File} or null, if
+     *         the session should be stored within the saved state
+     */
+    void setSessionFile(@Nullable File file);
+
+    /**
+     * Returns the file, the tabs and the saved instance states of the child views of tabs are
+     * written to, when the state of the tab switcher is saved.
+     *
+     * @return The file, the session is written to, as an instance of the class {@link File} or
+     * null, if the session is stored within the saved state
+     */
+    @Nullable
+    File getSessionFile();
+
+    /**
+     * Sets the directory, which should contain a journal, which records the mutations of the tabs.
+     * Each mutation is appended to the journal on a background thread, which allows to recover the
+     * tabs after the process has been killed, even if the state of the tab switcher has not been
+     * saved. The journal is only written, while the tab switcher is attached to a window. When
+     * it is opened, a previously written journal is replayed on a background thread and the
+     * recovered tabs are added, if the tab switcher does not contain any tabs at that time.
+     *
+     * @param directory
+     *         The directory, which should be set, as an instance of the class {@link File} or null,
+     *         if no journal should be written
+     */
+    void setJournalDirectory(@Nullable File directory);
+
+    /**
+     * Returns the directory, which contains the journal, which records the mutations of the tabs.
+     *
+     * @return The directory, which contains the journal, as an instance of the class {@link File}
+     * or null, if no journal is written
+     */
+    @Nullable
+    File getJournalDirectory();
+
+    /**
+     * Sets, whether the views, which are used to visualize tabs, should be flattened, or not. If
+     * the views are flattened, each tab is visualized by a single view, which draws the tab's
+     * title, icon, close button and preview itself, instead of a hierarchy of nested views. This
+     * reduces the time, which is needed to inflate, measure, layout and draw the tabs. Changing
+     * this property causes the layout of the tab switcher to be inflated again.
+     *
+     * @param flattened
+     *         True, if the views should be flattened, false otherwise
+     */
+    void setTabViewsFlattened(boolean flattened);
+
+    /**
+     * Returns, whether the views, which are used to visualize tabs, are flattened, or not.
+     *
+     * @return True, if the views are flattened, false otherwise
+     */
+    boolean areTabViewsFlattened();
+
+    /**
+     * Sets the number of views, which are used to visualize tabs, which should be created in
+     * advance. The views are created while the main thread is idle, after the layout of the tab
+     * switcher has been inflated. Views, which are inflated from a layout resource, are inflated
+     * on a background thread. This prevents the views from being inflated, when the tab switcher is
+     * shown for the first time.
+     *
+     * @param count
+     *         The number of views, which should be set, as an {@link Integer} value. The number
+     *         must be at least 0
+     */
+    void setPrewarmedTabViewCount(int count);
+
+    /**
+     * Returns the number of views, which are used to visualize tabs, which are created in
+     * advance.
+     *
+     * @return The number of views, which are created in advance, as an {@link Integer} value
+     */
+    int getPrewarmedTabViewCount();
+
+    /**
+     * Sets, whether touch events, which move a drag gesture, should be coalesced, or not. If
+     * coalesced, the positions of the tabs are updated only once per frame, regardless of how
+     * many touch events have been received in the meantime. Velocity tracking still takes all
+     * touch events, including their historical samples, into account. By default, touch events
+     * are not coalesced.
+     *
+     * @param coalesced
+     *         True, if touch events should be coalesced, false otherwise
+     */
+    void setTouchEventsCoalesced(boolean coalesced);
+
+    /**
+     * Returns, whether touch events, which move a drag gesture, are coalesced, or not.
+     *
+     * @return True, if touch events are coalesced, false otherwise
+     */
+    boolean areTouchEventsCoalesced();
+
     /**
      * Returns the log level, which is used for logging.
      *
@@ -366,6 +566,17 @@ public interface Model extends Iterable<Tab> {
      */
     int indexOf(@NonNull Tab tab);
 
+    /**
+     * Returns the tab, which corresponds to a specific id.
+     *
+     * @param id
+     *         The id of the tab, which should be returned, as a {@link Long} value
+     * @return The tab, which corresponds to the given id, as an instance of the class {@link Tab}
+     * or null, if no tab with the given id is contained by the tab switcher
+     */
+    @Nullable
+    Tab getTabById(long id);
+
     /**
      * Adds a new tab to the tab switcher. By default, the tab is added at the end. If the switcher
      * is currently shown, the tab is added by using an animation. By default, a {@link
@@ -538,6 +749,112 @@ public interface Model extends Iterable<Tab> {
      */
     void removeTab(@NonNull Tab tab, @NonNull Animation animation);
 
+    /**
+     * Removes multiple tabs from the tab switcher at once. If the switcher is currently shown, the
+     * tabs are removed by using an animation and the remaining tabs are relocated only once. By
+     * default, a {@link SwipeAnimation} with direction {@link SwipeDirection#RIGHT} is used. If an
+     * animation is currently running, the tabs will be removed once all previously started
+     * animations have been finished.
+     *
+     * @param tabs
+     *         A collection, which contains the tabs, which should be removed, as an instance of the
+     *         type {@link Collection} or an empty collection, if no tabs should be removed
+     */
+    void removeAllTabs(@NonNull Collection<? extends Tab> tabs);
+
+    /**
+     * Removes multiple tabs from the tab switcher at once. If the switcher is currently shown, the
+     * tabs are removed by using a specific animation and the remaining tabs are relocated only
+     * once. If an animation is currently running, the tabs will be removed once all previously
+     * started animations have been finished.
+     *
+     * @param tabs
+     *         A collection, which contains the tabs, which should be removed, as an instance of the
+     *         type {@link Collection} or an empty collection, if no tabs should be removed
+     * @param animation
+     *         The animation, which should be used to remove the tabs, as an instance of the class
+     *         {@link Animation}. The animation may not be null
+     */
+    void removeAllTabs(@NonNull Collection<? extends Tab> tabs, @NonNull Animation animation);
+
+    /**
+     * Removes multiple tabs from the tab switcher at once. If the switcher is currently shown, the
+     * tabs are removed by using an animation and the remaining tabs are relocated only once. By
+     * default, a {@link SwipeAnimation} with direction {@link SwipeDirection#RIGHT} is used. If an
+     * animation is currently running, the tabs will be removed once all previously started
+     * animations have been finished.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which should be removed, as an array of the type
+     *         {@link Tab} or an empty array, if no tabs should be removed
+     */
+    void removeAllTabs(@NonNull Tab[] tabs);
+
+    /**
+     * Removes multiple tabs from the tab switcher at once. If the switcher is currently shown, the
+     * tabs are removed by using a specific animation and the remaining tabs are relocated only
+     * once. If an animation is currently running, the tabs will be removed once all previously
+     * started animations have been finished.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which should be removed, as an array of the type
+     *         {@link Tab} or an empty array, if no tabs should be removed
+     * @param animation
+     *         The animation, which should be used to remove the tabs, as an instance of the class
+     *         {@link Animation}. The animation may not be null
+     */
+    void removeAllTabs(@NonNull Tab[] tabs, @NonNull Animation animation);
+
+    /**
+     * Moves a specific tab to another index. The tab keeps its view, preview and saved state. If
+     * the switcher is currently shown, all affected tabs are relocated by using a single animation.
+     * If an animation is currently running, the tab will be moved once all previously started
+     * animations have been finished.
+     *
+     * @param tab
+     *         The tab, which should be moved, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     * @param index
+     *         The index, the tab should be moved to, as an {@link Integer} value. The index must be
+     *         at least 0 and at maximum <code>getCount() - 1</code>, otherwise an {@link
+     *         IndexOutOfBoundsException} will be thrown
+     */
+    void moveTab(@NonNull Tab tab, int index);
+
+    /**
+     * Replaces the tabs of the tab switcher with the tabs, which are contained by a specific list.
+     * Only the tabs, which are not contained by the list, are removed, only the tabs, which are
+     * not yet contained by the tab switcher, are added and only a minimal number of tabs is moved.
+     * All changes are visualized at once by using an animation. By default, a {@link
+     * SwipeAnimation} with direction {@link SwipeDirection#RIGHT} is used. If an animation is
+     * currently running, the tabs will be replaced once all previously started animations have
+     * been finished.
+     *
+     * @param tabs
+     *         A list, which contains the tabs, which should be contained by the tab switcher, as an
+     *         instance of the type {@link List}. The list may neither be null, nor contain any null
+     *         items or duplicates
+     */
+    void setTabs(@NonNull List<? extends Tab> tabs);
+
+    /**
+     * Replaces the tabs of the tab switcher with the tabs, which are contained by a specific list.
+     * Only the tabs, which are not contained by the list, are removed, only the tabs, which are
+     * not yet contained by the tab switcher, are added and only a minimal number of tabs is moved.
+     * All changes are visualized at once by using a specific animation. If an animation is
+     * currently running, the tabs will be replaced once all previously started animations have
+     * been finished.
+     *
+     * @param tabs
+     *         A list, which contains the tabs, which should be contained by the tab switcher, as an
+     *         instance of the type {@link List}. The list may neither be null, nor contain any null
+     *         items or duplicates
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     */
+    void setTabs(@NonNull List<? extends Tab> tabs, @NonNull Animation animation);
+
     /**
      * Removes all tabs from the tab switcher. If the switcher is currently shown, the tabs are
      * removed by using an animation. By default, a {@link SwipeAnimation} with direction
@@ -557,6 +874,57 @@ public interface Model extends Iterable<Tab> {
      */
     void clear(@NonNull Animation animation);
 
+    /**
+     * Starts a batch. While a batch is running, tabs, which are added or removed, as well as
+     * selection changes, are applied to the tab switcher immediately, but their visualization is
+     * deferred until the batch is committed. Batches may be nested. In such case, the changes are
+     * visualized once the outermost batch is committed.
+     */
+    void beginBatch();
+
+    /**
+     * Commits the currently running batch. All changes, which have been applied while the batch
+     * was running, are visualized at once by using an animation. By default, a {@link
+     * SwipeAnimation} with direction {@link SwipeDirection#RIGHT} is used. If no batch is running,
+     * an {@link IllegalStateException} will be thrown.
+     */
+    void commitBatch();
+
+    /**
+     * Commits the currently running batch. All changes, which have been applied while the batch
+     * was running, are visualized at once by using a specific animation. If no batch is running,
+     * an {@link IllegalStateException} will be thrown.
+     *
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     */
+    void commitBatch(@NonNull Animation animation);
+
+    /**
+     * Runs a specific runnable within a batch. All changes, which are applied by the runnable, are
+     * visualized at once by using an animation. By default, a {@link SwipeAnimation} with direction
+     * {@link SwipeDirection#RIGHT} is used.
+     *
+     * @param runnable
+     *         The runnable, which should be run, as an instance of the type {@link Runnable}. The
+     *         runnable may not be null
+     */
+    void runInBatch(@NonNull Runnable runnable);
+
+    /**
+     * Runs a specific runnable within a batch. All changes, which are applied by the runnable, are
+     * visualized at once by using a specific animation.
+     *
+     * @param runnable
+     *         The runnable, which should be run, as an instance of the type {@link Runnable}. The
+     *         runnable may not be null
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     */
+    void runInBatch(@NonNull Runnable runnable, @NonNull Animation animation);
+
     /**
      * Returns, whether the tab switcher is currently shown.
      *
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import de.mrapp.android.tabswitcher.Animation;
+import de.mrapp.android.tabswitcher.SwipeAnimation;
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A queue, which contains the actions, which have been requested while a {@link TabSwitcher} was
+ * running an animation and must therefore be executed later. The queue knows the types of the
+ * actions, which allows to merge an action with the action, which has been enqueued directly
+ * before. Adjacent additions of tabs at consecutive indices are merged into a single addition, if
+ * they use the same swipe animation or the default animation, because other animations cannot be
+ * used to add multiple tabs at once. Adjacent removals are merged into a single removal, adjacent
+ * selections are collapsed to the latest one and adjacent changes of the switcher's visibility are
+ * collapsed to their net effect. This allows a burst of actions to be visualized by a single
+ * animation.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class PendingActionQueue {
+
+    /**
+     * An abstract base class for all actions, which can be contained by the queue.
+     */
+    private abstract static class Action implements Runnable {
+
+        /**
+         * Merges a specific action, which has been enqueued directly after this action, into this
+         * action, if possible.
+         *
+         * @param action
+         *         The action, which should be merged, as an instance of the class {@link Action}.
+         *         The action may not be null
+         * @return True, if the action has been merged, false otherwise
+         */
+        boolean merge(@NonNull final Action action) {
+            return false;
+        }
+
+    }
+
+    /**
+     * An action, which executes an arbitrary runnable. It cannot be merged with other actions.
+     */
+    private static class RunnableAction extends Action {
+
+        /**
+         * The runnable, which is executed by the action.
+         */
+        private final Runnable runnable;
+
+        /**
+         * Creates a new action, which executes an arbitrary runnable.
+         *
+         * @param runnable
+         *         The runnable, which should be executed, as an instance of the type {@link
+         *         Runnable}. The runnable may not be null
+         */
+        RunnableAction(@NonNull final Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+
+    }
+
+    /**
+     * An action, which adds one or several tabs at consecutive indices.
+     */
+    private class AddAction extends Action {
+
+        /**
+         * A list, which contains the tabs, which should be added.
+         */
+        private final List<Tab> tabs;
+
+        /**
+         * The index, the tabs should be added at, or -1, if they should be added at the end.
+         */
+        private final int index;
+
+        /**
+         * The animation, which should be used to add the tabs, or null, if the default animation
+         * should be used.
+         */
+        private final Animation animation;
+
+        /**
+         * Creates a new action, which adds one or several tabs at consecutive indices.
+         *
+         * @param tabs
+         *         A list, which contains the tabs, which should be added, as an instance of the
+         *         type {@link List}. The list may not be null
+         * @param index
+         *         The index, the tabs should be added at, as an {@link Integer} value or -1, if the
+         *         tabs should be added at the end
+         * @param animation
+         *         The animation, which should be used to add the tabs, as an instance of the class
+         *         {@link Animation} or null, if the default animation should be used
+         */
+        AddAction(@NonNull final List<Tab> tabs, final int index,
+                  @Nullable final Animation animation) {
+            this.tabs = tabs;
+            this.index = index;
+            this.animation = animation;
+        }
+
+        @Override
+        boolean merge(@NonNull final Action action) {
+            if (action instanceof AddAction) {
+                AddAction addAction = (AddAction) action;
+
+                if (addAction.animation == animation &&
+                        (animation == null || animation instanceof SwipeAnimation) &&
+                        (index == -1 ? addAction.index == -1 :
+                                addAction.index == index + tabs.size())) {
+                    tabs.addAll(addAction.tabs);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public void run() {
+            int addIndex = index != -1 ? index : model.getCount();
+
+            if (tabs.size() == 1) {
+                if (animation != null) {
+                    model.addTab(tabs.get(0), addIndex, animation);
+                } else {
+                    model.addTab(tabs.get(0), addIndex);
+                }
+            } else {
+                Tab[] array = new Tab[tabs.size()];
+                tabs.toArray(array);
+
+                if (animation != null) {
+                    model.addAllTabs(array, addIndex, animation);
+                } else {
+                    model.addAllTabs(array, addIndex);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * An action, which removes one or several tabs.
+     */
+    private class RemoveAction extends Action {
+
+        /**
+         * A list, which contains the tabs, which should be removed.
+         */
+        private final List<Tab> tabs;
+
+        /**
+         * The animation, which should be used to remove the tabs, or null, if the default
+         * animation should be used.
+         */
+        private final Animation animation;
+
+        /**
+         * Creates a new action, which removes one or several tabs.
+         *
+         * @param tabs
+         *         A list, which contains the tabs, which should be removed, as an instance of the
+         *         type {@link List}. The list may not be null
+         * @param animation
+         *         The animation, which should be used to remove the tabs, as an instance of the
+         *         class {@link Animation} or null, if the default animation should be used
+         */
+        RemoveAction(@NonNull final List<Tab> tabs, @Nullable final Animation animation) {
+            this.tabs = tabs;
+            this.animation = animation;
+        }
+
+        @Override
+        boolean merge(@NonNull final Action action) {
+            if (action instanceof RemoveAction) {
+                RemoveAction removeAction = (RemoveAction) action;
+
+                if (removeAction.animation == animation) {
+                    tabs.addAll(removeAction.tabs);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public void run() {
+            if (tabs.size() == 1) {
+                if (animation != null) {
+                    model.removeTab(tabs.get(0), animation);
+                } else {
+                    model.removeTab(tabs.get(0));
+                }
+            } else {
+                Tab[] array = new Tab[tabs.size()];
+                tabs.toArray(array);
+
+                if (animation != null) {
+                    model.removeAllTabs(array, animation);
+                } else {
+                    model.removeAllTabs(array);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * An action, which selects a tab.
+     */
+    private class SelectAction extends Action {
+
+        /**
+         * The tab, which should be selected.
+         */
+        private Tab tab;
+
+        /**
+         * Creates a new action, which selects a tab.
+         *
+         * @param tab
+         *         The tab, which should be selected, as an instance of the class {@link Tab}. The
+         *         tab may not be null
+         */
+        SelectAction(@NonNull final Tab tab) {
+            this.tab = tab;
+        }
+
+        @Override
+        boolean merge(@NonNull final Action action) {
+            if (action instanceof SelectAction) {
+                tab = ((SelectAction) action).tab;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void run() {
+            model.selectTab(tab);
+        }
+
+    }
+
+    /**
+     * An action, which shows, hides or toggles the visibility of the switcher.
+     */
+    private class VisibilityAction extends Action {
+
+        /**
+         * The mode of the action. It is either {@link #SHOW}, {@link #HIDE}, {@link #TOGGLE} or
+         * {@link #NONE}.
+         */
+        private int mode;
+
+        /**
+         * Creates a new action, which shows, hides or toggles the visibility of the switcher.
+         *
+         * @param mode
+         *         The mode of the action as an {@link Integer} value. The mode must either be
+         *         {@link #SHOW}, {@link #HIDE} or {@link #TOGGLE}
+         */
+        VisibilityAction(final int mode) {
+            this.mode = mode;
+        }
+
+        @Override
+        boolean merge(@NonNull final Action action) {
+            if (action instanceof VisibilityAction) {
+                int otherMode = ((VisibilityAction) action).mode;
+
+                if (otherMode != TOGGLE) {
+                    mode = otherMode;
+                } else if (mode == SHOW) {
+                    mode = HIDE;
+                } else if (mode == HIDE) {
+                    mode = SHOW;
+                } else {
+                    mode = mode == TOGGLE ? NONE : TOGGLE;
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void run() {
+            if (mode == SHOW) {
+                model.showSwitcher();
+            } else if (mode == HIDE) {
+                model.hideSwitcher();
+            } else if (mode == TOGGLE) {
+                model.toggleSwitcherVisibility();
+            }
+        }
+
+    }
+
+    /**
+     * The mode of an action, which does not change the visibility of the switcher.
+     */
+    private static final int NONE = 0;
+
+    /**
+     * The mode of an action, which shows the switcher.
+     */
+    private static final int SHOW = 1;
+
+    /**
+     * The mode of an action, which hides the switcher.
+     */
+    private static final int HIDE = 2;
+
+    /**
+     * The mode of an action, which toggles the visibility of the switcher.
+     */
+    private static final int TOGGLE = 3;
+
+    /**
+     * The model, the actions are applied to.
+     */
+    private final Model model;
+
+    /**
+     * A list, which contains the pending actions in the order of their execution.
+     */
+    private final LinkedList<Action> actions;
+
+    /**
+     * Adds a specific action to the end of the queue or merges it with the last action, if
+     * possible.
+     *
+     * @param action
+     *         The action, which should be added, as an instance of the class {@link Action}. The
+     *         action may not be null
+     */
+    private void enqueue(@NonNull final Action action) {
+        Action last = actions.peekLast();
+
+        if (last == null || !last.merge(action)) {
+            actions.add(action);
+        }
+    }
+
+    /**
+     * Creates a new queue, which contains the actions, which must be executed later.
+     *
+     * @param model
+     *         The model, the actions should be applied to, as an instance of the type {@link
+     *         Model}. The model may not be null
+     */
+    public PendingActionQueue(@NonNull final Model model) {
+        ensureNotNull(model, "The model may not be null");
+        this.model = model;
+        this.actions = new LinkedList<>();
+    }
+
+    /**
+     * Enqueues an arbitrary action, which cannot be merged with other actions.
+     *
+     * @param action
+     *         The action, which should be enqueued, as an instance of the type {@link Runnable}.
+     *         The action may not be null
+     */
+    public final void add(@NonNull final Runnable action) {
+        ensureNotNull(action, "The action may not be null");
+        enqueue(new RunnableAction(action));
+    }
+
+    /**
+     * Adds an arbitrary action to the front of the queue, which causes it to be executed before
+     * all other pending actions. The action is never merged with other actions.
+     *
+     * @param action
+     *         The action, which should be added, as an instance of the type {@link Runnable}. The
+     *         action may not be null
+     */
+    public final void addFirst(@NonNull final Runnable action) {
+        ensureNotNull(action, "The action may not be null");
+        actions.addFirst(new RunnableAction(action));
+    }
+
+    /**
+     * Enqueues an action, which adds specific tabs.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which should be added, as an array of the type
+     *         {@link Tab}. The array may not be null
+     * @param index
+     *         The index, the tabs should be added at, as an {@link Integer} value or -1, if the
+     *         tabs should be added at the end
+     * @param animation
+     *         The animation, which should be used to add the tabs, as an instance of the class
+     *         {@link Animation} or null, if the default animation should be used
+     */
+    public final void addTabs(@NonNull final Tab[] tabs, final int index,
+                              @Nullable final Animation animation) {
+        ensureNotNull(tabs, "The array may not be null");
+        enqueue(new AddAction(new ArrayList<>(Arrays.asList(tabs)), index, animation));
+    }
+
+    /**
+     * Enqueues an action, which removes specific tabs.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which should be removed, as an array of the type
+     *         {@link Tab}. The array may not be null
+     * @param animation
+     *         The animation, which should be used to remove the tabs, as an instance of the class
+     *         {@link Animation} or null, if the default animation should be used
+     */
+    public final void removeTabs(@NonNull final Tab[] tabs, @Nullable final Animation animation) {
+        ensureNotNull(tabs, "The array may not be null");
+        enqueue(new RemoveAction(new ArrayList<>(Arrays.asList(tabs)), animation));
+    }
+
+    /**
+     * Enqueues an action, which selects a specific tab.
+     *
+     * @param tab
+     *         The tab, which should be selected, as an instance of the class {@link Tab}. The tab
+     *         may not be null
+     */
+    public final void selectTab(@NonNull final Tab tab) {
+        ensureNotNull(tab, "The tab may not be null");
+        enqueue(new SelectAction(tab));
+    }
+
+    /**
+     * Enqueues an action, which shows the switcher.
+     */
+    public final void showSwitcher() {
+        enqueue(new VisibilityAction(SHOW));
+    }
+
+    /**
+     * Enqueues an action, which hides the switcher.
+     */
+    public final void hideSwitcher() {
+        enqueue(new VisibilityAction(HIDE));
+    }
+
+    /**
+     * Enqueues an action, which toggles the visibility of the switcher.
+     */
+    public final void toggleSwitcherVisibility() {
+        enqueue(new VisibilityAction(TOGGLE));
+    }
+
+    /**
+     * Removes the next action from the queue and returns it.
+     *
+     * @return The action, which has been removed, as an instance of the type {@link Runnable} or
+     * null, if the queue is empty
+     */
+    @Nullable
+    public final Runnable poll() {
+        return actions.poll();
+    }
+
+}
@@ -0,0 +1,687 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.content.res.ColorStateList;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.SparseArray;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.util.logging.LogLevel;
+import de.mrapp.android.util.logging.Logger;
+
+/**
+ * Provides static methods, which allow to write the data of a {@link TabSwitcher} and its tabs to
+ * files in a format, which does not depend on the platform's parcel format. Color state lists are
+ * written as their states and colors. Bundles are written entry by entry, whereby primitive
+ * values, strings, arrays thereof and nested bundles are written explicitly. Only the remaining
+ * values, such as parcelables, are written as parcel blobs, which are tagged with an id of the
+ * platform. If a blob has been written by a different platform, e.g. before an OS update, only the
+ * corresponding entry is skipped and a warning is logged, instead of misinterpreting the blob.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public final class PersistenceFormat {
+
+    /**
+     * The id of the current platform, which is written to each parcel blob.
+     */
+    private static final int PLATFORM_ID = String.valueOf(Build.FINGERPRINT).hashCode();
+
+    /**
+     * The charset, which is used to encode strings.
+     */
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * The length, which is written instead of the data of a value, which is null.
+     */
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * The type of a color state list, which is null.
+     */
+    private static final int COLOR_TYPE_NULL = 0;
+
+    /**
+     * The type of a color state list, which consists of a single color.
+     */
+    private static final int COLOR_TYPE_SINGLE = 1;
+
+    /**
+     * The type of a color state list, which is stateful.
+     */
+    private static final int COLOR_TYPE_STATEFUL = 2;
+
+    /**
+     * The type of a value of a bundle, which is null.
+     */
+    private static final int VALUE_TYPE_NULL = 0;
+
+    /**
+     * The type of a {@link Boolean} value of a bundle.
+     */
+    private static final int VALUE_TYPE_BOOLEAN = 1;
+
+    /**
+     * The type of an {@link Integer} value of a bundle.
+     */
+    private static final int VALUE_TYPE_INT = 2;
+
+    /**
+     * The type of a {@link Long} value of a bundle.
+     */
+    private static final int VALUE_TYPE_LONG = 3;
+
+    /**
+     * The type of a {@link Float} value of a bundle.
+     */
+    private static final int VALUE_TYPE_FLOAT = 4;
+
+    /**
+     * The type of a {@link Double} value of a bundle.
+     */
+    private static final int VALUE_TYPE_DOUBLE = 5;
+
+    /**
+     * The type of a {@link String} value of a bundle.
+     */
+    private static final int VALUE_TYPE_STRING = 6;
+
+    /**
+     * The type of a bundle, which is contained by another bundle.
+     */
+    private static final int VALUE_TYPE_BUNDLE = 7;
+
+    /**
+     * The type of a {@link Boolean} array of a bundle.
+     */
+    private static final int VALUE_TYPE_BOOLEAN_ARRAY = 8;
+
+    /**
+     * The type of an {@link Integer} array of a bundle.
+     */
+    private static final int VALUE_TYPE_INT_ARRAY = 9;
+
+    /**
+     * The type of a {@link Long} array of a bundle.
+     */
+    private static final int VALUE_TYPE_LONG_ARRAY = 10;
+
+    /**
+     * The type of a {@link Byte} array of a bundle.
+     */
+    private static final int VALUE_TYPE_BYTE_ARRAY = 11;
+
+    /**
+     * The type of a {@link String} array of a bundle.
+     */
+    private static final int VALUE_TYPE_STRING_ARRAY = 12;
+
+    /**
+     * The type of a value of a bundle, which is written as a parcel blob.
+     */
+    private static final int VALUE_TYPE_PARCEL = 13;
+
+    /**
+     * The logger, which is used to log values, which are discarded, because they have been
+     * written by a different platform.
+     */
+    private static final Logger LOGGER = new Logger(LogLevel.WARN);
+
+    /**
+     * Creates a new class, which provides static methods, which allow to write data in a format,
+     * which does not depend on the platform's parcel format.
+     */
+    private PersistenceFormat() {
+
+    }
+
+    /**
+     * Writes the data of a specific parcel to an output, preceded by its length and the id of the
+     * current platform.
+     *
+     * @param output
+     *         The output, the data should be written to, as an instance of the type {@link
+     *         DataOutput}. The output may not be null
+     * @param parcel
+     *         The parcel, whose data should be written, as an instance of the class {@link
+     *         Parcel}. The parcel may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the data
+     */
+    private static void writeParcel(@NonNull final DataOutput output,
+                                    @NonNull final Parcel parcel) throws IOException {
+        byte[] data = parcel.marshall();
+        output.writeInt(data.length);
+        output.writeInt(PLATFORM_ID);
+        output.write(data);
+    }
+
+    /**
+     * Reads data, which has been written by the method <code>writeParcel</code>, from an input and
+     * unmarshalls it into a specific parcel, if it has been written by the current platform. The
+     * length of the data must already have been read.
+     *
+     * @param input
+     *         The input, the data should be read from, as an instance of the type {@link
+     *         DataInput}. The input may not be null
+     * @param length
+     *         The length of the data in bytes as an {@link Integer} value
+     * @param parcel
+     *         The parcel, the data should be unmarshalled into, as an instance of the class {@link
+     *         Parcel}. The parcel may not be null
+     * @return True, if the data has been unmarshalled, false, if it has been skipped, because it
+     * has been written by a different platform
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the data
+     */
+    private static boolean readParcel(@NonNull final DataInput input, final int length,
+                                      @NonNull final Parcel parcel) throws IOException {
+        int platformId = input.readInt();
+        byte[] data = new byte[length];
+        input.readFully(data);
+
+        if (platformId == PLATFORM_ID) {
+            parcel.unmarshall(data, 0, data.length);
+            parcel.setDataPosition(0);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes a specific text to an output. Formatting of the text is not retained.
+     *
+     * @param output
+     *         The output, the text should be written to, as an instance of the type {@link
+     *         DataOutput}. The output may not be null
+     * @param text
+     *         The text, which should be written, as an instance of the type {@link CharSequence}
+     *         or null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the text
+     */
+    public static void writeText(@NonNull final DataOutput output,
+                                 @Nullable final CharSequence text) throws IOException {
+        if (text != null) {
+            byte[] data = text.toString().getBytes(CHARSET);
+            output.writeInt(data.length);
+            output.write(data);
+        } else {
+            output.writeInt(NULL_LENGTH);
+        }
+    }
+
+    /**
+     * Reads a text, which has been written by the method <code>writeText</code>, from an input.
+     *
+     * @param input
+     *         The input, the text should be read from, as an instance of the type {@link
+     *         DataInput}. The input may not be null
+     * @return The text, which has been read, as a {@link String} or null, if null has been
+     * written
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the text
+     */
+    @Nullable
+    public static String readText(@NonNull final DataInput input) throws IOException {
+        int length = input.readInt();
+
+        if (length != NULL_LENGTH) {
+            byte[] data = new byte[length];
+            input.readFully(data);
+            return new String(data, CHARSET);
+        }
+
+        return null;
+    }
+
+    /**
+     * Writes a specific value of a bundle to an output, preceded by its type.
+     *
+     * @param output
+     *         The output, the value should be written to, as an instance of the type {@link
+     *         DataOutput}. The output may not be null
+     * @param value
+     *         The value, which should be written, as an instance of the class {@link Object} or
+     *         null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the value
+     */
+    private static void writeValue(@NonNull final DataOutput output,
+                                   @Nullable final Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(VALUE_TYPE_NULL);
+        } else if (value instanceof Boolean) {
+            output.writeByte(VALUE_TYPE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(VALUE_TYPE_INT);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(VALUE_TYPE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            output.writeByte(VALUE_TYPE_FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeByte(VALUE_TYPE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            output.writeByte(VALUE_TYPE_STRING);
+            writeText(output, (String) value);
+        } else if (value instanceof Bundle) {
+            output.writeByte(VALUE_TYPE_BUNDLE);
+            writeBundle(output, (Bundle) value);
+        } else if (value instanceof boolean[]) {
+            boolean[] array = (boolean[]) value;
+            output.writeByte(VALUE_TYPE_BOOLEAN_ARRAY);
+            output.writeInt(array.length);
+
+            for (boolean item : array) {
+                output.writeBoolean(item);
+            }
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            output.writeByte(VALUE_TYPE_INT_ARRAY);
+            output.writeInt(array.length);
+
+            for (int item : array) {
+                output.writeInt(item);
+            }
+        } else if (value instanceof long[]) {
+            long[] array = (long[]) value;
+            output.writeByte(VALUE_TYPE_LONG_ARRAY);
+            output.writeInt(array.length);
+
+            for (long item : array) {
+                output.writeLong(item);
+            }
+        } else if (value instanceof byte[]) {
+            byte[] array = (byte[]) value;
+            output.writeByte(VALUE_TYPE_BYTE_ARRAY);
+            output.writeInt(array.length);
+            output.write(array);
+        } else if (value instanceof String[]) {
+            String[] array = (String[]) value;
+            output.writeByte(VALUE_TYPE_STRING_ARRAY);
+            output.writeInt(array.length);
+
+            for (String item : array) {
+                writeText(output, item);
+            }
+        } else {
+            output.writeByte(VALUE_TYPE_PARCEL);
+            Parcel parcel = Parcel.obtain();
+
+            try {
+                parcel.writeValue(value);
+                writeParcel(output, parcel);
+            } finally {
+                parcel.recycle();
+            }
+        }
+    }
+
+    /**
+     * Reads a value of a bundle, which has been written by the method <code>writeValue</code>,
+     * from an input and adds it to a specific bundle. If the value has been written as a parcel
+     * blob by a different platform, it is skipped and a warning is logged.
+     *
+     * @param input
+     *         The input, the value should be read from, as an instance of the type {@link
+     *         DataInput}. The input may not be null
+     * @param classLoader
+     *         The class loader, which should be used to restore the value, as an instance of the
+     *         class {@link ClassLoader}. The class loader may not be null
+     * @param bundle
+     *         The bundle, the value should be added to, as an instance of the class {@link
+     *         Bundle}. The bundle may not be null
+     * @param key
+     *         The key of the value as a {@link String}. The key may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the value
+     */
+    private static void readValue(@NonNull final DataInput input,
+                                  @NonNull final ClassLoader classLoader,
+                                  @NonNull final Bundle bundle, @NonNull final String key)
+            throws IOException {
+        int type = input.readByte();
+
+        switch (type) {
+            case VALUE_TYPE_NULL:
+                bundle.putString(key, null);
+                break;
+            case VALUE_TYPE_BOOLEAN:
+                bundle.putBoolean(key, input.readBoolean());
+                break;
+            case VALUE_TYPE_INT:
+                bundle.putInt(key, input.readInt());
+                break;
+            case VALUE_TYPE_LONG:
+                bundle.putLong(key, input.readLong());
+                break;
+            case VALUE_TYPE_FLOAT:
+                bundle.putFloat(key, input.readFloat());
+                break;
+            case VALUE_TYPE_DOUBLE:
+                bundle.putDouble(key, input.readDouble());
+                break;
+            case VALUE_TYPE_STRING:
+                bundle.putString(key, readText(input));
+                break;
+            case VALUE_TYPE_BUNDLE:
+                bundle.putBundle(key, readBundle(input, classLoader));
+                break;
+            case VALUE_TYPE_BOOLEAN_ARRAY:
+                boolean[] booleanArray = new boolean[input.readInt()];
+
+                for (int i = 0; i < booleanArray.length; i++) {
+                    booleanArray[i] = input.readBoolean();
+                }
+
+                bundle.putBooleanArray(key, booleanArray);
+                break;
+            case VALUE_TYPE_INT_ARRAY:
+                int[] intArray = new int[input.readInt()];
+
+                for (int i = 0; i < intArray.length; i++) {
+                    intArray[i] = input.readInt();
+                }
+
+                bundle.putIntArray(key, intArray);
+                break;
+            case VALUE_TYPE_LONG_ARRAY:
+                long[] longArray = new long[input.readInt()];
+
+                for (int i = 0; i < longArray.length; i++) {
+                    longArray[i] = input.readLong();
+                }
+
+                bundle.putLongArray(key, longArray);
+                break;
+            case VALUE_TYPE_BYTE_ARRAY:
+                byte[] byteArray = new byte[input.readInt()];
+                input.readFully(byteArray);
+                bundle.putByteArray(key, byteArray);
+                break;
+            case VALUE_TYPE_STRING_ARRAY:
+                String[] stringArray = new String[input.readInt()];
+
+                for (int i = 0; i < stringArray.length; i++) {
+                    stringArray[i] = readText(input);
+                }
+
+                bundle.putStringArray(key, stringArray);
+                break;
+            case VALUE_TYPE_PARCEL:
+                int length = input.readInt();
+                Parcel parcel = Parcel.obtain();
+
+                try {
+                    if (readParcel(input, length, parcel)) {
+                        putValue(bundle, key, parcel.readValue(classLoader));
+                    } else {
+                        LOGGER.logWarn(PersistenceFormat.class, "Discarded value \"" + key +
+                                "\" of a bundle, because it has been written by a different " +
+                                "platform");
+                    }
+                } finally {
+                    parcel.recycle();
+                }
+
+                break;
+            default:
+                throw new IOException("Unknown value type: " + type);
+        }
+    }
+
+    /**
+     * Adds a specific value, which has been read from a parcel, to a bundle. Values of types,
+     * which cannot be added to a bundle, are discarded and a warning is logged.
+     *
+     * @param bundle
+     *         The bundle, the value should be added to, as an instance of the class {@link
+     *         Bundle}. The bundle may not be null
+     * @param key
+     *         The key of the value as a {@link String}. The key may not be null
+     * @param value
+     *         The value, which should be added, as an instance of the class {@link Object} or null
+     */
+    @SuppressWarnings("unchecked")
+    private static void putValue(@NonNull final Bundle bundle, @NonNull final String key,
+                                 @Nullable final Object value) {
+        if (value == null) {
+            bundle.putString(key, null);
+        } else if (value instanceof CharSequence) {
+            bundle.putCharSequence(key, (CharSequence) value);
+        } else if (value instanceof Parcelable) {
+            bundle.putParcelable(key, (Parcelable) value);
+        } else if (value instanceof Parcelable[]) {
+            bundle.putParcelableArray(key, (Parcelable[]) value);
+        } else if (value instanceof CharSequence[]) {
+            bundle.putCharSequenceArray(key, (CharSequence[]) value);
+        } else if (value instanceof SparseArray) {
+            bundle.putSparseParcelableArray(key, (SparseArray<? extends Parcelable>) value);
+        } else if (value instanceof ArrayList) {
+            bundle.putParcelableArrayList(key, (ArrayList<? extends Parcelable>) value);
+        } else if (value instanceof Byte) {
+            bundle.putByte(key, (Byte) value);
+        } else if (value instanceof Short) {
+            bundle.putShort(key, (Short) value);
+        } else if (value instanceof Character) {
+            bundle.putChar(key, (Character) value);
+        } else if (value instanceof short[]) {
+            bundle.putShortArray(key, (short[]) value);
+        } else if (value instanceof char[]) {
+            bundle.putCharArray(key, (char[]) value);
+        } else if (value instanceof float[]) {
+            bundle.putFloatArray(key, (float[]) value);
+        } else if (value instanceof double[]) {
+            bundle.putDoubleArray(key, (double[]) value);
+        } else if (value instanceof Serializable) {
+            bundle.putSerializable(key, (Serializable) value);
+        } else {
+            LOGGER.logWarn(PersistenceFormat.class, "Discarded value \"" + key +
+                    "\" of a bundle, because its type is not supported");
+        }
+    }
+
+    /**
+     * Writes a specific bundle to an output. The bundle's entries are written one after another,
+     * whereby values, which cannot be written explicitly, are written as parcel blobs. This method
+     * must be called on the thread, which owns the bundle.
+     *
+     * @param output
+     *         The output, the bundle should be written to, as an instance of the type {@link
+     *         DataOutput}. The output may not be null
+     * @param bundle
+     *         The bundle, which should be written, as an instance of the class {@link Bundle} or
+     *         null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the bundle
+     */
+    public static void writeBundle(@NonNull final DataOutput output,
+                                   @Nullable final Bundle bundle) throws IOException {
+        if (bundle != null) {
+            output.writeInt(bundle.size());
+
+            for (String key : bundle.keySet()) {
+                writeText(output, key);
+                writeValue(output, bundle.get(key));
+            }
+        } else {
+            output.writeInt(NULL_LENGTH);
+        }
+    }
+
+    /**
+     * Reads a bundle, which has been written by the method <code>writeBundle</code>, from an
+     * input. Entries, which have been written as parcel blobs by a different platform, are
+     * skipped.
+     *
+     * @param input
+     *         The input, the bundle should be read from, as an instance of the type {@link
+     *         DataInput}. The input may not be null
+     * @param classLoader
+     *         The class loader, which should be used to restore the bundle, as an instance of the
+     *         class {@link ClassLoader}. The class loader may not be null
+     * @return The bundle, which has been read, as an instance of the class {@link Bundle} or null,
+     * if null has been written
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the bundle
+     */
+    @Nullable
+    public static Bundle readBundle(@NonNull final DataInput input,
+                                    @NonNull final ClassLoader classLoader) throws IOException {
+        int size = input.readInt();
+
+        if (size != NULL_LENGTH) {
+            Bundle bundle = new Bundle(classLoader);
+
+            for (int i = 0; i < size; i++) {
+                String key = readText(input);
+
+                if (key == null) {
+                    throw new IOException("Invalid bundle key");
+                }
+
+                readValue(input, classLoader, bundle, key);
+            }
+
+            return bundle;
+        }
+
+        return null;
+    }
+
+    /**
+     * Writes a specific color state list to an output. If the color state list is stateful, its
+     * states and colors are written, which are obtained from its parcel representation. If they
+     * cannot be obtained, only its default color is written.
+     *
+     * @param output
+     *         The output, the color state list should be written to, as an instance of the type
+     *         {@link DataOutput}. The output may not be null
+     * @param colorStateList
+     *         The color state list, which should be written, as an instance of the class {@link
+     *         ColorStateList} or null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the color state
+     *         list
+     */
+    public static void writeColorStateList(@NonNull final DataOutput output,
+                                           @Nullable final ColorStateList colorStateList)
+            throws IOException {
+        int[][] states = null;
+        int[] colors = null;
+
+        if (colorStateList != null && colorStateList.isStateful()) {
+            Parcel parcel = Parcel.obtain();
+
+            try {
+                colorStateList.writeToParcel(parcel, 0);
+                parcel.setDataPosition(0);
+                states = new int[parcel.readInt()][];
+
+                for (int i = 0; i < states.length; i++) {
+                    states[i] = parcel.createIntArray();
+                }
+
+                colors = parcel.createIntArray();
+            } catch (RuntimeException e) {
+                states = null;
+            } finally {
+                parcel.recycle();
+            }
+        }
+
+        if (colorStateList == null) {
+            output.writeByte(COLOR_TYPE_NULL);
+        } else if (states == null || colors == null || colors.length != states.length) {
+            output.writeByte(COLOR_TYPE_SINGLE);
+            output.writeInt(colorStateList.getDefaultColor());
+        } else {
+            output.writeByte(COLOR_TYPE_STATEFUL);
+            output.writeInt(states.length);
+
+            for (int i = 0; i < states.length; i++) {
+                int[] state = states[i] != null ? states[i] : new int[0];
+                output.writeInt(colors[i]);
+                output.writeInt(state.length);
+
+                for (int attribute : state) {
+                    output.writeInt(attribute);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a color state list, which has been written by the method
+     * <code>writeColorStateList</code>, from an input.
+     *
+     * @param input
+     *         The input, the color state list should be read from, as an instance of the type
+     *         {@link DataInput}. The input may not be null
+     * @return The color state list, which has been read, as an instance of the class {@link
+     * ColorStateList} or null, if null has been written
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the color state
+     *         list
+     */
+    @Nullable
+    public static ColorStateList readColorStateList(@NonNull final DataInput input)
+            throws IOException {
+        int type = input.readByte();
+
+        if (type == COLOR_TYPE_SINGLE) {
+            return ColorStateList.valueOf(input.readInt());
+        } else if (type == COLOR_TYPE_STATEFUL) {
+            int[][] states = new int[input.readInt()][];
+            int[] colors = new int[states.length];
+
+            for (int i = 0; i < states.length; i++) {
+                colors[i] = input.readInt();
+                states[i] = new int[input.readInt()];
+
+                for (int j = 0; j < states[i].length; j++) {
+                    states[i][j] = input.readInt();
+                }
+            }
+
+            return new ColorStateList(states, colors);
+        } else if (type == COLOR_TYPE_NULL) {
+            return null;
+        }
+
+        throw new IOException("Unknown color type: " + type);
+    }
+
+}
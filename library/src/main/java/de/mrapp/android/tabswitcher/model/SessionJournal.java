@@ -0,0 +1,1423 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MenuRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.Toolbar.OnMenuItemClickListener;
+import android.view.View.OnClickListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+import de.mrapp.android.tabswitcher.Animation;
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.tabswitcher.TabSwitcherDecorator;
+import de.mrapp.android.util.logging.LogLevel;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An append-only journal, which records the mutations of the tabs of a {@link TabSwitcher} in
+ * order to be able to recover them after the process has been killed, even if the state of the tab
+ * switcher has not been saved.
+ *
+ * Each mutation is encoded as a compact binary record on the UI thread and appended to a journal
+ * file by a background thread. All records, which are pending when the background thread becomes
+ * idle, are written at once and synced to the file system using a single {@code fsync} call. The
+ * background thread applies the records to its own copy of the session. When the journal becomes
+ * too large, this copy is written to a snapshot file and the journal is started over.
+ *
+ * When the journal is opened, the snapshot and the valid records of the journal are replayed on the
+ * background thread. If the tab switcher does not contain any tabs at that time, the recovered tabs
+ * are added to its model at once, before the mutations are recorded. The journal must be closed,
+ * when the tab switcher is detached from its window.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class SessionJournal implements Model.Listener, Tab.Callback {
+
+    /**
+     * A copy of the session, which results from replaying the records of a journal.
+     */
+    private static class Mirror {
+
+        /**
+         * The generation of the snapshot, the copy is based on.
+         */
+        private long generation;
+
+        /**
+         * A list, which contains the ids of the tabs in their order.
+         */
+        private List<Long> ids;
+
+        /**
+         * A map, which contains the marshalled tabs, mapped to their ids.
+         */
+        private Map<Long, byte[]> tabs;
+
+        /**
+         * A map, which contains the compressed icons of tabs, mapped to their digests.
+         */
+        private final Map<String, byte[]> icons;
+
+        /**
+         * True, if a tab is selected, false otherwise.
+         */
+        private boolean selected;
+
+        /**
+         * The id of the selected tab.
+         */
+        private long selectedId;
+
+        /**
+         * Creates a new, empty copy of a session.
+         */
+        Mirror() {
+            this.generation = 0;
+            this.ids = new ArrayList<>();
+            this.tabs = new HashMap<>();
+            this.icons = new HashMap<>();
+            this.selected = false;
+            this.selectedId = 0;
+        }
+
+        /**
+         * Inserts the tab with a specific id at a specific index. If the index is out of bounds,
+         * the tab is appended.
+         *
+         * @param index
+         *         The index, the tab should be inserted at, as an {@link Integer} value
+         * @param id
+         *         The id of the tab as a {@link Long} value
+         */
+        private void insert(final int index, final long id) {
+            ids.add(Math.max(0, Math.min(index, ids.size())), id);
+        }
+
+        /**
+         * Applies a specific record.
+         *
+         * @param record
+         *         The record, which should be applied, as a {@link Byte} array. The array may not
+         *         be null
+         * @throws IOException
+         *         The exception, which is thrown, if the record is malformed
+         */
+        void apply(@NonNull final byte[] record) throws IOException {
+            DataInputStream inputStream =
+                    new DataInputStream(new ByteArrayInputStream(record));
+            int type = inputStream.readByte();
+
+            if (type == TYPE_ADD) {
+                int index = inputStream.readInt();
+                long id = inputStream.readLong();
+                tabs.put(id, readData(inputStream));
+                insert(index, id);
+            } else if (type == TYPE_UPDATE) {
+                long id = inputStream.readLong();
+                byte[] data = readData(inputStream);
+
+                if (tabs.containsKey(id)) {
+                    tabs.put(id, data);
+                }
+            } else if (type == TYPE_REMOVE) {
+                long id = inputStream.readLong();
+
+                if (tabs.remove(id) != null) {
+                    ids.remove(Long.valueOf(id));
+                }
+            } else if (type == TYPE_MOVE) {
+                long id = inputStream.readLong();
+                int index = inputStream.readInt();
+
+                if (ids.remove(Long.valueOf(id))) {
+                    insert(index, id);
+                }
+            } else if (type == TYPE_CLEAR) {
+                ids.clear();
+                tabs.clear();
+                selected = false;
+            } else if (type == TYPE_SELECT) {
+                selected = inputStream.readBoolean();
+                selectedId = inputStream.readLong();
+            } else if (type == TYPE_ICON) {
+                String digest = inputStream.readUTF();
+                icons.put(digest, readData(inputStream));
+            } else if (type == TYPE_SET_TABS) {
+                int count = inputStream.readInt();
+                List<Long> newIds = new ArrayList<>(count);
+                Map<Long, byte[]> newTabs = new HashMap<>(count);
+
+                for (int i = 0; i < count; i++) {
+                    long id = inputStream.readLong();
+                    byte[] data = inputStream.readBoolean() ? readData(inputStream) : tabs.get(id);
+
+                    if (data != null) {
+                        newIds.add(id);
+                        newTabs.put(id, data);
+                    }
+                }
+
+                ids = newIds;
+                tabs = newTabs;
+            } else {
+                throw new IOException("Unknown record type: " + type);
+            }
+        }
+
+    }
+
+    /**
+     * The magic number, which is written at the beginning of snapshot files.
+     */
+    private static final int SNAPSHOT_MAGIC_NUMBER = 0x54535350;
+
+    /**
+     * The magic number, which is written at the beginning of journal files.
+     */
+    private static final int JOURNAL_MAGIC_NUMBER = 0x54534A4C;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int FORMAT_VERSION = 4;
+
+    /**
+     * The name of the snapshot file.
+     */
+    private static final String SNAPSHOT_FILE_NAME = "session.snapshot";
+
+    /**
+     * The name of the journal file.
+     */
+    private static final String JOURNAL_FILE_NAME = "session.journal";
+
+    /**
+     * The suffix of temporary files.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * The number of records, which may be appended to the journal, before it is compacted.
+     */
+    private static final int COMPACTION_RECORD_THRESHOLD = 1024;
+
+    /**
+     * The number of bytes, which may be appended to the journal, before it is compacted.
+     */
+    private static final long COMPACTION_SIZE_THRESHOLD = 4 * 1024 * 1024;
+
+    /**
+     * The type of records, which describe, that a tab has been added.
+     */
+    private static final int TYPE_ADD = 1;
+
+    /**
+     * The type of records, which describe, that the properties of a tab have been changed.
+     */
+    private static final int TYPE_UPDATE = 2;
+
+    /**
+     * The type of records, which describe, that a tab has been removed.
+     */
+    private static final int TYPE_REMOVE = 3;
+
+    /**
+     * The type of records, which describe, that a tab has been moved.
+     */
+    private static final int TYPE_MOVE = 4;
+
+    /**
+     * The type of records, which describe, that all tabs have been removed.
+     */
+    private static final int TYPE_CLEAR = 5;
+
+    /**
+     * The type of records, which describe, that the selection has been changed.
+     */
+    private static final int TYPE_SELECT = 6;
+
+    /**
+     * The type of records, which describe, that the tabs have been replaced.
+     */
+    private static final int TYPE_SET_TABS = 7;
+
+    /**
+     * The type of records, which contain an icon, which is used by tabs.
+     */
+    private static final int TYPE_ICON = 8;
+
+    /**
+     * The type of requests, which instruct the background thread to compact the journal. Such
+     * requests are not written to the journal.
+     */
+    private static final int TYPE_COMPACT = 9;
+
+    /**
+     * The type of requests, which instruct the background thread to compress an icon and to
+     * write it as a record of the type <code>TYPE_ICON</code>. Such requests only contain the
+     * digest of the icon, which is retrieved from the pending icons.
+     */
+    private static final int TYPE_COMPRESS_ICON = 10;
+
+    /**
+     * The request, which instructs the background thread to stop.
+     */
+    private static final byte[] STOP = new byte[0];
+
+    /**
+     * A map, which contains weak references to the journals, which are currently open, mapped to
+     * their directories. As a journal is closed, when its tab switcher is detached from its
+     * window, the map does not prevent tab switchers from being garbage collected.
+     */
+    private static final Map<File, WeakReference<SessionJournal>> OPEN_JOURNALS =
+            new HashMap<>();
+
+    /**
+     * The model of the tab switcher, whose tabs are recorded.
+     */
+    private final TabSwitcherModel model;
+
+    /**
+     * The directory, which contains the snapshot and journal files.
+     */
+    private final File directory;
+
+    /**
+     * The queue, which contains the records, which have not been written yet.
+     */
+    private final BlockingQueue<byte[]> queue;
+
+    /**
+     * The handler, which is used to apply recovered tabs on the UI thread.
+     */
+    private final Handler handler;
+
+    /**
+     * The background thread of the journal, which has previously been opened for the same
+     * directory, or null, if no other journal has been opened for the directory.
+     */
+    private Thread previousWriterThread;
+
+    /**
+     * The background thread, which writes the records.
+     */
+    private Thread writerThread;
+
+    /**
+     * True, if mutations are currently recorded, false otherwise.
+     */
+    private boolean active;
+
+    /**
+     * True, if the journal has been closed, false otherwise.
+     */
+    private volatile boolean closed;
+
+    /**
+     * A set, which contains the digests of the icons, which have already been recorded.
+     */
+    private final Set<String> recordedIcons;
+
+    /**
+     * A map, which contains the icons, which are about to be compressed by the background thread,
+     * mapped to their digests.
+     */
+    private final ConcurrentMap<String, Bitmap> pendingIcons;
+
+    /**
+     * True, if the most recently recorded selection refers to a tab, false otherwise.
+     */
+    private boolean selected;
+
+    /**
+     * The id of the tab, the most recently recorded selection refers to.
+     */
+    private long selectedId;
+
+    /**
+     * Closes a specific stream, ignoring any errors.
+     *
+     * @param stream
+     *         The stream, which should be closed, as an instance of the type {@link Closeable} or
+     *         null, if no stream has been opened
+     */
+    private static void close(@Nullable final Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // No need to handle
+            }
+        }
+    }
+
+    /**
+     * Reads length-prefixed data from a specific stream.
+     *
+     * @param inputStream
+     *         The stream, the data should be read from, as an instance of the class {@link
+     *         DataInputStream}. The stream may not be null
+     * @return The data, which has been read, as a {@link Byte} array. The array may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the data
+     */
+    @NonNull
+    private static byte[] readData(@NonNull final DataInputStream inputStream)
+            throws IOException {
+        byte[] data = new byte[inputStream.readInt()];
+        inputStream.readFully(data);
+        return data;
+    }
+
+    /**
+     * Writes length-prefixed data to a specific stream.
+     *
+     * @param outputStream
+     *         The stream, the data should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param data
+     *         The data, which should be written, as a {@link Byte} array. The array may not be
+     *         null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the data
+     */
+    private static void writeData(@NonNull final DataOutputStream outputStream,
+                                  @NonNull final byte[] data) throws IOException {
+        outputStream.writeInt(data.length);
+        outputStream.write(data);
+    }
+
+    /**
+     * Returns the checksum of a specific record.
+     *
+     * @param record
+     *         The record, whose checksum should be returned, as a {@link Byte} array. The array
+     *         may not be null
+     * @return The checksum of the given record as an {@link Integer} value
+     */
+    private static int getChecksum(@NonNull final byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Marshalls a specific tab by using the format of the method {@link Tab#toByteArray()}, which
+     * does not depend on the platform's parcel format.
+     *
+     * @param tab
+     *         The tab, which should be marshalled, as an instance of the class {@link Tab}. The tab
+     *         may not be null
+     * @return The marshalled tab as a {@link Byte} array. The array may not be null
+     */
+    @NonNull
+    private static byte[] marshall(@NonNull final Tab tab) {
+        return tab.toByteArray();
+    }
+
+    /**
+     * Unmarshalls a specific tab and restores its properties.
+     *
+     * @param id
+     *         The id of the tab as a {@link Long} value
+     * @param data
+     *         The marshalled tab as a {@link Byte} array. The array may not be null
+     * @return The tab, which has been unmarshalled, as an instance of the class {@link Tab}. The
+     * tab may not be null
+     */
+    @NonNull
+    private static Tab unmarshall(final long id, @NonNull final byte[] data) {
+        Tab tab = Tab.createFromMarshalledData(id, data);
+        tab.hydrate();
+        return tab;
+    }
+
+    /**
+     * Returns the snapshot file.
+     *
+     * @return The snapshot file as an instance of the class {@link File}. The file may not be null
+     */
+    @NonNull
+    private File getSnapshotFile() {
+        return new File(directory, SNAPSHOT_FILE_NAME);
+    }
+
+    /**
+     * Returns the journal file.
+     *
+     * @return The journal file as an instance of the class {@link File}. The file may not be null
+     */
+    @NonNull
+    private File getJournalFile() {
+        return new File(directory, JOURNAL_FILE_NAME);
+    }
+
+    /**
+     * Returns the temporary file, which corresponds to a specific file.
+     *
+     * @param file
+     *         The file, whose temporary file should be returned, as an instance of the class
+     *         {@link File}. The file may not be null
+     * @return The temporary file as an instance of the class {@link File}. The file may not be
+     * null
+     */
+    @NonNull
+    private static File getTempFile(@NonNull final File file) {
+        return new File(file.getPath() + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Creates and returns a new stream, which allows to encode a record.
+     *
+     * @param type
+     *         The type of the record as an {@link Integer} value
+     * @param buffer
+     *         The buffer, the record should be written to, as an instance of the class {@link
+     *         ByteArrayOutputStream}. The buffer may not be null
+     * @return The stream, which has been created, as an instance of the class {@link
+     * DataOutputStream}. The stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the type
+     */
+    @NonNull
+    private static DataOutputStream createRecord(final int type,
+                                                 @NonNull final ByteArrayOutputStream buffer)
+            throws IOException {
+        DataOutputStream outputStream = new DataOutputStream(buffer);
+        outputStream.writeByte(type);
+        return outputStream;
+    }
+
+    /**
+     * Enqueues a specific record to be written by the background thread.
+     *
+     * @param record
+     *         The record, which should be enqueued, as an instance of the class {@link
+     *         ByteArrayOutputStream}. The record may not be null
+     */
+    private void enqueue(@NonNull final ByteArrayOutputStream record) {
+        if (!closed) {
+            queue.add(record.toByteArray());
+        }
+    }
+
+    /**
+     * Compresses the icon, which corresponds to a specific request of the type
+     * <code>TYPE_COMPRESS_ICON</code>, and encodes a record, which contains the compressed icon.
+     * This method is executed on the background thread.
+     *
+     * @param request
+     *         The request as a {@link Byte} array. The array may not be null
+     * @return The record, which has been encoded, as a {@link Byte} array or null, if the icon is
+     * not available anymore
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while encoding the record
+     */
+    @Nullable
+    private byte[] compressIcon(@NonNull final byte[] request) throws IOException {
+        DataInputStream inputStream = new DataInputStream(
+                new ByteArrayInputStream(request, 1, request.length - 1));
+        String digest = inputStream.readUTF();
+        Bitmap icon = pendingIcons.remove(digest);
+
+        if (icon != null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_ICON, buffer);
+            outputStream.writeUTF(digest);
+            writeData(outputStream, IconStore.compress(icon));
+            return buffer.toByteArray();
+        }
+
+        return null;
+    }
+
+    /**
+     * Records the icons of a specific tab, which have not been recorded yet. The icons are
+     * compressed by the background thread.
+     *
+     * @param tab
+     *         The tab, whose icons should be recorded, as an instance of the class {@link Tab}. The
+     *         tab may not be null
+     */
+    private void recordIcons(@NonNull final Tab tab) {
+        String[] digests = new String[]{tab.getIconDigest(), tab.getCloseButtonIconDigest()};
+
+        for (String digest : digests) {
+            if (digest != null && !closed && !recordedIcons.contains(digest)) {
+                Bitmap icon = IconStore.getInstance().get(digest);
+
+                if (icon != null) {
+                    try {
+                        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                        DataOutputStream outputStream = createRecord(TYPE_COMPRESS_ICON, buffer);
+                        outputStream.writeUTF(digest);
+                        pendingIcons.put(digest, icon);
+                        enqueue(buffer);
+                        recordedIcons.add(digest);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to encode record", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Records, that a tab has been added at a specific index.
+     *
+     * @param index
+     *         The index of the tab, which has been added, as an {@link Integer} value
+     * @param tab
+     *         The tab, which has been added, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     */
+    private void recordAdd(final int index, @NonNull final Tab tab) {
+        recordIcons(tab);
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_ADD, buffer);
+            outputStream.writeInt(index);
+            outputStream.writeLong(tab.getId());
+            writeData(outputStream, marshall(tab));
+            enqueue(buffer);
+            tab.addCallback(this);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records, that the properties of a specific tab have been changed.
+     *
+     * @param tab
+     *         The tab, whose properties have been changed, as an instance of the class {@link Tab}.
+     *         The tab may not be null
+     */
+    private void recordUpdate(@NonNull final Tab tab) {
+        recordIcons(tab);
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_UPDATE, buffer);
+            outputStream.writeLong(tab.getId());
+            writeData(outputStream, marshall(tab));
+            enqueue(buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records, that a specific tab has been removed.
+     *
+     * @param tab
+     *         The tab, which has been removed, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     */
+    private void recordRemove(@NonNull final Tab tab) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_REMOVE, buffer);
+            outputStream.writeLong(tab.getId());
+            enqueue(buffer);
+            tab.removeCallback(this);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records, that a specific tab has been moved to a specific index.
+     *
+     * @param index
+     *         The index, the tab has been moved to, as an {@link Integer} value
+     * @param tab
+     *         The tab, which has been moved, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     */
+    private void recordMove(final int index, @NonNull final Tab tab) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_MOVE, buffer);
+            outputStream.writeLong(tab.getId());
+            outputStream.writeInt(index);
+            enqueue(buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records, that all tabs have been removed.
+     *
+     * @param removedTabs
+     *         An array, which contains the tabs, which have been removed, as an array of the type
+     *         {@link Tab}. The array may not be null
+     */
+    private void recordClear(@NonNull final Tab[] removedTabs) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            createRecord(TYPE_CLEAR, buffer);
+            enqueue(buffer);
+
+            for (Tab tab : removedTabs) {
+                tab.removeCallback(this);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records, that the tabs have been replaced by specific tabs. Only the tabs, which have been
+     * added, are marshalled.
+     *
+     * @param tabs
+     *         An array, which contains the tabs, which are now contained by the tab switcher, as
+     *         an array of the type {@link Tab}. The array may not be null
+     * @param addedTabs
+     *         An array, which contains the tabs, which have been added, as an array of the type
+     *         {@link Tab} or null, if all tabs should be marshalled
+     * @param removedTabs
+     *         An array, which contains the tabs, which have been removed, as an array of the type
+     *         {@link Tab}. The array may not be null
+     */
+    private void recordSetTabs(@NonNull final Tab[] tabs, @Nullable final Tab[] addedTabs,
+                               @NonNull final Tab[] removedTabs) {
+        try {
+            Set<Long> addedIds = null;
+
+            if (addedTabs != null) {
+                addedIds = new HashSet<>(addedTabs.length);
+
+                for (Tab tab : addedTabs) {
+                    addedIds.add(tab.getId());
+                }
+            }
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_SET_TABS, buffer);
+            outputStream.writeInt(tabs.length);
+
+            for (Tab tab : tabs) {
+                boolean marshall = addedIds == null || addedIds.contains(tab.getId());
+                outputStream.writeLong(tab.getId());
+                outputStream.writeBoolean(marshall);
+
+                if (marshall) {
+                    recordIcons(tab);
+                    writeData(outputStream, marshall(tab));
+                    tab.addCallback(this);
+                }
+            }
+
+            enqueue(buffer);
+
+            for (Tab tab : removedTabs) {
+                tab.removeCallback(this);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records the currently selected tab.
+     */
+    private void recordSelection() {
+        Tab selectedTab = model.getSelectedTab();
+        selected = selectedTab != null;
+        selectedId = selectedTab != null ? selectedTab.getId() : 0;
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream outputStream = createRecord(TYPE_SELECT, buffer);
+            outputStream.writeBoolean(selected);
+            outputStream.writeLong(selectedId);
+            enqueue(buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode record", e);
+        }
+    }
+
+    /**
+     * Records the currently selected tab, if it differs from the most recently recorded
+     * selection.
+     */
+    private void recordSelectionIfChanged() {
+        Tab selectedTab = model.getSelectedTab();
+
+        if ((selectedTab != null) != selected ||
+                (selectedTab != null && selectedTab.getId() != selectedId)) {
+            recordSelection();
+        }
+    }
+
+    /**
+     * Starts to record the mutations of the tab switcher. The current tabs are recorded and the
+     * background thread is instructed to compact the journal afterwards.
+     */
+    private void activate() {
+        if (!closed) {
+            recordedIcons.clear();
+            recordSetTabs(model.getTabs(), null, new Tab[0]);
+            recordSelection();
+            queue.add(new byte[]{TYPE_COMPACT});
+            model.addListener(this);
+            active = true;
+        }
+    }
+
+    /**
+     * Adds recovered tabs to the model within a batch, if it does not contain any tabs, and starts
+     * to record its mutations afterwards. As the tabs are added to the model directly, rather than
+     * being enqueued by the tab switcher, the recorded state always contains them. This method
+     * must be called on the UI thread.
+     *
+     * @param tabs
+     *         A list, which contains the recovered tabs, as an instance of the type {@link List}.
+     *         The list may not be null
+     * @param selectedTab
+     *         The recovered selected tab as an instance of the class {@link Tab} or null, if no tab
+     *         was selected
+     */
+    private void applyRecoveredTabs(@NonNull final List<Tab> tabs,
+                                    @Nullable final Tab selectedTab) {
+        if (!closed) {
+            if (!tabs.isEmpty() && model.isEmpty()) {
+                Tab[] array = new Tab[tabs.size()];
+                tabs.toArray(array);
+                model.beginBatch();
+
+                try {
+                    model.addAllTabs(array, 0);
+
+                    if (selectedTab != null) {
+                        model.selectTab(selectedTab);
+                    }
+                } finally {
+                    model.commitBatch();
+                }
+            }
+
+            activate();
+        }
+    }
+
+    /**
+     * Reads the snapshot file and replays the valid records of the journal file.
+     *
+     * @return The copy of the session, which has been recovered, as an instance of the class
+     * {@link Mirror}. The copy may not be null
+     */
+    @NonNull
+    private Mirror recover() {
+        Mirror mirror = new Mirror();
+        File snapshotFile = getSnapshotFile();
+
+        if (snapshotFile.exists()) {
+            DataInputStream inputStream = null;
+
+            try {
+                inputStream = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(snapshotFile)));
+
+                if (inputStream.readInt() == SNAPSHOT_MAGIC_NUMBER &&
+                        inputStream.readInt() == FORMAT_VERSION) {
+                    Mirror snapshot = new Mirror();
+                    snapshot.generation = inputStream.readLong();
+                    snapshot.selected = inputStream.readBoolean();
+                    snapshot.selectedId = inputStream.readLong();
+                    int count = inputStream.readInt();
+
+                    for (int i = 0; i < count; i++) {
+                        long id = inputStream.readLong();
+                        snapshot.tabs.put(id, readData(inputStream));
+                        snapshot.ids.add(id);
+                    }
+
+                    int iconCount = inputStream.readInt();
+
+                    for (int i = 0; i < iconCount; i++) {
+                        String digest = inputStream.readUTF();
+                        snapshot.icons.put(digest, readData(inputStream));
+                    }
+
+                    mirror = snapshot;
+                }
+            } catch (IOException e) {
+                mirror = new Mirror();
+            } finally {
+                close(inputStream);
+            }
+        }
+
+        File journalFile = getJournalFile();
+
+        if (journalFile.exists()) {
+            DataInputStream inputStream = null;
+
+            try {
+                inputStream = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(journalFile)));
+
+                if (inputStream.readInt() == JOURNAL_MAGIC_NUMBER &&
+                        inputStream.readInt() == FORMAT_VERSION &&
+                        inputStream.readLong() == mirror.generation) {
+                    while (true) {
+                        int checksum = inputStream.readInt();
+                        byte[] record = readData(inputStream);
+
+                        if (checksum != getChecksum(record)) {
+                            break;
+                        }
+
+                        mirror.apply(record);
+                    }
+                }
+            } catch (EOFException e) {
+                // The end of the journal has been reached or the last record is incomplete
+            } catch (IOException e) {
+                // The remaining records are ignored
+            } finally {
+                close(inputStream);
+            }
+        }
+
+        return mirror;
+    }
+
+    /**
+     * Writes a specific copy of the session to the snapshot file and starts a new journal file
+     * afterwards. Both files are first written to temporary files, which replace the previous
+     * files.
+     *
+     * @param mirror
+     *         The copy of the session, which should be written, as an instance of the class {@link
+     *         Mirror}. The copy may not be null
+     * @return The stream, which allows to append records to the new journal file, as an instance
+     * of the class {@link FileOutputStream}. The stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the files
+     */
+    @NonNull
+    private FileOutputStream compact(@NonNull final Mirror mirror) throws IOException {
+        long generation = mirror.generation + 1;
+        File snapshotFile = getSnapshotFile();
+        File tempSnapshotFile = getTempFile(snapshotFile);
+        FileOutputStream fileOutputStream = new FileOutputStream(tempSnapshotFile);
+
+        try {
+            DataOutputStream outputStream =
+                    new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+            outputStream.writeInt(SNAPSHOT_MAGIC_NUMBER);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeLong(generation);
+            outputStream.writeBoolean(mirror.selected);
+            outputStream.writeLong(mirror.selectedId);
+            outputStream.writeInt(mirror.ids.size());
+
+            for (long id : mirror.ids) {
+                outputStream.writeLong(id);
+                writeData(outputStream, mirror.tabs.get(id));
+            }
+
+            outputStream.writeInt(mirror.icons.size());
+
+            for (Map.Entry<String, byte[]> entry : mirror.icons.entrySet()) {
+                outputStream.writeUTF(entry.getKey());
+                writeData(outputStream, entry.getValue());
+            }
+
+            outputStream.flush();
+            fileOutputStream.getFD().sync();
+        } finally {
+            close(fileOutputStream);
+        }
+
+        if (!tempSnapshotFile.renameTo(snapshotFile)) {
+            throw new IOException("Failed to rename file \"" + tempSnapshotFile + "\"");
+        }
+
+        mirror.generation = generation;
+        File journalFile = getJournalFile();
+        File tempJournalFile = getTempFile(journalFile);
+        fileOutputStream = new FileOutputStream(tempJournalFile);
+
+        try {
+            DataOutputStream outputStream = new DataOutputStream(fileOutputStream);
+            outputStream.writeInt(JOURNAL_MAGIC_NUMBER);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeLong(generation);
+            outputStream.flush();
+            fileOutputStream.getFD().sync();
+        } finally {
+            close(fileOutputStream);
+        }
+
+        if (!tempJournalFile.renameTo(journalFile)) {
+            throw new IOException("Failed to rename file \"" + tempJournalFile + "\"");
+        }
+
+        return new FileOutputStream(journalFile, true);
+    }
+
+    /**
+     * Recovers the session and processes the enqueued records afterwards. This method is executed
+     * on the background thread.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the background thread has been interrupted
+     */
+    private void processRecords() throws InterruptedException {
+        if (previousWriterThread != null) {
+            previousWriterThread.join();
+            previousWriterThread = null;
+        }
+
+        final Mirror mirror = recover();
+        final List<Tab> recoveredTabs = new ArrayList<>(mirror.ids.size());
+        final List<Bitmap> recoveredIcons = new ArrayList<>(mirror.icons.size());
+        Tab recoveredSelectedTab = null;
+
+        for (Map.Entry<String, byte[]> entry : mirror.icons.entrySet()) {
+            Bitmap icon = IconStore.decompress(entry.getValue());
+
+            if (icon != null) {
+                IconStore.getInstance().put(entry.getKey(), icon);
+                recoveredIcons.add(icon);
+            }
+        }
+
+        for (long id : mirror.ids) {
+            try {
+                Tab tab = unmarshall(id, mirror.tabs.get(id));
+                recoveredTabs.add(tab);
+
+                if (mirror.selected && mirror.selectedId == id) {
+                    recoveredSelectedTab = tab;
+                }
+            } catch (RuntimeException e) {
+                // The tab is skipped
+            }
+        }
+
+        final Tab selectedTab = recoveredSelectedTab;
+        handler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                applyRecoveredTabs(recoveredTabs, selectedTab);
+                recoveredIcons.clear();
+            }
+
+        });
+
+        FileOutputStream fileOutputStream = null;
+        DataOutputStream outputStream = null;
+        int recordCount = 0;
+        long size = 0;
+        List<byte[]> records = new ArrayList<>();
+
+        try {
+            while (true) {
+                records.clear();
+                records.add(queue.take());
+                queue.drainTo(records);
+                boolean compact = false;
+                boolean stop = false;
+                boolean written = false;
+
+                for (byte[] request : records) {
+                    byte[] record = request;
+
+                    if (record == STOP) {
+                        stop = true;
+                        break;
+                    } else if (record[0] == TYPE_COMPACT) {
+                        compact = true;
+                    } else {
+                        try {
+                            if (record[0] == TYPE_COMPRESS_ICON) {
+                                record = compressIcon(record);
+
+                                if (record == null) {
+                                    continue;
+                                }
+                            }
+
+                            mirror.apply(record);
+                        } catch (IOException e) {
+                            continue;
+                        }
+
+                        if (outputStream != null) {
+                            try {
+                                outputStream.writeInt(getChecksum(record));
+                                writeData(outputStream, record);
+                                written = true;
+                            } catch (IOException e) {
+                                close(outputStream);
+                                outputStream = null;
+                            }
+                        }
+
+                        recordCount++;
+                        size += record.length;
+                    }
+                }
+
+                if (written && outputStream != null) {
+                    try {
+                        outputStream.flush();
+                        fileOutputStream.getFD().sync();
+                    } catch (IOException e) {
+                        close(outputStream);
+                        outputStream = null;
+                    }
+                }
+
+                if (compact || outputStream == null && recordCount > 0 ||
+                        recordCount >= COMPACTION_RECORD_THRESHOLD ||
+                        size >= COMPACTION_SIZE_THRESHOLD) {
+                    close(outputStream);
+                    outputStream = null;
+
+                    try {
+                        fileOutputStream = compact(mirror);
+                        outputStream = new DataOutputStream(
+                                new BufferedOutputStream(fileOutputStream));
+                        recordCount = 0;
+                        size = 0;
+                    } catch (IOException e) {
+                        // The journal is compacted again, when the next records are processed
+                    }
+                }
+
+                if (stop) {
+                    break;
+                }
+            }
+        } finally {
+            close(outputStream);
+        }
+    }
+
+    /**
+     * Creates a new journal, which records the mutations of the tabs of a {@link TabSwitcher}.
+     *
+     * @param model
+     *         The model of the tab switcher as an instance of the class {@link TabSwitcherModel}.
+     *         The model may not be null
+     * @param directory
+     *         The directory, which should contain the snapshot and journal files, as an instance
+     *         of the class {@link File}. The directory may not be null
+     */
+    public SessionJournal(@NonNull final TabSwitcherModel model, @NonNull final File directory) {
+        ensureNotNull(model, "The model may not be null");
+        ensureNotNull(directory, "The directory may not be null");
+        this.model = model;
+        this.directory = directory;
+        this.queue = new LinkedBlockingQueue<>();
+        this.handler = new Handler(Looper.getMainLooper());
+        this.recordedIcons = new HashSet<>();
+        this.pendingIcons = new ConcurrentHashMap<>();
+        this.previousWriterThread = null;
+        this.writerThread = null;
+        this.active = false;
+        this.closed = false;
+        this.selected = false;
+        this.selectedId = 0;
+    }
+
+    /**
+     * Returns the directory, which contains the snapshot and journal files.
+     *
+     * @return The directory, which contains the snapshot and journal files, as an instance of the
+     * class {@link File}. The directory may not be null
+     */
+    @NonNull
+    public final File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Opens the journal. The session is recovered on a background thread and the mutations of the
+     * tab switcher are recorded afterwards. If another journal has been opened for the same
+     * directory, it is closed. This method must be called on the UI thread.
+     */
+    public final void open() {
+        if (writerThread == null && !closed) {
+            WeakReference<SessionJournal> previousReference;
+
+            synchronized (OPEN_JOURNALS) {
+                previousReference =
+                        OPEN_JOURNALS.put(directory, new WeakReference<>(this));
+            }
+
+            SessionJournal previousJournal =
+                    previousReference != null ? previousReference.get() : null;
+
+            if (previousJournal != null) {
+                previousJournal.close();
+                previousWriterThread = previousJournal.writerThread;
+            }
+
+            writerThread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        processRecords();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+            }, "SessionJournal");
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Closes the journal. The records, which have already been enqueued, are still written, before
+     * the background thread terminates. This method must be called on the UI thread, at the
+     * latest when the tab switcher is detached from its window.
+     */
+    public final void close() {
+        if (!closed) {
+            if (active) {
+                model.removeListener(this);
+
+                for (Tab tab : model) {
+                    tab.removeCallback(this);
+                }
+            }
+
+            closed = true;
+            active = false;
+            queue.add(STOP);
+
+            synchronized (OPEN_JOURNALS) {
+                WeakReference<SessionJournal> reference = OPEN_JOURNALS.get(directory);
+
+                if (reference != null && reference.get() == this) {
+                    OPEN_JOURNALS.remove(directory);
+                }
+            }
+        }
+    }
+
+    @Override
+    public final void onLogLevelChanged(@NonNull final LogLevel logLevel) {
+
+    }
+
+    @Override
+    public final void onDecoratorChanged(@NonNull final TabSwitcherDecorator decorator) {
+
+    }
+
+    @Override
+    public final void onSwitcherShown() {
+
+    }
+
+    @Override
+    public final void onSwitcherHidden() {
+
+    }
+
+    @Override
+    public final void onSelectionChanged(final int previousIndex, final int index,
+                                         @Nullable final Tab selectedTab,
+                                         final boolean switcherHidden) {
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onTabAdded(final int index, @NonNull final Tab tab,
+                                 final int previousSelectedTabIndex, final int selectedTabIndex,
+                                 final boolean switcherVisibilityChanged,
+                                 @NonNull final Animation animation) {
+        recordAdd(index, tab);
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onAllTabsAdded(final int index, @NonNull final Tab[] tabs,
+                                     final int previousSelectedTabIndex,
+                                     final int selectedTabIndex,
+                                     @NonNull final Animation animation) {
+        for (int i = 0; i < tabs.length; i++) {
+            recordAdd(index + i, tabs[i]);
+        }
+
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onTabRemoved(final int index, @NonNull final Tab tab,
+                                   final int previousSelectedTabIndex, final int selectedTabIndex,
+                                   @NonNull final Animation animation) {
+        recordRemove(tab);
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onAllTabsRemoved(@NonNull final Tab[] tabs,
+                                       @NonNull final Animation animation) {
+        recordClear(tabs);
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onTabsRemoved(@NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                    final int previousSelectedTabIndex,
+                                    final int selectedTabIndex,
+                                    @NonNull final Animation animation) {
+        for (Tab tab : tabs) {
+            recordRemove(tab);
+        }
+
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onTabMoved(final int previousIndex, final int index, @NonNull final Tab tab,
+                                 final int previousSelectedTabIndex, final int selectedTabIndex) {
+        recordMove(index, tab);
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onBatchCommitted(@NonNull final ChangeSet changeSet) {
+        recordSetTabs(changeSet.getTabs(), changeSet.getAddedTabs(), changeSet.getRemovedTabs());
+        recordSelectionIfChanged();
+    }
+
+    @Override
+    public final void onPaddingChanged(final int left, final int top, final int right,
+                                       final int bottom) {
+
+    }
+
+    @Override
+    public final void onTabIconChanged(@Nullable final Drawable icon) {
+
+    }
+
+    @Override
+    public final void onTabBackgroundColorChanged(@Nullable final ColorStateList colorStateList) {
+
+    }
+
+    @Override
+    public final void onTabTitleColorChanged(@Nullable final ColorStateList colorStateList) {
+
+    }
+
+    @Override
+    public final void onTabCloseButtonIconChanged(@Nullable final Drawable icon) {
+
+    }
+
+    @Override
+    public final void onToolbarVisibilityChanged(final boolean visible) {
+
+    }
+
+    @Override
+    public final void onToolbarTitleChanged(@Nullable final CharSequence title) {
+
+    }
+
+    @Override
+    public final void onToolbarNavigationIconChanged(@Nullable final Drawable icon,
+                                                     @Nullable final OnClickListener listener) {
+
+    }
+
+    @Override
+    public final void onToolbarMenuInflated(@MenuRes final int resourceId,
+                                            @Nullable final OnMenuItemClickListener listener) {
+
+    }
+
+    @Override
+    public final void onTitleChanged(@NonNull final Tab tab) {
+        recordUpdate(tab);
+    }
+
+    @Override
+    public final void onIconChanged(@NonNull final Tab tab) {
+        recordUpdate(tab);
+    }
+
+    @Override
+    public final void onCloseableChanged(@NonNull final Tab tab) {
+        recordUpdate(tab);
+    }
+
+    @Override
+    public final void onCloseButtonIconChanged(@NonNull final Tab tab) {
+        recordUpdate(tab);
+    }
+
+    @Override
+    public final void onBackgroundColorChanged(@NonNull final Tab tab) {
+        recordUpdate(tab);
+    }
+
+    @Override
+    public final void onTitleTextColorChanged(@NonNull final Tab tab) {
+        recordUpdate(tab);
+    }
+
+}
@@ -0,0 +1,851 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A store, which allows to persist the tabs of a {@link TabSwitcher}, as well as the saved instance
+ * states of their child views, in a file instead of a bundle. A session is captured on the UI
+ * thread by using the format of the class {@link PersistenceFormat} and written on a background
+ * thread afterwards. Each tab and each state is stored as a separate, length-prefixed record, which
+ * is preceded by the id of the corresponding tab. If multiple sessions are written in quick
+ * succession, only the most recent one is actually written to the file. There is only one store
+ * per file, which keeps the most recent session in memory. Sessions, which are not kept in memory,
+ * are read on a background thread.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class SessionStore {
+
+    /**
+     * A session, which has been read from a file.
+     */
+    public static class Session {
+
+        /**
+         * The version of the session.
+         */
+        private final long version;
+
+        /**
+         * A list, which contains the tabs of the session.
+         */
+        private final List<Tab> tabs;
+
+        /**
+         * A map, which contains the saved instance states of the child views of the tabs of the
+         * session, mapped to the ids of the corresponding tabs.
+         */
+        private final Map<Long, Bundle> childStates;
+
+        /**
+         * A map, which contains the icons of the tabs of the session, mapped to their digests.
+         */
+        private final Map<String, Bitmap> icons;
+
+        /**
+         * Creates a new session, which has been read from a file.
+         *
+         * @param version
+         *         The version of the session as a {@link Long} value
+         * @param tabs
+         *         A list, which contains the tabs of the session, as an instance of the type {@link
+         *         List}. The list may not be null
+         * @param childStates
+         *         A map, which contains the saved instance states of the child views of the tabs of
+         *         the session, as an instance of the type {@link Map}. The map may not be null
+         * @param icons
+         *         A map, which contains the icons of the tabs of the session, as an instance of the
+         *         type {@link Map}. The map may not be null
+         */
+        private Session(final long version, @NonNull final List<Tab> tabs,
+                        @NonNull final Map<Long, Bundle> childStates,
+                        @NonNull final Map<String, Bitmap> icons) {
+            this.version = version;
+            this.tabs = tabs;
+            this.childStates = childStates;
+            this.icons = icons;
+        }
+
+        /**
+         * Returns the version of the session.
+         *
+         * @return The version of the session as a {@link Long} value
+         */
+        public final long getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns the tabs of the session.
+         *
+         * @return A list, which contains the tabs of the session, as an instance of the type {@link
+         * List}. The list may not be null
+         */
+        @NonNull
+        public final List<Tab> getTabs() {
+            return tabs;
+        }
+
+        /**
+         * Returns the saved instance states of the child views of the tabs of the session.
+         *
+         * @return A map, which contains the saved instance states of the child views of the tabs of
+         * the session, mapped to the ids of the corresponding tabs, as an instance of the type
+         * {@link Map}. The map may not be null
+         */
+        @NonNull
+        public final Map<Long, Bundle> getChildStates() {
+            return childStates;
+        }
+
+        /**
+         * Returns the icons of the tabs of the session. The icons must be added to the {@link
+         * IconStore}, before the tabs are used.
+         *
+         * @return A map, which contains the icons of the tabs of the session, mapped to their
+         * digests, as an instance of the type {@link Map}. The map may not be null
+         */
+        @NonNull
+        public final Map<String, Bitmap> getIcons() {
+            return icons;
+        }
+
+    }
+
+    /**
+     * Defines the interface, a class, which should be notified, when a session has been read,
+     * must implement.
+     */
+    public interface Callback {
+
+        /**
+         * The method, which is invoked on the UI thread, when a session has been read.
+         *
+         * @param session
+         *         The session, which has been read, as an instance of the class {@link Session} or
+         *         null, if no session has been written or if an error occurred
+         */
+        void onSessionRead(@Nullable Session session);
+
+    }
+
+    /**
+     * A snapshot of a session, which has been captured on the UI thread. It is not modified
+     * afterwards and can therefore be accessed by the background thread.
+     */
+    private static class Snapshot {
+
+        /**
+         * The version of the session.
+         */
+        private final long version;
+
+        /**
+         * An array, which contains the ids of the tabs of the session.
+         */
+        private final long[] tabIds;
+
+        /**
+         * An array, which contains the data of the tabs of the session.
+         */
+        private final byte[][] tabs;
+
+        /**
+         * An array, which contains the ids of the tabs, the saved instance states of the session
+         * correspond to.
+         */
+        private final long[] childStateIds;
+
+        /**
+         * An array, which contains the data of the saved instance states of the session.
+         */
+        private final byte[][] childStates;
+
+        /**
+         * A map, which contains the icons of the tabs of the session, mapped to their digests.
+         */
+        private final Map<String, Bitmap> icons;
+
+        /**
+         * Creates a new snapshot of a session.
+         *
+         * @param version
+         *         The version of the session as a {@link Long} value
+         * @param tabIds
+         *         An array, which contains the ids of the tabs of the session, as a {@link Long}
+         *         array. The array may not be null
+         * @param tabs
+         *         An array, which contains the data of the tabs of the session, as a
+         *         two-dimensional {@link Byte} array. The array may not be null
+         * @param childStateIds
+         *         An array, which contains the ids of the tabs, the saved instance states of the
+         *         session correspond to, as a {@link Long} array. The array may not be null
+         * @param childStates
+         *         An array, which contains the data of the saved instance states of the session,
+         *         as a two-dimensional {@link Byte} array. The array may not be null
+         * @param icons
+         *         A map, which contains the icons of the tabs of the session, as an instance of the
+         *         type {@link Map}. The map may not be null
+         */
+        private Snapshot(final long version, @NonNull final long[] tabIds,
+                         @NonNull final byte[][] tabs, @NonNull final long[] childStateIds,
+                         @NonNull final byte[][] childStates,
+                         @NonNull final Map<String, Bitmap> icons) {
+            this.version = version;
+            this.tabIds = tabIds;
+            this.tabs = tabs;
+            this.childStateIds = childStateIds;
+            this.childStates = childStates;
+            this.icons = icons;
+        }
+
+    }
+
+    /**
+     * The magic number, which is written at the beginning of each file.
+     */
+    private static final int MAGIC_NUMBER = 0x54535353;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int FORMAT_VERSION = 4;
+
+    /**
+     * The suffix of the temporary file, a session is written to, before it replaces the previous
+     * one.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * The number of seconds, the background thread is kept alive, when idle.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 1;
+
+    /**
+     * A map, which contains the stores, which have been created, mapped to the paths of their
+     * files.
+     */
+    private static final Map<String, SessionStore> STORES = new HashMap<>();
+
+    /**
+     * The handler, which is used to notify callbacks on the UI thread.
+     */
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    /**
+     * The file, sessions are written to.
+     */
+    private final File file;
+
+    /**
+     * The class loader, which is used to restore the saved instance states of child views.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The executor, which is used to write and read sessions on a background thread.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The version of the most recently scheduled session.
+     */
+    private final AtomicLong version;
+
+    /**
+     * The snapshot of the most recent session, which has been written or read by the store, or
+     * null, if no session is kept in memory.
+     */
+    private volatile Snapshot latestSnapshot;
+
+    /**
+     * Closes a specific stream, ignoring any errors.
+     *
+     * @param stream
+     *         The stream, which should be closed, as an instance of the type {@link Closeable} or
+     *         null, if no stream has been opened
+     */
+    private static void close(@Nullable final Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // No need to handle
+            }
+        }
+    }
+
+    /**
+     * Writes a specific record, which is preceded by the id of the corresponding tab and its
+     * length, to a stream.
+     *
+     * @param outputStream
+     *         The stream, the record should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param id
+     *         The id of the tab, the record corresponds to, as a {@link Long} value
+     * @param data
+     *         The data of the record as a {@link Byte} array. The array may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the record
+     */
+    private static void writeRecord(@NonNull final DataOutputStream outputStream, final long id,
+                                    @NonNull final byte[] data) throws IOException {
+        outputStream.writeLong(id);
+        outputStream.writeInt(data.length);
+        outputStream.write(data);
+    }
+
+    /**
+     * Writes a record, which consists of the digest of an icon, followed by the compressed icon
+     * and its length, to a stream.
+     *
+     * @param outputStream
+     *         The stream, the record should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param digest
+     *         The digest of the icon, the record corresponds to, as a {@link String}. The digest
+     *         may neither be null, nor empty
+     * @param data
+     *         The data of the record as a {@link Byte} array. The array may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while writing the record
+     */
+    private static void writeRecord(@NonNull final DataOutputStream outputStream,
+                                    @NonNull final String digest, @NonNull final byte[] data)
+            throws IOException {
+        outputStream.writeUTF(digest);
+        outputStream.writeInt(data.length);
+        outputStream.write(data);
+    }
+
+    /**
+     * Reads the data of a record, whose id has already been read, from a stream.
+     *
+     * @param inputStream
+     *         The stream, the record should be read from, as an instance of the class {@link
+     *         DataInputStream}. The stream may not be null
+     * @return The data of the record, which has been read, as a {@link Byte} array. The array may
+     * not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the record
+     */
+    @NonNull
+    private static byte[] readRecord(@NonNull final DataInputStream inputStream)
+            throws IOException {
+        byte[] data = new byte[inputStream.readInt()];
+        inputStream.readFully(data);
+        return data;
+    }
+
+    /**
+     * Returns the temporary file, a session is written to, before it replaces the previous one.
+     *
+     * @return The temporary file as an instance of the class {@link File}. The file may not be
+     * null
+     */
+    @NonNull
+    private File getTempFile() {
+        return new File(file.getPath() + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Captures a snapshot of a specific session. This method must be called on the UI thread.
+     *
+     * @param version
+     *         The version of the session as a {@link Long} value
+     * @param tabs
+     *         A list, which contains the tabs of the session, as an instance of the type {@link
+     *         List}. The list may not be null
+     * @param childStates
+     *         A map, which contains the saved instance states of the child views of the tabs of the
+     *         session, as an instance of the type {@link Map}. The map may not be null
+     * @return The snapshot, which has been captured, as an instance of the class {@link Snapshot}.
+     * The snapshot may not be null
+     */
+    @NonNull
+    private Snapshot createSnapshot(final long version, @NonNull final List<Tab> tabs,
+                                    @NonNull final Map<Long, Bundle> childStates) {
+        long[] tabIds = new long[tabs.size()];
+        byte[][] tabData = new byte[tabs.size()][];
+
+        for (int i = 0; i < tabs.size(); i++) {
+            Tab tab = tabs.get(i);
+            tabIds[i] = tab.getId();
+            tabData[i] = tab.toByteArray();
+        }
+
+        List<Long> childStateIds = new ArrayList<>(childStates.size());
+        List<byte[]> childStateData = new ArrayList<>(childStates.size());
+
+        for (Map.Entry<Long, Bundle> entry : childStates.entrySet()) {
+            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+            try {
+                PersistenceFormat.writeBundle(new DataOutputStream(byteStream), entry.getValue());
+                childStateIds.add(entry.getKey());
+                childStateData.add(byteStream.toByteArray());
+            } catch (IOException | RuntimeException e) {
+                // The state is discarded
+            }
+        }
+
+        long[] childStateIdArray = new long[childStateIds.size()];
+
+        for (int i = 0; i < childStateIdArray.length; i++) {
+            childStateIdArray[i] = childStateIds.get(i);
+        }
+
+        return new Snapshot(version, tabIds, tabData, childStateIdArray,
+                childStateData.toArray(new byte[childStateData.size()][]),
+                IconStore.getInstance().getIcons(tabs));
+    }
+
+    /**
+     * Creates a session from a specific snapshot. Only the tabs within a specific range of indices
+     * are restored immediately. All other tabs are created from their marshalled data and their
+     * properties are restored, when they are accessed for the first time, or when the method
+     * <code>hydrate</code> is called.
+     *
+     * @param snapshot
+     *         The snapshot, the session should be created from, as an instance of the class {@link
+     *         Snapshot}. The snapshot may not be null
+     * @param startIndex
+     *         The index of the first tab, which should be restored immediately, as an {@link
+     *         Integer} value
+     * @param endIndex
+     *         The index of the last tab, which should be restored immediately, as an {@link
+     *         Integer} value
+     * @return The session, which has been created, as an instance of the class {@link Session}.
+     * The session may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the data of a saved instance state is invalid
+     */
+    @NonNull
+    private Session createSession(@NonNull final Snapshot snapshot, final int startIndex,
+                                  final int endIndex) throws IOException {
+        List<Tab> tabs = new ArrayList<>(snapshot.tabs.length);
+
+        for (int i = 0; i < snapshot.tabs.length; i++) {
+            Tab tab = Tab.createFromMarshalledData(snapshot.tabIds[i], snapshot.tabs[i]);
+
+            if (i >= startIndex && i <= endIndex) {
+                tab.hydrate();
+            }
+
+            tabs.add(tab);
+        }
+
+        Map<Long, Bundle> childStates = new HashMap<>(snapshot.childStates.length);
+
+        for (int i = 0; i < snapshot.childStates.length; i++) {
+            Bundle childState = PersistenceFormat.readBundle(
+                    new DataInputStream(new ByteArrayInputStream(snapshot.childStates[i])),
+                    classLoader);
+
+            if (childState != null) {
+                childStates.put(snapshot.childStateIds[i], childState);
+            }
+        }
+
+        return new Session(snapshot.version, tabs, childStates,
+                new HashMap<>(snapshot.icons));
+    }
+
+    /**
+     * Writes a specific snapshot to the file. The snapshot is first written to a temporary file,
+     * which replaces the previous file afterwards. If an error occurs, the previous file is
+     * retained.
+     *
+     * @param snapshot
+     *         The snapshot, which should be written, as an instance of the class {@link Snapshot}.
+     *         The snapshot may not be null
+     */
+    private void writeSnapshot(@NonNull final Snapshot snapshot) {
+        File tempFile = getTempFile();
+        FileOutputStream fileOutputStream = null;
+        DataOutputStream outputStream = null;
+
+        try {
+            fileOutputStream = new FileOutputStream(tempFile);
+            outputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+            outputStream.writeInt(MAGIC_NUMBER);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeLong(snapshot.version);
+            outputStream.writeInt(snapshot.tabs.length);
+
+            for (int i = 0; i < snapshot.tabs.length; i++) {
+                writeRecord(outputStream, snapshot.tabIds[i], snapshot.tabs[i]);
+            }
+
+            outputStream.writeInt(snapshot.childStates.length);
+
+            for (int i = 0; i < snapshot.childStates.length; i++) {
+                writeRecord(outputStream, snapshot.childStateIds[i], snapshot.childStates[i]);
+            }
+
+            outputStream.writeInt(snapshot.icons.size());
+
+            for (Map.Entry<String, Bitmap> entry : snapshot.icons.entrySet()) {
+                writeRecord(outputStream, entry.getKey(), IconStore.compress(entry.getValue()));
+            }
+
+            outputStream.flush();
+            fileOutputStream.getFD().sync();
+            close(outputStream);
+            outputStream = null;
+
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Failed to rename file \"" + tempFile + "\" to \"" + file +
+                        "\"");
+            }
+        } catch (IOException | RuntimeException e) {
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+        } finally {
+            close(outputStream != null ? outputStream : fileOutputStream);
+        }
+    }
+
+    /**
+     * Reads a snapshot from the file. This method must be called on the background thread.
+     *
+     * @return The snapshot, which has been read, as an instance of the class {@link Snapshot} or
+     * null, if no session has been written, if the file has been written in an unknown format or if
+     * an error occurred
+     */
+    @Nullable
+    private Snapshot readSnapshot() {
+        if (file.exists()) {
+            DataInputStream inputStream = null;
+
+            try {
+                inputStream = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(file)));
+
+                if (inputStream.readInt() != MAGIC_NUMBER ||
+                        inputStream.readInt() != FORMAT_VERSION) {
+                    return null;
+                }
+
+                long sessionVersion = inputStream.readLong();
+                int tabCount = inputStream.readInt();
+                long[] tabIds = new long[tabCount];
+                byte[][] tabs = new byte[tabCount][];
+
+                for (int i = 0; i < tabCount; i++) {
+                    tabIds[i] = inputStream.readLong();
+                    tabs[i] = readRecord(inputStream);
+                }
+
+                int childStateCount = inputStream.readInt();
+                long[] childStateIds = new long[childStateCount];
+                byte[][] childStates = new byte[childStateCount][];
+
+                for (int i = 0; i < childStateCount; i++) {
+                    childStateIds[i] = inputStream.readLong();
+                    childStates[i] = readRecord(inputStream);
+                }
+
+                int iconCount = inputStream.readInt();
+                Map<String, Bitmap> icons = new HashMap<>(iconCount);
+
+                for (int i = 0; i < iconCount; i++) {
+                    String digest = inputStream.readUTF();
+                    Bitmap icon = IconStore.decompress(readRecord(inputStream));
+
+                    if (icon != null) {
+                        icons.put(digest, icon);
+                    }
+                }
+
+                return new Snapshot(sessionVersion, tabIds, tabs, childStateIds, childStates,
+                        icons);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            } finally {
+                close(inputStream);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a new store, which allows to persist the tabs of a {@link TabSwitcher} in a file.
+     *
+     * @param file
+     *         The file, sessions should be written to, as an instance of the class {@link File}.
+     *         The file may not be null
+     * @param classLoader
+     *         The class loader, which should be used to restore the saved instance states of child
+     *         views, as an instance of the class {@link ClassLoader}. The class loader may not be
+     *         null
+     */
+    private SessionStore(@NonNull final File file, @NonNull final ClassLoader classLoader) {
+        this.file = file;
+        this.classLoader = classLoader;
+        this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.version = new AtomicLong(0);
+        this.latestSnapshot = null;
+    }
+
+    /**
+     * Returns the store, which allows to persist the tabs of a {@link TabSwitcher} in a specific
+     * file. If a store has already been created for the file, it is reused. This prevents multiple
+     * stores from writing to the same file concurrently.
+     *
+     * @param file
+     *         The file, sessions should be written to, as an instance of the class {@link File}.
+     *         The file may not be null
+     * @param classLoader
+     *         The class loader, which should be used to restore the saved instance states of child
+     *         views, as an instance of the class {@link ClassLoader}. The class loader may not be
+     *         null
+     * @return The store as an instance of the class {@link SessionStore}. The store may not be
+     * null
+     */
+    @NonNull
+    public static SessionStore getInstance(@NonNull final File file,
+                                           @NonNull final ClassLoader classLoader) {
+        ensureNotNull(file, "The file may not be null");
+        ensureNotNull(classLoader, "The class loader may not be null");
+        String path = file.getAbsolutePath();
+
+        synchronized (STORES) {
+            SessionStore store = STORES.get(path);
+
+            if (store == null) {
+                store = new SessionStore(new File(path), classLoader);
+                STORES.put(path, store);
+            }
+
+            return store;
+        }
+    }
+
+    /**
+     * Returns the file, sessions are written to.
+     *
+     * @return The file, sessions are written to, as an instance of the class {@link File}. The
+     * file may not be null
+     */
+    @NonNull
+    public final File getFile() {
+        return file;
+    }
+
+    /**
+     * Captures a specific session and schedules it to be written to the file on a background
+     * thread. This method must be called on the UI thread.
+     *
+     * @param tabs
+     *         A list, which contains the tabs of the session, as an instance of the type {@link
+     *         List}. The list may not be null
+     * @param childStates
+     *         A map, which contains the saved instance states of the child views of the tabs of the
+     *         session, mapped to the ids of the corresponding tabs, as an instance of the type
+     *         {@link Map}. The map may not be null
+     * @return The version of the session, which has been scheduled to be written, as a {@link
+     * Long} value
+     */
+    public final long write(@NonNull final List<Tab> tabs,
+                            @NonNull final Map<Long, Bundle> childStates) {
+        ensureNotNull(tabs, "The list may not be null");
+        ensureNotNull(childStates, "The map may not be null");
+        final long scheduledVersion = version.incrementAndGet();
+        final Snapshot snapshot = createSnapshot(scheduledVersion, tabs, childStates);
+        latestSnapshot = snapshot;
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                if (version.get() == scheduledVersion) {
+                    writeSnapshot(snapshot);
+                }
+            }
+
+        });
+        return scheduledVersion;
+    }
+
+    /**
+     * Returns the most recent session, if it is kept in memory, e.g. because it has been written
+     * by the current process. Only the tabs within a specific range of indices are restored
+     * immediately. All other tabs are created from their marshalled data and their properties are
+     * restored, when they are accessed for the first time, or when the method
+     * <code>hydrate</code> is called.
+     *
+     * @param startIndex
+     *         The index of the first tab, which should be restored immediately, as an {@link
+     *         Integer} value
+     * @param endIndex
+     *         The index of the last tab, which should be restored immediately, as an {@link
+     *         Integer} value
+     * @return The session as an instance of the class {@link Session} or null, if no session is
+     * kept in memory or if an error occurred
+     */
+    @Nullable
+    public final Session readFromMemory(final int startIndex, final int endIndex) {
+        Snapshot snapshot = latestSnapshot;
+
+        if (snapshot != null) {
+            try {
+                return createSession(snapshot, startIndex, endIndex);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the most recent session on a background thread, after all sessions, which have been
+     * scheduled to be written, have been written. Only the tabs within a specific range of indices
+     * are restored immediately. All other tabs are created from their marshalled data and their
+     * properties are restored, when they are accessed for the first time, or when the method
+     * <code>hydrate</code> is called.
+     *
+     * @param startIndex
+     *         The index of the first tab, which should be restored immediately, as an {@link
+     *         Integer} value
+     * @param endIndex
+     *         The index of the last tab, which should be restored immediately, as an {@link
+     *         Integer} value
+     * @param callback
+     *         The callback, which should be notified on the UI thread, when the session has been
+     *         read, as an instance of the type {@link Callback}. The callback may not be null
+     */
+    public final void read(final int startIndex, final int endIndex,
+                           @NonNull final Callback callback) {
+        ensureNotNull(callback, "The callback may not be null");
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                Session session = null;
+                Snapshot snapshot = latestSnapshot;
+
+                if (snapshot == null) {
+                    snapshot = readSnapshot();
+
+                    if (snapshot != null && latestSnapshot == null) {
+                        latestSnapshot = snapshot;
+                    }
+                }
+
+                if (snapshot != null) {
+                    try {
+                        session = createSession(snapshot, startIndex, endIndex);
+                    } catch (IOException | RuntimeException e) {
+                        session = null;
+                    }
+                }
+
+                final Session result = session;
+                MAIN_HANDLER.post(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        callback.onSessionRead(result);
+                    }
+
+                });
+            }
+
+        });
+    }
+
+    /**
+     * Restores the properties of the tabs of a specific session, which have been created from
+     * marshalled data, on a background thread. Tabs, which are accessed in the meantime, are
+     * restored on demand. The icons of the session are kept in memory, until all tabs have been
+     * restored.
+     *
+     * @param session
+     *         The session, whose tabs should be restored, as an instance of the class {@link
+     *         Session}. The session may not be null
+     */
+    public final void hydrate(@NonNull final Session session) {
+        ensureNotNull(session, "The session may not be null");
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                for (Tab tab : session.getTabs()) {
+                    try {
+                        tab.hydrate();
+                    } catch (RuntimeException e) {
+                        // The tab is restored on demand
+                    }
+                }
+            }
+
+        });
+    }
+
+    /**
+     * Ensures, that the versions of sessions, which are written subsequently, are greater than a
+     * specific version.
+     *
+     * @param minVersion
+     *         The version, the versions of subsequently written sessions should be greater than,
+     *         as a {@link Long} value
+     */
+    public final void adaptVersion(final long minVersion) {
+        long currentVersion;
+
+        do {
+            currentVersion = version.get();
+        } while (currentVersion < minVersion && !version.compareAndSet(currentVersion, minVersion));
+    }
+
+}
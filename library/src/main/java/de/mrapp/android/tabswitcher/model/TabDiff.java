@@ -0,0 +1,275 @@
+/*
+ * Copyright 2016 - 2017 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.tabswitcher.model;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.mrapp.android.tabswitcher.Tab;
+import de.mrapp.android.tabswitcher.TabSwitcher;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+import static de.mrapp.android.util.Condition.ensureTrue;
+
+/**
+ * A diff, which describes a minimal edit script, which allows to transform the tabs of a {@link
+ * TabSwitcher} into another list of tabs. As each tab may only be contained once, the longest
+ * common subsequence of both lists corresponds to the longest increasing subsequence of the
+ * previous indices of the retained tabs. The tabs, which are part of this subsequence, remain in
+ * place, whereas all other retained tabs must be moved. Tabs are identified by their ids, which
+ * allows to retain tabs, which have been restored from a parcel or a session, even if they are
+ * different instances.
+ *
+ * @author Michael Rapp
+ * @since 0.1.5
+ */
+public class TabDiff {
+
+    /**
+     * An array, which contains the tabs, the diff has been computed from.
+     */
+    private final Tab[] previousTabs;
+
+    /**
+     * An array, which contains the tabs, the diff has been computed to.
+     */
+    private final Tab[] tabs;
+
+    /**
+     * An array, which contains the tabs, which must be removed.
+     */
+    private final Tab[] removedTabs;
+
+    /**
+     * A set, which contains the ids of the tabs, which must be added.
+     */
+    private final Set<Long> addedIds;
+
+    /**
+     * A set, which contains the ids of the tabs, which must be moved.
+     */
+    private final Set<Long> movedIds;
+
+    /**
+     * A set, which contains the tabs, which must be moved.
+     */
+    private final Set<Tab> movedTabs;
+
+    /**
+     * Returns the positions of the longest increasing subsequence of a specific sequence.
+     *
+     * @param sequence
+     *         The sequence, which should be searched, as an {@link Integer} array. The array may
+     *         not be null
+     * @return An array, which contains whether the item at the corresponding position is part of
+     * the longest increasing subsequence, as a {@link Boolean} array. The array may not be null
+     */
+    @NonNull
+    private static boolean[] findLongestIncreasingSubsequence(@NonNull final int[] sequence) {
+        int[] tails = new int[sequence.length];
+        int[] predecessors = new int[sequence.length];
+        int length = 0;
+
+        for (int i = 0; i < sequence.length; i++) {
+            int low = 0;
+            int high = length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (sequence[tails[mid]] < sequence[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] result = new boolean[sequence.length];
+        int position = length > 0 ? tails[length - 1] : -1;
+
+        while (position != -1) {
+            result[position] = true;
+            position = predecessors[position];
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a new diff, which describes a minimal edit script, which allows to transform a
+     * specific array of tabs into another one.
+     *
+     * @param previousTabs
+     *         An array, which contains the tabs, the diff should be computed from, as an array of
+     *         the type {@link Tab}. The array may not be null
+     * @param tabs
+     *         An array, which contains the tabs, the diff should be computed to, as an array of the
+     *         type {@link Tab}. The array may neither be null, nor contain any null items or
+     *         duplicates
+     */
+    public TabDiff(@NonNull final Tab[] previousTabs, @NonNull final Tab[] tabs) {
+        ensureNotNull(previousTabs, "The array may not be null");
+        ensureNotNull(tabs, "The array may not be null");
+        this.previousTabs = previousTabs;
+        this.tabs = tabs;
+        this.addedIds = new HashSet<>();
+        this.movedIds = new HashSet<>();
+        this.movedTabs = new HashSet<>();
+        Map<Long, Integer> previousIndices = new HashMap<>(previousTabs.length);
+
+        for (int i = 0; i < previousTabs.length; i++) {
+            previousIndices.put(previousTabs[i].getId(), i);
+        }
+
+        Set<Long> retainedIds = new HashSet<>(tabs.length);
+        List<Tab> commonTabs = new ArrayList<>(tabs.length);
+        int[] sequence = new int[tabs.length];
+
+        for (Tab tab : tabs) {
+            ensureNotNull(tab, "The array may not contain null items");
+            ensureTrue(retainedIds.add(tab.getId()), "The array may not contain duplicates");
+            Integer previousIndex = previousIndices.get(tab.getId());
+
+            if (previousIndex != null) {
+                sequence[commonTabs.size()] = previousIndex;
+                commonTabs.add(tab);
+            } else {
+                addedIds.add(tab.getId());
+            }
+        }
+
+        int[] commonSequence = new int[commonTabs.size()];
+        System.arraycopy(sequence, 0, commonSequence, 0, commonSequence.length);
+        boolean[] stable = findLongestIncreasingSubsequence(commonSequence);
+
+        for (int i = 0; i < stable.length; i++) {
+            if (!stable[i]) {
+                Tab tab = commonTabs.get(i);
+                movedIds.add(tab.getId());
+                movedTabs.add(tab);
+            }
+        }
+
+        List<Tab> removedTabs = new ArrayList<>();
+
+        for (Tab tab : previousTabs) {
+            if (!retainedIds.contains(tab.getId())) {
+                removedTabs.add(tab);
+            }
+        }
+
+        this.removedTabs = removedTabs.toArray(new Tab[removedTabs.size()]);
+    }
+
+    /**
+     * Returns the tabs, the diff has been computed from.
+     *
+     * @return An array, which contains the tabs, the diff has been computed from, as an array of
+     * the type {@link Tab}. The array may not be null
+     */
+    @NonNull
+    public final Tab[] getPreviousTabs() {
+        return previousTabs;
+    }
+
+    /**
+     * Returns the tabs, the diff has been computed to.
+     *
+     * @return An array, which contains the tabs, the diff has been computed to, as an array of the
+     * type {@link Tab}. The array may not be null
+     */
+    @NonNull
+    public final Tab[] getTabs() {
+        return tabs;
+    }
+
+    /**
+     * Returns the tabs, which must be removed.
+     *
+     * @return An array, which contains the tabs, which must be removed, ordered by their previous
+     * indices, as an array of the type {@link Tab} or an empty array, if no tabs must be removed
+     */
+    @NonNull
+    public final Tab[] getRemovedTabs() {
+        return removedTabs;
+    }
+
+    /**
+     * Returns the tabs, which must be moved.
+     *
+     * @return A set, which contains the tabs, which must be moved, as an instance of the type
+     * {@link Set} or an empty set, if no tabs must be moved
+     */
+    @NonNull
+    public final Set<Tab> getMovedTabs() {
+        return movedTabs;
+    }
+
+    /**
+     * Returns, whether a specific tab must be added, or not.
+     *
+     * @param tab
+     *         The tab, which should be checked, as an instance of the class {@link Tab}. The tab
+     *         may not be null
+     * @return True, if the given tab must be added, false otherwise
+     */
+    public final boolean isAdded(@NonNull final Tab tab) {
+        ensureNotNull(tab, "The tab may not be null");
+        return addedIds.contains(tab.getId());
+    }
+
+    /**
+     * Returns, whether a specific tab must be moved, or not.
+     *
+     * @param tab
+     *         The tab, which should be checked, as an instance of the class {@link Tab}. The tab
+     *         may not be null
+     * @return True, if the given tab must be moved, false otherwise
+     */
+    public final boolean isMoved(@NonNull final Tab tab) {
+        ensureNotNull(tab, "The tab may not be null");
+        return movedIds.contains(tab.getId());
+    }
+
+    /**
+     * Returns, whether the diff does not contain any edits, i.e. if both arrays contain the same
+     * tabs in the same order.
+     *
+     * @return True, if the diff does not contain any edits, false otherwise
+     */
+    public final boolean isEmpty() {
+        return removedTabs.length == 0 && addedIds.isEmpty() && movedIds.isEmpty();
+    }
+
+    @Override
+    public final String toString() {
+        return "TabDiff [removed = " + removedTabs.length + ", added = " + addedIds.size() +
+                ", moved = " + movedIds.size() + "]";
+    }
+
+}
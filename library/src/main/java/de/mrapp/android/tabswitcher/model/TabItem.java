@@ -20,6 +20,7 @@ import android.view.View;
 import de.mrapp.android.tabswitcher.R;
 import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
+import de.mrapp.android.tabswitcher.layout.AbstractTabRecyclerAdapter;
 import de.mrapp.android.tabswitcher.layout.phone.PhoneTabViewHolder;
 import de.mrapp.android.util.view.AttachedViewRecycler;
 
@@ -148,7 +149,8 @@ public class TabItem {
 
     /**
      * Creates a new item, which contains information about a specific tab. By default, the item is
-     * neither associated with a view, nor with a view holder.
+     * neither associated with a view, nor with a view holder. If the view of the tab has been
+     * detached, because the tab is part of one of the stacks, the tag of the item is retained.
      *
      * @param viewRecycler
      *         The view recycler, which is used to reuse the views, which are used to visualize
@@ -175,6 +177,14 @@ public class TabItem {
             if (tag != null) {
                 tabItem.setTag(tag);
             }
+        } else if (viewRecycler.getAdapter() instanceof AbstractTabRecyclerAdapter) {
+            AbstractTabRecyclerAdapter adapter =
+                    (AbstractTabRecyclerAdapter) viewRecycler.getAdapter();
+            TabItem detachedTabItem = adapter.getDetachedTabItem(tab);
+
+            if (detachedTabItem != null) {
+                tabItem.setTag(detachedTabItem.getTag());
+            }
         }
 
         return tabItem;
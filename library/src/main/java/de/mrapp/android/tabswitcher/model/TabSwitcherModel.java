@@ -27,15 +27,22 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringRes;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LongSparseArray;
+import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.Toolbar.OnMenuItemClickListener;
 import android.view.View;
 import android.view.View.OnClickListener;
 import android.view.ViewGroup;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -51,8 +58,11 @@ import de.mrapp.android.tabswitcher.TabSwitcherDecorator;
 import de.mrapp.android.tabswitcher.layout.ChildRecyclerAdapter;
 import de.mrapp.android.util.logging.LogLevel;
 
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureAtMaximum;
 import static de.mrapp.android.util.Condition.ensureNotEqual;
 import static de.mrapp.android.util.Condition.ensureNotNull;
+import static de.mrapp.android.util.Condition.ensureTrue;
 
 /**
  * The model of a {@link TabSwitcher}.
@@ -156,6 +166,48 @@ public class TabSwitcherModel implements Model, Restorable {
     private static final String TOOLBAR_TITLE_EXTRA =
             TabSwitcher.class.getName() + "::ToolbarTitle";
 
+    /**
+     * The name of the extra, which is used to store the path of the file, the session has been
+     * written to, within a bundle.
+     */
+    private static final String SESSION_FILE_EXTRA =
+            TabSwitcherModel.class.getName() + "::SessionFile";
+
+    /**
+     * The name of the extra, which is used to store the version of the session, which has been
+     * written to a file, within a bundle.
+     */
+    private static final String SESSION_VERSION_EXTRA =
+            TabSwitcherModel.class.getName() + "::SessionVersion";
+
+    /**
+     * The name of the extra, which is used to store the id of the selected tab within a bundle.
+     */
+    private static final String SELECTED_TAB_ID_EXTRA =
+            TabSwitcherModel.class.getName() + "::SelectedTabId";
+
+    /**
+     * The number of tabs before and after the first visible tab, which are restored immediately,
+     * when the session is read from a file. All other tabs are restored lazily.
+     */
+    private static final int EAGERLY_RESTORED_TAB_RADIUS = 8;
+
+    /**
+     * The default maximum total size of the saved instance states of the child views of tabs,
+     * which are kept in memory, in bytes.
+     */
+    private static final int DEFAULT_CHILD_STATE_CACHE_SIZE = 512 * 1024;
+
+    /**
+     * The default number of views, which are used to visualize tabs, which are created in advance.
+     */
+    private static final int DEFAULT_PREWARMED_TAB_VIEW_COUNT = 6;
+
+    /**
+     * True, if touch events, which move a drag gesture, are coalesced by default, false otherwise.
+     */
+    private static final boolean DEFAULT_TOUCH_EVENTS_COALESCED = false;
+
     /**
      * The tab switcher, the model belongs to.
      */
@@ -186,6 +238,12 @@ public class TabSwitcherModel implements Model, Restorable {
      */
     private ArrayList<Tab> tabs;
 
+    /**
+     * A sparse array, which maps the ids of the tabs, which are contained by the tab switcher, to
+     * the tabs.
+     */
+    private LongSparseArray<Tab> tabsById;
+
     /**
      * True, if the tab switcher is currently shown, false otherwise.
      */
@@ -207,6 +265,56 @@ public class TabSwitcherModel implements Model, Restorable {
      */
     private ChildRecyclerAdapter childRecyclerAdapter;
 
+    /**
+     * The maximum total size of the saved instance states of the child views of tabs, which are
+     * kept in memory, in bytes.
+     */
+    private int childStateCacheSize;
+
+    /**
+     * The directory, saved instance states of the child views of tabs, which are evicted from
+     * memory, are written to.
+     */
+    private File childStateSpillDirectory;
+
+    /**
+     * The store, which is used to write the session to a file, instead of storing it within a
+     * bundle.
+     */
+    private SessionStore sessionStore;
+
+    /**
+     * The saved state, which refers to the session, which is currently read on a background
+     * thread, or null, if no session is read.
+     */
+    private Bundle pendingSession;
+
+    /**
+     * The directory, which contains the journal, which records the mutations of the tabs, or null,
+     * if no journal is written.
+     */
+    private File journalDirectory;
+
+    /**
+     * The journal, which records the mutations of the tabs, or null, if the journal is not open.
+     */
+    private SessionJournal sessionJournal;
+
+    /**
+     * True, if the views, which are used to visualize tabs, are flattened, false otherwise.
+     */
+    private boolean tabViewsFlattened;
+
+    /**
+     * The number of views, which are used to visualize tabs, which are created in advance.
+     */
+    private int prewarmedTabViewCount;
+
+    /**
+     * True, if touch events, which move a drag gesture, are coalesced, false otherwise.
+     */
+    private boolean touchEventsCoalesced;
+
     /**
      * An array, which contains the left, top, right and bottom padding of the tab switcher.
      */
@@ -286,6 +394,28 @@ public class TabSwitcherModel implements Model, Restorable {
      */
     private final Set<TabPreviewListener> tabPreviewListeners;
 
+    /**
+     * The number of batches, which are currently running.
+     */
+    private int batchDepth;
+
+    /**
+     * An array, which contains the tabs, which were contained by the model, when the outermost
+     * batch has been started.
+     */
+    private Tab[] batchPreviousTabs;
+
+    /**
+     * The index of the tab, which was selected, when the outermost batch has been started.
+     */
+    private int batchPreviousSelectedTabIndex;
+
+    /**
+     * True, if the tab switcher was shown, when the outermost batch has been started, false
+     * otherwise.
+     */
+    private boolean batchSwitcherShown;
+
     /**
      * Returns the index of a specific tab or throws a {@link NoSuchElementException}, if the model
      * does not contain the given tab.
@@ -317,6 +447,179 @@ public class TabSwitcherModel implements Model, Restorable {
         return false;
     }
 
+    /**
+     * Removes the saved instance state of the child view of a specific tab, which has been removed
+     * from the model.
+     *
+     * @param tab
+     *         The tab, which has been removed, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     */
+    private void removeSavedInstanceState(@NonNull final Tab tab) {
+        if (childRecyclerAdapter != null) {
+            childRecyclerAdapter.removeSavedInstanceState(tab);
+        }
+    }
+
+    /**
+     * Sets the tabs, which have been restored from a saved state.
+     *
+     * @param restoredTabs
+     *         A list, which contains the tabs, which have been restored, as an instance of the type
+     *         {@link List} or null, if no tabs have been restored
+     */
+    private void setTabsWhenRestoring(@Nullable final List<Tab> restoredTabs) {
+        for (Tab tab : tabs) {
+            tab.releaseIcons();
+        }
+
+        tabs = restoredTabs != null ? new ArrayList<>(restoredTabs) : new ArrayList<Tab>();
+        tabsById.clear();
+
+        for (Tab tab : tabs) {
+            tabsById.put(tab.getId(), tab);
+            tab.acquireIcons();
+        }
+    }
+
+    /**
+     * Returns the tab, which has been selected, when a session has been written, from a specific
+     * saved state.
+     *
+     * @param savedInstanceState
+     *         The saved state, which refers to the session, as an instance of the class {@link
+     *         Bundle}. The bundle may not be null
+     * @return The tab, which has been selected, as an instance of the class {@link Tab} or null,
+     * if no tab has been selected or if the tab is not contained by the model
+     */
+    @Nullable
+    private Tab getRestoredSelectedTab(@NonNull final Bundle savedInstanceState) {
+        return savedInstanceState.containsKey(SELECTED_TAB_ID_EXTRA) ?
+                getTabById(savedInstanceState.getLong(SELECTED_TAB_ID_EXTRA)) : null;
+    }
+
+    /**
+     * Restores the tabs and the saved instance states of their child views from a session, which
+     * has been written to a specific file. If the session is kept in memory, e.g. after a
+     * configuration change, it is restored immediately. Otherwise, it is read on a background
+     * thread and its tabs are added to the model afterwards, if no tabs have been added in the
+     * meantime. If the session cannot be read, no tabs are restored. If the most recent session
+     * has not been written completely, e.g. because the process has been killed, the previous
+     * session is restored instead. Only the selected tab and the tabs around the first visible
+     * tab are restored immediately. The properties of all other tabs are restored on a background
+     * thread, or when they are accessed.
+     *
+     * @param savedInstanceState
+     *         The saved state, which refers to the session, as an instance of the class {@link
+     *         Bundle}. The bundle may not be null
+     * @param file
+     *         The file, the session has been written to, as an instance of the class {@link File}.
+     *         The file may not be null
+     */
+    private void restoreSession(@NonNull final Bundle savedInstanceState,
+                                @NonNull final File file) {
+        sessionStore = SessionStore.getInstance(file, getContext().getClassLoader());
+        sessionStore.adaptVersion(savedInstanceState.getLong(SESSION_VERSION_EXTRA));
+        int startIndex = firstVisibleTabIndex != -1 ?
+                firstVisibleTabIndex - EAGERLY_RESTORED_TAB_RADIUS : 0;
+        int endIndex = firstVisibleTabIndex != -1 ?
+                firstVisibleTabIndex + EAGERLY_RESTORED_TAB_RADIUS : -1;
+        SessionStore.Session session = sessionStore.readFromMemory(startIndex, endIndex);
+
+        if (session != null) {
+            for (Map.Entry<String, Bitmap> entry : session.getIcons().entrySet()) {
+                IconStore.getInstance().put(entry.getKey(), entry.getValue());
+            }
+
+            setTabsWhenRestoring(session.getTabs());
+            selectedTab = getRestoredSelectedTab(savedInstanceState);
+
+            if (selectedTab == null && !tabs.isEmpty()) {
+                selectedTab = tabs.get(0);
+            }
+
+            if (selectedTab != null) {
+                selectedTab.hydrate();
+            }
+
+            childRecyclerAdapter.putSavedInstanceStates(session.getChildStates());
+            sessionStore.hydrate(session);
+        } else {
+            setTabsWhenRestoring(null);
+            selectedTab = null;
+            pendingSession = savedInstanceState;
+            sessionStore.read(startIndex, endIndex, createSessionCallback(savedInstanceState));
+        }
+    }
+
+    /**
+     * Creates and returns a callback, which allows to add the tabs of a session, which has been
+     * read on a background thread, to the model.
+     *
+     * @param savedInstanceState
+     *         The saved state, which refers to the session, as an instance of the class {@link
+     *         Bundle}. The bundle may not be null
+     * @return The callback, which has been created, as an instance of the type {@link
+     * SessionStore.Callback}. The callback may not be null
+     */
+    @NonNull
+    private SessionStore.Callback createSessionCallback(@NonNull final Bundle savedInstanceState) {
+        return new SessionStore.Callback() {
+
+            @Override
+            public void onSessionRead(@Nullable final SessionStore.Session session) {
+                if (pendingSession == savedInstanceState) {
+                    pendingSession = null;
+
+                    if (session != null && tabs.isEmpty() && !session.getTabs().isEmpty()) {
+                        addRestoredSession(session, savedInstanceState);
+                    }
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Adds the tabs of a specific session, which has been read on a background thread, to the
+     * model within a batch.
+     *
+     * @param session
+     *         The session, whose tabs should be added, as an instance of the class {@link
+     *         SessionStore.Session}. The session may not be null
+     * @param savedInstanceState
+     *         The saved state, which refers to the session, as an instance of the class {@link
+     *         Bundle}. The bundle may not be null
+     */
+    private void addRestoredSession(@NonNull final SessionStore.Session session,
+                                    @NonNull final Bundle savedInstanceState) {
+        for (Map.Entry<String, Bitmap> entry : session.getIcons().entrySet()) {
+            IconStore.getInstance().put(entry.getKey(), entry.getValue());
+        }
+
+        childRecyclerAdapter.putSavedInstanceStates(session.getChildStates());
+        Tab[] restoredTabs = new Tab[session.getTabs().size()];
+        session.getTabs().toArray(restoredTabs);
+        beginBatch();
+
+        try {
+            addAllTabs(restoredTabs, 0);
+            Tab restoredSelectedTab = getRestoredSelectedTab(savedInstanceState);
+
+            if (restoredSelectedTab != null) {
+                selectedTab = restoredSelectedTab;
+            }
+
+            if (selectedTab != null) {
+                selectedTab.hydrate();
+            }
+        } finally {
+            commitBatch();
+        }
+
+        sessionStore.hydrate(session);
+    }
+
     /**
      * Notifies the listeners, that the log level has been changed.
      *
@@ -486,6 +789,72 @@ public class TabSwitcherModel implements Model, Restorable {
         }
     }
 
+    /**
+     * Notifies the listeners, that multiple tabs have been removed from the model at once.
+     *
+     * @param indices
+     *         An array, which contains the previous indices of the tabs, which have been removed,
+     *         in ascending order, as an {@link Integer} array. The array may not be null
+     * @param tabs
+     *         An array, which contains the tabs, which have been removed, as an array of the type
+     *         {@link Tab}. The array may not be null
+     * @param previousSelectedTabIndex
+     *         The index of the previously selected tab as an {@link Integer} value or -1, if no tab
+     *         was selected
+     * @param selectedTabIndex
+     *         The index of the currently selected tab as an {@link Integer} value or -1, if the tab
+     *         switcher does not contain any tabs
+     * @param animation
+     *         The animation, which has been used to remove the tabs, as an instance of the class
+     *         {@link Animation}. The animation may not be null
+     */
+    private void notifyOnTabsRemoved(@NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                     final int previousSelectedTabIndex,
+                                     final int selectedTabIndex,
+                                     @NonNull final Animation animation) {
+        for (Listener listener : listeners) {
+            listener.onTabsRemoved(indices, tabs, previousSelectedTabIndex, selectedTabIndex,
+                    animation);
+        }
+    }
+
+    /**
+     * Notifies the listeners, that a tab has been moved to another index.
+     *
+     * @param previousIndex
+     *         The previous index of the tab, which has been moved, as an {@link Integer} value
+     * @param index
+     *         The index, the tab has been moved to, as an {@link Integer} value
+     * @param tab
+     *         The tab, which has been moved, as an instance of the class {@link Tab}. The tab may
+     *         not be null
+     * @param previousSelectedTabIndex
+     *         The previous index of the selected tab as an {@link Integer} value
+     * @param selectedTabIndex
+     *         The current index of the selected tab as an {@link Integer} value
+     */
+    private void notifyOnTabMoved(final int previousIndex, final int index,
+                                  @NonNull final Tab tab, final int previousSelectedTabIndex,
+                                  final int selectedTabIndex) {
+        for (Listener listener : listeners) {
+            listener.onTabMoved(previousIndex, index, tab, previousSelectedTabIndex,
+                    selectedTabIndex);
+        }
+    }
+
+    /**
+     * Notifies the listeners, that a batch has been committed.
+     *
+     * @param changeSet
+     *         The change set, which describes the coalesced changes, as an instance of the class
+     *         {@link ChangeSet}. The change set may not be null
+     */
+    private void notifyOnBatchCommitted(@NonNull final ChangeSet changeSet) {
+        for (Listener listener : listeners) {
+            listener.onBatchCommitted(changeSet);
+        }
+    }
+
     /**
      * Notifies the listeners, that the padding has been changed.
      *
@@ -638,10 +1007,20 @@ public class TabSwitcherModel implements Model, Restorable {
         this.firstVisibleTabPosition = -1;
         this.logLevel = LogLevel.INFO;
         this.tabs = new ArrayList<>();
+        this.tabsById = new LongSparseArray<>();
         this.switcherShown = false;
         this.selectedTab = null;
         this.decorator = null;
         this.childRecyclerAdapter = null;
+        this.childStateCacheSize = DEFAULT_CHILD_STATE_CACHE_SIZE;
+        this.childStateSpillDirectory = null;
+        this.sessionStore = null;
+        this.pendingSession = null;
+        this.journalDirectory = null;
+        this.sessionJournal = null;
+        this.tabViewsFlattened = false;
+        this.prewarmedTabViewCount = DEFAULT_PREWARMED_TAB_VIEW_COUNT;
+        this.touchEventsCoalesced = DEFAULT_TOUCH_EVENTS_COALESCED;
         this.padding = new int[]{0, 0, 0, 0};
         this.tabIconId = -1;
         this.tabIconBitmap = null;
@@ -657,6 +1036,10 @@ public class TabSwitcherModel implements Model, Restorable {
         this.toolbarMenuItemListener = null;
         this.tabCloseListeners = new LinkedHashSet<>();
         this.tabPreviewListeners = new LinkedHashSet<>();
+        this.batchDepth = 0;
+        this.batchPreviousTabs = null;
+        this.batchPreviousSelectedTabIndex = -1;
+        this.batchSwitcherShown = false;
     }
 
     /**
@@ -683,6 +1066,15 @@ public class TabSwitcherModel implements Model, Restorable {
         listeners.remove(listener);
     }
 
+    /**
+     * Returns, whether a batch is currently running, or not.
+     *
+     * @return True, if a batch is currently running, false otherwise
+     */
+    public final boolean isBatchRunning() {
+        return batchDepth > 0;
+    }
+
     /**
      * Returns the index of the first visible tab.
      *
@@ -809,7 +1201,8 @@ public class TabSwitcherModel implements Model, Restorable {
     public final void setDecorator(@NonNull final TabSwitcherDecorator decorator) {
         ensureNotNull(decorator, "The decorator may not be null");
         this.decorator = decorator;
-        this.childRecyclerAdapter = new ChildRecyclerAdapter(tabSwitcher, decorator);
+        this.childRecyclerAdapter = new ChildRecyclerAdapter(tabSwitcher, decorator,
+                childStateCacheSize, childStateSpillDirectory);
         notifyOnDecoratorChanged(decorator);
     }
 
@@ -818,6 +1211,125 @@ public class TabSwitcherModel implements Model, Restorable {
         return decorator;
     }
 
+    @Override
+    public final void setChildStateCacheSize(final int maxSize) {
+        ensureAtLeast(maxSize, 1, "The maximum size must be at least 1");
+        this.childStateCacheSize = maxSize;
+
+        if (childRecyclerAdapter != null) {
+            childRecyclerAdapter.setSavedInstanceStatesStore(maxSize, childStateSpillDirectory);
+        }
+    }
+
+    @Override
+    public final int getChildStateCacheSize() {
+        return childStateCacheSize;
+    }
+
+    @Override
+    public final void setChildStateSpillDirectory(@Nullable final File directory) {
+        this.childStateSpillDirectory = directory;
+
+        if (childRecyclerAdapter != null) {
+            childRecyclerAdapter.setSavedInstanceStatesStore(childStateCacheSize, directory);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final File getChildStateSpillDirectory() {
+        return childStateSpillDirectory;
+    }
+
+    @Override
+    public final void setSessionFile(@Nullable final File file) {
+        SessionStore store =
+                file != null ? SessionStore.getInstance(file, getContext().getClassLoader()) :
+                        null;
+
+        if (store != sessionStore) {
+            sessionStore = store;
+            pendingSession = null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public final File getSessionFile() {
+        return sessionStore != null ? sessionStore.getFile() : null;
+    }
+
+    /**
+     * Opens the journal, which records the mutations of the tabs, if a journal directory has been
+     * set and the journal is not already open. This method is invoked, when the tab switcher is
+     * attached to its window.
+     */
+    public final void openJournal() {
+        if (journalDirectory != null && sessionJournal == null) {
+            sessionJournal = new SessionJournal(this, journalDirectory);
+            sessionJournal.open();
+        }
+    }
+
+    /**
+     * Closes the journal, which records the mutations of the tabs, if it is open. The records,
+     * which have already been enqueued, are still written. This method is invoked, when the tab
+     * switcher is detached from its window.
+     */
+    public final void closeJournal() {
+        if (sessionJournal != null) {
+            sessionJournal.close();
+            sessionJournal = null;
+        }
+    }
+
+    @Override
+    public final void setJournalDirectory(@Nullable final File directory) {
+        closeJournal();
+        journalDirectory = directory;
+
+        if (ViewCompat.isAttachedToWindow(tabSwitcher)) {
+            openJournal();
+        }
+    }
+
+    @Nullable
+    @Override
+    public final File getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    @Override
+    public final void setTabViewsFlattened(final boolean flattened) {
+        this.tabViewsFlattened = flattened;
+    }
+
+    @Override
+    public final boolean areTabViewsFlattened() {
+        return tabViewsFlattened;
+    }
+
+    @Override
+    public final void setPrewarmedTabViewCount(final int count) {
+        ensureAtLeast(count, 0, "The count must be at least 0");
+        this.prewarmedTabViewCount = count;
+    }
+
+    @Override
+    public final int getPrewarmedTabViewCount() {
+        return prewarmedTabViewCount;
+    }
+
+    @Override
+    public final void setTouchEventsCoalesced(final boolean coalesced) {
+        this.touchEventsCoalesced = coalesced;
+    }
+
+    @Override
+    public final boolean areTouchEventsCoalesced() {
+        return touchEventsCoalesced;
+    }
+
     @NonNull
     @Override
     public final LogLevel getLogLevel() {
@@ -853,6 +1365,12 @@ public class TabSwitcherModel implements Model, Restorable {
         return tabs.indexOf(tab);
     }
 
+    @Nullable
+    @Override
+    public final Tab getTabById(final long id) {
+        return tabsById.get(id);
+    }
+
     @Override
     public final void addTab(@NonNull Tab tab) {
         addTab(tab, getCount());
@@ -869,6 +1387,8 @@ public class TabSwitcherModel implements Model, Restorable {
         ensureNotNull(tab, "The tab may not be null");
         ensureNotNull(animation, "The animation may not be null");
         tabs.add(index, tab);
+        tabsById.put(tab.getId(), tab);
+        tab.acquireIcons();
         int previousSelectedTabIndex = getSelectedTabIndex();
         int selectedTabIndex = previousSelectedTabIndex;
         boolean switcherVisibilityChanged = false;
@@ -884,12 +1404,14 @@ public class TabSwitcherModel implements Model, Restorable {
             switcherVisibilityChanged = setSwitcherShown(false);
         }
 
-        if (animation instanceof PeekAnimation) {
+        if (animation instanceof PeekAnimation && !isBatchRunning()) {
             switcherVisibilityChanged = setSwitcherShown(true);
         }
 
-        notifyOnTabAdded(index, tab, previousSelectedTabIndex, selectedTabIndex,
-                switcherVisibilityChanged, animation);
+        if (!isBatchRunning()) {
+            notifyOnTabAdded(index, tab, previousSelectedTabIndex, selectedTabIndex,
+                    switcherVisibilityChanged, animation);
+        }
     }
 
     @Override
@@ -934,6 +1456,8 @@ public class TabSwitcherModel implements Model, Restorable {
             for (int i = 0; i < tabs.length; i++) {
                 Tab tab = tabs[i];
                 this.tabs.add(index + i, tab);
+                tabsById.put(tab.getId(), tab);
+                tab.acquireIcons();
             }
 
             if (previousSelectedTabIndex == -1) {
@@ -941,8 +1465,10 @@ public class TabSwitcherModel implements Model, Restorable {
                 selectedTab = tabs[selectedTabIndex];
             }
 
-            notifyOnAllTabsAdded(index, tabs, previousSelectedTabIndex, selectedTabIndex,
-                    animation);
+            if (!isBatchRunning()) {
+                notifyOnAllTabsAdded(index, tabs, previousSelectedTabIndex, selectedTabIndex,
+                        animation);
+            }
         }
     }
 
@@ -959,6 +1485,9 @@ public class TabSwitcherModel implements Model, Restorable {
         int previousSelectedTabIndex = getSelectedTabIndex();
         int selectedTabIndex = previousSelectedTabIndex;
         tabs.remove(index);
+        tabsById.remove(tab.getId());
+        removeSavedInstanceState(tab);
+        tab.releaseIcons();
 
         if (isEmpty()) {
             selectedTabIndex = -1;
@@ -971,8 +1500,194 @@ public class TabSwitcherModel implements Model, Restorable {
             selectedTab = getTab(selectedTabIndex);
         }
 
-        notifyOnTabRemoved(index, tab, previousSelectedTabIndex, selectedTabIndex, animation);
+        if (!isBatchRunning()) {
+            notifyOnTabRemoved(index, tab, previousSelectedTabIndex, selectedTabIndex, animation);
+        }
+    }
+
+    @Override
+    public final void removeAllTabs(@NonNull final Collection<? extends Tab> tabs) {
+        removeAllTabs(tabs, new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void removeAllTabs(@NonNull final Collection<? extends Tab> tabs,
+                                    @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The collection may not be null");
+        Tab[] array = new Tab[tabs.size()];
+        tabs.toArray(array);
+        removeAllTabs(array, animation);
+    }
+
+    @Override
+    public final void removeAllTabs(@NonNull final Tab[] tabs) {
+        removeAllTabs(tabs, new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void removeAllTabs(@NonNull final Tab[] tabs,
+                                    @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The array may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        boolean[] removed = new boolean[getCount()];
+        int removedCount = 0;
+
+        for (Tab tab : tabs) {
+            ensureNotNull(tab, "The array may not contain null items");
+            int index = indexOfOrThrowException(tab);
+
+            if (!removed[index]) {
+                removed[index] = true;
+                removedCount++;
+            }
+        }
+
+        if (removedCount > 0) {
+            int previousSelectedTabIndex = getSelectedTabIndex();
+            int[] removedIndices = new int[removedCount];
+            Tab[] removedTabs = new Tab[removedCount];
+            ArrayList<Tab> remainingTabs = new ArrayList<>(getCount() - removedCount);
+            int selectedTabIndex = -1;
+            int i = 0;
+
+            for (int index = 0; index < removed.length; index++) {
+                Tab tab = this.tabs.get(index);
+
+                if (removed[index]) {
+                    removedIndices[i] = index;
+                    removedTabs[i] = tab;
+                    tabsById.remove(tab.getId());
+                    removeSavedInstanceState(tab);
+                    tab.releaseIcons();
+                    i++;
+                } else {
+                    if (index <= previousSelectedTabIndex || selectedTabIndex == -1) {
+                        selectedTabIndex = remainingTabs.size();
+                    }
+
+                    remainingTabs.add(tab);
+                }
+            }
+
+            this.tabs = remainingTabs;
+            selectedTab = selectedTabIndex != -1 ? getTab(selectedTabIndex) : null;
+
+            if (!isBatchRunning()) {
+                notifyOnTabsRemoved(removedIndices, removedTabs, previousSelectedTabIndex,
+                        selectedTabIndex, animation);
+            }
+        }
+    }
+
+    @Override
+    public final void moveTab(@NonNull final Tab tab, final int index) {
+        ensureNotNull(tab, "The tab may not be null");
+        ensureAtLeast(index, 0, "The index must be at least 0", IndexOutOfBoundsException.class);
+        ensureAtMaximum(index, getCount() - 1, "The index must be at maximum " + (getCount() - 1),
+                IndexOutOfBoundsException.class);
+        int previousIndex = indexOfOrThrowException(tab);
+
+        if (previousIndex != index) {
+            int previousSelectedTabIndex = getSelectedTabIndex();
+            tabs.remove(previousIndex);
+            tabs.add(index, tab);
+            int selectedTabIndex = getSelectedTabIndex();
+
+            if (!isBatchRunning()) {
+                notifyOnTabMoved(previousIndex, index, tab, previousSelectedTabIndex,
+                        selectedTabIndex);
+            }
+        }
+    }
+
+    @Override
+    public final void setTabs(@NonNull final List<? extends Tab> tabs) {
+        setTabs(tabs, new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void setTabs(@NonNull final List<? extends Tab> tabs,
+                              @NonNull final Animation animation) {
+        ensureNotNull(tabs, "The list may not be null");
+        Tab[] array = new Tab[tabs.size()];
+        tabs.toArray(array);
+        applyDiff(new TabDiff(getTabs(), array), animation);
+    }
+
+    /**
+     * Replaces the tabs of the model by applying a specific diff within a batch. The diff must
+     * have been computed from the tabs, which are currently contained by the model. Instead of
+     * moving the tabs one after another, the order of the diff's tabs is adopted at once, which
+     * only requires linear time.
+     *
+     * @param diff
+     *         The diff, which should be applied, as an instance of the class {@link TabDiff}. The
+     *         diff may not be null
+     * @param animation
+     *         The animation, which should be used to visualize the changes, as an instance of the
+     *         class {@link Animation}. The animation may not be null
+     */
+    public final void applyDiff(@NonNull final TabDiff diff, @NonNull final Animation animation) {
+        ensureNotNull(diff, "The diff may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+
+        if (!diff.isEmpty() || !Arrays.equals(getTabs(), diff.getTabs())) {
+            Tab[] tabs = diff.getTabs();
+            Set<Tab> removedTabs = new HashSet<>(Arrays.asList(diff.getRemovedTabs()));
+            int previousSelectedTabIndex = getSelectedTabIndex();
+            Tab retainedSelectedTab = null;
+            beginBatch();
+
+            try {
+                for (int index = 0; index < this.tabs.size(); index++) {
+                    Tab tab = this.tabs.get(index);
+
+                    if (removedTabs.contains(tab)) {
+                        tabsById.remove(tab.getId());
+                        removeSavedInstanceState(tab);
+                        tab.releaseIcons();
+                    } else if (index <= previousSelectedTabIndex || retainedSelectedTab == null) {
+                        retainedSelectedTab = tab;
+                    }
+                }
+
+                for (Tab tab : tabs) {
+                    Tab previousTab = tabsById.get(tab.getId());
+
+                    if (previousTab != tab) {
+                        if (previousTab != null) {
+                            previousTab.releaseIcons();
+                        }
+
+                        tabsById.put(tab.getId(), tab);
+                        tab.acquireIcons();
+                    }
+                }
+
+                this.tabs = new ArrayList<>(Arrays.asList(tabs));
+
+                if (retainedSelectedTab != null) {
+                    selectedTab = tabsById.get(retainedSelectedTab.getId());
+                } else {
+                    selectedTab = tabs.length > 0 ? tabs[0] : null;
+                }
+            } finally {
+                commitBatch(animation);
+            }
+        }
+    }
 
+    /**
+     * Returns the tabs, which are currently contained by the model.
+     *
+     * @return An array, which contains the tabs, which are currently contained by the model, as an
+     * array of the type {@link Tab}. The array may not be null
+     */
+    @NonNull
+    public final Tab[] getTabs() {
+        Tab[] result = new Tab[tabs.size()];
+        tabs.toArray(result);
+        return result;
     }
 
     @Override
@@ -986,10 +1701,82 @@ public class TabSwitcherModel implements Model, Restorable {
         Tab[] result = new Tab[tabs.size()];
         tabs.toArray(result);
         tabs.clear();
-        notifyOnAllTabsRemoved(result, animation);
+        tabsById.clear();
+
+        for (Tab tab : result) {
+            removeSavedInstanceState(tab);
+            tab.releaseIcons();
+        }
+
+        if (!isBatchRunning()) {
+            notifyOnAllTabsRemoved(result, animation);
+        }
+
         selectedTab = null;
     }
 
+    @Override
+    public final void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchPreviousTabs = new Tab[tabs.size()];
+            tabs.toArray(batchPreviousTabs);
+            batchPreviousSelectedTabIndex = getSelectedTabIndex();
+            batchSwitcherShown = switcherShown;
+        }
+    }
+
+    @Override
+    public final void commitBatch() {
+        commitBatch(new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void commitBatch(@NonNull final Animation animation) {
+        ensureNotNull(animation, "The animation may not be null");
+        ensureTrue(isBatchRunning(), "No batch is running", IllegalStateException.class);
+
+        if (--batchDepth == 0) {
+            Tab[] array = new Tab[tabs.size()];
+            tabs.toArray(array);
+            ChangeSet changeSet =
+                    new ChangeSet(batchPreviousTabs, batchPreviousSelectedTabIndex,
+                            batchSwitcherShown, array, getSelectedTabIndex(), animation);
+            batchPreviousTabs = null;
+            batchPreviousSelectedTabIndex = -1;
+
+            if (!changeSet.isEmpty()) {
+                notifyOnBatchCommitted(changeSet);
+            }
+
+            if (switcherShown != batchSwitcherShown) {
+                if (switcherShown) {
+                    notifyOnSwitcherShown();
+                } else {
+                    notifyOnSwitcherHidden();
+                }
+            }
+        }
+    }
+
+    @Override
+    public final void runInBatch(@NonNull final Runnable runnable) {
+        runInBatch(runnable, new SwipeAnimation.Builder().create());
+    }
+
+    @Override
+    public final void runInBatch(@NonNull final Runnable runnable,
+                                 @NonNull final Animation animation) {
+        ensureNotNull(runnable, "The runnable may not be null");
+        ensureNotNull(animation, "The animation may not be null");
+        beginBatch();
+
+        try {
+            runnable.run();
+        } finally {
+            commitBatch(animation);
+        }
+    }
+
     @Override
     public final boolean isSwitcherShown() {
         return switcherShown;
@@ -998,13 +1785,19 @@ public class TabSwitcherModel implements Model, Restorable {
     @Override
     public final void showSwitcher() {
         setSwitcherShown(true);
-        notifyOnSwitcherShown();
+
+        if (!isBatchRunning()) {
+            notifyOnSwitcherShown();
+        }
     }
 
     @Override
     public final void hideSwitcher() {
         setSwitcherShown(false);
-        notifyOnSwitcherHidden();
+
+        if (!isBatchRunning()) {
+            notifyOnSwitcherHidden();
+        }
     }
 
     @Override
@@ -1034,7 +1827,10 @@ public class TabSwitcherModel implements Model, Restorable {
         int index = indexOfOrThrowException(tab);
         selectedTab = tab;
         boolean switcherHidden = setSwitcherShown(false);
-        notifyOnSelectionChanged(previousIndex, index, tab, switcherHidden);
+
+        if (!isBatchRunning()) {
+            notifyOnSelectionChanged(previousIndex, index, tab, switcherHidden);
+        }
     }
 
     @Override
@@ -1256,9 +2052,36 @@ public class TabSwitcherModel implements Model, Restorable {
     @Override
     public final void saveInstanceState(@NonNull final Bundle outState) {
         outState.putSerializable(LOG_LEVEL_EXTRA, logLevel);
-        outState.putParcelableArrayList(TABS_EXTRA, tabs);
+
+        if (sessionStore != null) {
+            outState.putString(SESSION_FILE_EXTRA, sessionStore.getFile().getPath());
+
+            if (pendingSession != null && tabs.isEmpty()) {
+                // The session, which is still read, must not be overwritten by an empty one
+                outState.putLong(SESSION_VERSION_EXTRA,
+                        pendingSession.getLong(SESSION_VERSION_EXTRA));
+
+                if (pendingSession.containsKey(SELECTED_TAB_ID_EXTRA)) {
+                    outState.putLong(SELECTED_TAB_ID_EXTRA,
+                            pendingSession.getLong(SELECTED_TAB_ID_EXTRA));
+                }
+            } else {
+                pendingSession = null;
+                long version =
+                        sessionStore.write(tabs, childRecyclerAdapter.getSavedInstanceStates());
+                outState.putLong(SESSION_VERSION_EXTRA, version);
+
+                if (selectedTab != null) {
+                    outState.putLong(SELECTED_TAB_ID_EXTRA, selectedTab.getId());
+                }
+            }
+        } else {
+            outState.putParcelableArrayList(TABS_EXTRA, tabs);
+            outState.putParcelable(SELECTED_TAB_EXTRA, selectedTab);
+            childRecyclerAdapter.saveInstanceState(outState);
+        }
+
         outState.putBoolean(SWITCHER_SHOWN_EXTRA, switcherShown);
-        outState.putParcelable(SELECTED_TAB_EXTRA, selectedTab);
         outState.putIntArray(PADDING_EXTRA, padding);
         outState.putInt(TAB_ICON_ID_EXTRA, tabIconId);
         outState.putParcelable(TAB_ICON_BITMAP_EXTRA, tabIconBitmap);
@@ -1268,7 +2091,6 @@ public class TabSwitcherModel implements Model, Restorable {
         outState.putParcelable(TAB_CLOSE_BUTTON_ICON_BITMAP_EXTRA, tabCloseButtonIconBitmap);
         outState.putBoolean(SHOW_TOOLBARS_EXTRA, showToolbars);
         outState.putCharSequence(TOOLBAR_TITLE_EXTRA, toolbarTitle);
-        childRecyclerAdapter.saveInstanceState(outState);
     }
 
     @Override
@@ -1278,9 +2100,19 @@ public class TabSwitcherModel implements Model, Restorable {
             firstVisibleTabPosition =
                     savedInstanceState.getFloat(FIRST_VISIBLE_TAB_POSITION_EXTRA, -1);
             logLevel = (LogLevel) savedInstanceState.getSerializable(LOG_LEVEL_EXTRA);
-            tabs = savedInstanceState.getParcelableArrayList(TABS_EXTRA);
+            String sessionFile = savedInstanceState.getString(SESSION_FILE_EXTRA);
+
+            if (sessionFile != null) {
+                restoreSession(savedInstanceState, new File(sessionFile));
+            } else {
+                setTabsWhenRestoring(savedInstanceState.<Tab>getParcelableArrayList(TABS_EXTRA));
+                Tab restoredSelectedTab = savedInstanceState.getParcelable(SELECTED_TAB_EXTRA);
+                selectedTab = restoredSelectedTab != null ?
+                        getTabById(restoredSelectedTab.getId()) : null;
+                childRecyclerAdapter.restoreInstanceState(savedInstanceState);
+            }
+
             switcherShown = savedInstanceState.getBoolean(SWITCHER_SHOWN_EXTRA);
-            selectedTab = savedInstanceState.getParcelable(SELECTED_TAB_EXTRA);
             padding = savedInstanceState.getIntArray(PADDING_EXTRA);
             tabIconId = savedInstanceState.getInt(TAB_ICON_ID_EXTRA);
             tabIconBitmap = savedInstanceState.getParcelable(TAB_ICON_BITMAP_EXTRA);
@@ -1291,7 +2123,6 @@ public class TabSwitcherModel implements Model, Restorable {
                     savedInstanceState.getParcelable(TAB_CLOSE_BUTTON_ICON_BITMAP_EXTRA);
             showToolbars = savedInstanceState.getBoolean(SHOW_TOOLBARS_EXTRA);
             toolbarTitle = savedInstanceState.getCharSequence(TOOLBAR_TITLE_EXTRA);
-            childRecyclerAdapter.restoreInstanceState(savedInstanceState);
         }
     }
 
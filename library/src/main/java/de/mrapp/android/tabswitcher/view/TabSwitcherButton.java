@@ -24,8 +24,9 @@ import de.mrapp.android.tabswitcher.Animation;
 import de.mrapp.android.tabswitcher.R;
 import de.mrapp.android.tabswitcher.Tab;
 import de.mrapp.android.tabswitcher.TabSwitcher;
-import de.mrapp.android.tabswitcher.TabSwitcherListener;
+import de.mrapp.android.tabswitcher.TabSwitcherChangeListener;
 import de.mrapp.android.tabswitcher.drawable.TabSwitcherDrawable;
+import de.mrapp.android.tabswitcher.model.ChangeSet;
 import de.mrapp.android.util.ThemeUtil;
 import de.mrapp.android.util.ViewUtil;
 
@@ -33,12 +34,12 @@ import de.mrapp.android.util.ViewUtil;
  * An image button, which allows to display the number of tabs, which are currently contained by a
  * {@link TabSwitcher} by using a {@link TabSwitcherDrawable}. It must be registered at a {@link
  * TabSwitcher} instance in order to keep the displayed count up to date. It therefore implements
- * the interface {@link TabSwitcherListener}.
+ * the interface {@link TabSwitcherChangeListener}.
  *
  * @author Michael Rapp
  * @since 0.1.0
  */
-public class TabSwitcherButton extends AppCompatImageButton implements TabSwitcherListener {
+public class TabSwitcherButton extends AppCompatImageButton implements TabSwitcherChangeListener {
 
     /**
      * The drawable, which is used by the image button.
@@ -156,4 +157,23 @@ public class TabSwitcherButton extends AppCompatImageButton implements TabSwitch
         drawable.onAllTabsRemoved(tabSwitcher, tabs, animation);
     }
 
+    @Override
+    public final void onTabsRemoved(@NonNull final TabSwitcher tabSwitcher,
+                                    @NonNull final int[] indices, @NonNull final Tab[] tabs,
+                                    @NonNull final Animation animation) {
+        drawable.onTabsRemoved(tabSwitcher, indices, tabs, animation);
+    }
+
+    @Override
+    public final void onTabMoved(@NonNull final TabSwitcher tabSwitcher, final int previousIndex,
+                                 final int index, @NonNull final Tab tab) {
+        drawable.onTabMoved(tabSwitcher, previousIndex, index, tab);
+    }
+
+    @Override
+    public final void onBatchCommitted(@NonNull final TabSwitcher tabSwitcher,
+                                       @NonNull final ChangeSet changeSet) {
+        drawable.onBatchCommitted(tabSwitcher, changeSet);
+    }
+
 }
\ No newline at end of file